@@ -0,0 +1,46 @@
+package com.deliverytech.delivery.analytics;
+
+/**
+ * Acumulador de um grupo: contagem, soma, mínimo e máximo de valor_total em centavos.
+ */
+public class AgregadoGrupo {
+
+    private long quantidade;
+    private long somaCentavos;
+    private long minimoCentavos = Long.MAX_VALUE;
+    private long maximoCentavos = Long.MIN_VALUE;
+
+    void adicionar(long centavos) {
+        quantidade++;
+        somaCentavos += centavos;
+        if (centavos < minimoCentavos) {
+            minimoCentavos = centavos;
+        }
+        if (centavos > maximoCentavos) {
+            maximoCentavos = centavos;
+        }
+    }
+
+    void combinar(AgregadoGrupo outro) {
+        quantidade += outro.quantidade;
+        somaCentavos += outro.somaCentavos;
+        minimoCentavos = Math.min(minimoCentavos, outro.minimoCentavos);
+        maximoCentavos = Math.max(maximoCentavos, outro.maximoCentavos);
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public long getSomaCentavos() {
+        return somaCentavos;
+    }
+
+    public long getMinimoCentavos() {
+        return minimoCentavos;
+    }
+
+    public long getMaximoCentavos() {
+        return maximoCentavos;
+    }
+}
@@ -0,0 +1,46 @@
+package com.deliverytech.delivery.analytics;
+
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.exceptions.BusinessException;
+
+/**
+ * Dimensões de agrupamento do column store. A chave de cada grupo é um long:
+ * ordinal do status, ID, hora (0-23) ou início da faixa de valor em centavos.
+ */
+public enum DimensaoPedido {
+    TOTAL,
+    STATUS,
+    RESTAURANTE,
+    CLIENTE,
+    HORA_DO_DIA,
+    FAIXA_VALOR;
+
+    /** Largura das faixas de FAIXA_VALOR: R$ 10,00. */
+    public static final long LARGURA_FAIXA_CENTAVOS = 1_000L;
+
+    /**
+     * Rótulo legível da chave do grupo.
+     */
+    public String rotulo(long chave) {
+        return switch (this) {
+            case TOTAL -> "TOTAL";
+            case STATUS -> chave >= 0 ? StatusPedido.values()[(int) chave].name() : "SEM_STATUS";
+            case RESTAURANTE, CLIENTE -> String.valueOf(chave);
+            case HORA_DO_DIA -> String.format("%02d:00", chave);
+            case FAIXA_VALOR -> String.format("%d.%02d-%d.%02d", chave / 100, chave % 100,
+                    (chave + LARGURA_FAIXA_CENTAVOS) / 100, (chave + LARGURA_FAIXA_CENTAVOS) % 100);
+        };
+    }
+
+    public static DimensaoPedido fromString(String dimensao) {
+        if (dimensao == null || dimensao.trim().isEmpty()) {
+            return TOTAL;
+        }
+        try {
+            return DimensaoPedido.valueOf(dimensao.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Agrupamento inválido: " + dimensao
+                    + " (use TOTAL, STATUS, RESTAURANTE, CLIENTE, HORA_DO_DIA ou FAIXA_VALOR)");
+        }
+    }
+}
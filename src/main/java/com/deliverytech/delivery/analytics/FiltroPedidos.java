@@ -0,0 +1,27 @@
+package com.deliverytech.delivery.analytics;
+
+import com.deliverytech.delivery.enums.StatusPedido;
+
+import java.util.Set;
+
+/**
+ * Filtro de uma consulta ao column store. Campos nulos não filtram.
+ *
+ * @param status          status aceitos
+ * @param horaInicio      hora do dia inicial (0-23, inclusiva)
+ * @param horaFim         hora do dia final (0-23, inclusiva); se menor que horaInicio, atravessa a meia-noite
+ * @param inicioMillis    data_pedido mínima (inclusiva), em epoch millis
+ * @param fimMillis       data_pedido máxima (exclusiva), em epoch millis
+ */
+public record FiltroPedidos(
+        Set<StatusPedido> status,
+        Long restauranteId,
+        Long clienteId,
+        Integer horaInicio,
+        Integer horaFim,
+        Long valorMinimoCentavos,
+        Long valorMaximoCentavos,
+        Long inicioMillis,
+        Long fimMillis
+) {
+}
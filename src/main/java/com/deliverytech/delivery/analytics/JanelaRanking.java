@@ -0,0 +1,46 @@
+package com.deliverytech.delivery.analytics;
+
+import com.deliverytech.delivery.exceptions.BusinessException;
+
+import java.time.Duration;
+
+/**
+ * Janelas deslizantes dos rankings. Cada janela é um anel de slots de tempo; a precisão
+ * da borda da janela é a duração de um slot.
+ */
+public enum JanelaRanking {
+    HORA(Duration.ofMinutes(1), 60),
+    DIA(Duration.ofMinutes(15), 96),
+    SEMANA(Duration.ofHours(1), 168);
+
+    private final long duracaoSlotMillis;
+    private final int quantidadeSlots;
+
+    JanelaRanking(Duration duracaoSlot, int quantidadeSlots) {
+        this.duracaoSlotMillis = duracaoSlot.toMillis();
+        this.quantidadeSlots = quantidadeSlots;
+    }
+
+    public long getDuracaoSlotMillis() {
+        return duracaoSlotMillis;
+    }
+
+    public int getQuantidadeSlots() {
+        return quantidadeSlots;
+    }
+
+    public long getDuracaoMillis() {
+        return duracaoSlotMillis * quantidadeSlots;
+    }
+
+    public static JanelaRanking fromString(String janela) {
+        if (janela == null || janela.trim().isEmpty()) {
+            return DIA;
+        }
+        try {
+            return JanelaRanking.valueOf(janela.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Janela inválida: " + janela + " (use HORA, DIA ou SEMANA)");
+        }
+    }
+}
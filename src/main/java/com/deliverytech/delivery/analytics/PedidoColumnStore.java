@@ -0,0 +1,428 @@
+package com.deliverytech.delivery.analytics;
+
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.events.PedidoStatusAlteradoEvent;
+import com.deliverytech.delivery.exceptions.ServicoIndisponivelException;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.util.LongIntHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Cópia colunar dos pedidos em memória para relatórios ad-hoc (filtro + agrupamento + agregação)
+ * sem consultar o banco. Habilitado com delivery.analytics.enabled=true.
+ *
+ * - Uma coluna por atributo, em arrays primitivos: IDs, data_pedido em epoch millis (UTC,
+ *   o mesmo relógio do LocalDateTime gravado), valor_total em centavos e status em um byte
+ *   (ordinal). Cerca de 41 bytes por pedido, ou ~400 MB para 10M de pedidos.
+ * - Carregado em segundo plano na subida. Até terminar, as consultas respondem 503.
+ * - Pedidos novos e mudanças de status chegam pelo PedidoStatusAlteradoEvent após o commit.
+ *   Um evento sempre prevalece sobre a linha lida pela carga (que pode ser mais antiga).
+ * - Os eventos são locais a cada instância: pedidos gravados por outras instâncias (ou direto no banco)
+ *   só aparecem na recarga periódica (delivery.analytics.recarga-ms). A recarga monta uma tabela nova
+ *   fora do lock, reaplica os eventos recebidos enquanto lia e troca a tabela de uma vez; enquanto
+ *   a recarga roda, a memória ocupada dobra.
+ * - Consultas varrem sob o read lock, em paralelo (fork-join): um evento que sobrescreve uma linha
+ *   espera a varredura terminar, então nenhuma consulta enxerga uma linha pela metade.
+ */
+@Component
+@ConditionalOnProperty(name = "delivery.analytics.enabled", havingValue = "true")
+public class PedidoColumnStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PedidoColumnStore.class);
+
+    private static final int CAPACIDADE_INICIAL = 1 << 16;
+    /** Linhas por tarefa folha da varredura paralela. */
+    private static final int LIMIAR_VARREDURA = 1 << 16;
+    private static final byte SEM_STATUS = -1;
+    private static final StatusPedido[] STATUS = StatusPedido.values();
+    private static final long MILLIS_POR_HORA = 3_600_000L;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Uma carga por vez (subida e recarga agendada); lock em vez de synchronized pela leitura JDBC em threads virtuais
+    private final ReentrantLock carga = new ReentrantLock();
+    // Guardados pelo lock
+    private Tabela tabela = new Tabela(CAPACIDADE_INICIAL);
+    private List<PedidoStatusAlteradoEvent> eventosDuranteRecarga;
+    private volatile boolean carregado;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciarCarga() {
+        Thread.ofVirtual().name("pedido-column-store-carga").start(() -> {
+            try {
+                carregar();
+            } catch (RuntimeException e) {
+                log.error("Falha ao carregar o column store de pedidos", e);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.analytics.recarga-ms:900000}",
+            initialDelayString = "${delivery.analytics.recarga-ms:900000}")
+    public void recarregar() {
+        carregar();
+    }
+
+    void carregar() {
+        carga.lock();
+        try {
+            executarCarga();
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    private void executarCarga() {
+        long inicio = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            eventosDuranteRecarga = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Tabela nova visível só para esta thread até a troca: montada sem lock
+        Tabela nova = new Tabela(Math.max(CAPACIDADE_INICIAL, tamanho()));
+        try {
+            transactionTemplate.executeWithoutResult(transacao -> {
+                // Linha da carga: [id, restauranteId, clienteId, dataPedido, valorTotal, status]
+                try (Stream<Object[]> linhas = pedidoRepository.streamColunasAnaliticas()) {
+                    linhas.forEach(linha -> nova.aplicar((Long) linha[0], (Long) linha[1], (Long) linha[2],
+                            (LocalDateTime) linha[3], (BigDecimal) linha[4], (StatusPedido) linha[5], false));
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                eventosDuranteRecarga = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Na ordem em que chegaram: prevalecem sobre o que a carga leu
+            for (PedidoStatusAlteradoEvent evento : eventosDuranteRecarga) {
+                aplicar(nova, evento);
+            }
+            eventosDuranteRecarga = null;
+            tabela = nova;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        carregado = true;
+        log.info("Column store de pedidos carregado: {} pedidos em {} ms", nova.tamanho,
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarStatus(PedidoStatusAlteradoEvent evento) {
+        lock.writeLock().lock();
+        try {
+            aplicar(tabela, evento);
+            if (eventosDuranteRecarga != null) {
+                eventosDuranteRecarga.add(evento);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void aplicar(Tabela destino, PedidoStatusAlteradoEvent evento) {
+        destino.aplicar(evento.pedidoId(), evento.restauranteId(), evento.clienteId(), evento.dataPedido(),
+                evento.valorTotal(), StatusPedido.valueOf(evento.status()), true);
+    }
+
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return tabela.tamanho;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Filtra, agrupa e agrega numa varredura paralela de todas as linhas.
+     * O read lock fica com a thread chamadora até o fim da varredura (as tarefas fork-join só leem).
+     */
+    public ResultadoConsulta consultar(FiltroPedidos filtro, DimensaoPedido dimensao) {
+        if (!carregado) {
+            throw new ServicoIndisponivelException("Relatórios analíticos indisponíveis: carga dos pedidos em andamento");
+        }
+        Criterio criterio = new Criterio(filtro);
+        lock.readLock().lock();
+        try {
+            Tabela atual = tabela;
+            Colunas colunas = new Colunas(atual.restaurantes, atual.clientes, atual.datas, atual.valores,
+                    atual.status, atual.tamanho);
+            Map<Long, AgregadoGrupo> grupos = ForkJoinPool.commonPool()
+                    .invoke(new Varredura(colunas, criterio, dimensao, 0, colunas.tamanho()));
+            return new ResultadoConsulta(grupos, colunas.tamanho());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor != null ? valor.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue() : 0L;
+    }
+
+    /**
+     * Resultado de uma consulta: agregados por chave do grupo e total de linhas varridas.
+     */
+    public record ResultadoConsulta(Map<Long, AgregadoGrupo> grupos, int linhasVarridas) {
+    }
+
+    /**
+     * Colunas e índice ID -> linha. Sem sincronização própria: a tabela publicada é protegida pelo lock
+     * do store, e a tabela em montagem só é vista pela thread da recarga.
+     */
+    private static final class Tabela {
+        final LongIntHashMap linhaPorId;
+        long[] ids;
+        long[] restaurantes;
+        long[] clientes;
+        long[] datas;
+        long[] valores;
+        byte[] status;
+        int tamanho;
+
+        Tabela(int capacidade) {
+            linhaPorId = new LongIntHashMap(capacidade);
+            ids = new long[capacidade];
+            restaurantes = new long[capacidade];
+            clientes = new long[capacidade];
+            datas = new long[capacidade];
+            valores = new long[capacidade];
+            status = new byte[capacidade];
+        }
+
+        void aplicar(Long id, Long restauranteId, Long clienteId, LocalDateTime dataPedido,
+                     BigDecimal valorTotal, StatusPedido statusPedido, boolean sobrescrever) {
+            if (id == null) {
+                return;
+            }
+            int linha = linhaPorId.get(id, -1);
+            if (linha >= 0 && !sobrescrever) {
+                return;
+            }
+            if (linha < 0) {
+                garantirCapacidade(tamanho + 1);
+                linha = tamanho++;
+                ids[linha] = id;
+                linhaPorId.put(id, linha);
+            }
+            restaurantes[linha] = restauranteId != null ? restauranteId : 0L;
+            clientes[linha] = clienteId != null ? clienteId : 0L;
+            datas[linha] = dataPedido != null ? dataPedido.toInstant(ZoneOffset.UTC).toEpochMilli() : Long.MIN_VALUE;
+            valores[linha] = centavos(valorTotal);
+            status[linha] = statusPedido != null ? (byte) statusPedido.ordinal() : SEM_STATUS;
+        }
+
+        private void garantirCapacidade(int necessaria) {
+            if (necessaria <= ids.length) {
+                return;
+            }
+            int novaCapacidade = Math.max(necessaria, ids.length * 2);
+            ids = Arrays.copyOf(ids, novaCapacidade);
+            restaurantes = Arrays.copyOf(restaurantes, novaCapacidade);
+            clientes = Arrays.copyOf(clientes, novaCapacidade);
+            datas = Arrays.copyOf(datas, novaCapacidade);
+            valores = Arrays.copyOf(valores, novaCapacidade);
+            status = Arrays.copyOf(status, novaCapacidade);
+        }
+    }
+
+    private record Colunas(long[] restaurantes, long[] clientes, long[] datas, long[] valores,
+                           byte[] status, int tamanho) {
+    }
+
+    /**
+     * Filtro convertido para primitivos, para o laço da varredura não ter boxing nem nulos.
+     */
+    private static final class Criterio {
+        final boolean[] statusAceito;
+        final boolean[] horaAceita;
+        final long restauranteId;
+        final long clienteId;
+        final long valorMinimo;
+        final long valorMaximo;
+        final long inicio;
+        final long fim;
+
+        Criterio(FiltroPedidos filtro) {
+            if (filtro.status() != null && !filtro.status().isEmpty()) {
+                statusAceito = new boolean[STATUS.length];
+                filtro.status().forEach(s -> statusAceito[s.ordinal()] = true);
+            } else {
+                statusAceito = null;
+            }
+            if (filtro.horaInicio() != null || filtro.horaFim() != null) {
+                int de = filtro.horaInicio() != null ? filtro.horaInicio() : 0;
+                int ate = filtro.horaFim() != null ? filtro.horaFim() : 23;
+                if (de < 0 || de > 23 || ate < 0 || ate > 23) {
+                    throw new IllegalArgumentException("Horas do filtro devem estar entre 0 e 23");
+                }
+                horaAceita = new boolean[24];
+                for (int h = de; ; h = (h + 1) % 24) {
+                    horaAceita[h] = true;
+                    if (h == ate) {
+                        break;
+                    }
+                }
+            } else {
+                horaAceita = null;
+            }
+            restauranteId = filtro.restauranteId() != null ? filtro.restauranteId() : -1L;
+            clienteId = filtro.clienteId() != null ? filtro.clienteId() : -1L;
+            valorMinimo = filtro.valorMinimoCentavos() != null ? filtro.valorMinimoCentavos() : Long.MIN_VALUE;
+            valorMaximo = filtro.valorMaximoCentavos() != null ? filtro.valorMaximoCentavos() : Long.MAX_VALUE;
+            inicio = filtro.inicioMillis() != null ? filtro.inicioMillis() : Long.MIN_VALUE;
+            fim = filtro.fimMillis() != null ? filtro.fimMillis() : Long.MAX_VALUE;
+        }
+    }
+
+    private static final class Varredura extends RecursiveTask<Map<Long, AgregadoGrupo>> {
+
+        private final Colunas colunas;
+        private final Criterio criterio;
+        private final DimensaoPedido dimensao;
+        private final int inicio;
+        private final int fim;
+
+        Varredura(Colunas colunas, Criterio criterio, DimensaoPedido dimensao, int inicio, int fim) {
+            this.colunas = colunas;
+            this.criterio = criterio;
+            this.dimensao = dimensao;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected Map<Long, AgregadoGrupo> compute() {
+            if (fim - inicio <= LIMIAR_VARREDURA) {
+                return varrer();
+            }
+            int meio = (inicio + fim) >>> 1;
+            Varredura esquerda = new Varredura(colunas, criterio, dimensao, inicio, meio);
+            esquerda.fork();
+            Map<Long, AgregadoGrupo> direita = new Varredura(colunas, criterio, dimensao, meio, fim).compute();
+            Map<Long, AgregadoGrupo> resultado = esquerda.join();
+            direita.forEach((chave, agregado) -> resultado.merge(chave, agregado, (a, b) -> {
+                a.combinar(b);
+                return a;
+            }));
+            return resultado;
+        }
+
+        private Map<Long, AgregadoGrupo> varrer() {
+            // Dimensões de cardinalidade pequena acumulam num array (sem boxing por linha)
+            AgregadoGrupo[] densos = switch (dimensao) {
+                case TOTAL -> new AgregadoGrupo[1];
+                case STATUS -> new AgregadoGrupo[STATUS.length + 1];
+                case HORA_DO_DIA -> new AgregadoGrupo[24];
+                default -> null;
+            };
+            Map<Long, AgregadoGrupo> esparsos = new HashMap<>();
+
+            long[] restaurantes = colunas.restaurantes();
+            long[] clientes = colunas.clientes();
+            long[] datas = colunas.datas();
+            long[] valores = colunas.valores();
+            byte[] status = colunas.status();
+            Criterio c = criterio;
+
+            for (int i = inicio; i < fim; i++) {
+                byte s = status[i];
+                if (c.statusAceito != null && (s < 0 || !c.statusAceito[s])) {
+                    continue;
+                }
+                if (c.restauranteId >= 0 && restaurantes[i] != c.restauranteId) {
+                    continue;
+                }
+                if (c.clienteId >= 0 && clientes[i] != c.clienteId) {
+                    continue;
+                }
+                long data = datas[i];
+                if (data < c.inicio || data >= c.fim) {
+                    continue;
+                }
+                int hora = (int) Math.floorMod(Math.floorDiv(data, MILLIS_POR_HORA), 24L);
+                if (c.horaAceita != null && !c.horaAceita[hora]) {
+                    continue;
+                }
+                long valor = valores[i];
+                if (valor < c.valorMinimo || valor > c.valorMaximo) {
+                    continue;
+                }
+
+                if (densos != null) {
+                    int posicao = switch (dimensao) {
+                        case STATUS -> s + 1; // posição 0 = sem status
+                        case HORA_DO_DIA -> hora;
+                        default -> 0;
+                    };
+                    AgregadoGrupo agregado = densos[posicao];
+                    if (agregado == null) {
+                        agregado = densos[posicao] = new AgregadoGrupo();
+                    }
+                    agregado.adicionar(valor);
+                } else {
+                    long chave = switch (dimensao) {
+                        case RESTAURANTE -> restaurantes[i];
+                        case CLIENTE -> clientes[i];
+                        default -> Math.floorDiv(valor, DimensaoPedido.LARGURA_FAIXA_CENTAVOS) * DimensaoPedido.LARGURA_FAIXA_CENTAVOS;
+                    };
+                    esparsos.computeIfAbsent(chave, k -> new AgregadoGrupo()).adicionar(valor);
+                }
+            }
+
+            if (densos != null) {
+                for (int posicao = 0; posicao < densos.length; posicao++) {
+                    if (densos[posicao] != null) {
+                        long chave = dimensao == DimensaoPedido.STATUS ? posicao - 1 : posicao;
+                        esparsos.put(chave, densos[posicao]);
+                    }
+                }
+            }
+            return esparsos;
+        }
+    }
+}
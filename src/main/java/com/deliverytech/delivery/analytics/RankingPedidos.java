@@ -0,0 +1,381 @@
+package com.deliverytech.delivery.analytics;
+
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.events.PedidoStatusAlteradoEvent;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.LongHashSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Rankings de restaurantes e categorias mais pedidos nas janelas deslizantes de
+ * HORA, DIA e SEMANA, mantidos incrementalmente a partir dos eventos de pedido.
+ *
+ * - Escrita: pedido criado (PENDENTE) soma 1 e pedido cancelado subtrai 1 no slot de
+ *   tempo da data do pedido. Os contadores são LongAdder (striped), sem disputa
+ *   entre threads que criam pedidos ao mesmo tempo.
+ * - Cada janela mantém o total por restaurante. Slots que saem da janela são
+ *   subtraídos do total e reaproveitados.
+ * - A cada segundo os top-N são recalculados com um heap limitado a N e publicados
+ *   como snapshot imutável: a leitura é O(N), independente da quantidade de pedidos.
+ * - Categoria = categoria do restaurante (pedidos ainda não têm itens estruturados).
+ * - Contagens por instância: cada instância só recebe os eventos dos pedidos que ela mesma grava.
+ *   Com várias instâncias, cada uma conta os pedidos lidos do banco na sua subida mais os próprios.
+ * - Restaurantes sem pedidos na janela saem dos totais no recálculo, para o mapa não crescer
+ *   com todo restaurante que já apareceu.
+ */
+@Component
+public class RankingPedidos {
+
+    private static final Logger log = LoggerFactory.getLogger(RankingPedidos.class);
+
+    private static final Comparator<ItemRanking> POR_QUANTIDADE =
+            Comparator.comparingLong(ItemRanking::quantidade).thenComparing(ItemRanking::nome, Comparator.nullsFirst(Comparator.reverseOrder()));
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${delivery.ranking.tamanho:10}")
+    private int tamanhoRanking;
+
+    private final Map<JanelaRanking, Janela> janelas = new EnumMap<>(JanelaRanking.class);
+    private final Map<Long, ResumoRestaurante> restaurantes = new ConcurrentHashMap<>();
+    private final Object travaAquecimento = new Object();
+    // Eventos retidos até o fim do aquecimento; null depois dele
+    private volatile List<PedidoStatusAlteradoEvent> eventosDuranteAquecimento = new ArrayList<>();
+
+    public RankingPedidos() {
+        for (JanelaRanking janela : JanelaRanking.values()) {
+            janelas.put(janela, new Janela(janela));
+        }
+    }
+
+    /**
+     * Top-N atual da janela (snapshot do último recálculo).
+     */
+    public Ranking ranking(JanelaRanking janela) {
+        return janelas.get(janela).ranking;
+    }
+
+    public int getTamanhoRanking() {
+        return tamanhoRanking;
+    }
+
+    /**
+     * Aquece as janelas com os pedidos da última semana. Eventos que chegam antes do fim ficam retidos
+     * e são aplicados depois, exceto os que a consulta já refletiu (comparando pelo ID do pedido):
+     * aplicados na hora, pedidos commitados durante a leitura contariam duas vezes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecer() {
+        LocalDateTime ate = LocalDateTime.now();
+        LocalDateTime desde = ate.minus(Duration.ofMillis(JanelaRanking.SEMANA.getDuracaoMillis()));
+        long agora = millis(ate);
+        // IDs lidos pela consulta, separados em contados e cancelados
+        LongHashSet contados = new LongHashSet();
+        LongHashSet cancelados = new LongHashSet();
+        try {
+            recarregarRestaurantes();
+            transactionTemplate.executeWithoutResult(transacao -> {
+                try (Stream<Object[]> pedidos = pedidoRepository.streamParaRanking(desde, ate)) {
+                    pedidos.forEach(linha -> {
+                        long pedidoId = (Long) linha[0];
+                        if (linha[3] == StatusPedido.CANCELADO) {
+                            cancelados.add(pedidoId);
+                        } else {
+                            contados.add(pedidoId);
+                            registrar((Long) linha[1], millis((LocalDateTime) linha[2]), agora, 1);
+                        }
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Falha ao aquecer os rankings; seguem só com os pedidos novos", e);
+        }
+
+        List<PedidoStatusAlteradoEvent> retidos;
+        synchronized (travaAquecimento) {
+            retidos = eventosDuranteAquecimento;
+            eventosDuranteAquecimento = null;
+        }
+        int aplicados = 0;
+        for (PedidoStatusAlteradoEvent evento : retidos) {
+            long pedidoId = evento.pedidoId() != null ? evento.pedidoId() : 0L;
+            boolean refletido = cancelados.contains(pedidoId)
+                    || (contados.contains(pedidoId) && !StatusPedido.CANCELADO.name().equals(evento.status()));
+            if (!refletido) {
+                aplicar(evento);
+                aplicados++;
+            }
+        }
+        atualizarRankings();
+        log.info("Rankings aquecidos com {} pedidos da última semana ({} de {} eventos retidos aplicados)",
+                contados.size(), aplicados, retidos.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarStatus(PedidoStatusAlteradoEvent evento) {
+        if (eventosDuranteAquecimento != null) {
+            synchronized (travaAquecimento) {
+                if (eventosDuranteAquecimento != null) {
+                    eventosDuranteAquecimento.add(evento);
+                    return;
+                }
+            }
+        }
+        aplicar(evento);
+    }
+
+    private void aplicar(PedidoStatusAlteradoEvent evento) {
+        if (evento.restauranteId() == null || evento.dataPedido() == null) {
+            return;
+        }
+        // PENDENTE só ocorre na criação (nenhuma transição leva a ele)
+        long delta = switch (StatusPedido.valueOf(evento.status())) {
+            case PENDENTE -> 1;
+            case CANCELADO -> -1;
+            default -> 0;
+        };
+        if (delta != 0) {
+            registrar(evento.restauranteId(), millis(evento.dataPedido()), millis(LocalDateTime.now()), delta);
+        }
+    }
+
+    private void registrar(long restauranteId, long instante, long agora, long delta) {
+        for (Janela janela : janelas.values()) {
+            janela.registrar(restauranteId, instante, agora, delta);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.ranking.atualizacao-ms:1000}")
+    public void atualizarRankings() {
+        long agora = millis(LocalDateTime.now());
+        for (Janela janela : janelas.values()) {
+            janela.expirar(agora);
+            janela.removerZerados();
+        }
+        carregarRestaurantesDesconhecidos();
+        LocalDateTime atualizadoEm = LocalDateTime.now();
+        for (Janela janela : janelas.values()) {
+            janela.ranking = calcular(janela, atualizadoEm);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.ranking.recarga-restaurantes-ms:300000}",
+            initialDelayString = "${delivery.ranking.recarga-restaurantes-ms:300000}")
+    public void recarregarRestaurantes() {
+        for (Object[] linha : restauranteRepository.findResumos()) {
+            restaurantes.put((Long) linha[0], new ResumoRestaurante((String) linha[1], (String) linha[2]));
+        }
+    }
+
+    // Restaurantes cadastrados depois da última recarga
+    private void carregarRestaurantesDesconhecidos() {
+        Set<Long> desconhecidos = new HashSet<>();
+        for (Janela janela : janelas.values()) {
+            for (Long id : janela.totais.keySet()) {
+                if (!restaurantes.containsKey(id)) {
+                    desconhecidos.add(id);
+                }
+            }
+        }
+        if (!desconhecidos.isEmpty()) {
+            for (Object[] linha : restauranteRepository.findResumosPorIds(desconhecidos)) {
+                restaurantes.put((Long) linha[0], new ResumoRestaurante((String) linha[1], (String) linha[2]));
+            }
+        }
+    }
+
+    private Ranking calcular(Janela janela, LocalDateTime atualizadoEm) {
+        PriorityQueue<ItemRanking> topRestaurantes = new PriorityQueue<>(tamanhoRanking + 1, POR_QUANTIDADE);
+        Map<String, Long> porCategoria = new HashMap<>();
+        janela.totais.forEach((restauranteId, contador) -> {
+            long quantidade = contador.sum();
+            if (quantidade <= 0) {
+                return;
+            }
+            ResumoRestaurante resumo = restaurantes.get(restauranteId);
+            adicionarLimitado(topRestaurantes, new ItemRanking(restauranteId, resumo != null ? resumo.nome() : null, quantidade));
+            String categoria = resumo != null && resumo.categoria() != null ? resumo.categoria() : "Sem categoria";
+            porCategoria.merge(categoria, quantidade, Long::sum);
+        });
+
+        PriorityQueue<ItemRanking> topCategorias = new PriorityQueue<>(tamanhoRanking + 1, POR_QUANTIDADE);
+        porCategoria.forEach((categoria, quantidade) -> adicionarLimitado(topCategorias, new ItemRanking(null, categoria, quantidade)));
+
+        return new Ranking(ordenar(topRestaurantes), ordenar(topCategorias), atualizadoEm);
+    }
+
+    // Heap de mínimo com no máximo N itens: o menor sai quando chega um maior
+    private void adicionarLimitado(PriorityQueue<ItemRanking> heap, ItemRanking item) {
+        heap.add(item);
+        if (heap.size() > tamanhoRanking) {
+            heap.poll();
+        }
+    }
+
+    private static List<ItemRanking> ordenar(PriorityQueue<ItemRanking> heap) {
+        List<ItemRanking> itens = new ArrayList<>(heap);
+        itens.sort(POR_QUANTIDADE.reversed());
+        return List.copyOf(itens);
+    }
+
+    private static long millis(LocalDateTime dataHora) {
+        return dataHora.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private record ResumoRestaurante(String nome, String categoria) {
+    }
+
+    /**
+     * Item do ranking. id é nulo para categorias.
+     */
+    public record ItemRanking(Long id, String nome, long quantidade) {
+    }
+
+    public record Ranking(List<ItemRanking> restaurantes, List<ItemRanking> categorias, LocalDateTime atualizadoEm) {
+    }
+
+    /**
+     * Anel de slots de uma janela. Incrementos usam o read lock do slot (compartilhado);
+     * girar ou expirar um slot usa o write lock, para que nenhum incremento se perca
+     * entre subtrair o slot do total e limpá-lo.
+     */
+    private static final class Janela {
+
+        private final long duracaoSlot;
+        private final long duracao;
+        private final Slot[] slots;
+        private final Map<Long, LongAdder> totais = new ConcurrentHashMap<>();
+        private volatile Ranking ranking = new Ranking(List.of(), List.of(), null);
+
+        Janela(JanelaRanking tipo) {
+            this.duracaoSlot = tipo.getDuracaoSlotMillis();
+            this.duracao = tipo.getDuracaoMillis();
+            this.slots = new Slot[tipo.getQuantidadeSlots()];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = new Slot();
+            }
+        }
+
+        void registrar(long restauranteId, long instante, long agora, long delta) {
+            long inicioSlot = Math.floorDiv(instante, duracaoSlot) * duracaoSlot;
+            if (inicioSlot <= agora - duracao || inicioSlot > agora) {
+                return; // fora da janela
+            }
+            Slot slot = slots[(int) Math.floorMod(inicioSlot / duracaoSlot, (long) slots.length)];
+
+            slot.lock.readLock().lock();
+            try {
+                if (slot.inicio == inicioSlot) {
+                    somar(slot, restauranteId, delta);
+                    return;
+                }
+            } finally {
+                slot.lock.readLock().unlock();
+            }
+
+            slot.lock.writeLock().lock();
+            try {
+                if (slot.inicio > inicioSlot) {
+                    return; // slot já reaproveitado por um período mais novo
+                }
+                if (slot.inicio < inicioSlot) {
+                    esvaziar(slot);
+                    slot.inicio = inicioSlot;
+                }
+                somar(slot, restauranteId, delta);
+            } finally {
+                slot.lock.writeLock().unlock();
+            }
+        }
+
+        void expirar(long agora) {
+            for (Slot slot : slots) {
+                if (slot.inicio != Long.MIN_VALUE && slot.inicio <= agora - duracao) {
+                    slot.lock.writeLock().lock();
+                    try {
+                        if (slot.inicio != Long.MIN_VALUE && slot.inicio <= agora - duracao) {
+                            esvaziar(slot);
+                            slot.inicio = Long.MIN_VALUE;
+                        }
+                    } finally {
+                        slot.lock.writeLock().unlock();
+                    }
+                }
+            }
+        }
+
+        // Com o write lock de todos os slots não há incremento em andamento, então nenhum
+        // LongAdder sai do mapa entre o computeIfAbsent e o add de somar
+        void removerZerados() {
+            if (totais.values().stream().noneMatch(contador -> contador.sum() == 0)) {
+                return;
+            }
+            for (Slot slot : slots) {
+                slot.lock.writeLock().lock();
+            }
+            try {
+                totais.values().removeIf(contador -> contador.sum() == 0);
+            } finally {
+                for (Slot slot : slots) {
+                    slot.lock.writeLock().unlock();
+                }
+            }
+        }
+
+        private void somar(Slot slot, long restauranteId, long delta) {
+            slot.contagens.computeIfAbsent(restauranteId, id -> new LongAdder()).add(delta);
+            totais.computeIfAbsent(restauranteId, id -> new LongAdder()).add(delta);
+        }
+
+        // Chamado com o write lock do slot
+        private void esvaziar(Slot slot) {
+            slot.contagens.forEach((restauranteId, contador) -> {
+                long soma = contador.sum();
+                if (soma != 0) {
+                    totais.computeIfAbsent(restauranteId, id -> new LongAdder()).add(-soma);
+                }
+            });
+            slot.contagens.clear();
+        }
+    }
+
+    private static final class Slot {
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        final Map<Long, LongAdder> contagens = new ConcurrentHashMap<>();
+        volatile long inicio = Long.MIN_VALUE;
+    }
+}
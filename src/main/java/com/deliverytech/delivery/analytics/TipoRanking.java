@@ -0,0 +1,19 @@
+package com.deliverytech.delivery.analytics;
+
+import com.deliverytech.delivery.exceptions.BusinessException;
+
+public enum TipoRanking {
+    RESTAURANTES,
+    CATEGORIAS;
+
+    public static TipoRanking fromString(String tipo) {
+        if (tipo == null || tipo.trim().isEmpty()) {
+            return RESTAURANTES;
+        }
+        try {
+            return TipoRanking.valueOf(tipo.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Tipo de ranking inválido: " + tipo + " (use RESTAURANTES ou CATEGORIAS)");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.deliverytech.delivery.busca;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.pt.PortugueseAnalyzer;
+import org.apache.lucene.analysis.pt.PortugueseLightStemFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+
+/**
+ * Análise de texto em português para o índice de busca:
+ * minúsculas, sem stop words ("de", "com"...), com stemming leve
+ * ("pizzas" = "pizza") e acentos removidos ("joao" = "João").
+ *
+ * O stemming vem antes da remoção de acentos porque as regras do stemmer
+ * dependem deles ("pães", "limões").
+ */
+public class AnalisadorPortugues extends Analyzer {
+
+    @Override
+    protected TokenStreamComponents createComponents(String campo) {
+        Tokenizer tokenizer = new StandardTokenizer();
+        TokenStream fluxo = new LowerCaseFilter(tokenizer);
+        fluxo = new StopFilter(fluxo, PortugueseAnalyzer.getDefaultStopSet());
+        fluxo = new PortugueseLightStemFilter(fluxo);
+        fluxo = new ASCIIFoldingFilter(fluxo);
+        return new TokenStreamComponents(tokenizer, fluxo);
+    }
+
+    @Override
+    protected TokenStream normalize(String campo, TokenStream entrada) {
+        return new ASCIIFoldingFilter(new LowerCaseFilter(entrada));
+    }
+}
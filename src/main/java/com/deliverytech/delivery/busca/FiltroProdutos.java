@@ -0,0 +1,33 @@
+package com.deliverytech.delivery.busca;
+
+import com.deliverytech.delivery.util.TextoNormalizado;
+
+import java.util.Set;
+
+/**
+ * Filtro de uma consulta ao índice facetado de produtos. Campos nulos não filtram;
+ * vários valores numa mesma faceta se combinam com OU, facetas diferentes com E.
+ *
+ * @param categorias            categorias já normalizadas ({@link TextoNormalizado#normalizar})
+ * @param precoMinimoCentavos   preço mínimo (inclusivo)
+ * @param precoMaximoCentavos   preço máximo (inclusivo)
+ * @param aposId                devolve só produtos com id maior (paginação por chave); de 0 a Integer.MAX_VALUE
+ * @param limite                máximo de IDs devolvidos
+ */
+public record FiltroProdutos(
+        Set<String> categorias,
+        Long precoMinimoCentavos,
+        Long precoMaximoCentavos,
+        Boolean disponivel,
+        Set<Long> restaurantes,
+        long aposId,
+        int limite
+) {
+
+    public FiltroProdutos {
+        // O id do produto é o bit no índice: um cursor fora do int não corresponde a produto nenhum
+        if (aposId < 0 || aposId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("aposId fora do intervalo de ids: " + aposId);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.deliverytech.delivery.busca;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Índice espacial em grade regular de latitude/longitude: cada ponto fica na célula
+ * do seu canto, e uma busca por raio só examina as células que cobrem o retângulo
+ * envolvente do círculo, em vez de todos os pontos.
+ *
+ * - Células quadradas em graus; a largura em km de uma célula diminui com a latitude,
+ *   por isso o número de colunas examinadas é calculado na latitude da consulta.
+ * - Distâncias pela fórmula de haversine (esfera de raio médio), suficiente para raios de entrega.
+ * - Trata a passagem pelo antimeridiano; perto dos polos examina todas as colunas.
+ *
+ * Não é thread-safe: o chamador deve sincronizar.
+ */
+public final class GradeGeografica {
+
+    public static final double RAIO_TERRA_KM = 6371.0088;
+    private static final double KM_POR_GRAU = Math.PI * RAIO_TERRA_KM / 180.0;
+
+    private final double tamanhoCelula;
+    private final int colunas;
+    private final Map<Long, List<Ponto>> celulas = new HashMap<>();
+    private final Map<Long, Ponto> pontos = new HashMap<>();
+
+    /**
+     * tamanhoCelulaGraus: lado da célula; idealmente próximo do raio típico das buscas
+     * (0.05° ≈ 5,5 km de latitude).
+     */
+    public GradeGeografica(double tamanhoCelulaGraus) {
+        if (!(tamanhoCelulaGraus > 0 && tamanhoCelulaGraus <= 90)) {
+            throw new IllegalArgumentException("Tamanho de célula inválido: " + tamanhoCelulaGraus);
+        }
+        this.tamanhoCelula = tamanhoCelulaGraus;
+        this.colunas = (int) Math.ceil(360.0 / tamanhoCelulaGraus);
+    }
+
+    /**
+     * Insere ou move o ponto. categoria deve vir já normalizada (comparada por igualdade).
+     */
+    public void colocar(long id, double latitude, double longitude, String categoria, long taxaEntregaCentavos) {
+        remover(id);
+        Ponto ponto = new Ponto(id, latitude, longitude, categoria, taxaEntregaCentavos);
+        pontos.put(id, ponto);
+        celulas.computeIfAbsent(chave(linha(latitude), coluna(longitude)), c -> new ArrayList<>(4)).add(ponto);
+    }
+
+    public boolean remover(long id) {
+        Ponto ponto = pontos.remove(id);
+        if (ponto == null) {
+            return false;
+        }
+        long chave = chave(linha(ponto.latitude()), coluna(ponto.longitude()));
+        List<Ponto> celula = celulas.get(chave);
+        celula.remove(ponto);
+        if (celula.isEmpty()) {
+            celulas.remove(chave);
+        }
+        return true;
+    }
+
+    public int tamanho() {
+        return pontos.size();
+    }
+
+    /**
+     * Até limite pontos a no máximo raioKm, do mais perto para o mais longe.
+     * categoria (normalizada) e taxaMaximaCentavos nulos não filtram.
+     */
+    public List<Resultado> proximos(double latitude, double longitude, double raioKm,
+                                    String categoria, Long taxaMaximaCentavos, int limite) {
+        // Max-heap pela distância: o topo é o pior dos melhores até agora
+        PriorityQueue<Resultado> melhores = new PriorityQueue<>(limite + 1,
+                Comparator.comparingDouble(Resultado::distanciaKm).reversed());
+
+        double deltaLatitude = raioKm / KM_POR_GRAU;
+        int linhaInicial = linha(Math.max(-90.0, latitude - deltaLatitude));
+        int linhaFinal = linha(Math.min(90.0, latitude + deltaLatitude));
+
+        // Colunas: no paralelo mais afastado do equador dentro do retângulo, onde o grau de longitude é menor
+        double latitudeExtrema = Math.min(90.0, Math.abs(latitude) + deltaLatitude);
+        double cosseno = Math.cos(Math.toRadians(latitudeExtrema));
+        int colunaInicial;
+        int quantidadeColunas;
+        if (cosseno < 1e-9 || raioKm / (KM_POR_GRAU * cosseno) >= 180.0) {
+            colunaInicial = 0;
+            quantidadeColunas = colunas;
+        } else {
+            double deltaLongitude = raioKm / (KM_POR_GRAU * cosseno);
+            colunaInicial = coluna(longitude - deltaLongitude);
+            int colunaFinal = coluna(longitude + deltaLongitude);
+            quantidadeColunas = Math.floorMod(colunaFinal - colunaInicial, colunas) + 1;
+        }
+
+        long celulasNoRetangulo = (long) (linhaFinal - linhaInicial + 1) * quantidadeColunas;
+        if (celulasNoRetangulo > celulas.size()) {
+            // Raio grande para a grade: mais barato percorrer só as células ocupadas
+            for (List<Ponto> celula : celulas.values()) {
+                examinar(celula, latitude, longitude, raioKm, categoria, taxaMaximaCentavos, limite, melhores);
+            }
+        } else {
+            for (int linha = linhaInicial; linha <= linhaFinal; linha++) {
+                for (int i = 0; i < quantidadeColunas; i++) {
+                    List<Ponto> celula = celulas.get(chave(linha, (colunaInicial + i) % colunas));
+                    if (celula != null) {
+                        examinar(celula, latitude, longitude, raioKm, categoria, taxaMaximaCentavos, limite, melhores);
+                    }
+                }
+            }
+        }
+
+        List<Resultado> resultado = new ArrayList<>(melhores);
+        resultado.sort(Comparator.comparingDouble(Resultado::distanciaKm).thenComparingLong(Resultado::id));
+        return resultado;
+    }
+
+    /**
+     * Distância em km entre dois pontos (haversine).
+     */
+    public static double distanciaKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static void examinar(List<Ponto> celula, double latitude, double longitude, double raioKm,
+                                 String categoria, Long taxaMaximaCentavos, int limite,
+                                 PriorityQueue<Resultado> melhores) {
+        for (Ponto ponto : celula) {
+            if (categoria != null && !categoria.equals(ponto.categoria())) {
+                continue;
+            }
+            if (taxaMaximaCentavos != null && ponto.taxaEntregaCentavos() > taxaMaximaCentavos) {
+                continue;
+            }
+            double distancia = distanciaKm(latitude, longitude, ponto.latitude(), ponto.longitude());
+            if (distancia > raioKm) {
+                continue;
+            }
+            if (melhores.size() < limite) {
+                melhores.add(new Resultado(ponto.id(), distancia));
+            } else if (distancia < melhores.peek().distanciaKm()) {
+                melhores.poll();
+                melhores.add(new Resultado(ponto.id(), distancia));
+            }
+        }
+    }
+
+    private int linha(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / tamanhoCelula);
+    }
+
+    private int coluna(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180.0) / tamanhoCelula), colunas);
+    }
+
+    private static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xFFFFFFFFL);
+    }
+
+    private record Ponto(long id, double latitude, double longitude, String categoria, long taxaEntregaCentavos) {
+
+        // Identidade pelo id: remover da célula não depende dos demais campos
+        @Override
+        public boolean equals(Object outro) {
+            return outro instanceof Ponto ponto && ponto.id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(id);
+        }
+    }
+
+    /**
+     * Ponto encontrado e sua distância até o centro da busca.
+     */
+    public record Resultado(long id, double distanciaKm) {
+    }
+}
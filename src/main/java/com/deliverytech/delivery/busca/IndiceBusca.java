@@ -0,0 +1,349 @@
+package com.deliverytech.delivery.busca;
+
+import com.deliverytech.delivery.enums.TipoItemBusca;
+import com.deliverytech.delivery.events.ItemBuscavelAlteradoEvent;
+import com.deliverytech.delivery.repository.ClienteRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Índice textual em memória (Lucene) de produtos, restaurantes e clientes,
+ * no lugar dos LIKE '%texto%' que varriam as tabelas inteiras.
+ *
+ * - Indexa nome, categoria e descrição com análise em português
+ *   (sem acentos, com stemming; ver {@link AnalisadorPortugues}); resultados
+ *   ordenados por relevância (BM25), com peso maior para o nome.
+ * - Carregado por completo quando a aplicação fica pronta e recarregado
+ *   periodicamente (alterações feitas por outras instâncias da API).
+ * - Atualizado incrementalmente após o commit de cadastros e alterações
+ *   ({@link ItemBuscavelAlteradoEvent}).
+ * - Guarda só o id de cada item: as entidades continuam vindo do banco, por chave primária.
+ * - Só itens ativos (produto disponível, restaurante ou cliente ativo) ficam no índice:
+ *   inativar um item o remove da busca.
+ * - Resultados paginados ({@link PaginaBusca}) até a profundidade configurada.
+ */
+@Component
+public class IndiceBusca {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBusca.class);
+
+    private static final String CAMPO_CHAVE = "chave";
+    private static final String CAMPO_TIPO = "tipo";
+    private static final String CAMPO_ID = "id";
+    private static final String CAMPO_NOME = "nome";
+    private static final String CAMPO_CATEGORIA = "categoria";
+    private static final String CAMPO_DESCRICAO = "descricao";
+
+    private static final Map<String, Float> PESOS_TEXTO = Map.of(
+            CAMPO_NOME, 3f,
+            CAMPO_CATEGORIA, 2f,
+            CAMPO_DESCRICAO, 1f);
+    private static final Map<String, Float> PESOS_CATEGORIA = Map.of(CAMPO_CATEGORIA, 1f);
+
+    /** Termos menores que isso não são expandidos como prefixo ("pi" casaria com quase tudo). */
+    private static final int TAMANHO_MINIMO_PREFIXO = 3;
+    /** Peso de um termo casado só por prefixo, em relação ao termo exato. */
+    private static final float PESO_PREFIXO = 0.5f;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private final TransactionTemplate leitura;
+    private final int profundidadeMaxima;
+    private final Analyzer analisador = new AnalisadorPortugues();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    // Uma carga por vez (subida e recarga agendada). Lock em vez de synchronized: a carga bloqueia em JDBC
+    // e, com threads virtuais, synchronized prenderia a thread portadora durante toda a leitura
+    private final ReentrantLock carga = new ReentrantLock();
+
+    private volatile boolean pronto;
+    // Chaves alteradas por eventos durante uma carga: a carga não as sobrescreve com dados lidos antes
+    private volatile Set<String> alteradosDuranteCarga;
+
+    public IndiceBusca(PlatformTransactionManager transactionManager,
+                       @Value("${delivery.busca.profundidade-maxima:1000}") int profundidadeMaxima) {
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.profundidadeMaxima = profundidadeMaxima;
+        try {
+            this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analisador));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao criar o índice de busca", e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        carga.lock();
+        try {
+            executarCarga();
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    private void executarCarga() {
+        Set<String> alterados = ConcurrentHashMap.newKeySet();
+        alteradosDuranteCarga = alterados;
+        long inicio = System.nanoTime();
+        int[] total = new int[1];
+        try {
+            leitura.executeWithoutResult(status -> {
+                try (Stream<Object[]> produtos = produtoRepository.streamParaBusca()) {
+                    produtos.forEach(linha -> total[0] += indexarNaCarga(alterados, new ItemBuscavelAlteradoEvent(
+                            TipoItemBusca.PRODUTO, (Long) linha[0], (String) linha[1], (String) linha[2],
+                            (String) linha[3], Boolean.TRUE.equals(linha[4]))));
+                }
+                try (Stream<Object[]> restaurantes = restauranteRepository.streamParaBusca()) {
+                    restaurantes.forEach(linha -> total[0] += indexarNaCarga(alterados, new ItemBuscavelAlteradoEvent(
+                            TipoItemBusca.RESTAURANTE, (Long) linha[0], (String) linha[1], null,
+                            (String) linha[2], Boolean.TRUE.equals(linha[3]))));
+                }
+                try (Stream<Object[]> clientes = clienteRepository.streamParaBusca()) {
+                    clientes.forEach(linha -> total[0] += indexarNaCarga(alterados, new ItemBuscavelAlteradoEvent(
+                            TipoItemBusca.CLIENTE, (Long) linha[0], (String) linha[1], null,
+                            null, Boolean.TRUE.equals(linha[2]))));
+                }
+            });
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao carregar o índice de busca", e);
+        } finally {
+            alteradosDuranteCarga = null;
+        }
+        pronto = true;
+        log.info("Índice de busca carregado: {} documentos em {} ms",
+                total[0], (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.busca.recarga-ms:600000}",
+            initialDelayString = "${delivery.busca.recarga-ms:600000}")
+    public void recarregar() {
+        carregar();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarItem(ItemBuscavelAlteradoEvent evento) {
+        Set<String> alterados = alteradosDuranteCarga;
+        if (alterados != null) {
+            alterados.add(chave(evento.tipo(), evento.id()));
+        }
+        try {
+            indexar(evento);
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            // O item fica desatualizado no índice até a próxima recarga; a operação já foi confirmada
+            log.warn("Falha ao atualizar o índice de busca para {} {}", evento.tipo(), evento.id(), e);
+        }
+    }
+
+    /**
+     * false enquanto a primeira carga não terminou: o chamador deve buscar no banco.
+     */
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * Valida cursor e limite recebidos na API; lança BusinessException (400) se inválidos.
+     */
+    public PaginaBusca pagina(String cursor, Integer limite) {
+        return PaginaBusca.de(cursor, limite, profundidadeMaxima);
+    }
+
+    /**
+     * IDs da página de itens do tipo cujo nome, categoria ou descrição casam com todos os termos
+     * do texto, do mais para o menos relevante.
+     */
+    public Resultado buscar(TipoItemBusca tipo, String texto, PaginaBusca pagina) {
+        return pesquisar(tipo, texto, PESOS_TEXTO, pagina);
+    }
+
+    /**
+     * Como {@link #buscar}, mas só na categoria.
+     */
+    public Resultado buscarPorCategoria(TipoItemBusca tipo, String texto, PaginaBusca pagina) {
+        return pesquisar(tipo, texto, PESOS_CATEGORIA, pagina);
+    }
+
+    /**
+     * Reordena as entidades carregadas do banco conforme a ordem de relevância dos IDs.
+     */
+    public static <T> List<T> ordenar(Collection<T> entidades, List<Long> ids, Function<T, Long> id) {
+        Map<Long, Integer> posicoes = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            posicoes.put(ids.get(i), i);
+        }
+        List<T> ordenadas = new ArrayList<>(entidades);
+        ordenadas.sort(Comparator.comparingInt(entidade -> posicoes.getOrDefault(id.apply(entidade), Integer.MAX_VALUE)));
+        return ordenadas;
+    }
+
+    @PreDestroy
+    public void fechar() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    private Resultado pesquisar(TipoItemBusca tipo, String texto, Map<String, Float> pesos, PaginaBusca pagina) {
+        List<String> termos = analisar(texto);
+        if (termos.isEmpty()) {
+            return new Resultado(List.of(), null);
+        }
+
+        BooleanQuery.Builder consulta = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(CAMPO_TIPO, tipo.name())), BooleanClause.Occur.FILTER);
+        for (String termo : termos) {
+            consulta.add(termo(termo, pesos), BooleanClause.Occur.MUST);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // Traz um a mais que a página para saber se existe a próxima
+                ScoreDoc[] docs = searcher.search(consulta.build(), pagina.necessarios()).scoreDocs;
+                int fim = Math.min(docs.length, pagina.inicio() + pagina.limite());
+                List<Long> ids = new ArrayList<>(Math.max(0, fim - pagina.inicio()));
+                for (int i = pagina.inicio(); i < fim; i++) {
+                    ids.add(searcher.storedFields().document(docs[i].doc).getField(CAMPO_ID).numericValue().longValue());
+                }
+                return new Resultado(ids, pagina.proximoCursor(docs.length));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao consultar o índice de busca", e);
+        }
+    }
+
+    // Um termo casa com qualquer dos campos; o prefixo cobre palavras ainda incompletas ("marg")
+    private static Query termo(String termo, Map<String, Float> pesos) {
+        BooleanQuery.Builder alternativas = new BooleanQuery.Builder();
+        pesos.forEach((campo, peso) -> {
+            alternativas.add(new BoostQuery(new TermQuery(new Term(campo, termo)), peso), BooleanClause.Occur.SHOULD);
+            if (termo.length() >= TAMANHO_MINIMO_PREFIXO) {
+                alternativas.add(new BoostQuery(new PrefixQuery(new Term(campo, termo)), peso * PESO_PREFIXO),
+                        BooleanClause.Occur.SHOULD);
+            }
+        });
+        return alternativas.build();
+    }
+
+    private List<String> analisar(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return termos;
+        }
+        try (TokenStream fluxo = analisador.tokenStream(CAMPO_NOME, texto)) {
+            CharTermAttribute termo = fluxo.addAttribute(CharTermAttribute.class);
+            fluxo.reset();
+            while (fluxo.incrementToken()) {
+                termos.add(termo.toString());
+            }
+            fluxo.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return termos;
+    }
+
+    private int indexarNaCarga(Set<String> alterados, ItemBuscavelAlteradoEvent item) {
+        if (alterados.contains(chave(item.tipo(), item.id()))) {
+            return 0;
+        }
+        try {
+            indexar(item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return item.ativo() ? 1 : 0;
+    }
+
+    private void indexar(ItemBuscavelAlteradoEvent item) throws IOException {
+        String chave = chave(item.tipo(), item.id());
+        if (!item.ativo()) {
+            // Também na carga: o item pode ter sido inativado por outra instância desde a anterior
+            writer.deleteDocuments(new Term(CAMPO_CHAVE, chave));
+            return;
+        }
+        Document documento = new Document();
+        documento.add(new StringField(CAMPO_CHAVE, chave, Field.Store.NO));
+        documento.add(new StringField(CAMPO_TIPO, item.tipo().name(), Field.Store.NO));
+        documento.add(new StoredField(CAMPO_ID, item.id()));
+        adicionarTexto(documento, CAMPO_NOME, item.nome());
+        adicionarTexto(documento, CAMPO_CATEGORIA, item.categoria());
+        adicionarTexto(documento, CAMPO_DESCRICAO, item.descricao());
+        writer.updateDocument(new Term(CAMPO_CHAVE, chave), documento);
+    }
+
+    private static void adicionarTexto(Document documento, String campo, String valor) {
+        if (valor != null && !valor.isBlank()) {
+            documento.add(new TextField(campo, valor, Field.Store.NO));
+        }
+    }
+
+    private static String chave(TipoItemBusca tipo, Long id) {
+        return tipo.name() + ":" + id;
+    }
+
+    /**
+     * IDs da página, em ordem de relevância; proximoCursor é null na última página.
+     */
+    public record Resultado(List<Long> ids, String proximoCursor) {
+    }
+}
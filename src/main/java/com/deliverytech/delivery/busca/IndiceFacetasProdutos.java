@@ -0,0 +1,405 @@
+package com.deliverytech.delivery.busca;
+
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.util.AposCommit;
+import com.deliverytech.delivery.util.TextoNormalizado;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Índice de produtos em bitmaps comprimidos (Roaring) para o filtro facetado
+ * (GET /api/produtos/filtro): um bitmap de IDs por categoria, restaurante, faixa de preço
+ * e disponibilidade, de modo que um filtro com várias facetas é um punhado de ANDs/ORs.
+ *
+ * - Contagens por faceta no estilo "drill-down": cada faceta é contada com os filtros
+ *   das demais, para o cliente ver quantos produtos cada opção traria.
+ * - Preços são exatos: faixas inteiramente dentro do intervalo entram direto; nas faixas
+ *   das pontas o preço de cada produto é conferido.
+ * - Carregado em segundo plano na subida. Até terminar, as consultas respondem 503.
+ * - Reconstruído periodicamente (alterações de outras instâncias da API e produtos apagados):
+ *   os bitmaps novos são montados fora do lock e trocados de uma vez; durante a montagem
+ *   existem duas cópias do índice em memória.
+ * - Atualizado pelo ProdutoServiceImpl após o commit. Atualizações confirmadas durante uma
+ *   carga são reaplicadas sobre os bitmaps novos antes da troca, então sempre prevalecem
+ *   sobre a linha lida pela carga (que pode ser mais antiga).
+ * - O ID do produto é o próprio bit, por isso precisa caber em um int.
+ */
+@Component
+public class IndiceFacetasProdutos {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceFacetasProdutos.class);
+
+    private static final int SEM_FAIXA = -1;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final long[] limitesFaixas;
+    private final String[] rotulosFaixas;
+    private final int maximoValoresFaceta;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Uma carga por vez (subida e reconstrução agendada); ver IndiceBusca sobre synchronized e threads virtuais
+    private final ReentrantLock carga = new ReentrantLock();
+    // Lidos e alterados só com o lock; trocados inteiros ao fim de cada carga
+    private Bitmaps bitmaps;
+    // Atualizações confirmadas enquanto a carga roda; null fora da carga
+    private List<Atualizacao> atualizacoesDuranteCarga;
+    private volatile boolean carregado;
+
+    /**
+     * faixasPreco são os limites entre as faixas, em ordem crescente:
+     * "20,40" gera [0, 20), [20, 40) e [40, ...).
+     */
+    public IndiceFacetasProdutos(@Value("${delivery.produtos.filtro.faixas-preco:20,40,60,100}") BigDecimal[] faixasPreco,
+                                 @Value("${delivery.produtos.filtro.maximo-valores-faceta:50}") int maximoValoresFaceta) {
+        this.limitesFaixas = Arrays.stream(faixasPreco).mapToLong(IndiceFacetasProdutos::centavos).sorted().toArray();
+        this.rotulosFaixas = new String[limitesFaixas.length + 1];
+        for (int i = 0; i < rotulosFaixas.length; i++) {
+            String inicio = i == 0 ? "0" : reais(limitesFaixas[i - 1]);
+            rotulosFaixas[i] = i < limitesFaixas.length ? inicio + "-" + reais(limitesFaixas[i]) : inicio + "+";
+        }
+        this.maximoValoresFaceta = maximoValoresFaceta;
+        this.bitmaps = new Bitmaps();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciarCarga() {
+        Thread.ofVirtual().name("indice-facetas-produtos-carga").start(this::carregar);
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.produtos.filtro.recarga-ms:900000}",
+            initialDelayString = "${delivery.produtos.filtro.recarga-ms:900000}")
+    public void recarregar() {
+        carregar();
+    }
+
+    private void carregar() {
+        carga.lock();
+        try {
+            executarCarga();
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    private void executarCarga() {
+        long inicio = System.nanoTime();
+        List<Atualizacao> atualizacoes = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            atualizacoesDuranteCarga = atualizacoes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Bitmaps novos = new Bitmaps();
+            transactionTemplate.executeWithoutResult(transacao -> {
+                // Linha da carga: [id, categoria, preco, disponivel, restauranteId]
+                try (Stream<Object[]> linhas = produtoRepository.streamParaFacetas()) {
+                    linhas.forEach(linha -> novos.aplicar(new Atualizacao((Long) linha[0], (String) linha[1],
+                            (BigDecimal) linha[2], Boolean.TRUE.equals(linha[3]), (Long) linha[4])));
+                }
+            });
+            int total;
+            lock.writeLock().lock();
+            try {
+                atualizacoes.forEach(novos::aplicar);
+                bitmaps = novos;
+                atualizacoesDuranteCarga = null;
+                total = novos.todos.getCardinality();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            carregado = true;
+            log.info("Índice facetado de produtos carregado: {} produtos em {} ms", total,
+                    (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Na reconstrução, os bitmaps atuais continuam valendo até a próxima
+            log.error("Falha ao carregar o índice facetado de produtos", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                atualizacoesDuranteCarga = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Registra o estado atual do produto, aplicado só se a transação confirmar.
+     */
+    public void atualizar(Produto produto) {
+        Atualizacao atualizacao = new Atualizacao(produto.getId(), produto.getCategoria(), produto.getPreco(),
+                Boolean.TRUE.equals(produto.getDisponivel()),
+                produto.getRestaurante() != null ? produto.getRestaurante().getId() : null);
+        AposCommit.executar(() -> {
+            lock.writeLock().lock();
+            try {
+                if (atualizacoesDuranteCarga != null) {
+                    atualizacoesDuranteCarga.add(atualizacao);
+                }
+                bitmaps.aplicar(atualizacao);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    public Consulta consultar(FiltroProdutos filtro) {
+        lock.readLock().lock();
+        try {
+            Bitmaps atual = bitmaps;
+            Map<String, RoaringBitmap> categorias = atual.categorias;
+            Map<Long, RoaringBitmap> restaurantes = atual.restaurantes;
+            RoaringBitmap[] faixas = atual.faixas;
+            RoaringBitmap porCategoria = filtro.categorias() != null ? uniao(filtro.categorias(), categorias::get) : null;
+            RoaringBitmap porRestaurante = filtro.restaurantes() != null ? uniao(filtro.restaurantes(), restaurantes::get) : null;
+            RoaringBitmap porPreco = atual.filtrarPreco(filtro.precoMinimoCentavos(), filtro.precoMaximoCentavos());
+            RoaringBitmap porDisponibilidade = filtro.disponivel() == null ? null
+                    : filtro.disponivel() ? atual.disponiveis : RoaringBitmap.andNot(atual.todos, atual.disponiveis);
+
+            RoaringBitmap resultado = atual.intersecao(porCategoria, porRestaurante, porPreco, porDisponibilidade);
+
+            // Cada faceta contada sem o próprio filtro
+            RoaringBitmap semCategoria = atual.intersecao(porRestaurante, porPreco, porDisponibilidade);
+            List<Faceta> facetasCategorias = contar(categorias, semCategoria, atual.nomesCategorias::get);
+
+            RoaringBitmap semRestaurante = atual.intersecao(porCategoria, porPreco, porDisponibilidade);
+            List<Faceta> facetasRestaurantes = contar(restaurantes, semRestaurante, String::valueOf);
+
+            RoaringBitmap semPreco = atual.intersecao(porCategoria, porRestaurante, porDisponibilidade);
+            List<Faceta> facetasFaixas = new ArrayList<>(faixas.length);
+            for (int i = 0; i < faixas.length; i++) {
+                facetasFaixas.add(new Faceta(rotulosFaixas[i], RoaringBitmap.andCardinality(semPreco, faixas[i])));
+            }
+
+            RoaringBitmap semDisponibilidade = atual.intersecao(porCategoria, porRestaurante, porPreco);
+            long quantidadeDisponiveis = RoaringBitmap.andCardinality(semDisponibilidade, atual.disponiveis);
+            List<Faceta> facetasDisponibilidade = List.of(
+                    new Faceta("true", quantidadeDisponiveis),
+                    new Faceta("false", semDisponibilidade.getLongCardinality() - quantidadeDisponiveis));
+
+            // Página: IDs em ordem crescente a partir do cursor; um a mais para saber se há próxima
+            List<Long> ids = new ArrayList<>(filtro.limite() + 1);
+            if (filtro.aposId() < Integer.MAX_VALUE) {
+                PeekableIntIterator iterador = resultado.getIntIterator();
+                iterador.advanceIfNeeded((int) filtro.aposId() + 1);
+                while (iterador.hasNext() && ids.size() <= filtro.limite()) {
+                    ids.add((long) iterador.next());
+                }
+            }
+
+            return new Consulta(resultado.getLongCardinality(), ids, facetasCategorias, facetasFaixas,
+                    facetasDisponibilidade, facetasRestaurantes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int faixa(long precoCentavos) {
+        int faixa = 0;
+        while (faixa < limitesFaixas.length && precoCentavos >= limitesFaixas[faixa]) {
+            faixa++;
+        }
+        return faixa;
+    }
+
+    private static <K> RoaringBitmap uniao(Collection<K> chaves, Function<K, RoaringBitmap> bitmap) {
+        RoaringBitmap resultado = new RoaringBitmap();
+        for (K chave : chaves) {
+            RoaringBitmap valor = bitmap.apply(chave);
+            if (valor != null) {
+                resultado.or(valor);
+            }
+        }
+        return resultado;
+    }
+
+    // Valores com pelo menos um produto, dos mais para os menos frequentes
+    private <K> List<Faceta> contar(Map<K, RoaringBitmap> bitmaps, RoaringBitmap base, Function<K, String> rotulo) {
+        List<Faceta> facetas = new ArrayList<>();
+        bitmaps.forEach((chave, bitmap) -> {
+            long quantidade = RoaringBitmap.andCardinality(base, bitmap);
+            if (quantidade > 0) {
+                facetas.add(new Faceta(rotulo.apply(chave), quantidade));
+            }
+        });
+        facetas.sort(Comparator.comparingLong(Faceta::quantidade).reversed().thenComparing(Faceta::valor));
+        return facetas.size() > maximoValoresFaceta ? facetas.subList(0, maximoValoresFaceta) : facetas;
+    }
+
+    public static long centavos(BigDecimal valor) {
+        return valor.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private static String reais(long centavos) {
+        return BigDecimal.valueOf(centavos, 2).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Os bitmaps e o estado de cada produto. Uma instância por carga; acessada só com o lock do índice.
+     */
+    private final class Bitmaps {
+
+        private final RoaringBitmap todos = new RoaringBitmap();
+        private final RoaringBitmap disponiveis = new RoaringBitmap();
+        private final RoaringBitmap[] faixas = new RoaringBitmap[limitesFaixas.length + 1];
+        private final Map<String, RoaringBitmap> categorias = new HashMap<>();
+        private final Map<String, String> nomesCategorias = new HashMap<>();
+        private final Map<Long, RoaringBitmap> restaurantes = new HashMap<>();
+        private final Map<Integer, EstadoProduto> estados = new HashMap<>();
+
+        private Bitmaps() {
+            for (int i = 0; i < faixas.length; i++) {
+                faixas[i] = new RoaringBitmap();
+            }
+        }
+
+        private void aplicar(Atualizacao atualizacao) {
+            if (atualizacao.id() == null) {
+                return;
+            }
+            int bit = Math.toIntExact(atualizacao.id());
+            EstadoProduto anterior = estados.get(bit);
+            if (anterior != null) {
+                remover(bit, anterior);
+            }
+
+            String categoria = atualizacao.categoria();
+            Long restauranteId = atualizacao.restauranteId();
+            Long precoCentavos = atualizacao.preco() != null ? centavos(atualizacao.preco()) : null;
+            EstadoProduto novo = new EstadoProduto(TextoNormalizado.normalizar(categoria), restauranteId,
+                    precoCentavos, precoCentavos != null ? faixa(precoCentavos) : SEM_FAIXA);
+            estados.put(bit, novo);
+
+            todos.add(bit);
+            if (atualizacao.disponivel()) {
+                disponiveis.add(bit);
+            }
+            if (novo.faixa() != SEM_FAIXA) {
+                faixas[novo.faixa()].add(bit);
+            }
+            if (!novo.categoria().isEmpty()) {
+                categorias.computeIfAbsent(novo.categoria(), c -> new RoaringBitmap()).add(bit);
+                nomesCategorias.putIfAbsent(novo.categoria(), categoria.trim());
+            }
+            if (restauranteId != null) {
+                restaurantes.computeIfAbsent(restauranteId, r -> new RoaringBitmap()).add(bit);
+            }
+        }
+
+        private void remover(int bit, EstadoProduto estado) {
+            disponiveis.remove(bit);
+            if (estado.faixa() != SEM_FAIXA) {
+                faixas[estado.faixa()].remove(bit);
+            }
+            if (!estado.categoria().isEmpty()) {
+                RoaringBitmap bitmap = categorias.get(estado.categoria());
+                bitmap.remove(bit);
+                if (bitmap.isEmpty()) {
+                    categorias.remove(estado.categoria());
+                    nomesCategorias.remove(estado.categoria());
+                }
+            }
+            if (estado.restauranteId() != null) {
+                RoaringBitmap bitmap = restaurantes.get(estado.restauranteId());
+                bitmap.remove(bit);
+                if (bitmap.isEmpty()) {
+                    restaurantes.remove(estado.restauranteId());
+                }
+            }
+        }
+
+        // Faixas inteiramente no intervalo entram inteiras; nas parciais, confere produto a produto
+        private RoaringBitmap filtrarPreco(Long minimo, Long maximo) {
+            if (minimo == null && maximo == null) {
+                return null;
+            }
+            long de = minimo != null ? minimo : Long.MIN_VALUE;
+            long ate = maximo != null ? maximo : Long.MAX_VALUE;
+            RoaringBitmap resultado = new RoaringBitmap();
+            for (int i = 0; i < faixas.length; i++) {
+                long inicioFaixa = i == 0 ? Long.MIN_VALUE : limitesFaixas[i - 1];
+                long fimFaixa = i < limitesFaixas.length ? limitesFaixas[i] - 1 : Long.MAX_VALUE;
+                if (fimFaixa < de || inicioFaixa > ate) {
+                    continue;
+                }
+                if (inicioFaixa >= de && fimFaixa <= ate) {
+                    resultado.or(faixas[i]);
+                    continue;
+                }
+                faixas[i].forEach((int bit) -> {
+                    long preco = estados.get(bit).precoCentavos();
+                    if (preco >= de && preco <= ate) {
+                        resultado.add(bit);
+                    }
+                });
+            }
+            return resultado;
+        }
+
+        // Interseção dos filtros informados (nulos não filtram); nunca altera os bitmaps do índice
+        private RoaringBitmap intersecao(RoaringBitmap... filtros) {
+            RoaringBitmap resultado = todos;
+            for (RoaringBitmap filtro : filtros) {
+                if (filtro != null) {
+                    resultado = RoaringBitmap.and(resultado, filtro);
+                }
+            }
+            return resultado;
+        }
+    }
+
+    private record Atualizacao(Long id, String categoria, BigDecimal preco, boolean disponivel, Long restauranteId) {
+    }
+
+    private record EstadoProduto(String categoria, Long restauranteId, Long precoCentavos, int faixa) {
+    }
+
+    /**
+     * Um valor de faceta e quantos produtos ele traria.
+     */
+    public record Faceta(String valor, long quantidade) {
+    }
+
+    /**
+     * Resultado de uma consulta: total de produtos que casam, IDs da página
+     * (até limite + 1, o excedente indica próxima página) e contagens por faceta.
+     */
+    public record Consulta(long total, List<Long> ids, List<Faceta> categorias, List<Faceta> faixasPreco,
+                           List<Faceta> disponibilidade, List<Faceta> restaurantes) {
+    }
+}
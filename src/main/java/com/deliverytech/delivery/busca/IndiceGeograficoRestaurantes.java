@@ -0,0 +1,155 @@
+package com.deliverytech.delivery.busca;
+
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.AposCommit;
+import com.deliverytech.delivery.util.LongHashSet;
+import com.deliverytech.delivery.util.TextoNormalizado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Restaurantes ativos com coordenadas em uma {@link GradeGeografica} em memória,
+ * para a busca por proximidade (GET /api/restaurantes/proximos).
+ *
+ * - Carregado em segundo plano na subida. Até terminar, as consultas respondem 503.
+ * - Atualizado pelo RestauranteServiceImpl após o commit (cadastro, alteração, ativação);
+ *   restaurantes inativos ou sem coordenadas saem do índice.
+ * - Uma atualização sempre prevalece sobre a linha lida pela carga (que pode ser mais antiga).
+ */
+@Component
+public class IndiceGeograficoRestaurantes {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceGeograficoRestaurantes.class);
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final GradeGeografica grade;
+    // IDs atualizados enquanto a carga roda: a carga não os sobrescreve; null fora da carga
+    private LongHashSet atualizadosDuranteCarga = new LongHashSet();
+    private volatile boolean carregado;
+
+    public IndiceGeograficoRestaurantes(
+            @Value("${delivery.restaurantes.proximos.tamanho-celula-graus:0.05}") double tamanhoCelulaGraus) {
+        this.grade = new GradeGeografica(tamanhoCelulaGraus);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciarCarga() {
+        Thread.ofVirtual().name("indice-geografico-restaurantes-carga").start(this::carregar);
+    }
+
+    private void carregar() {
+        long inicio = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(transacao -> {
+                try (Stream<Object[]> linhas = restauranteRepository.streamParaMapa()) {
+                    linhas.forEach(this::aplicarCarga);
+                }
+            });
+            carregado = true;
+            log.info("Índice geográfico de restaurantes carregado: {} restaurantes em {} ms", tamanho(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Falha ao carregar o índice geográfico de restaurantes", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                atualizadosDuranteCarga = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Linha da carga: [id, latitude, longitude, categoria, taxaEntrega]
+    private void aplicarCarga(Object[] linha) {
+        long id = (Long) linha[0];
+        lock.writeLock().lock();
+        try {
+            if (!atualizadosDuranteCarga.contains(id)) {
+                grade.colocar(id, (Double) linha[1], (Double) linha[2],
+                        TextoNormalizado.normalizar((String) linha[3]), centavos((BigDecimal) linha[4]));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registra o estado atual do restaurante, aplicado só se a transação confirmar.
+     */
+    public void atualizar(Restaurante restaurante) {
+        long id = restaurante.getId();
+        boolean indexavel = Boolean.TRUE.equals(restaurante.getAtivo())
+                && restaurante.getLatitude() != null && restaurante.getLongitude() != null;
+        double latitude = indexavel ? restaurante.getLatitude() : 0;
+        double longitude = indexavel ? restaurante.getLongitude() : 0;
+        String categoria = TextoNormalizado.normalizar(restaurante.getCategoria());
+        long taxaEntrega = centavos(restaurante.getTaxaEntrega());
+        AposCommit.executar(() -> {
+            lock.writeLock().lock();
+            try {
+                if (atualizadosDuranteCarga != null) {
+                    atualizadosDuranteCarga.add(id);
+                }
+                if (indexavel) {
+                    grade.colocar(id, latitude, longitude, categoria, taxaEntrega);
+                } else {
+                    grade.remover(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    /**
+     * Até limite restaurantes a no máximo raioKm, do mais perto para o mais longe.
+     * categoria e taxaMaxima nulas não filtram.
+     */
+    public List<GradeGeografica.Resultado> proximos(double latitude, double longitude, double raioKm,
+                                                    String categoria, BigDecimal taxaMaxima, int limite) {
+        String categoriaNormalizada = categoria != null && !categoria.isBlank() ? TextoNormalizado.normalizar(categoria) : null;
+        Long taxaMaximaCentavos = taxaMaxima != null ? centavos(taxaMaxima) : null;
+        lock.readLock().lock();
+        try {
+            return grade.proximos(latitude, longitude, raioKm, categoriaNormalizada, taxaMaximaCentavos, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int tamanho() {
+        lock.readLock().lock();
+        try {
+            return grade.tamanho();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor != null ? IndiceFacetasProdutos.centavos(valor) : 0L;
+    }
+}
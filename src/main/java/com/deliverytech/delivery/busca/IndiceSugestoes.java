@@ -0,0 +1,214 @@
+package com.deliverytech.delivery.busca;
+
+import com.deliverytech.delivery.busca.TrieSugestoes.Sugestao;
+import com.deliverytech.delivery.enums.TipoItemBusca;
+import com.deliverytech.delivery.enums.TipoSugestao;
+import com.deliverytech.delivery.events.ItemBuscavelAlteradoEvent;
+import com.deliverytech.delivery.repository.ItemPedidoRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.repository.VendaDiariaRepository;
+import com.deliverytech.delivery.util.TextoNormalizado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Sugestões de autocomplete (nomes de produtos e restaurantes e categorias) servidas
+ * de uma {@link TrieSugestoes} em memória, sem consultar o banco.
+ *
+ * - Popularidade: unidades vendidas (itens_pedido) para produtos, pedidos (vendas_diarias)
+ *   para restaurantes e a soma dos itens da categoria para categorias.
+ * - Produtos indisponíveis e restaurantes inativos não são sugeridos.
+ * - Alterações ({@link ItemBuscavelAlteradoEvent}) marcam a trie como desatualizada;
+ *   uma tarefa agendada monta uma nova e troca a referência (as consultas nunca esperam).
+ * - Tudo, inclusive a popularidade, é recarregado periodicamente.
+ */
+@Component
+public class IndiceSugestoes {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceSugestoes.class);
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+    @Autowired
+    private VendaDiariaRepository vendaDiariaRepository;
+
+    private final TransactionTemplate leitura;
+    private final int topK;
+
+    private volatile Map<Long, Item> produtos = new ConcurrentHashMap<>();
+    private volatile Map<Long, Item> restaurantes = new ConcurrentHashMap<>();
+    private volatile Map<Long, Long> pesosProdutos = Map.of();
+    private volatile Map<Long, Long> pesosRestaurantes = Map.of();
+    // Eventos recebidos durante uma carga: reaplicados sobre os dados recém-lidos
+    private volatile List<ItemBuscavelAlteradoEvent> eventosDuranteCarga;
+
+    private final AtomicBoolean alterado = new AtomicBoolean();
+    // Serializa subida e recargas; ver IndiceBusca sobre synchronized e threads virtuais
+    private final ReentrantLock carga = new ReentrantLock();
+    private volatile TrieSugestoes trie = TrieSugestoes.vazia();
+
+    public IndiceSugestoes(PlatformTransactionManager transactionManager,
+                           @Value("${delivery.sugestoes.top-k:10}") int topK) {
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.topK = topK;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        carga.lock();
+        try {
+            executarCarga();
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    private void executarCarga() {
+        List<ItemBuscavelAlteradoEvent> eventos = new CopyOnWriteArrayList<>();
+        eventosDuranteCarga = eventos;
+        Map<Long, Item> novosProdutos = new ConcurrentHashMap<>();
+        Map<Long, Item> novosRestaurantes = new ConcurrentHashMap<>();
+        Map<Long, Long> novosPesosProdutos = new HashMap<>();
+        Map<Long, Long> novosPesosRestaurantes = new HashMap<>();
+        try {
+            leitura.executeWithoutResult(status -> {
+                try (Stream<Object[]> linhas = produtoRepository.streamParaBusca()) {
+                    linhas.forEach(linha -> novosProdutos.put((Long) linha[0],
+                            new Item((String) linha[1], (String) linha[3], Boolean.TRUE.equals(linha[4]))));
+                }
+                try (Stream<Object[]> linhas = restauranteRepository.streamParaBusca()) {
+                    linhas.forEach(linha -> novosRestaurantes.put((Long) linha[0],
+                            new Item((String) linha[1], (String) linha[2], Boolean.TRUE.equals(linha[3]))));
+                }
+                for (Object[] linha : itemPedidoRepository.somarQuantidadesPorProduto()) {
+                    novosPesosProdutos.put((Long) linha[0], ((Number) linha[1]).longValue());
+                }
+                for (Object[] linha : vendaDiariaRepository.somarQuantidadesPorRestaurante()) {
+                    novosPesosRestaurantes.put((Long) linha[0], ((Number) linha[1]).longValue());
+                }
+            });
+            produtos = novosProdutos;
+            restaurantes = novosRestaurantes;
+            pesosProdutos = novosPesosProdutos;
+            pesosRestaurantes = novosPesosRestaurantes;
+        } finally {
+            eventosDuranteCarga = null;
+        }
+        eventos.forEach(this::aplicar);
+        montar();
+        log.info("Sugestões carregadas: {} produtos, {} restaurantes, {} entradas na trie",
+                novosProdutos.size(), novosRestaurantes.size(), trie.tamanho());
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.sugestoes.recarga-ms:600000}",
+            initialDelayString = "${delivery.sugestoes.recarga-ms:600000}")
+    public void recarregar() {
+        carregar();
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.sugestoes.atualizacao-ms:1000}")
+    public void montarSeAlterado() {
+        if (alterado.getAndSet(false)) {
+            montar();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarItem(ItemBuscavelAlteradoEvent evento) {
+        if (evento.tipo() == TipoItemBusca.CLIENTE) {
+            return;
+        }
+        List<ItemBuscavelAlteradoEvent> eventos = eventosDuranteCarga;
+        if (eventos != null) {
+            eventos.add(evento);
+        }
+        aplicar(evento);
+    }
+
+    /**
+     * Até limite sugestões para o prefixo digitado, das mais para as menos populares.
+     */
+    public List<Sugestao> sugerir(String prefixo, int limite) {
+        return trie.sugerir(prefixo, limite);
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    private void aplicar(ItemBuscavelAlteradoEvent evento) {
+        Map<Long, Item> itens = evento.tipo() == TipoItemBusca.PRODUTO ? produtos : restaurantes;
+        itens.put(evento.id(), new Item(evento.nome(), evento.categoria(), evento.ativo()));
+        alterado.set(true);
+    }
+
+    private void montar() {
+        Map<Long, Long> pesosProdutos = this.pesosProdutos;
+        Map<Long, Long> pesosRestaurantes = this.pesosRestaurantes;
+        List<Sugestao> sugestoes = new ArrayList<>();
+        Map<String, Sugestao> categorias = new HashMap<>();
+
+        produtos.forEach((id, item) -> {
+            if (item.ativo()) {
+                long peso = pesosProdutos.getOrDefault(id, 0L);
+                adicionar(sugestoes, new Sugestao(TipoSugestao.PRODUTO, id, item.nome(), peso));
+                acumularCategoria(categorias, item.categoria(), peso);
+            }
+        });
+        restaurantes.forEach((id, item) -> {
+            if (item.ativo()) {
+                long peso = pesosRestaurantes.getOrDefault(id, 0L);
+                adicionar(sugestoes, new Sugestao(TipoSugestao.RESTAURANTE, id, item.nome(), peso));
+                acumularCategoria(categorias, item.categoria(), peso);
+            }
+        });
+        sugestoes.addAll(categorias.values());
+
+        trie = TrieSugestoes.montar(sugestoes, topK);
+    }
+
+    private static void adicionar(List<Sugestao> sugestoes, Sugestao sugestao) {
+        if (sugestao.texto() != null && !sugestao.texto().isBlank()) {
+            sugestoes.add(sugestao);
+        }
+    }
+
+    // "Pizza" e "pizza " são a mesma categoria; o texto exibido é o primeiro encontrado
+    private static void acumularCategoria(Map<String, Sugestao> categorias, String categoria, long peso) {
+        String chave = TextoNormalizado.normalizar(categoria);
+        if (chave.isEmpty()) {
+            return;
+        }
+        categorias.merge(chave, new Sugestao(TipoSugestao.CATEGORIA, null, categoria.trim(), peso),
+                (atual, nova) -> new Sugestao(TipoSugestao.CATEGORIA, null, atual.texto(), atual.peso() + nova.peso()));
+    }
+
+    private record Item(String nome, String categoria, boolean ativo) {
+    }
+}
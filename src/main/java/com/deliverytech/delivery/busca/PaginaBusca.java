@@ -0,0 +1,66 @@
+package com.deliverytech.delivery.busca;
+
+import com.deliverytech.delivery.exceptions.BusinessException;
+
+import java.util.List;
+
+/**
+ * Uma página da busca textual: posição do primeiro resultado na ordem de relevância e tamanho.
+ *
+ * - O cursor é a posição do próximo resultado. O índice muda entre uma página e outra,
+ *   então um item pode repetir ou faltar na borda entre páginas.
+ * - A posição é limitada pela profundidade máxima do índice: passar disso é 400, com o
+ *   pedido para refinar a busca, em vez de cortar a lista sem avisar.
+ */
+public record PaginaBusca(int inicio, int limite) {
+
+    public static final int LIMITE_PADRAO = 20;
+    public static final int LIMITE_MAXIMO = 100;
+
+    public static PaginaBusca de(String cursor, Integer limite, int profundidadeMaxima) {
+        int tamanho = limite != null ? limite : LIMITE_PADRAO;
+        if (tamanho < 1 || tamanho > LIMITE_MAXIMO) {
+            throw new BusinessException("O limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        if (cursor == null || cursor.isBlank()) {
+            return new PaginaBusca(0, tamanho);
+        }
+        int inicio;
+        try {
+            inicio = Integer.parseInt(cursor.trim());
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Cursor inválido: " + cursor);
+        }
+        if (inicio < 0) {
+            throw new BusinessException("Cursor inválido: " + cursor);
+        }
+        if (inicio >= profundidadeMaxima) {
+            throw new BusinessException("A busca só pagina os " + profundidadeMaxima
+                    + " resultados mais relevantes; refine o texto da busca");
+        }
+        return new PaginaBusca(inicio, tamanho);
+    }
+
+    /**
+     * Quantos resultados, em ordem de relevância, a consulta precisa trazer para montar a
+     * página e saber se existe a próxima.
+     */
+    public int necessarios() {
+        return inicio + limite + 1;
+    }
+
+    /**
+     * Cursor da próxima página, ou null se os encontrados acabam nesta.
+     */
+    public String proximoCursor(int encontrados) {
+        return encontrados > inicio + limite ? String.valueOf(inicio + limite) : null;
+    }
+
+    /**
+     * Os itens desta página de uma lista completa (busca no banco enquanto o índice carrega).
+     */
+    public <T> List<T> recortar(List<T> todos) {
+        int de = Math.min(inicio, todos.size());
+        return todos.subList(de, Math.min(inicio + limite, todos.size()));
+    }
+}
@@ -0,0 +1,203 @@
+package com.deliverytech.delivery.busca;
+
+import com.deliverytech.delivery.enums.TipoSugestao;
+import com.deliverytech.delivery.util.TextoNormalizado;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trie imutável de prefixos para o autocomplete, em arrays primitivos.
+ *
+ * - Cada sugestão entra pelo texto normalizado ({@link TextoNormalizado}) inteiro e pelo início de cada palavra
+ *   ("pizza margherita" é achada por "piz" e por "marg").
+ * - Cada nó guarda as k melhores sugestões da sua subárvore, já calculadas na montagem:
+ *   a consulta só percorre os caracteres do prefixo e copia a lista do nó.
+ * - As sugestões são ordenadas por peso (popularidade) antes da montagem; o nó guarda
+ *   posições nessa ordem, então "melhor" é simplesmente "menor posição".
+ * - Chaves são truncadas em {@link #PROFUNDIDADE_MAXIMA} caracteres para limitar o número
+ *   de nós; prefixos maiores que isso são conferidos contra o texto das sugestões.
+ */
+public final class TrieSugestoes {
+
+    static final int PROFUNDIDADE_MAXIMA = 24;
+
+    private static final TrieSugestoes VAZIA = new TrieSugestoes(List.of(), 1);
+
+    private final Sugestao[] sugestoes;
+    private final String[] normalizados;
+    private final int topK;
+
+    // Nó i: filhos em [inicioFilhos[i], inicioFilhos[i + 1]) de rotulos/destinos, ordenados por rótulo;
+    // melhores sugestões em [inicioMelhores[i], inicioMelhores[i + 1]) de melhores
+    private final int[] inicioFilhos;
+    private final char[] rotulos;
+    private final int[] destinos;
+    private final int[] inicioMelhores;
+    private final int[] melhores;
+
+    public static TrieSugestoes vazia() {
+        return VAZIA;
+    }
+
+    /**
+     * Monta a trie. topK é o máximo de sugestões devolvidas por consulta.
+     */
+    public static TrieSugestoes montar(List<Sugestao> sugestoes, int topK) {
+        return new TrieSugestoes(sugestoes, topK);
+    }
+
+    private TrieSugestoes(List<Sugestao> entrada, int topK) {
+        this.topK = topK;
+        this.sugestoes = entrada.stream()
+                .sorted(Comparator.comparingLong(Sugestao::peso).reversed()
+                        .thenComparing(Sugestao::texto)
+                        .thenComparing(Sugestao::tipo))
+                .toArray(Sugestao[]::new);
+        this.normalizados = new String[sugestoes.length];
+
+        NoMontagem raiz = new NoMontagem();
+        int totalNos = 1;
+        for (int posicao = 0; posicao < sugestoes.length; posicao++) {
+            String normalizado = TextoNormalizado.normalizar(sugestoes[posicao].texto());
+            normalizados[posicao] = normalizado;
+            for (int inicio = 0; inicio < normalizado.length(); inicio++) {
+                if (inicio == 0 || normalizado.charAt(inicio - 1) == ' ') {
+                    totalNos += inserir(raiz, normalizado, inicio, posicao);
+                }
+            }
+        }
+
+        this.inicioFilhos = new int[totalNos + 1];
+        this.rotulos = new char[totalNos - 1];
+        this.destinos = new int[totalNos - 1];
+        this.inicioMelhores = new int[totalNos + 1];
+
+        // Numeração em largura: os filhos de cada nó ficam contíguos nos arrays
+        List<NoMontagem> fila = new ArrayList<>(totalNos);
+        fila.add(raiz);
+        int proximaAresta = 0;
+        for (int i = 0; i < fila.size(); i++) {
+            NoMontagem no = fila.get(i);
+            inicioFilhos[i] = proximaAresta;
+            char[] chars = new char[no.filhos.size()];
+            int c = 0;
+            for (Character rotulo : no.filhos.keySet()) {
+                chars[c++] = rotulo;
+            }
+            Arrays.sort(chars);
+            for (char rotulo : chars) {
+                rotulos[proximaAresta] = rotulo;
+                destinos[proximaAresta] = fila.size();
+                fila.add(no.filhos.get(rotulo));
+                proximaAresta++;
+            }
+        }
+        inicioFilhos[fila.size()] = proximaAresta;
+
+        // Melhores de cada nó, das folhas para a raiz (ordem inversa da numeração em largura)
+        int[][] calculados = new int[fila.size()][];
+        for (int i = fila.size() - 1; i >= 0; i--) {
+            calculados[i] = melhoresDoNo(fila.get(i), i, calculados);
+        }
+        int total = 0;
+        for (int i = 0; i < calculados.length; i++) {
+            inicioMelhores[i] = total;
+            total += calculados[i].length;
+        }
+        inicioMelhores[calculados.length] = total;
+        this.melhores = new int[total];
+        for (int i = 0; i < calculados.length; i++) {
+            System.arraycopy(calculados[i], 0, melhores, inicioMelhores[i], calculados[i].length);
+        }
+    }
+
+    /**
+     * Até limite (no máximo topK) sugestões cujo texto tem uma palavra começando pelo prefixo,
+     * das mais para as menos populares.
+     */
+    public List<Sugestao> sugerir(String prefixo, int limite) {
+        String normalizado = TextoNormalizado.normalizar(prefixo);
+        if (normalizado.isEmpty() || sugestoes.length == 0) {
+            return List.of();
+        }
+
+        int no = 0;
+        int profundidade = Math.min(normalizado.length(), PROFUNDIDADE_MAXIMA);
+        for (int i = 0; i < profundidade; i++) {
+            no = filho(no, normalizado.charAt(i));
+            if (no < 0) {
+                return List.of();
+            }
+        }
+
+        boolean conferir = normalizado.length() > PROFUNDIDADE_MAXIMA;
+        int maximo = Math.min(limite, topK);
+        List<Sugestao> resultado = new ArrayList<>(maximo);
+        for (int i = inicioMelhores[no]; i < inicioMelhores[no + 1] && resultado.size() < maximo; i++) {
+            int posicao = melhores[i];
+            if (!conferir || contemPalavraComPrefixo(normalizados[posicao], normalizado)) {
+                resultado.add(sugestoes[posicao]);
+            }
+        }
+        return resultado;
+    }
+
+    public int tamanho() {
+        return sugestoes.length;
+    }
+
+    private int filho(int no, char rotulo) {
+        int indice = Arrays.binarySearch(rotulos, inicioFilhos[no], inicioFilhos[no + 1], rotulo);
+        return indice >= 0 ? destinos[indice] : -1;
+    }
+
+    // Posições terminadas no nó + melhores dos filhos, sem repetição, as topK menores
+    private int[] melhoresDoNo(NoMontagem no, int indice, int[][] calculados) {
+        int[] candidatos = no.terminais.stream().mapToInt(Integer::intValue).toArray();
+        for (int aresta = inicioFilhos[indice]; aresta < inicioFilhos[indice + 1]; aresta++) {
+            int[] doFilho = calculados[destinos[aresta]];
+            int[] juntos = Arrays.copyOf(candidatos, candidatos.length + doFilho.length);
+            System.arraycopy(doFilho, 0, juntos, candidatos.length, doFilho.length);
+            candidatos = juntos;
+        }
+        return Arrays.stream(candidatos).sorted().distinct().limit(topK).toArray();
+    }
+
+    private static boolean contemPalavraComPrefixo(String texto, String prefixo) {
+        return texto.startsWith(prefixo) || texto.contains(" " + prefixo);
+    }
+
+    // Devolve quantos nós foram criados
+    private static int inserir(NoMontagem raiz, String texto, int inicio, int posicao) {
+        int criados = 0;
+        NoMontagem no = raiz;
+        int fim = Math.min(texto.length(), inicio + PROFUNDIDADE_MAXIMA);
+        for (int i = inicio; i < fim; i++) {
+            NoMontagem proximo = no.filhos.get(texto.charAt(i));
+            if (proximo == null) {
+                proximo = new NoMontagem();
+                no.filhos.put(texto.charAt(i), proximo);
+                criados++;
+            }
+            no = proximo;
+        }
+        no.terminais.add(posicao);
+        return criados;
+    }
+
+    private static final class NoMontagem {
+        private final Map<Character, NoMontagem> filhos = new HashMap<>(4);
+        private final List<Integer> terminais = new ArrayList<>(1);
+    }
+
+    /**
+     * Uma sugestão: id é null para categorias.
+     */
+    public record Sugestao(TipoSugestao tipo, Long id, String texto, long peso) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.deliverytech.delivery.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Nomes dos caches da aplicação e invalidação programática, para os casos em que
+ * a chave não está nos argumentos do método (e não dá para usar @CacheEvict).
+ *
+ * A spec de cada cache vem de delivery.cache.specs.&lt;nome&gt; (ver CacheConfig).
+ */
+@Component
+public class Caches {
+
+    /** RestauranteResponseDTO por id. */
+    public static final String RESTAURANTES = "restaurantes";
+    /** Lista de restaurantes ativos (chave única). */
+    public static final String RESTAURANTES_ATIVOS = "restaurantes-ativos";
+    /** Cardápio (produtos disponíveis) por id do restaurante. */
+    public static final String CARDAPIOS = "cardapios";
+    /** ClienteResponseDTO por email. */
+    public static final String CLIENTES_POR_EMAIL = "clientes-por-email";
+    /** ClienteResponseDTO por id. */
+    public static final String CLIENTES = "clientes";
+
+    public static final List<String> TODOS = List.of(RESTAURANTES, RESTAURANTES_ATIVOS, CARDAPIOS, CLIENTES_POR_EMAIL,
+            CLIENTES);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Remove a chave do cache. Dentro de uma transação, a remoção só acontece após o commit.
+     */
+    public void evict(String nome, Object chave) {
+        Cache cache = cacheManager.getCache(nome);
+        if (cache != null && chave != null) {
+            cache.evict(chave);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.deliverytech.delivery.cache;
+
+import com.deliverytech.delivery.datasource.LeituraNoPrimario;
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery.events.CardapioAlteradoEvent;
+import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.mapper.ProdutoMapper;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cardápios (produtos disponíveis por restaurante) já serializados em JSON,
+ * opcionalmente também em gzip, com ETag calculado a partir do conteúdo.
+ *
+ * - O snapshot é montado na primeira leitura e reaproveitado até um
+ *   CardapioAlteradoEvent daquele restaurante (após o commit) ou até expirar
+ *   (delivery.cache.cardapio-snapshot.ttl-ms), o que também absorve alterações
+ *   feitas por outras instâncias da API.
+ * - Restaurante inexistente lança EntityNotFoundException (404) e não é guardado.
+ * - Requisições condicionais com o mesmo ETag viram 304 sem banco nem Jackson.
+ * - Uma geração global evita guardar um snapshot montado com dados anteriores
+ *   a uma invalidação concorrente.
+ * - A montagem lê do primário ({@link LeituraNoPrimario}), nunca de uma réplica atrasada.
+ */
+@Component
+public class CardapioSnapshotCache {
+
+    /** Abaixo disso o gzip não compensa. */
+    private static final int TAMANHO_MINIMO_GZIP = 1024;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ProdutoMapper produtoMapper;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate leitura;
+    private final Cache<Long, CardapioSnapshot> snapshots;
+    private final AtomicLong geracao = new AtomicLong();
+
+    public CardapioSnapshotCache(PlatformTransactionManager transactionManager,
+                                 @Value("${delivery.cache.cardapio-snapshot.tamanho-maximo:5000}") long tamanhoMaximo,
+                                 @Value("${delivery.cache.cardapio-snapshot.ttl-ms:600000}") long ttlMs) {
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    public CardapioSnapshot obter(Long restauranteId) {
+        CardapioSnapshot snapshot = snapshots.getIfPresent(restauranteId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        long geracaoInicial = geracao.get();
+        snapshot = montar(restauranteId);
+        snapshots.put(restauranteId, snapshot);
+        if (geracao.get() != geracaoInicial) {
+            // Houve invalidação durante a montagem: o snapshot pode estar desatualizado
+            snapshots.asMap().remove(restauranteId, snapshot);
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarCardapio(CardapioAlteradoEvent evento) {
+        geracao.incrementAndGet();
+        snapshots.invalidate(evento.restauranteId());
+    }
+
+    private CardapioSnapshot montar(Long restauranteId) {
+        // Lê do primário: o snapshot vale para todos os clientes até a próxima invalidação
+        List<ProdutoResponseDTO> produtos = LeituraNoPrimario.executar(() -> leitura.execute(status -> {
+            List<ProdutoResponseDTO> disponiveis = produtoRepository.findByRestauranteIdAndDisponivelTrue(restauranteId).stream()
+                    .map(produtoMapper::toResponse)
+                    .toList();
+            // Cardápio vazio: só aqui é preciso confirmar que o restaurante existe
+            if (disponiveis.isEmpty() && !restauranteRepository.existsById(restauranteId)) {
+                throw new EntityNotFoundException("Restaurante não encontrado: " + restauranteId);
+            }
+            return disponiveis;
+        }));
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(produtos);
+            byte[] gzip = json.length >= TAMANHO_MINIMO_GZIP ? gzip(json) : null;
+            return new CardapioSnapshot(json, gzip, etag(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar cardápio do restaurante " + restauranteId, e);
+        }
+    }
+
+    private static byte[] gzip(byte[] dados) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(dados.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Cardápio serializado. gzip é null quando o JSON é pequeno demais para compensar.
+     * O ETag da variante gzip ganha o sufixo "-gz" (ETags fortes são por representação).
+     */
+    public record CardapioSnapshot(byte[] json, byte[] gzip, String hash) {
+
+        public String etag() {
+            return "\"" + hash + "\"";
+        }
+
+        public String etagGzip() {
+            return "\"" + hash + "-gz\"";
+        }
+    }
+}
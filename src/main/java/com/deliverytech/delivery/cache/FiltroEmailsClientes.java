@@ -0,0 +1,189 @@
+package com.deliverytech.delivery.cache;
+
+import com.deliverytech.delivery.repository.ClienteRepository;
+import com.deliverytech.delivery.util.AposCommit;
+import com.deliverytech.delivery.util.FiltroBloom;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Filtro de Bloom com os emails de todos os clientes, para o cadastro pular a consulta
+ * existsByEmail quando o email com certeza é novo (o caso comum).
+ *
+ * - Carregado em segundo plano na subida e remontado periodicamente, o que descarta emails
+ *   que deixaram de existir e redimensiona o filtro conforme a tabela cresce. Até a primeira
+ *   carga terminar, {@link #podeExistir} responde true e o cadastro consulta o banco.
+ * - Os services registram o email no cadastro e na alteração, antes do commit e de novo após
+ *   ele: um rollback só deixa um falso positivo a mais, nunca um falso negativo.
+ * - O filtro é só um atalho: a unicidade é garantida pelo índice único uk_clientes_email.
+ *
+ * Métricas: clientes.email.filtro.consultas (resultado = ausente, confirmado, falso-positivo),
+ * clientes.email.filtro.falsos-positivos.taxa (observada) e .estimada (pela ocupação dos bits).
+ */
+@Component
+public class FiltroEmailsClientes {
+
+    private static final Logger log = LoggerFactory.getLogger(FiltroEmailsClientes.class);
+
+    private final ClienteRepository clienteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double taxaFalsosPositivos;
+    private final long capacidadeMinima;
+
+    private volatile FiltroBloom filtro;
+    // Filtro em montagem: recebe também os registros feitos enquanto a carga roda
+    private volatile FiltroBloom emMontagem;
+    private volatile boolean carregado;
+    // Uma carga por vez (ReentrantLock: a recarga agendada pode rodar em thread virtual)
+    private final ReentrantLock carga = new ReentrantLock();
+
+    private final AtomicLong ausentes = new AtomicLong();
+    private final AtomicLong falsosPositivos = new AtomicLong();
+    private final Counter confirmados;
+
+    public FiltroEmailsClientes(ClienteRepository clienteRepository, TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${delivery.clientes.filtro-email.taxa-falsos-positivos:0.01}") double taxaFalsosPositivos,
+                                @Value("${delivery.clientes.filtro-email.capacidade-minima:100000}") long capacidadeMinima) {
+        this.clienteRepository = clienteRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taxaFalsosPositivos = taxaFalsosPositivos;
+        this.capacidadeMinima = capacidadeMinima;
+        this.filtro = new FiltroBloom(capacidadeMinima, taxaFalsosPositivos);
+
+        FunctionCounter.builder("clientes.email.filtro.consultas", ausentes, AtomicLong::get)
+                .description("Verificações de email no cadastro por resultado do filtro de Bloom")
+                .tag("resultado", "ausente")
+                .register(meterRegistry);
+        FunctionCounter.builder("clientes.email.filtro.consultas", falsosPositivos, AtomicLong::get)
+                .description("Verificações de email no cadastro por resultado do filtro de Bloom")
+                .tag("resultado", "falso-positivo")
+                .register(meterRegistry);
+        confirmados = Counter.builder("clientes.email.filtro.consultas")
+                .description("Verificações de email no cadastro por resultado do filtro de Bloom")
+                .tag("resultado", "confirmado")
+                .register(meterRegistry);
+        Gauge.builder("clientes.email.filtro.falsos-positivos.taxa", this, FiltroEmailsClientes::taxaObservada)
+                .description("Falsos positivos / emails novos verificados desde a subida")
+                .register(meterRegistry);
+        Gauge.builder("clientes.email.filtro.falsos-positivos.estimada", this,
+                        f -> f.filtro.taxaFalsosPositivosEstimada())
+                .description("Taxa de falsos positivos esperada pela ocupação atual do filtro")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciarCarga() {
+        Thread.ofVirtual().name("filtro-emails-clientes-carga").start(this::carregar);
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.clientes.filtro-email.recarga-ms:21600000}",
+            initialDelayString = "${delivery.clientes.filtro-email.recarga-ms:21600000}")
+    public void recarregar() {
+        carregar();
+    }
+
+    private void carregar() {
+        carga.lock();
+        try {
+            executarCarga();
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    private void executarCarga() {
+        long inicio = System.nanoTime();
+        try {
+            // Folga para o crescimento até a próxima remontagem
+            long capacidade = Math.max(capacidadeMinima, clienteRepository.count() * 2);
+            FiltroBloom novo = new FiltroBloom(capacidade, taxaFalsosPositivos);
+            emMontagem = novo;
+            long[] total = {0};
+            transactionTemplate.executeWithoutResult(transacao -> {
+                try (Stream<String> emails = clienteRepository.streamEmails()) {
+                    emails.forEach(email -> {
+                        novo.adicionar(normalizar(email));
+                        total[0]++;
+                    });
+                }
+            });
+            filtro = novo;
+            carregado = true;
+            log.info("Filtro de emails de clientes carregado: {} emails, {} bits, {} hashes em {} ms", total[0],
+                    novo.bits(), novo.funcoesHash(), (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Falha ao carregar o filtro de emails de clientes", e);
+        } finally {
+            emMontagem = null;
+        }
+    }
+
+    /**
+     * false = nenhum cliente tem este email (dispensa a consulta); true = confirmar no banco.
+     */
+    public boolean podeExistir(String email) {
+        if (!carregado) {
+            return true;
+        }
+        if (filtro.podeConter(normalizar(email))) {
+            return true;
+        }
+        ausentes.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Resultado da consulta ao banco feita depois de {@link #podeExistir} responder true.
+     */
+    public void registrarConfirmacao(boolean existe) {
+        if (!carregado) {
+            return;
+        }
+        if (existe) {
+            confirmados.increment();
+        } else {
+            falsosPositivos.incrementAndGet();
+        }
+    }
+
+    public void registrar(String email) {
+        String normalizado = normalizar(email);
+        adicionar(normalizado);
+        // Uma remontagem que começou antes do commit pode não ter lido a linha nova
+        AposCommit.executar(() -> adicionar(normalizado));
+    }
+
+    private void adicionar(String normalizado) {
+        filtro.adicionar(normalizado);
+        FiltroBloom novo = emMontagem;
+        if (novo != null) {
+            novo.adicionar(normalizado);
+        }
+    }
+
+    private double taxaObservada() {
+        long negativos = ausentes.get() + falsosPositivos.get();
+        return negativos == 0 ? 0.0 : (double) falsosPositivos.get() / negativos;
+    }
+
+    // A collation do MySQL compara emails sem diferenciar maiúsculas
+    private static String normalizar(String email) {
+        return email.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,186 @@
+package com.deliverytech.delivery.cache;
+
+import com.deliverytech.delivery.repository.ClienteRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.util.AposCommit;
+import com.deliverytech.delivery.util.LongHashSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * IDs de clientes e restaurantes ativos em memória (conjuntos de long primitivos),
+ * para validar chaves estrangeiras sem ir ao banco na criação de pedidos e produtos.
+ *
+ * - Carregado por completo quando a aplicação fica pronta e recarregado periodicamente,
+ *   o que também absorve alterações feitas por outras instâncias da API.
+ * - Atualizado pelos services após o commit de cadastros e ativações/inativações.
+ *   Alterações que chegam durante uma recarga são registradas e reaplicadas sobre os
+ *   conjuntos novos na troca: a leitura do banco pode não tê-las visto.
+ * - Um ID ausente não é conclusivo: o chamador confirma no banco (ver {@link #clienteAtivo}).
+ */
+@Component
+public class IdsAtivosCache {
+
+    private static final Logger log = LoggerFactory.getLogger(IdsAtivosCache.class);
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Uma carga por vez (subida e recarga agendada); lock em vez de synchronized pela leitura JDBC em threads virtuais
+    private final ReentrantLock carga = new ReentrantLock();
+    private LongHashSet clientes = new LongHashSet();
+    private LongHashSet restaurantes = new LongHashSet();
+    // Alterações recebidas durante a recarga em andamento (null fora dela); protegido pelo lock
+    private List<Alteracao> alteracoesDuranteRecarga;
+    private volatile boolean carregado;
+
+    private record Alteracao(boolean cliente, long id, boolean ativo) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        carga.lock();
+        try {
+            executarCarga();
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    private void executarCarga() {
+        // Começa a registrar antes de abrir a transação: o que for confirmado depois disso
+        // e a leitura não enxergar é reaplicado na troca
+        lock.writeLock().lock();
+        try {
+            alteracoesDuranteRecarga = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        LongHashSet novosClientes = new LongHashSet();
+        LongHashSet novosRestaurantes = new LongHashSet();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Long> ids = clienteRepository.streamIdsAtivos()) {
+                    ids.forEach(novosClientes::add);
+                }
+                try (Stream<Long> ids = restauranteRepository.streamIdsAtivos()) {
+                    ids.forEach(novosRestaurantes::add);
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                alteracoesDuranteRecarga = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Na ordem em que aconteceram: a última alteração de cada ID prevalece
+            for (Alteracao alteracao : alteracoesDuranteRecarga) {
+                alterar(alteracao.cliente() ? novosClientes : novosRestaurantes, alteracao.id(), alteracao.ativo());
+            }
+            alteracoesDuranteRecarga = null;
+            clientes = novosClientes;
+            restaurantes = novosRestaurantes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        carregado = true;
+        log.info("IDs ativos carregados: {} clientes, {} restaurantes", novosClientes.size(), novosRestaurantes.size());
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.cache.ids-ativos.recarga-ms:300000}",
+            initialDelayString = "${delivery.cache.ids-ativos.recarga-ms:300000}")
+    public void recarregar() {
+        carregar();
+    }
+
+    /**
+     * true = ativo com certeza (até a próxima inativação); false = desconhecido, confirmar no banco.
+     */
+    public boolean clienteAtivo(long id) {
+        if (!carregado) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return clientes.contains(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean restauranteAtivo(long id) {
+        if (!carregado) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return restaurantes.contains(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void atualizarCliente(long id, boolean ativo) {
+        AposCommit.executar(() -> {
+            lock.writeLock().lock();
+            try {
+                alterar(clientes, id, ativo);
+                registrarDuranteRecarga(new Alteracao(true, id, ativo));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void atualizarRestaurante(long id, boolean ativo) {
+        AposCommit.executar(() -> {
+            lock.writeLock().lock();
+            try {
+                alterar(restaurantes, id, ativo);
+                registrarDuranteRecarga(new Alteracao(false, id, ativo));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Chamado com o write lock
+    private void registrarDuranteRecarga(Alteracao alteracao) {
+        if (alteracoesDuranteRecarga != null) {
+            alteracoesDuranteRecarga.add(alteracao);
+        }
+    }
+
+    private static void alterar(LongHashSet conjunto, long id, boolean ativo) {
+        if (ativo) {
+            conjunto.add(id);
+        } else {
+            conjunto.remove(id);
+        }
+    }
+}
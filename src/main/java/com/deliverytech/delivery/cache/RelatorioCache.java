@@ -0,0 +1,218 @@
+package com.deliverytech.delivery.cache;
+
+import com.deliverytech.delivery.exceptions.ServicoIndisponivelException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Cache de relatórios por tipo + parâmetros, com cálculo único por chave (single-flight)
+ * e stale-while-revalidate.
+ *
+ * - Falta: o primeiro chamador calcula; os concorrentes com a mesma chave aguardam o mesmo
+ *   future em vez de repetir a consulta (contados como "coalescido").
+ * - Até o TTL o resultado é devolvido direto ("recente").
+ * - Entre o TTL e o limite de obsolescência, o resultado anterior é devolvido na hora e
+ *   um único recálculo roda em segundo plano ("obsoleto").
+ * - Depois do limite a entrada expira e o próximo chamador volta a calcular.
+ * - Falhas não ficam em cache: todos os que aguardavam recebem a mesma exceção.
+ * - Quem aguarda o cálculo de outra thread espera no máximo espera-max-ms e recebe 503
+ *   (não há valor anterior para servir: o cálculo em andamento é o primeiro da chave).
+ * - No máximo atualizacoes-simultaneas recálculos em segundo plano ao mesmo tempo (cada um ocupa
+ *   uma conexão). Acima disso o recálculo é adiado: o valor anterior continua sendo servido e o
+ *   próximo acesso obsoleto tenta de novo.
+ *
+ * Cada cálculo roda numa transação somente leitura própria, em qualquer thread: quem só
+ * aguarda o resultado não ocupa conexão. Com réplicas configuradas o cálculo vai para uma delas:
+ * as entradas não são invalidadas por escritas e já aceitam até o TTL de atraso, e o atraso da
+ * réplica fica limitado a delivery.datasource.replicas.atraso-maximo-s.
+ * Os valores são compartilhados entre chamadores e não devem ser alterados.
+ */
+@Component
+public class RelatorioCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatorioCache.class);
+
+    private record Chave(String tipo, List<Object> parametros) {
+    }
+
+    private record Resultado(Object valor, long calculadoEm) {
+    }
+
+    private final TransactionTemplate leitura;
+    private final Cache<Chave, CompletableFuture<Resultado>> resultados;
+    private final Set<Chave> atualizando = ConcurrentHashMap.newKeySet();
+    private final ExecutorService atualizador = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("relatorio-cache-", 0).factory());
+    private final Semaphore vagasAtualizacao;
+    private final long ttlNanos;
+    private final long esperaMaxNanos;
+
+    private final Counter calculados;
+    private final Counter coalescidos;
+    private final Counter recentes;
+    private final Counter obsoletos;
+    private final Counter falhasAtualizacao;
+    private final Counter atualizacoesAdiadas;
+    private final Counter esperasEsgotadas;
+
+    public RelatorioCache(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                          @Value("${delivery.relatorios.cache.ttl-ms:5000}") long ttlMillis,
+                          @Value("${delivery.relatorios.cache.obsoleto-max-ms:60000}") long obsoletoMaxMillis,
+                          @Value("${delivery.relatorios.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                          @Value("${delivery.relatorios.cache.atualizacoes-simultaneas:4}") int atualizacoesSimultaneas,
+                          @Value("${delivery.relatorios.cache.espera-max-ms:30000}") long esperaMaxMillis) {
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.ttlNanos = Duration.ofMillis(ttlMillis).toNanos();
+        this.esperaMaxNanos = Duration.ofMillis(esperaMaxMillis).toNanos();
+        this.vagasAtualizacao = new Semaphore(atualizacoesSimultaneas);
+        this.resultados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(Duration.ofMillis(Math.max(ttlMillis, obsoletoMaxMillis)))
+                .build();
+
+        calculados = contador(meterRegistry, "calculado");
+        coalescidos = contador(meterRegistry, "coalescido");
+        recentes = contador(meterRegistry, "recente");
+        obsoletos = contador(meterRegistry, "obsoleto");
+        falhasAtualizacao = Counter.builder("relatorios.cache.atualizacoes.falhas")
+                .description("Recálculos em segundo plano que falharam (o valor anterior continua em uso)")
+                .register(meterRegistry);
+        atualizacoesAdiadas = Counter.builder("relatorios.cache.atualizacoes.adiadas")
+                .description("Recálculos em segundo plano não iniciados por já haver o máximo em andamento")
+                .register(meterRegistry);
+        esperasEsgotadas = Counter.builder("relatorios.cache.esperas.esgotadas")
+                .description("Chamadores que desistiram de aguardar um cálculo em andamento (503)")
+                .register(meterRegistry);
+        Gauge.builder("relatorios.cache.tamanho", resultados, Cache::estimatedSize)
+                .description("Relatórios em cache")
+                .register(meterRegistry);
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("relatorios.cache.requisicoes")
+                .description("Requisições de relatório por origem da resposta")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        atualizador.shutdownNow();
+    }
+
+    /**
+     * Devolve o relatório do tipo para os parâmetros, calculando com {@code calculo} se necessário.
+     * Os parâmetros formam a chave junto com o tipo (podem ser nulos).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T obter(String tipo, Supplier<T> calculo, Object... parametros) {
+        Chave chave = new Chave(tipo, Arrays.asList(parametros));
+
+        CompletableFuture<Resultado> novo = new CompletableFuture<>();
+        CompletableFuture<Resultado> existente = resultados.asMap().putIfAbsent(chave, novo);
+        if (existente == null) {
+            calculados.increment();
+            return (T) calcular(chave, novo, calculo).valor();
+        }
+
+        if (!existente.isDone()) {
+            coalescidos.increment();
+        }
+        Resultado resultado = aguardar(existente);
+        if (System.nanoTime() - resultado.calculadoEm() > ttlNanos) {
+            obsoletos.increment();
+            atualizarEmSegundoPlano(chave, calculo);
+        } else if (existente.isDone()) {
+            recentes.increment();
+        }
+        return (T) resultado.valor();
+    }
+
+    private Resultado calcular(Chave chave, CompletableFuture<Resultado> futuro, Supplier<?> calculo) {
+        try {
+            Resultado resultado = new Resultado(leitura.execute(status -> calculo.get()), System.nanoTime());
+            futuro.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            resultados.asMap().remove(chave, futuro);
+            futuro.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void atualizarEmSegundoPlano(Chave chave, Supplier<?> calculo) {
+        if (!atualizando.add(chave)) {
+            return; // já existe um recálculo em andamento para a chave
+        }
+        if (!vagasAtualizacao.tryAcquire()) {
+            atualizando.remove(chave);
+            atualizacoesAdiadas.increment();
+            return;
+        }
+        try {
+            atualizador.execute(() -> {
+                try {
+                    Object valor = leitura.execute(status -> calculo.get());
+                    resultados.put(chave, CompletableFuture.completedFuture(new Resultado(valor, System.nanoTime())));
+                } catch (RuntimeException e) {
+                    falhasAtualizacao.increment();
+                    log.warn("Falha ao recalcular o relatório {} {}", chave.tipo(), chave.parametros(), e);
+                } finally {
+                    atualizando.remove(chave);
+                    vagasAtualizacao.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            atualizando.remove(chave); // executor encerrado
+            vagasAtualizacao.release();
+        }
+    }
+
+    // Repassa a exceção original do cálculo (ex: EntityNotFoundException -> 404)
+    private Resultado aguardar(CompletableFuture<Resultado> futuro) {
+        try {
+            return futuro.get(esperaMaxNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            esperasEsgotadas.increment();
+            throw new ServicoIndisponivelException("Relatório ainda em cálculo, tente novamente em instantes");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServicoIndisponivelException("Espera pelo relatório interrompida", e);
+        } catch (ExecutionException | CancellationException e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            if (causa instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(causa);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.deliverytech.delivery.config;
+
+import com.deliverytech.delivery.cache.Caches;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Caches em memória com Caffeine (W-TinyLFU, limite de tamanho e expiração).
+ *
+ * - Cada cache tem sua própria spec em delivery.cache.specs.&lt;nome&gt;.
+ * - recordStats() alimenta as métricas cache.gets/cache.evictions do actuator.
+ * - Os caches são fixos (sem criação dinâmica) e transaction-aware: puts e evicts
+ *   feitos dentro de uma transação só valem após o commit, evitando que um leitor
+ *   concorrente recoloque no cache o valor antigo.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final String SPEC_PADRAO = "maximumSize=1000,expireAfterWrite=5m";
+
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+        for (String nome : Caches.TODOS) {
+            String spec = environment.getProperty("delivery.cache.specs." + nome, SPEC_PADRAO);
+            cacheManager.registerCustomCache(nome, Caffeine.from(spec).recordStats().build());
+        }
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
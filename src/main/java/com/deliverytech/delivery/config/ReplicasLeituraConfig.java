@@ -0,0 +1,102 @@
+package com.deliverytech.delivery.config;
+
+import com.deliverytech.delivery.datasource.FiltroEscritaRecente;
+import com.deliverytech.delivery.datasource.JanelaEscritaRecente;
+import com.deliverytech.delivery.datasource.LeituraNoPrimario;
+import com.deliverytech.delivery.datasource.PrimarioMonitorado;
+import com.deliverytech.delivery.datasource.RoteadorReplicas;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Separação leitura/escrita: transações @Transactional(readOnly = true) usam as réplicas
+ * de delivery.datasource.replicas.urls; todo o resto usa o primário de spring.datasource.
+ *
+ * - O DataSource da aplicação é um LazyConnectionDataSourceProxy: a conexão física só é obtida
+ *   na primeira instrução, quando o JpaTransactionManager já marcou a transação como somente
+ *   leitura, e aí vem do {@link RoteadorReplicas} em vez do primário.
+ * - Transações somente leitura aninhadas numa de escrita continuam na conexão do primário.
+ * - Leituras que preenchem caches de entidades invalidados nas escritas usam o primário
+ *   ({@link LeituraNoPrimario}); os relatórios em cache continuam nas réplicas.
+ * - Réplicas fora do ar não impedem a subida (initializationFailTimeout = -1): as leituras
+ *   vão para o primário até a verificação periódica encontrá-las de novo.
+ */
+@Configuration
+@ConditionalOnProperty(name = "delivery.datasource.replicas.enabled", havingValue = "true")
+public class ReplicasLeituraConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    @Bean
+    public JanelaEscritaRecente janelaEscritaRecente(
+            @Value("${delivery.datasource.replicas.janela-escrita-ms:2000}") long janelaMs) {
+        return new JanelaEscritaRecente(janelaMs);
+    }
+
+    @Bean
+    public FiltroEscritaRecente filtroEscritaRecente(JanelaEscritaRecente janelaEscritaRecente) {
+        return new FiltroEscritaRecente(janelaEscritaRecente);
+    }
+
+    @Bean
+    public RoteadorReplicas roteadorReplicas(
+            HikariDataSource dataSourcePrimario, JanelaEscritaRecente janelaEscritaRecente,
+            DataSourceProperties properties, MeterRegistry meterRegistry,
+            @Value("${delivery.datasource.replicas.urls}") List<String> urls,
+            @Value("${delivery.datasource.replicas.username:}") String username,
+            @Value("${delivery.datasource.replicas.password:}") String password,
+            @Value("${delivery.datasource.replicas.maximo-conexoes:20}") int maximoConexoes,
+            @Value("${delivery.datasource.replicas.connection-timeout:1000}") long connectionTimeoutMs,
+            @Value("${delivery.datasource.replicas.atraso-maximo-s:0}") int atrasoMaximoSegundos) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            String nome = "replica-" + (replicas.size() + 1);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(nome);
+            config.setJdbcUrl(url.strip());
+            config.setDriverClassName(properties.determineDriverClassName());
+            // Sem credenciais próprias, as réplicas usam as do primário
+            config.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            config.setPassword(username.isEmpty() ? properties.determinePassword() : password);
+            config.setMaximumPoolSize(maximoConexoes);
+            config.setConnectionTimeout(connectionTimeoutMs);
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(nome, new HikariDataSource(config));
+        }
+        return new RoteadorReplicas(dataSourcePrimario, replicas, janelaEscritaRecente, atrasoMaximoSegundos,
+                meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource dataSourcePrimario, RoteadorReplicas roteadorReplicas,
+                                 JanelaEscritaRecente janelaEscritaRecente) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new PrimarioMonitorado(dataSourcePrimario, janelaEscritaRecente));
+        dataSource.setReadOnlyDataSource(roteadorReplicas);
+        return dataSource;
+    }
+}
@@ -2,13 +2,16 @@ package com.deliverytech.delivery.controller;
 
 import com.deliverytech.delivery.dto.request.ClienteRequestDTO;
 import com.deliverytech.delivery.dto.response.ClienteResponseDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
 import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery.util.JsonStreamWriter;
 
 import jakarta.validation.Valid;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -25,6 +28,7 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -42,6 +46,9 @@ public class ClienteController {
     @Autowired
     private PedidoService pedidoService;
 
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+
     /*
      * Cadastrar novo cliente
      */
@@ -98,8 +105,15 @@ public class ClienteController {
      * Buscar clientes por nome
      */
     @GetMapping("/buscar")
-      public ResponseEntity<List<ClienteResponseDTO>> buscarPorNome(@RequestParam String nome) {
-        List<ClienteResponseDTO> clientes = clienteService.buscarPorNome(nome);
+    @Operation(summary = "Buscar clientes por nome", description = "Busca textual no nome de clientes ativos, ordenada por relevância e paginada por cursor. Envie o 'nextCursor' recebido para obter a próxima página.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Clientes encontrados"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido, ou cursor além dos resultados paginados")
+    })
+    public ResponseEntity<PaginaCursorResponseDTO<ClienteResponseDTO>> buscarPorNome(@RequestParam String nome,
+                                                                                    @RequestParam(required = false) String cursor,
+                                                                                    @RequestParam(required = false) Integer limite) {
+        PaginaCursorResponseDTO<ClienteResponseDTO> clientes = clienteService.buscarPorNome(nome, cursor, limite);
         return ResponseEntity.ok(clientes);
     }
 
@@ -113,14 +127,24 @@ public class ClienteController {
     }
      
     @GetMapping("/cliente/{clienteId}")
-    @Operation(summary = "Listar pedidos por cliente", description = "Retorna todos os pedidos de um cliente específico.")
+    @Operation(summary = "Listar pedidos por cliente", description = "Retorna os pedidos de um cliente específico, paginados por cursor. Envie o 'nextCursor' recebido para obter a próxima página.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Pedidos listados"),
-            @ApiResponse(responseCode = "404", description = "Cliente não encontrado")
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido")
     })
-    public ResponseEntity<List<PedidoResponseDTO>> listarPorCliente(@PathVariable Long clienteId) {
-        List<PedidoResponseDTO> pedidos = pedidoService.listarPorCliente(clienteId);
+    public ResponseEntity<PaginaCursorResponseDTO<PedidoResponseDTO>> listarPorCliente(@PathVariable Long clienteId,
+                                                                                      @RequestParam(required = false) String cursor,
+                                                                                      @RequestParam(required = false) Integer limite) {
+        PaginaCursorResponseDTO<PedidoResponseDTO> pedidos = pedidoService.listarPorCliente(clienteId, cursor, limite);
         return ResponseEntity.ok(pedidos);
     }
 
+    @GetMapping(value = "/cliente/{clienteId}/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Exportar pedidos por cliente (streaming)", description = "Retorna todos os pedidos do cliente como um array JSON escrito incrementalmente.")
+    public ResponseEntity<StreamingResponseBody> streamPorCliente(@PathVariable Long clienteId) {
+        StreamingResponseBody corpo = out -> jsonStreamWriter.<PedidoResponseDTO>writeArray(out,
+                consumidor -> pedidoService.percorrerPorCliente(clienteId, consumidor));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo);
+    }
+
 }
@@ -0,0 +1,39 @@
+package com.deliverytech.delivery.controller;
+
+import com.deliverytech.delivery.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery.dto.response.PedidoAceitoResponseDTO;
+import com.deliverytech.delivery.services.PedidoIntakeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/pedidos")
+@CrossOrigin(origins = "*")
+@Validated
+@ConditionalOnProperty(name = "delivery.pedidos.intake.enabled", havingValue = "true")
+public class PedidoAssincronoController {
+
+    @Autowired
+    private PedidoIntakeService pedidoIntakeService;
+
+    @PostMapping("/assincrono")
+    @Operation(summary = "Criar um pedido de forma assíncrona", description = "Aceita o pedido em uma fila e o grava em lote logo em seguida. Retorna o número do pedido imediatamente.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Pedido aceito para gravação"),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida, cliente/restaurante inativo ou produto indisponível"),
+            @ApiResponse(responseCode = "404", description = "Cliente ou restaurante não encontrado"),
+            @ApiResponse(responseCode = "503", description = "Fila de pedidos cheia, tente novamente")
+    })
+    public ResponseEntity<PedidoAceitoResponseDTO> criarPedido(@Valid @RequestBody PedidoRequestDTO dto) {
+        PedidoAceitoResponseDTO aceito = pedidoIntakeService.enfileirar(dto);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(aceito);
+    }
+}
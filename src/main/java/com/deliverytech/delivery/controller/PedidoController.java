@@ -1,19 +1,28 @@
 package com.deliverytech.delivery.controller;
 
+import com.deliverytech.delivery.dto.request.PedidoLoteRequestDTO;
 import com.deliverytech.delivery.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
+import com.deliverytech.delivery.dto.response.PedidoLoteResponseDTO;
 import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.events.PedidoEventosHub;
 import com.deliverytech.delivery.services.PedidoService; // Import da Interface
+import com.deliverytech.delivery.services.RestauranteService;
+import com.deliverytech.delivery.util.JsonStreamWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/pedidos")
@@ -24,6 +33,15 @@ public class PedidoController {
     @Autowired
     private PedidoService pedidoService; 
 
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+
+    @Autowired
+    private PedidoEventosHub pedidoEventosHub;
+
+    @Autowired
+    private RestauranteService restauranteService;
+
     @PostMapping
     @Operation(summary = "Criar um novo pedido", description = "Endpoint para registrar um novo pedido.")
     @ApiResponses({
@@ -36,6 +54,17 @@ public class PedidoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(pedidoSalvo);
     }
 
+    @PostMapping("/lote")
+    @Operation(summary = "Criar pedidos em lote", description = "Registra vários pedidos em uma única requisição, com inserção em lote. Retorna o resultado de cada item na ordem enviada.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lote processado (ver o resultado de cada item)"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do tamanho máximo")
+    })
+    public ResponseEntity<PedidoLoteResponseDTO> criarPedidosEmLote(@Valid @RequestBody PedidoLoteRequestDTO dto) {
+        PedidoLoteResponseDTO resultado = pedidoService.criarPedidosEmLote(dto.getPedidos());
+        return ResponseEntity.ok(resultado);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar pedido por ID", description = "Retorna um pedido específico pelo seu ID.")
     @ApiResponses({
@@ -59,18 +88,55 @@ public class PedidoController {
     }
 
     @GetMapping("/status")
-    @Operation(summary = "Listar pedidos por status", description = "Retorna pedidos filtrados por status (PENDENTE, CONFIRMADO, etc.)")
-    public ResponseEntity<List<PedidoResponseDTO>> listarPorStatus(@RequestParam String status) {
-        List<PedidoResponseDTO> pedidos = pedidoService.listarPorStatus(status);
+    @Operation(summary = "Listar pedidos por status", description = "Retorna pedidos filtrados por status (PENDENTE, CONFIRMADO, etc.), paginados por cursor. Envie o 'nextCursor' recebido para obter a próxima página.")
+    public ResponseEntity<PaginaCursorResponseDTO<PedidoResponseDTO>> listarPorStatus(@RequestParam String status,
+                                                                                     @RequestParam(required = false) String cursor,
+                                                                                     @RequestParam(required = false) Integer limite) {
+        PaginaCursorResponseDTO<PedidoResponseDTO> pedidos = pedidoService.listarPorStatus(status, cursor, limite);
         return ResponseEntity.ok(pedidos);
     }
 
+    @GetMapping(value = "/status/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Exportar pedidos por status (streaming)", description = "Retorna todos os pedidos do status como um array JSON escrito incrementalmente, com uso de memória constante.")
+    public ResponseEntity<StreamingResponseBody> streamPorStatus(@RequestParam String status) {
+        // Valida antes de iniciar a resposta, para que erros ainda retornem 400
+        StatusPedido statusEnum = StatusPedido.fromString(status);
+        StreamingResponseBody corpo = out -> jsonStreamWriter.<PedidoResponseDTO>writeArray(out,
+                consumidor -> pedidoService.percorrerPorStatus(statusEnum, consumidor));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo);
+    }
+
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar status de um pedido (SSE)", description = "Stream Server-Sent Events com as mudanças de status do pedido. Envie o cabeçalho Last-Event-ID para retomar após uma reconexão.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream aberto"),
+            @ApiResponse(responseCode = "404", description = "Pedido não encontrado")
+    })
+    public SseEmitter eventosDoPedido(@PathVariable Long id,
+                                      @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId) {
+        pedidoService.buscarPorId(id);
+        return pedidoEventosHub.assinarPedido(id, ultimoEventoId);
+    }
+
+    @GetMapping(value = "/restaurante/{restauranteId}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar pedidos de um restaurante (SSE)", description = "Stream Server-Sent Events com os pedidos novos e as mudanças de status de um restaurante. Envie o cabeçalho Last-Event-ID para retomar após uma reconexão.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream aberto"),
+            @ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
+    })
+    public SseEmitter eventosDoRestaurante(@PathVariable Long restauranteId,
+                                           @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId) {
+        restauranteService.buscarPorId(restauranteId);
+        return pedidoEventosHub.assinarRestaurante(restauranteId, ultimoEventoId);
+    }
+
     @PatchMapping("/{id}/status")
     @Operation(summary = "Atualizar status de um pedido", description = "Altera o status de um pedido existente (ex: PENDENTE -> CONFIRMADO).")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Status atualizado"),
-            @ApiResponse(responseCode = "400", description = "Transição de status inválida"),
-            @ApiResponse(responseCode = "404", description = "Pedido não encontrado")
+            @ApiResponse(responseCode = "400", description = "Status inválido"),
+            @ApiResponse(responseCode = "404", description = "Pedido não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Transição de status não permitida a partir do status atual")
     })
     public ResponseEntity<PedidoResponseDTO> atualizarStatus(@PathVariable Long id, @RequestParam String status) {
         PedidoResponseDTO pedidoAtualizado = pedidoService.atualizarStatus(id, status);
@@ -81,7 +147,7 @@ public class PedidoController {
     @Operation(summary = "Cancelar um pedido", description = "Muda o status de um pedido para 'CANCELADO'.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Pedido cancelado"),
-            @ApiResponse(responseCode = "400", description = "Não é possível cancelar (ex: já entregue)"),
+            @ApiResponse(responseCode = "409", description = "Não é possível cancelar (ex: já entregue)"),
             @ApiResponse(responseCode = "404", description = "Pedido não encontrado")
     })
     public ResponseEntity<PedidoResponseDTO> cancelarPedido(@PathVariable Long id) {
@@ -1,12 +1,16 @@
 package com.deliverytech.delivery.controller;
 
+import com.deliverytech.delivery.dto.request.FiltroProdutosRequestDTO;
 import com.deliverytech.delivery.dto.request.ProdutoRequestDTO;
+import com.deliverytech.delivery.dto.response.FiltroProdutosResponseDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
 import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
 import com.deliverytech.delivery.services.ProdutoService; // Import da Interface
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -79,10 +83,29 @@ public class ProdutoController {
     }
 
     @GetMapping("/buscar")
-    @Operation(summary = "Buscar produtos por nome", description = "Retorna uma lista de produtos cujo nome contenha o texto buscado.")
-    public ResponseEntity<List<ProdutoResponseDTO>> buscarPorNome(@RequestParam String nome) {
-        List<ProdutoResponseDTO> produtos = produtoService.buscarPorNome(nome);
+    @Operation(summary = "Buscar produtos por nome", description = "Busca textual no nome, na categoria e na descrição (sem diferença de acentos, plural/singular) de produtos disponíveis, ordenada por relevância e paginada por cursor. Envie o 'nextCursor' recebido para obter a próxima página.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Produtos encontrados"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido, ou cursor além dos resultados paginados")
+    })
+    public ResponseEntity<PaginaCursorResponseDTO<ProdutoResponseDTO>> buscarPorNome(@RequestParam String nome,
+                                                                                    @RequestParam(required = false) String cursor,
+                                                                                    @RequestParam(required = false) Integer limite) {
+        PaginaCursorResponseDTO<ProdutoResponseDTO> produtos = produtoService.buscarPorNome(nome, cursor, limite);
         return ResponseEntity.ok(produtos);
     }
 
-}
\ No newline at end of file
+    @GetMapping("/filtro")
+    @Operation(summary = "Filtrar produtos por facetas",
+            description = "Qualquer combinação de categoria, faixa de preço, disponibilidade e restaurante, " +
+                    "com contagens por faceta e paginação por cursor. Calculado em bitmaps em memória, " +
+                    "sem varrer a tabela de produtos.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página de produtos e contagens por faceta"),
+            @ApiResponse(responseCode = "400", description = "Filtro, cursor ou limite inválido"),
+            @ApiResponse(responseCode = "503", description = "Índice de produtos ainda carregando")
+    })
+    public ResponseEntity<FiltroProdutosResponseDTO> filtrar(@Valid @ParameterObject FiltroProdutosRequestDTO filtro) {
+        return ResponseEntity.ok(produtoService.filtrar(filtro));
+    }
+}
@@ -1,21 +1,52 @@
 package com.deliverytech.delivery.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.deliverytech.delivery.dto.request.FiltroAnaliticoRequestDTO;
+import com.deliverytech.delivery.dto.request.RelatorioJobRequestDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
+import com.deliverytech.delivery.dto.response.RankingResponseDTO;
+import com.deliverytech.delivery.dto.response.RelatorioAnaliticoResponseDTO;
+import com.deliverytech.delivery.dto.response.RelatorioJobResponseDTO;
 import com.deliverytech.delivery.dto.response.RelatorioResponseDTO;
+import com.deliverytech.delivery.dto.response.SerieTemporalResponseDTO;
+import com.deliverytech.delivery.dto.response.VendaProdutoResponseDTO;
+import com.deliverytech.delivery.dto.response.VerificacaoVendasDiariasResponseDTO;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.services.RelatorioJobService;
 import com.deliverytech.delivery.services.RelatorioService;
+import com.deliverytech.delivery.util.CsvRelatorios;
+import com.deliverytech.delivery.util.CsvStreamWriter;
+import com.deliverytech.delivery.services.VendasDiariasService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import org.springdoc.core.annotations.ParameterObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -27,6 +58,77 @@ public class RelatorioController {
     @Autowired
     private RelatorioService relatorioService;
 
+    @Autowired
+    private VendasDiariasService vendasDiariasService;
+
+    @Autowired
+    private CsvStreamWriter csvStreamWriter;
+
+    @Autowired
+    private RelatorioJobService relatorioJobService;
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+
+    // Atributos do Tomcat para envio do arquivo com sendfile (cópia direta do disco para o socket)
+    private static final String SENDFILE_SUPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARQUIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIM = "org.apache.tomcat.sendfile.end";
+
+    @GetMapping(value = "/vendas", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Relatório de vendas de todos os restaurantes",
+               description = "Totais por restaurante numa única consulta agrupada, com filtros opcionais de período (dias inclusivos) e status. " +
+                       "Paginado por cursor (id do último restaurante); envie Accept: text/csv para exportar tudo em streaming.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Filtro, cursor ou limite inválido")
+    })
+    public ResponseEntity<PaginaCursorResponseDTO<RelatorioResponseDTO>> getRelatorioVendas(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(relatorioService.relatorioVendas(inicio, fim, status, cursor, limite));
+    }
+
+    @GetMapping(value = "/vendas", produces = "text/csv")
+    @Operation(summary = "Exportar relatório de vendas (CSV em streaming)",
+               description = "Mesmo relatório de /vendas, completo, escrito linha a linha conforme sai do banco.")
+    public ResponseEntity<StreamingResponseBody> exportarRelatorioVendasCsv(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) String status) {
+        // Valida os filtros antes de a resposta começar a ser escrita
+        relatorioService.validarPeriodo(inicio, fim);
+        StatusPedido statusEnum = status == null || status.isBlank() ? null : StatusPedido.fromString(status);
+        StreamingResponseBody corpo = out -> csvStreamWriter.writeRows(out, CsvRelatorios.CABECALHO_VENDAS,
+                linha -> relatorioService.percorrerRelatorioVendas(inicio, fim, statusEnum,
+                        relatorio -> linha.accept(CsvRelatorios.linhaVendas(relatorio))));
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"relatorio-vendas.csv\"")
+                .body(corpo);
+    }
+
+    @GetMapping("/vendas-por-produto")
+    @Operation(summary = "Relatório de vendas por produto",
+               description = "Produtos mais vendidos em unidades, com valor vendido e quantidade de pedidos, a partir dos itens dos pedidos. " +
+                       "Filtros opcionais de restaurante, período (dias inclusivos) e status; sem status, os pedidos cancelados são ignorados.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Filtro ou limite inválido")
+    })
+    public ResponseEntity<List<VendaProdutoResponseDTO>> getVendasPorProduto(
+            @RequestParam(required = false) Long restauranteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(relatorioService.vendasPorProduto(restauranteId, inicio, fim, status, limite));
+    }
+
     @GetMapping("/vendas-por-restaurante/{restauranteId}")
     @Operation(summary = "Relatório Específico de Vendas por Restaurante", 
                description = "Retorna o valor total vendido e a quantidade de pedidos para um restaurante específico.")
@@ -40,4 +142,118 @@ public class RelatorioController {
         RelatorioResponseDTO relatorio = relatorioService.relatorioVendasPorRestauranteId(restauranteId);
         return ResponseEntity.ok(relatorio);
     }
+
+    @PostMapping("/vendas-diarias/reconstruir")
+    @Operation(summary = "Reconstruir agregado de vendas diárias",
+               description = "Recalcula a tabela vendas_diarias a partir dos pedidos, em blocos de restaurantes (uma transação por bloco). Retorna a quantidade de linhas geradas.")
+    @ApiResponse(responseCode = "200", description = "Agregado reconstruído")
+    public ResponseEntity<Integer> reconstruirVendasDiarias() {
+        return ResponseEntity.ok(vendasDiariasService.reconstruir());
+    }
+
+    @GetMapping("/vendas-diarias/verificacao")
+    @Operation(summary = "Verificar agregado de vendas diárias",
+               description = "Compara vendas_diarias com a tabela pedidos e lista as divergências por restaurante/dia/status.")
+    @ApiResponse(responseCode = "200", description = "Verificação concluída")
+    public ResponseEntity<VerificacaoVendasDiariasResponseDTO> verificarVendasDiarias() {
+        return ResponseEntity.ok(vendasDiariasService.verificar());
+    }
+
+    @GetMapping("/serie-temporal")
+    @Operation(summary = "Série temporal de vendas de um restaurante",
+               description = "Quantidade de pedidos e soma de valor_total por hora, dia ou semana em [inicio, fim), agregados no banco. " +
+                       "Datas no formato ISO (ex: 2025-03-01T00:00:00). Status opcional.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Série gerada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Período, bucket ou status inválido")
+    })
+    public ResponseEntity<SerieTemporalResponseDTO> getSerieTemporal(
+            @RequestParam Long restauranteId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(defaultValue = "DAY") String bucket,
+            @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(relatorioService.serieTemporal(restauranteId, inicio, fim, bucket, status));
+    }
+
+    @GetMapping("/analitico")
+    @Operation(summary = "Relatório analítico em memória",
+               description = "Filtra pedidos por status, restaurante, cliente, hora do dia, faixa de valor e período, " +
+                       "agrupa por uma dimensão e agrega contagem/soma/média/mínimo/máximo. Calculado no column store " +
+                       "em memória (delivery.analytics.enabled=true), sem consultar o banco.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Filtro ou agrupamento inválido"),
+        @ApiResponse(responseCode = "503", description = "Column store desabilitado ou ainda carregando")
+    })
+    public ResponseEntity<RelatorioAnaliticoResponseDTO> getRelatorioAnalitico(
+            @Valid @ParameterObject FiltroAnaliticoRequestDTO filtro) {
+        return ResponseEntity.ok(relatorioService.relatorioAnalitico(filtro));
+    }
+
+    @GetMapping("/ranking")
+    @Operation(summary = "Ranking dos mais pedidos",
+               description = "Top restaurantes ou categorias por quantidade de pedidos (descontados os cancelados) na última hora, " +
+                       "dia ou semana. Mantido em memória e recalculado a cada segundo. Contagem por instância: " +
+                       "pedidos gravados por outras instâncias só entram no aquecimento da próxima subida.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Ranking retornado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Janela, tipo ou limite inválido")
+    })
+    public ResponseEntity<RankingResponseDTO> getRanking(
+            @RequestParam(defaultValue = "DIA") String janela,
+            @RequestParam(defaultValue = "RESTAURANTES") String tipo,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(relatorioService.ranking(janela, tipo, limite));
+    }
+
+    @PostMapping("/jobs")
+    @Operation(summary = "Gerar relatório em segundo plano",
+               description = "Agenda um relatório completo (VENDAS ou VENDAS_POR_PRODUTO) num pool limitado e retorna o job. " +
+                       "Acompanhe por GET /jobs/{id} e baixe o resultado (CSV com gzip) em GET /jobs/{id}/resultado.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Relatório agendado"),
+        @ApiResponse(responseCode = "400", description = "Tipo ou filtro inválido"),
+        @ApiResponse(responseCode = "503", description = "Fila de relatórios cheia, tente novamente")
+    })
+    public ResponseEntity<RelatorioJobResponseDTO> agendarRelatorio(@Valid @RequestBody RelatorioJobRequestDTO dto) {
+        RelatorioJobResponseDTO job = relatorioJobService.agendar(dto);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/relatorios/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Consultar relatório em segundo plano", description = "Status e progresso do job.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Job encontrado"),
+        @ApiResponse(responseCode = "404", description = "Job não encontrado ou expirado")
+    })
+    public ResponseEntity<RelatorioJobResponseDTO> buscarRelatorio(@PathVariable String id) {
+        return ResponseEntity.ok(relatorioJobService.buscar(id));
+    }
+
+    @GetMapping("/jobs/{id}/resultado")
+    @Operation(summary = "Baixar resultado do relatório", description = "Arquivo CSV compactado com gzip, enviado direto do disco.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Arquivo do relatório"),
+        @ApiResponse(responseCode = "404", description = "Job não encontrado ou expirado"),
+        @ApiResponse(responseCode = "409", description = "Relatório ainda não concluído")
+    })
+    public ResponseEntity<Resource> baixarRelatorio(@PathVariable String id, HttpServletRequest request) {
+        RelatorioJobService.ArquivoResultado arquivo = relatorioJobService.arquivoResultado(id);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(APPLICATION_GZIP);
+        headers.setContentLength(arquivo.tamanho());
+        headers.setContentDisposition(ContentDisposition.attachment().filename(arquivo.nome()).build());
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPORTADO))) {
+            // O Tomcat envia o arquivo depois que o controller retorna, sem passar pela JVM
+            request.setAttribute(SENDFILE_ARQUIVO, arquivo.caminho().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_INICIO, 0L);
+            request.setAttribute(SENDFILE_FIM, arquivo.tamanho());
+            return ResponseEntity.ok().headers(headers).build();
+        }
+        return ResponseEntity.ok().headers(headers).body(new FileSystemResource(arquivo.caminho()));
+    }
 }
@@ -1,21 +1,33 @@
 package com.deliverytech.delivery.controller;
 
+import com.deliverytech.delivery.cache.CardapioSnapshotCache;
+import com.deliverytech.delivery.cache.CardapioSnapshotCache.CardapioSnapshot;
 import com.deliverytech.delivery.dto.request.RestauranteRequestDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
+import com.deliverytech.delivery.dto.response.PainelRestauranteResponseDTO;
 import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery.dto.response.RestauranteProximoResponseDTO;
 import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
+import com.deliverytech.delivery.services.PainelRestauranteService;
 import com.deliverytech.delivery.services.ProdutoService;
 import com.deliverytech.delivery.services.RestauranteService; 
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid; 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated; 
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -30,6 +42,12 @@ public class RestauranteController {
     @Autowired
     private ProdutoService produtoService;
 
+    @Autowired
+    private CardapioSnapshotCache cardapioSnapshotCache;
+
+    @Autowired
+    private PainelRestauranteService painelRestauranteService;
+
     /*
      * Cadastrar novo restaurante
      */
@@ -105,9 +123,15 @@ public class RestauranteController {
      * Buscar restaurantes por nome
      */
     @GetMapping("/buscar")
-    @Operation(summary = "Buscar restaurantes por nome", description = "Retorna uma lista de restaurantes cujo nome contenha o texto buscado.")
-    public ResponseEntity<List<RestauranteResponseDTO>> buscarPorNome(@RequestParam String nome) {
-        List<RestauranteResponseDTO> restaurantes = restauranteService.buscarPorNome(nome);
+    @Operation(summary = "Buscar restaurantes por nome", description = "Busca textual no nome e na categoria (sem diferença de acentos, plural/singular) de restaurantes ativos, ordenada por relevância e paginada por cursor. Envie o 'nextCursor' recebido para obter a próxima página.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Restaurantes encontrados"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido, ou cursor além dos resultados paginados")
+    })
+    public ResponseEntity<PaginaCursorResponseDTO<RestauranteResponseDTO>> buscarPorNome(@RequestParam String nome,
+                                                                                        @RequestParam(required = false) String cursor,
+                                                                                        @RequestParam(required = false) Integer limite) {
+        PaginaCursorResponseDTO<RestauranteResponseDTO> restaurantes = restauranteService.buscarPorNome(nome, cursor, limite);
         return ResponseEntity.ok(restaurantes);
     }
 
@@ -115,20 +139,82 @@ public class RestauranteController {
      * Buscar restaurantes por categoria
      */
     @GetMapping("/categoria")
-    @Operation(summary = "Buscar restaurantes por categoria", description = "Retorna uma lista de restaurantes cuja categoria contenha o texto buscado.")
-    public ResponseEntity<List<RestauranteResponseDTO>> buscarPorCategoria(@RequestParam String categoria) {
-        List<RestauranteResponseDTO> restaurantes = restauranteService.buscarPorCategoria(categoria);
+    @Operation(summary = "Buscar restaurantes por categoria", description = "Busca textual na categoria (sem diferença de acentos, plural/singular) de restaurantes ativos, ordenada por relevância e paginada por cursor. Envie o 'nextCursor' recebido para obter a próxima página.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Restaurantes encontrados"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido, ou cursor além dos resultados paginados")
+    })
+    public ResponseEntity<PaginaCursorResponseDTO<RestauranteResponseDTO>> buscarPorCategoria(@RequestParam String categoria,
+                                                                                             @RequestParam(required = false) String cursor,
+                                                                                             @RequestParam(required = false) Integer limite) {
+        PaginaCursorResponseDTO<RestauranteResponseDTO> restaurantes = restauranteService.buscarPorCategoria(categoria, cursor, limite);
         return ResponseEntity.ok(restaurantes);
     }
 
+    /*
+     * Restaurantes próximos a um ponto
+     */
+    @GetMapping("/proximos")
+    @Operation(summary = "Buscar restaurantes próximos",
+            description = "Restaurantes ativos em um raio (km, padrão 5) a partir de lat/lon, do mais perto para o mais " +
+                    "longe, com filtros opcionais de categoria e taxa de entrega máxima. Servido de um índice " +
+                    "geográfico em memória.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Restaurantes encontrados (lista vazia se nenhum)"),
+            @ApiResponse(responseCode = "400", description = "Coordenadas, raio ou limite inválidos"),
+            @ApiResponse(responseCode = "503", description = "Índice geográfico ainda carregando")
+    })
+    public ResponseEntity<List<RestauranteProximoResponseDTO>> buscarProximos(
+            @RequestParam Double lat,
+            @RequestParam Double lon,
+            @RequestParam(required = false) Double raio,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) BigDecimal taxaMaxima,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(restauranteService.buscarProximos(lat, lon, raio, categoria, taxaMaxima, limite));
+    }
+
+    /*
+     * Cardápio do restaurante: JSON pré-serializado (e pré-comprimido) com ETag.
+     * If-None-Match com o ETag atual é respondido com 304 pelo Spring MVC, sem corpo.
+     */
     @GetMapping("/{restauranteId}/produtos")
-    @Operation(summary = "Listar produtos de um restaurante", description = "Retorna produtos disponíveis de um restaurante específico.")
+    @Operation(summary = "Listar produtos de um restaurante", description = "Retorna produtos disponíveis de um restaurante específico. Suporta ETag/If-None-Match e gzip.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Produtos listados",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = ProdutoResponseDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Cardápio não mudou desde o ETag informado"),
+            @ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
+    })
+    public ResponseEntity<byte[]> listarPorRestaurante(
+            @PathVariable Long restauranteId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CardapioSnapshot cardapio = cardapioSnapshotCache.obter(restauranteId);
+        boolean usarGzip = cardapio.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .eTag(usarGzip ? cardapio.etagGzip() : cardapio.etag());
+        if (usarGzip) {
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cardapio.gzip());
+        }
+        return resposta.body(cardapio.json());
+    }
+
+    /*
+     * Painel do restaurante: dados, cardápio, vendas e pedidos pendentes numa só chamada
+     */
+    @GetMapping("/{id}/painel")
+    @Operation(summary = "Painel do restaurante",
+               description = "Reúne restaurante, cardápio, relatório de vendas e pedidos pendentes, consultados em paralelo. " +
+                       "Cada parte tem seu próprio timeout; partes indisponíveis vêm nulas e listadas em 'indisponiveis'.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Produtos listados"),
+            @ApiResponse(responseCode = "200", description = "Painel montado (completo ou parcial)"),
             @ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
     })
-    public ResponseEntity<List<ProdutoResponseDTO>> listarPorRestaurante(@PathVariable Long restauranteId) {
-        List<ProdutoResponseDTO> produtos = produtoService.listarDisponiveisPorRestaurante(restauranteId);
-        return ResponseEntity.ok(produtos);
+    public ResponseEntity<PainelRestauranteResponseDTO> painel(@PathVariable Long id) {
+        return ResponseEntity.ok(painelRestauranteService.montarPainel(id));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.deliverytech.delivery.controller;
+
+import com.deliverytech.delivery.dto.response.SugestaoResponseDTO;
+import com.deliverytech.delivery.services.SugestaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sugestoes")
+@CrossOrigin(origins = "*")
+public class SugestaoController {
+
+    @Autowired
+    private SugestaoService sugestaoService;
+
+    @GetMapping
+    @Operation(summary = "Sugestões de autocomplete",
+            description = "Produtos, restaurantes e categorias com uma palavra começando pelo texto digitado " +
+                    "(sem diferença de maiúsculas ou acentos), dos mais para os menos pedidos. " +
+                    "Servido da memória, sem consultar o banco.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sugestões (lista vazia se nada casar)"),
+            @ApiResponse(responseCode = "400", description = "Limite inválido")
+    })
+    public ResponseEntity<List<SugestaoResponseDTO>> sugerir(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(sugestaoService.sugerir(q, limite));
+    }
+}
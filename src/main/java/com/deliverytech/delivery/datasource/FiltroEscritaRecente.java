@@ -0,0 +1,47 @@
+package com.deliverytech.delivery.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Lê o cookie escrita-recente de cada requisição para a {@link JanelaEscritaRecente}
+ * e limpa o estado da thread ao final.
+ */
+public class FiltroEscritaRecente extends OncePerRequestFilter {
+
+    private final JanelaEscritaRecente janela;
+
+    public FiltroEscritaRecente(JanelaEscritaRecente janela) {
+        this.janela = janela;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        janela.iniciarRequisicao(valorCookie(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            janela.encerrarRequisicao();
+        }
+    }
+
+    private static String valorCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (JanelaEscritaRecente.COOKIE.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+}
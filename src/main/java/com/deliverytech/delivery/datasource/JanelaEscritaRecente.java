@@ -0,0 +1,80 @@
+package com.deliverytech.delivery.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * "Ler as próprias escritas": depois de uma escrita confirmada, as leituras do mesmo cliente
+ * vão para o primário durante janelaMs, enquanto as réplicas ainda podem estar atrasadas.
+ *
+ * - Dentro da mesma thread (ex: escrita e leitura na mesma requisição) vale o ThreadLocal.
+ * - Entre requisições, a escrita devolve o cookie escrita-recente com o fim da janela;
+ *   o {@link FiltroEscritaRecente} o lê nas requisições seguintes do mesmo cliente.
+ * - janelaMs = 0 desliga o recurso.
+ * - Não alcança outras threads nem outros clientes: caches compartilhados são preenchidos
+ *   com {@link LeituraNoPrimario}.
+ */
+public class JanelaEscritaRecente {
+
+    public static final String COOKIE = "escrita-recente";
+
+    private final long janelaMs;
+    // Instante (epoch ms) até o qual as leituras desta thread vão para o primário
+    private final ThreadLocal<Long> primarioAte = new ThreadLocal<>();
+
+    public JanelaEscritaRecente(long janelaMs) {
+        this.janelaMs = janelaMs;
+    }
+
+    public boolean lerDoPrimario() {
+        Long ate = primarioAte.get();
+        return ate != null && System.currentTimeMillis() < ate;
+    }
+
+    /**
+     * Chamado após o commit de uma transação que escreveu no primário.
+     */
+    public void registrarEscrita() {
+        if (janelaMs <= 0) {
+            return;
+        }
+        long ate = System.currentTimeMillis() + janelaMs;
+        primarioAte.set(ate);
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos) {
+            HttpServletResponse resposta = atributos.getResponse();
+            if (resposta != null && !resposta.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE, Long.toString(ate));
+                cookie.setMaxAge((int) Math.ceil(janelaMs / 1000.0));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                resposta.addCookie(cookie);
+            }
+        }
+    }
+
+    /**
+     * Início de uma requisição: aplica a janela informada pelo cookie, se ainda aberta.
+     * O valor vem do cliente, então é limitado a janelaMs a partir de agora.
+     */
+    public void iniciarRequisicao(String valorCookie) {
+        primarioAte.remove();
+        if (janelaMs <= 0 || valorCookie == null) {
+            return;
+        }
+        try {
+            long agora = System.currentTimeMillis();
+            long ate = Math.min(Long.parseLong(valorCookie), agora + janelaMs);
+            if (ate > agora) {
+                primarioAte.set(ate);
+            }
+        } catch (NumberFormatException e) {
+            // cookie inválido: ignorado
+        }
+    }
+
+    public void encerrarRequisicao() {
+        primarioAte.remove();
+    }
+}
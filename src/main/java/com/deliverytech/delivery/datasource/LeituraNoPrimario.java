@@ -0,0 +1,45 @@
+package com.deliverytech.delivery.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Leituras que vão para o primário mesmo em transações somente leitura: o preenchimento
+ * dos caches de entidades invalidados nas escritas (restaurante, cliente, cardápio).
+ *
+ * Um valor lido de uma réplica atrasada logo após a invalidação voltaria ao cache com o dado
+ * anterior à escrita e ficaria lá até expirar, para todos os clientes. A {@link JanelaEscritaRecente}
+ * não cobre esse caso: vale só na thread (e no cookie) de quem escreveu, não na requisição de
+ * outro cliente que encontra o cache vazio.
+ *
+ * Caches que não são invalidados nas escritas e já toleram atraso (ex: RelatorioCache, com TTL
+ * curto) continuam lendo das réplicas: não há valor novo que a réplica possa perder.
+ *
+ * - Vale na thread atual, durante {@link #executar}; chamadas aninhadas são permitidas.
+ * - Decide o destino na primeira instrução da transação (a conexão é obtida só aí), então pode
+ *   ser aplicado dentro de um método @Transactional(readOnly = true). Se a transação já tiver
+ *   consultado uma réplica antes, a conexão dela continua em uso.
+ * - Sem réplicas configuradas não tem efeito: tudo já é lido do primário.
+ */
+public final class LeituraNoPrimario {
+
+    private static final ThreadLocal<Boolean> ATIVA = new ThreadLocal<>();
+
+    private LeituraNoPrimario() {
+    }
+
+    public static <T> T executar(Supplier<T> leitura) {
+        Boolean anterior = ATIVA.get();
+        ATIVA.set(Boolean.TRUE);
+        try {
+            return leitura.get();
+        } finally {
+            if (anterior == null) {
+                ATIVA.remove();
+            }
+        }
+    }
+
+    public static boolean ativa() {
+        return ATIVA.get() != null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.deliverytech.delivery.datasource;
+
+import com.deliverytech.delivery.util.AposCommit;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource do primário que percebe escritas: a primeira instrução preparada que não é
+ * SELECT numa conexão abre a {@link JanelaEscritaRecente} após o commit da transação.
+ * Transações de escrita que só leram não abrem a janela.
+ */
+public class PrimarioMonitorado extends DelegatingDataSource {
+
+    private final JanelaEscritaRecente janela;
+
+    public PrimarioMonitorado(DataSource primario, JanelaEscritaRecente janela) {
+        super(primario);
+        this.janela = janela;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitorar(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitorar(super.getConnection(username, password));
+    }
+
+    private Connection monitorar(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new Monitor(conexao));
+    }
+
+    static boolean escreve(String sql) {
+        String instrucao = sql.stripLeading();
+        return !(instrucao.regionMatches(true, 0, "select", 0, 6) || instrucao.regionMatches(true, 0, "with", 0, 4));
+    }
+
+    private final class Monitor implements InvocationHandler {
+
+        private final Connection alvo;
+        private boolean escritaRegistrada;
+
+        Monitor(Connection alvo) {
+            this.alvo = alvo;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!escritaRegistrada && args != null && args.length > 0 && args[0] instanceof String sql
+                    && (method.getName().equals("prepareStatement") || method.getName().equals("prepareCall"))
+                    && escreve(sql)) {
+                escritaRegistrada = true;
+                AposCommit.executar(janela::registrarEscrita);
+            }
+            try {
+                return method.invoke(alvo, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.deliverytech.delivery.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource das transações somente leitura: distribui as conexões entre as réplicas
+ * saudáveis (round-robin) e cai para o primário quando não há nenhuma disponível.
+ *
+ * - Verificação periódica de cada réplica: conexão válida e, se atrasoMaximoSegundos > 0,
+ *   atraso de replicação (SHOW REPLICA STATUS, MySQL) dentro do limite.
+ * - Falha ao obter conexão de uma réplica a marca como indisponível até a próxima verificação
+ *   bem-sucedida; pool esgotado não conta como falha, só desvia aquela leitura.
+ * - Com a {@link JanelaEscritaRecente} aberta, a leitura vai direto para o primário.
+ * - Preenchimento de cache ({@link LeituraNoPrimario}) também vai direto para o primário.
+ *
+ * Métricas: datasource.leituras (destino = replica, primario-escrita-recente, primario-cache,
+ * primario-sem-replica)
+ * e datasource.replicas.saudaveis.
+ */
+public class RoteadorReplicas extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RoteadorReplicas.class);
+
+    private static final class Replica {
+        final String nome;
+        final DataSource dataSource;
+        volatile boolean saudavel = true;
+
+        Replica(String nome, DataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primario;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final JanelaEscritaRecente janela;
+    private final int atrasoMaximoSegundos;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    private final Counter leiturasReplica;
+    private final Counter leiturasEscritaRecente;
+    private final Counter leiturasCache;
+    private final Counter leiturasSemReplica;
+
+    /**
+     * replicas: nome (para logs) → DataSource, na ordem de preferência do round-robin.
+     */
+    public RoteadorReplicas(DataSource primario, Map<String, DataSource> replicas, JanelaEscritaRecente janela,
+                            int atrasoMaximoSegundos, MeterRegistry meterRegistry) {
+        this.primario = primario;
+        replicas.forEach((nome, dataSource) -> this.replicas.add(new Replica(nome, dataSource)));
+        this.janela = janela;
+        this.atrasoMaximoSegundos = atrasoMaximoSegundos;
+
+        leiturasReplica = contador(meterRegistry, "replica");
+        leiturasEscritaRecente = contador(meterRegistry, "primario-escrita-recente");
+        leiturasCache = contador(meterRegistry, "primario-cache");
+        leiturasSemReplica = contador(meterRegistry, "primario-sem-replica");
+        Gauge.builder("datasource.replicas.saudaveis", this, RoteadorReplicas::replicasSaudaveis)
+                .description("Réplicas de leitura disponíveis")
+                .register(meterRegistry);
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String destino) {
+        return Counter.builder("datasource.leituras")
+                .description("Conexões de transações somente leitura por destino")
+                .tag("destino", destino)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (janela.lerDoPrimario()) {
+            leiturasEscritaRecente.increment();
+            return primario.getConnection();
+        }
+        if (LeituraNoPrimario.ativa()) {
+            leiturasCache.increment();
+            return primario.getConnection();
+        }
+        int quantidade = replicas.size();
+        int inicio = quantidade > 0 ? Math.floorMod(proxima.getAndIncrement(), quantidade) : 0;
+        for (int i = 0; i < quantidade; i++) {
+            Replica replica = replicas.get((inicio + i) % quantidade);
+            if (!replica.saudavel) {
+                continue;
+            }
+            try {
+                Connection conexao = replica.dataSource.getConnection();
+                leiturasReplica.increment();
+                return conexao;
+            } catch (SQLTransientConnectionException e) {
+                if (e.getCause() != null) {
+                    marcarIndisponivel(replica, e);
+                }
+                // sem causa: pool da réplica esgotado, tenta a próxima
+            } catch (SQLException e) {
+                marcarIndisponivel(replica, e);
+            }
+        }
+        leiturasSemReplica.increment();
+        return primario.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credenciais são configuradas por réplica");
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.datasource.replicas.verificacao-ms:5000}",
+            initialDelayString = "${delivery.datasource.replicas.verificacao-ms:5000}")
+    public void verificarReplicas() {
+        for (Replica replica : replicas) {
+            boolean saudavel = verificar(replica);
+            if (saudavel && !replica.saudavel) {
+                log.info("Réplica {} disponível novamente", replica.nome);
+            } else if (!saudavel && replica.saudavel) {
+                log.warn("Réplica {} indisponível; leituras seguem pelas demais ou pelo primário", replica.nome);
+            }
+            replica.saudavel = saudavel;
+        }
+    }
+
+    private boolean verificar(Replica replica) {
+        try (Connection conexao = replica.dataSource.getConnection()) {
+            if (!conexao.isValid(2)) {
+                return false;
+            }
+            if (atrasoMaximoSegundos <= 0) {
+                return true;
+            }
+            try (Statement statement = conexao.createStatement();
+                 ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+                if (!status.next()) {
+                    return true; // não é réplica de ninguém (ex: instância local de teste)
+                }
+                long atraso = status.getLong("Seconds_Behind_Source");
+                // null: replicação parada
+                return !status.wasNull() && atraso <= atrasoMaximoSegundos;
+            }
+        } catch (SQLException e) {
+            log.debug("Verificação da réplica {} falhou", replica.nome, e);
+            return false;
+        }
+    }
+
+    private void marcarIndisponivel(Replica replica, SQLException e) {
+        if (replica.saudavel) {
+            replica.saudavel = false;
+            log.warn("Réplica {} indisponível: {}", replica.nome, e.getMessage());
+        }
+    }
+
+    public int replicasSaudaveis() {
+        int saudaveis = 0;
+        for (Replica replica : replicas) {
+            if (replica.saudavel) {
+                saudaveis++;
+            }
+        }
+        return saudaveis;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable fechavel) {
+                fechavel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.deliverytech.delivery.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filtros do relatório analítico (parâmetros de query). Campos vazios não filtram.
+ */
+@Data
+@Schema(description = "Filtros e agrupamento do relatório analítico em memória.")
+public class FiltroAnaliticoRequestDTO {
+
+    @Schema(description = "TOTAL, STATUS, RESTAURANTE, CLIENTE, HORA_DO_DIA ou FAIXA_VALOR", example = "STATUS")
+    private String agruparPor;
+
+    @Schema(description = "Status aceitos", example = "ENTREGUE")
+    private List<String> status;
+
+    private Long restauranteId;
+
+    private Long clienteId;
+
+    @Min(0)
+    @Max(23)
+    @Schema(description = "Hora do dia inicial (inclusiva)", example = "18")
+    private Integer horaInicio;
+
+    @Min(0)
+    @Max(23)
+    @Schema(description = "Hora do dia final (inclusiva); menor que horaInicio atravessa a meia-noite", example = "23")
+    private Integer horaFim;
+
+    @Schema(description = "Valor mínimo do pedido (inclusivo)", example = "20.00")
+    private BigDecimal valorMinimo;
+
+    @Schema(description = "Valor máximo do pedido (inclusivo)", example = "100.00")
+    private BigDecimal valorMaximo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Data do pedido mínima (inclusiva)")
+    private LocalDateTime inicio;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Data do pedido máxima (exclusiva)")
+    private LocalDateTime fim;
+}
@@ -0,0 +1,44 @@
+package com.deliverytech.delivery.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Filtros do catálogo de produtos (parâmetros de query). Campos vazios não filtram;
+ * vários valores na mesma faceta se combinam com OU.
+ */
+@Data
+@Schema(description = "Filtros facetados de produtos.")
+public class FiltroProdutosRequestDTO {
+
+    @Schema(description = "Categorias aceitas (sem diferença de maiúsculas ou acentos)", example = "Pizza")
+    private List<String> categoria;
+
+    @DecimalMin("0.00")
+    @Schema(description = "Preço mínimo (inclusivo)", example = "20.00")
+    private BigDecimal precoMinimo;
+
+    @DecimalMin("0.00")
+    @Schema(description = "Preço máximo (inclusivo)", example = "60.00")
+    private BigDecimal precoMaximo;
+
+    @Schema(description = "Disponibilidade", example = "true")
+    private Boolean disponivel;
+
+    @Schema(description = "Restaurantes aceitos", example = "1")
+    private List<Long> restauranteId;
+
+    @Schema(description = "Cursor devolvido pela página anterior")
+    private String cursor;
+
+    @Min(1)
+    @Max(100)
+    @Schema(description = "Tamanho da página (padrão 20)", example = "20")
+    private Integer limite;
+}
@@ -0,0 +1,21 @@
+package com.deliverytech.delivery.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Item de um novo pedido. O preço unitário vem do cadastro do produto.
+ */
+@Data
+public class ItemPedidoRequestDTO {
+
+    @NotNull(message = "O ID do produto é obrigatório")
+    private Long produtoId;
+
+    @NotNull(message = "A quantidade é obrigatória")
+    @Min(value = 1, message = "A quantidade deve ser no mínimo 1")
+    @Max(value = 99, message = "A quantidade deve ser no máximo 99")
+    private Integer quantidade;
+}
@@ -0,0 +1,20 @@
+package com.deliverytech.delivery.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO para a criação de pedidos em lote.
+ * Cada item é validado individualmente pelo service, para que um item
+ * inválido não rejeite o lote inteiro.
+ */
+@Data
+public class PedidoLoteRequestDTO {
+
+    @NotEmpty(message = "A lista de pedidos é obrigatória")
+    @Size(max = 1000, message = "O lote pode ter no máximo 1000 pedidos")
+    private List<PedidoRequestDTO> pedidos;
+}
@@ -1,10 +1,14 @@
 package com.deliverytech.delivery.dto.request;
 
-import jakarta.validation.constraints.NotBlank;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 import java.math.BigDecimal; 
+import java.util.List;
 
 /**
  * DTO para o cadastro de novos pedidos.
@@ -18,12 +22,22 @@ public class PedidoRequestDTO {
     @NotNull(message = "O ID do restaurante é obrigatório")
     private Long restauranteId;
 
-    @NotBlank(message = "A lista de itens é obrigatória")
+    // Descrição em texto; gerada a partir de itensPedido quando não informada
     private String itens;
 
+    @Valid
+    @Size(max = 50, message = "O pedido pode ter no máximo 50 itens")
+    private List<ItemPedidoRequestDTO> itensPedido;
+
     @NotNull(message = "O valor total é obrigatório")
     @Positive(message = "O valor total deve ser maior que zero")
     private BigDecimal valorTotal; 
 
     private String observacoes;
-}
\ No newline at end of file
+
+    @JsonIgnore
+    @AssertTrue(message = "Informe os itens do pedido (itensPedido ou itens)")
+    public boolean isItensInformados() {
+        return (itensPedido != null && !itensPedido.isEmpty()) || (itens != null && !itens.isBlank());
+    }
+}
@@ -0,0 +1,30 @@
+package com.deliverytech.delivery.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * DTO para solicitar um relatório em segundo plano. Filtros nulos são ignorados.
+ */
+@Data
+public class RelatorioJobRequestDTO {
+
+    @NotBlank(message = "O tipo do relatório é obrigatório")
+    @Schema(description = "VENDAS ou VENDAS_POR_PRODUTO", example = "VENDAS")
+    private String tipo;
+
+    @Schema(description = "Primeiro dia do período (inclusivo)", example = "2025-01-01")
+    private LocalDate inicio;
+
+    @Schema(description = "Último dia do período (inclusivo)", example = "2025-12-31")
+    private LocalDate fim;
+
+    @Schema(description = "Status dos pedidos considerados", example = "ENTREGUE")
+    private String status;
+
+    @Schema(description = "Restaurante (só em VENDAS_POR_PRODUTO)", example = "1")
+    private Long restauranteId;
+}
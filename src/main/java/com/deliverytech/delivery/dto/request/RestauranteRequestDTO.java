@@ -1,5 +1,9 @@
 package com.deliverytech.delivery.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -32,4 +36,20 @@ public class RestauranteRequestDTO {
     @Min(value = 0, message = "A taxa de entrega não pode ser negativa")
     private BigDecimal taxaEntrega;
 
+    // Coordenadas são opcionais, mas vêm sempre juntas
+    @DecimalMin(value = "-90.0", message = "A latitude deve estar entre -90 e 90")
+    @DecimalMax(value = "90.0", message = "A latitude deve estar entre -90 e 90")
+    @Schema(description = "Latitude em graus decimais", example = "-23.5646")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "A longitude deve estar entre -180 e 180")
+    @DecimalMax(value = "180.0", message = "A longitude deve estar entre -180 e 180")
+    @Schema(description = "Longitude em graus decimais", example = "-46.6527")
+    private Double longitude;
+
+    @JsonIgnore
+    @AssertTrue(message = "Informe latitude e longitude juntas")
+    public boolean isCoordenadasCompletas() {
+        return (latitude == null) == (longitude == null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Diferença entre o agregado vendas_diarias e a tabela pedidos para um restaurante/dia/status.")
+public class DivergenciaVendaDiariaDTO {
+
+    private Long restauranteId;
+    private LocalDate dia;
+    private String status;
+
+    @Schema(description = "Quantidade calculada a partir da tabela pedidos")
+    private Long quantidadeEsperada;
+    @Schema(description = "Quantidade registrada no agregado")
+    private Long quantidadeAgregada;
+
+    private BigDecimal valorEsperado;
+    private BigDecimal valorAgregado;
+}
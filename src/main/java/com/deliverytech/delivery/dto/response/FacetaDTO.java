@@ -0,0 +1,19 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Valor de uma faceta e quantos produtos ele traria com os demais filtros.")
+public class FacetaDTO {
+
+    @Schema(description = "Valor (categoria, faixa de preço, true/false ou ID do restaurante)", example = "20-40")
+    private String valor;
+
+    @Schema(description = "Produtos com esse valor", example = "12")
+    private long quantidade;
+}
@@ -0,0 +1,35 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página do filtro facetado. As contagens de cada faceta consideram os filtros
+ * das outras facetas, mas não o da própria.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Produtos filtrados, com contagens por faceta.")
+public class FiltroProdutosResponseDTO {
+
+    @Schema(description = "Total de produtos que casam com todos os filtros", example = "42")
+    private long total;
+
+    private List<ProdutoResponseDTO> conteudo;
+
+    @Schema(description = "Cursor da próxima página (nulo na última)")
+    private String nextCursor;
+
+    private List<FacetaDTO> categorias;
+
+    private List<FacetaDTO> faixasPreco;
+
+    private List<FacetaDTO> disponibilidade;
+
+    private List<FacetaDTO> restaurantes;
+}
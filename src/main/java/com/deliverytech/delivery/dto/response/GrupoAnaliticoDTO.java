@@ -0,0 +1,24 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Agregados de um grupo do relatório analítico.")
+public class GrupoAnaliticoDTO {
+
+    @Schema(description = "Valor da dimensão agrupada (status, ID, hora ou faixa de valor)", example = "ENTREGUE")
+    private String chave;
+
+    private Long quantidadePedidos;
+    private BigDecimal valorTotal;
+    private BigDecimal valorMedio;
+    private BigDecimal valorMinimo;
+    private BigDecimal valorMaximo;
+}
@@ -0,0 +1,22 @@
+package com.deliverytech.delivery.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Item de um pedido, com nome e preço do momento da compra.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemPedidoResponseDTO {
+
+    private Long produtoId;
+    private String nomeProduto;
+    private Integer quantidade;
+    private BigDecimal precoUnitario;
+    private BigDecimal subtotal;
+}
@@ -0,0 +1,25 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Posição de um restaurante ou categoria no ranking.")
+public class ItemRankingDTO {
+
+    @Schema(description = "Posição (1 = mais pedido)", example = "1")
+    private int posicao;
+
+    @Schema(description = "ID do restaurante (nulo em rankings de categorias)", example = "1")
+    private Long id;
+
+    @Schema(description = "Nome do restaurante ou da categoria", example = "Pizzaria Bella")
+    private String nome;
+
+    @Schema(description = "Pedidos na janela (descontados os cancelados)", example = "42")
+    private Long quantidadePedidos;
+}
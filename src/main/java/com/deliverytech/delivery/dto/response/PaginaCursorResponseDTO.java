@@ -0,0 +1,20 @@
+package com.deliverytech.delivery.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de resultados da paginação por cursor.
+ * nextCursor é nulo quando não há mais páginas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorResponseDTO<T> {
+
+    private List<T> conteudo;
+    private String nextCursor;
+}
@@ -0,0 +1,33 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Painel do restaurante: dados, cardápio, vendas e pedidos pendentes numa única resposta.
+ * Partes que falharam ou estouraram o tempo ficam nulas e são listadas em "indisponiveis".
+ */
+@Data
+@Schema(description = "Painel do restaurante (resposta composta).")
+public class PainelRestauranteResponseDTO {
+
+    private RestauranteResponseDTO restaurante;
+
+    private List<ProdutoResponseDTO> produtos;
+
+    private RelatorioResponseDTO vendas;
+
+    private List<PedidoResponseDTO> pedidosPendentes;
+
+    @Schema(description = "Partes ausentes e o motivo (timeout ou erro)", example = "{\"vendas\": \"timeout\"}")
+    private Map<String, String> indisponiveis = new LinkedHashMap<>();
+
+    @Schema(description = "true se todas as partes foram carregadas")
+    public boolean isCompleto() {
+        return indisponiveis.isEmpty();
+    }
+}
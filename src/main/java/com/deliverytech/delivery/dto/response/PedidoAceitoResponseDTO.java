@@ -0,0 +1,20 @@
+package com.deliverytech.delivery.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de resposta da recepção assíncrona: o pedido foi aceito na fila
+ * e será gravado em seguida com este número.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoAceitoResponseDTO {
+
+    private String numeroPedido;
+    private LocalDateTime dataPedido;
+}
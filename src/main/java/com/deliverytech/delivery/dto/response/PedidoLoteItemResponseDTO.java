@@ -0,0 +1,28 @@
+package com.deliverytech.delivery.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um item do lote: o pedido criado ou o motivo da falha.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoLoteItemResponseDTO {
+
+    // Posição do item na lista enviada
+    private int indice;
+    private boolean sucesso;
+    private PedidoResponseDTO pedido;
+    private String erro;
+
+    public static PedidoLoteItemResponseDTO sucesso(int indice, PedidoResponseDTO pedido) {
+        return new PedidoLoteItemResponseDTO(indice, true, pedido, null);
+    }
+
+    public static PedidoLoteItemResponseDTO falha(int indice, String erro) {
+        return new PedidoLoteItemResponseDTO(indice, false, null, erro);
+    }
+}
@@ -0,0 +1,21 @@
+package com.deliverytech.delivery.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO com o resultado da criação de pedidos em lote.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoLoteResponseDTO {
+
+    private int total;
+    private int criados;
+    private int falhas;
+    private List<PedidoLoteItemResponseDTO> resultados;
+}
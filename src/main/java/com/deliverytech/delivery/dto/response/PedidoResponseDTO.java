@@ -3,6 +3,7 @@ package com.deliverytech.delivery.dto.response;
 import lombok.Data;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * DTO para exibir dados de um Pedido.
@@ -17,6 +18,7 @@ public class PedidoResponseDTO {
     private BigDecimal valorTotal; 
     private String observacoes;
     private String itens;
+    private List<ItemPedidoResponseDTO> itensPedido;
 
     private ClienteResponseDTO cliente;
     private RestauranteResponseDTO restaurante;
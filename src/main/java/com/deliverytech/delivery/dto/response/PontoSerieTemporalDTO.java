@@ -0,0 +1,25 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Vendas de um intervalo (bucket) da série temporal.")
+public class PontoSerieTemporalDTO {
+
+    @Schema(description = "Início do bucket", example = "2025-03-10T00:00:00")
+    private LocalDateTime inicio;
+
+    @Schema(description = "Quantidade de pedidos no bucket", example = "12")
+    private Long quantidadePedidos;
+
+    @Schema(description = "Soma de valor_total no bucket", example = "540.30")
+    private BigDecimal valorTotal;
+}
@@ -0,0 +1,27 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ranking dos mais pedidos numa janela deslizante.")
+public class RankingResponseDTO {
+
+    @Schema(description = "HORA, DIA ou SEMANA", example = "DIA")
+    private String janela;
+
+    @Schema(description = "RESTAURANTES ou CATEGORIAS", example = "RESTAURANTES")
+    private String tipo;
+
+    @Schema(description = "Momento do último recálculo (atualizado a cada segundo)")
+    private LocalDateTime atualizadoEm;
+
+    private List<ItemRankingDTO> itens;
+}
@@ -0,0 +1,25 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado do relatório analítico calculado no column store em memória.")
+public class RelatorioAnaliticoResponseDTO {
+
+    private String agruparPor;
+
+    @Schema(description = "Pedidos varridos (todos os carregados em memória)")
+    private int linhasVarridas;
+
+    @Schema(description = "Pedidos que passaram nos filtros")
+    private long pedidosFiltrados;
+
+    private List<GrupoAnaliticoDTO> grupos;
+}
@@ -0,0 +1,46 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Schema(description = "Situação de um relatório gerado em segundo plano.")
+public class RelatorioJobResponseDTO {
+
+    @Schema(description = "ID do job", example = "3f6c1a9e-8d1b-4c2e-9a57-0c2b8f4e1d10")
+    private String id;
+
+    @Schema(description = "Tipo do relatório", example = "VENDAS")
+    private String tipo;
+
+    @Schema(description = "PENDENTE, EXECUTANDO, CONCLUIDO ou FALHOU", example = "EXECUTANDO")
+    private String status;
+
+    @Schema(description = "Linhas já escritas no arquivo", example = "1200")
+    private long linhasProcessadas;
+
+    @Schema(description = "Estimativa do total de linhas (nula se desconhecida)", example = "5000")
+    private Long totalEstimado;
+
+    @Schema(description = "Progresso estimado, de 0 a 100", example = "24")
+    private Integer percentual;
+
+    private LocalDateTime criadoEm;
+    private LocalDateTime iniciadoEm;
+    private LocalDateTime concluidoEm;
+
+    @Schema(description = "Quando o resultado deixa de estar disponível")
+    private LocalDateTime expiraEm;
+
+    @Schema(description = "Tamanho do arquivo de resultado (CSV em gzip), em bytes")
+    private Long tamanhoBytes;
+
+    @Schema(description = "Caminho para baixar o resultado (quando CONCLUIDO)",
+            example = "/api/relatorios/jobs/3f6c1a9e-8d1b-4c2e-9a57-0c2b8f4e1d10/resultado")
+    private String urlResultado;
+
+    @Schema(description = "Mensagem de erro (quando FALHOU)")
+    private String erro;
+}
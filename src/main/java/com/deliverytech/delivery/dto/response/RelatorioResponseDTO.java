@@ -8,6 +8,9 @@ import lombok.Data;
 @Schema(description = "DTO para exibir os dados consolidados do relatório de vendas.", title = "Relatório Vendas DTO")
 public class RelatorioResponseDTO {
 
+    @Schema(description = "ID do restaurante", example = "1")
+    private Long restauranteId;
+
     @Schema(description = "Nome do restaurante", example = "Pizzaria Bella")
     private String nomeRestaurante;
 
@@ -0,0 +1,18 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Restaurante encontrado na busca por proximidade.")
+public class RestauranteProximoResponseDTO {
+
+    private RestauranteResponseDTO restaurante;
+
+    @Schema(description = "Distância em linha reta até o ponto da busca, em km", example = "1.27")
+    private double distanciaKm;
+}
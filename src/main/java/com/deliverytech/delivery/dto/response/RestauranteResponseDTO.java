@@ -15,5 +15,7 @@ public class RestauranteResponseDTO {
     private BigDecimal taxaEntrega;
     private BigDecimal avaliacao;
     private Boolean ativo;
+    private Double latitude;
+    private Double longitude;
 
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Série temporal de vendas de um restaurante, agregada no banco. Buckets sem pedidos vêm zerados.")
+public class SerieTemporalResponseDTO {
+
+    private Long restauranteId;
+
+    @Schema(description = "Granularidade: HOUR, DAY ou WEEK", example = "DAY")
+    private String bucket;
+
+    @Schema(description = "Início do período (inclusivo)")
+    private LocalDateTime inicio;
+
+    @Schema(description = "Fim do período (exclusivo)")
+    private LocalDateTime fim;
+
+    private List<PontoSerieTemporalDTO> pontos;
+}
@@ -0,0 +1,23 @@
+package com.deliverytech.delivery.dto.response;
+
+import com.deliverytech.delivery.enums.TipoSugestao;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Sugestão de autocomplete.")
+public class SugestaoResponseDTO {
+
+    @Schema(description = "Tipo da sugestão", example = "PRODUTO")
+    private TipoSugestao tipo;
+
+    @Schema(description = "ID do produto ou restaurante (nulo para categorias)", example = "1")
+    private Long id;
+
+    @Schema(description = "Texto sugerido", example = "Pizza Margherita")
+    private String texto;
+}
@@ -0,0 +1,29 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Schema(description = "Vendas de um produto no período.")
+public class VendaProdutoResponseDTO {
+
+    @Schema(description = "ID do produto", example = "4")
+    private Long produtoId;
+
+    @Schema(description = "Nome atual do produto", example = "X-Burger")
+    private String nomeProduto;
+
+    @Schema(description = "ID do restaurante do produto", example = "2")
+    private Long restauranteId;
+
+    @Schema(description = "Unidades vendidas", example = "37")
+    private Long quantidadeVendida;
+
+    @Schema(description = "Valor vendido (preço do momento de cada pedido)", example = "699.30")
+    private BigDecimal totalVendas;
+
+    @Schema(description = "Pedidos que contêm o produto", example = "30")
+    private Long quantidadePedidos;
+}
@@ -0,0 +1,22 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado da verificação de consistência do agregado vendas_diarias.")
+public class VerificacaoVendasDiariasResponseDTO {
+
+    private boolean consistente;
+
+    @Schema(description = "Quantidade de combinações restaurante/dia/status comparadas")
+    private int gruposVerificados;
+
+    private List<DivergenciaVendaDiariaDTO> divergencias;
+}
@@ -0,0 +1,66 @@
+package com.deliverytech.delivery.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Item estruturado de um pedido. Nome e preço unitário são copiados do produto
+ * no momento do pedido: o histórico não muda se o cardápio mudar, e a resposta
+ * do pedido não precisa carregar os produtos.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "itens_pedido", indexes = {
+        @Index(name = "idx_itens_pedido_pedido", columnList = "pedido_id"),
+        @Index(name = "idx_itens_pedido_produto", columnList = "produto_id")
+})
+public class ItemPedido {
+    // Sequência pooled, como em Pedido: os itens entram no mesmo lote de INSERTs
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "itens_pedido_seq")
+    @SequenceGenerator(name = "itens_pedido_seq", sequenceName = "itens_pedido_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "pedido_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Pedido pedido;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "produto_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Produto produto;
+
+    @Column(name = "nome_produto", length = 100)
+    private String nomeProduto;
+
+    @Column(nullable = false)
+    private Integer quantidade;
+
+    @Column(name = "preco_unitario", precision = 10, scale = 2, nullable = false)
+    private BigDecimal precoUnitario;
+
+    public BigDecimal getSubtotal() {
+        return precoUnitario.multiply(BigDecimal.valueOf(quantidade));
+    }
+}
@@ -3,7 +3,12 @@ package com.deliverytech.delivery.entity;
 import com.deliverytech.delivery.enums.StatusPedido; 
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;     
@@ -11,21 +16,39 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "pedidos")
+@Table(name = "pedidos", indexes = {
+        @Index(name = "uk_pedidos_numero_pedido", columnList = "numero_pedido", unique = true),
+        // Suportam a paginação por chave em (data_pedido, id)
+        @Index(name = "idx_pedidos_status_data", columnList = "status, data_pedido, id"),
+        @Index(name = "idx_pedidos_cliente_data", columnList = "cliente_id, data_pedido, id"),
+        // Índice de cobertura da série temporal (o InnoDB não tem INCLUDE: as colunas extras vão na chave)
+        @Index(name = "idx_pedidos_restaurante_data_cobertura", columnList = "restaurante_id, data_pedido, status, valor_total"),
+        // Retomada dos streams SSE após reinício (PedidoEventosHub)
+        @Index(name = "idx_pedidos_restaurante_atualizacao", columnList = "restaurante_id, data_atualizacao")
+})
 public class Pedido {
+    // Sequência pooled (tabela pedidos_seq no MySQL): permite inserções em lote,
+    // o que IDENTITY impede no Hibernate
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedidos_seq")
+    @SequenceGenerator(name = "pedidos_seq", sequenceName = "pedidos_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "numero_pedido")
@@ -42,8 +65,17 @@ public class Pedido {
 
     private String observacoes;
 
+    // Resumo em texto (legado); os itens estruturados estão em itensPedido
     private String itens;
 
+    // Carregados em lote: ao acessar os itens de um pedido, o Hibernate busca os itens
+    // de até 500 pedidos do contexto de persistência numa única consulta (uma página inteira)
+    @OneToMany(mappedBy = "pedido", cascade = CascadeType.PERSIST)
+    @BatchSize(size = 500)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<ItemPedido> itensPedido = new ArrayList<>();
+
     @ManyToOne
     @JoinColumn(name = "cliente_id")
     private Cliente cliente;
@@ -51,4 +83,20 @@ public class Pedido {
     @ManyToOne
     @JoinColumn(name = "restaurante_id")
     private Restaurante restaurante;
-}
\ No newline at end of file
+
+    // Última criação/mudança de status; base dos IDs de evento SSE
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @PrePersist
+    void aoCriar() {
+        if (dataAtualizacao == null) {
+            dataAtualizacao = LocalDateTime.now();
+        }
+    }
+
+    public void adicionarItem(ItemPedido item) {
+        item.setPedido(this);
+        itensPedido.add(item);
+    }
+}
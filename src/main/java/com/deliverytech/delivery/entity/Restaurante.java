@@ -38,6 +38,13 @@ public class Restaurante {
 
     private Boolean ativo;
 
+    // Coordenadas em graus decimais (WGS 84); nulas para restaurantes ainda não geolocalizados
+    @Column(nullable = true)
+    private Double latitude;
+
+    @Column(nullable = true)
+    private Double longitude;
+
     public void inativar() {
         this.ativo = false;
     }
@@ -0,0 +1,32 @@
+package com.deliverytech.delivery.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Agregado de vendas por restaurante, dia e status, mantido na mesma transação
+ * que cria pedidos ou muda o status deles (ver VendasDiariasService).
+ * Uma faixa isolada pode ficar negativa; só a soma das faixas de um grupo tem significado.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "vendas_diarias")
+public class VendaDiaria {
+
+    @EmbeddedId
+    private VendaDiariaId id;
+
+    private Long quantidade;
+
+    @Column(name = "valor_total", precision = 14, scale = 2)
+    private BigDecimal valorTotal;
+}
@@ -0,0 +1,37 @@
+package com.deliverytech.delivery.entity;
+
+import com.deliverytech.delivery.enums.StatusPedido;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Chave do agregado de vendas: restaurante × dia × status × faixa.
+ * Cada grupo é dividido em faixas somadas na leitura, para que pedidos simultâneos
+ * do mesmo restaurante/dia não disputem a mesma linha (ver VendasDiariasServiceImpl).
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendaDiariaId implements Serializable {
+
+    @Column(name = "restaurante_id")
+    private Long restauranteId;
+
+    private LocalDate dia;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private StatusPedido status;
+
+    private int faixa;
+}
@@ -0,0 +1,48 @@
+package com.deliverytech.delivery.enums;
+
+import com.deliverytech.delivery.exceptions.BusinessException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Granularidade da série temporal de vendas. Semanas começam na segunda-feira
+ * (mesma convenção do WEEKDAY do MySQL usado na consulta).
+ */
+public enum BucketTempo {
+    HOUR,
+    DAY,
+    WEEK;
+
+    /**
+     * Início do bucket que contém o instante informado.
+     */
+    public LocalDateTime inicioDo(LocalDateTime instante) {
+        return switch (this) {
+            case HOUR -> instante.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> instante.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> instante.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        };
+    }
+
+    public LocalDateTime proximo(LocalDateTime inicioBucket) {
+        return switch (this) {
+            case HOUR -> inicioBucket.plusHours(1);
+            case DAY -> inicioBucket.plusDays(1);
+            case WEEK -> inicioBucket.plusWeeks(1);
+        };
+    }
+
+    public static BucketTempo fromString(String bucket) {
+        if (bucket == null || bucket.trim().isEmpty()) {
+            return DAY;
+        }
+        try {
+            return BucketTempo.valueOf(bucket.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Bucket inválido: " + bucket + " (use HOUR, DAY ou WEEK)");
+        }
+    }
+}
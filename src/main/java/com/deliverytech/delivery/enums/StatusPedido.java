@@ -1,5 +1,13 @@
 package com.deliverytech.delivery.enums;
 
+import com.deliverytech.delivery.exceptions.BusinessException;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum StatusPedido {
     PENDENTE("Pendente"),
     CONFIRMADO("Confirmado"),
@@ -8,6 +16,22 @@ public enum StatusPedido {
     ENTREGUE("Entregue"),
     CANCELADO("Cancelado");
 
+    /**
+     * Máquina de estados do pedido: cada status avança um passo no fluxo
+     * e qualquer status não final pode ser cancelado. ENTREGUE e CANCELADO são finais.
+     */
+    private static final Map<StatusPedido, Set<StatusPedido>> ORIGENS = new EnumMap<>(StatusPedido.class);
+
+    static {
+        ORIGENS.put(PENDENTE, EnumSet.noneOf(StatusPedido.class));
+        ORIGENS.put(CONFIRMADO, EnumSet.of(PENDENTE));
+        ORIGENS.put(PREPARANDO, EnumSet.of(CONFIRMADO));
+        ORIGENS.put(SAIU_PARA_ENTREGA, EnumSet.of(PREPARANDO));
+        ORIGENS.put(ENTREGUE, EnumSet.of(SAIU_PARA_ENTREGA));
+        ORIGENS.put(CANCELADO, EnumSet.of(PENDENTE, CONFIRMADO, PREPARANDO, SAIU_PARA_ENTREGA));
+        ORIGENS.replaceAll((destino, origens) -> Collections.unmodifiableSet(origens));
+    }
+
     private final String descricao;
 
     StatusPedido(String descricao) {
@@ -17,4 +41,34 @@ public enum StatusPedido {
     public String getDescricao() {
         return descricao;
     }
+
+    public boolean isFinal() {
+        return this == ENTREGUE || this == CANCELADO;
+    }
+
+    public boolean podeTransicionarPara(StatusPedido destino) {
+        return ORIGENS.get(destino).contains(this);
+    }
+
+    /**
+     * Status a partir dos quais o destino pode ser alcançado
+     * (usado no WHERE status IN (...) da atualização condicional).
+     */
+    public static Set<StatusPedido> origensPara(StatusPedido destino) {
+        return ORIGENS.get(destino);
+    }
+
+    /**
+     * Converte o texto recebido na API (ignorando maiúsculas/minúsculas) para o enum.
+     */
+    public static StatusPedido fromString(String status) {
+        if (status == null || status.trim().isEmpty()) {
+            throw new BusinessException("Status não pode ser nulo ou vazio");
+        }
+        try {
+            return StatusPedido.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Status inválido: " + status);
+        }
+    }
 }
@@ -0,0 +1,12 @@
+package com.deliverytech.delivery.enums;
+
+public enum StatusRelatorioJob {
+    PENDENTE,
+    EXECUTANDO,
+    CONCLUIDO,
+    FALHOU;
+
+    public boolean isFinal() {
+        return this == CONCLUIDO || this == FALHOU;
+    }
+}
@@ -0,0 +1,24 @@
+package com.deliverytech.delivery.enums;
+
+import com.deliverytech.delivery.exceptions.BusinessException;
+
+/**
+ * Relatórios que podem ser gerados em segundo plano (POST /api/relatorios/jobs).
+ */
+public enum TipoRelatorioJob {
+    // Totais por restaurante (mesmas linhas de /api/relatorios/vendas, sem paginação)
+    VENDAS,
+    // Vendas por produto (mesmas linhas de /api/relatorios/vendas-por-produto, sem limite)
+    VENDAS_POR_PRODUTO;
+
+    public static TipoRelatorioJob fromString(String tipo) {
+        if (tipo == null || tipo.trim().isEmpty()) {
+            throw new BusinessException("O tipo do relatório é obrigatório");
+        }
+        try {
+            return TipoRelatorioJob.valueOf(tipo.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Tipo de relatório inválido: " + tipo + " (use VENDAS ou VENDAS_POR_PRODUTO)");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.deliverytech.delivery.enums;
+
+public enum TipoSugestao {
+    PRODUTO,
+    RESTAURANTE,
+    CATEGORIA
+}
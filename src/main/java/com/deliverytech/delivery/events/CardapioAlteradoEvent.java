@@ -0,0 +1,9 @@
+package com.deliverytech.delivery.events;
+
+/**
+ * Evento publicado quando algo exibido no cardápio de um restaurante muda
+ * (produto cadastrado, alterado ou indisponibilizado, ou dados do próprio restaurante).
+ * Tratado somente após o commit da transação.
+ */
+public record CardapioAlteradoEvent(Long restauranteId) {
+}
@@ -0,0 +1,35 @@
+package com.deliverytech.delivery.events;
+
+import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.enums.TipoItemBusca;
+
+/**
+ * Evento publicado quando um produto, restaurante ou cliente é cadastrado ou tem
+ * nome, descrição, categoria ou disponibilidade alterados.
+ * Leva os campos indexados para que o índice de busca e as sugestões sejam
+ * atualizados após o commit sem voltar ao banco.
+ */
+public record ItemBuscavelAlteradoEvent(TipoItemBusca tipo,
+                                        Long id,
+                                        String nome,
+                                        String descricao,
+                                        String categoria,
+                                        boolean ativo) {
+
+    public static ItemBuscavelAlteradoEvent de(Produto produto) {
+        return new ItemBuscavelAlteradoEvent(TipoItemBusca.PRODUTO, produto.getId(), produto.getNome(),
+                produto.getDescricao(), produto.getCategoria(), Boolean.TRUE.equals(produto.getDisponivel()));
+    }
+
+    public static ItemBuscavelAlteradoEvent de(Restaurante restaurante) {
+        return new ItemBuscavelAlteradoEvent(TipoItemBusca.RESTAURANTE, restaurante.getId(), restaurante.getNome(),
+                null, restaurante.getCategoria(), Boolean.TRUE.equals(restaurante.getAtivo()));
+    }
+
+    public static ItemBuscavelAlteradoEvent de(Cliente cliente) {
+        return new ItemBuscavelAlteradoEvent(TipoItemBusca.CLIENTE, cliente.getId(), cliente.getNome(),
+                null, null, Boolean.TRUE.equals(cliente.getAtivo()));
+    }
+}
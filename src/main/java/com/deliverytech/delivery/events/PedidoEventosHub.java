@@ -0,0 +1,305 @@
+package com.deliverytech.delivery.events;
+
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Distribui eventos de status de pedido para conexões SSE, em processo.
+ *
+ * - Assinaturas por pedido e por restaurante ficam em mapas concorrentes; uma conexão
+ *   ociosa custa só o SseEmitter (a requisição é assíncrona, não prende thread do Tomcat).
+ * - Cada assinatura tem a própria fila de envio, esvaziada por uma thread virtual só quando
+ *   há eventos: um cliente lento não atrasa os demais. Se a fila passar de LIMITE_PENDENTES
+ *   a conexão é encerrada e o cliente retoma pelo Last-Event-ID.
+ * - IDs de evento = instante do commit em milissegundos × 1000 + contador, crescentes
+ *   inclusive entre reinícios.
+ * - Retomada via Last-Event-ID: pelo buffer circular dos últimos eventos quando ele cobre
+ *   o ID pedido; senão (reinício, buffer sobrescrito) a partir do banco, com o status atual
+ *   dos pedidos alterados desde aquele instante (pedidos.data_atualizacao). Na retomada pelo
+ *   banco um status já recebido pode chegar de novo, mas nenhum se perde (por restaurante,
+ *   limitado aos CAPACIDADE_HISTORICO pedidos alterados mais recentemente).
+ */
+@Component
+public class PedidoEventosHub {
+
+    private static final int CAPACIDADE_HISTORICO = 10_000;
+    private static final int LIMITE_PENDENTES = 1_000;
+    private static final long TIMEOUT_CONEXAO_MS = TimeUnit.MINUTES.toMillis(30);
+    // Entre a data_atualizacao gravada e o commit (que gera o ID) passa a duração da transação
+    private static final Duration MARGEM_RETOMADA = Duration.ofMinutes(1);
+    private static final int EVENTOS_POR_MILISSEGUNDO = 1000;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    private final EventoNumerado[] historico = new EventoNumerado[CAPACIDADE_HISTORICO];
+    private final Map<Long, Set<Assinatura>> porPedido = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Assinatura>> porRestaurante = new ConcurrentHashMap<>();
+    private final ExecutorService envio = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Protegidos pelo monitor do hub
+    private long sequencia;
+    private long ultimoId;
+    // Maior ID que o histórico em memória não garante ter (anterior à subida ou já sobrescrito)
+    private long idForaDoHistorico = novoId();
+
+    private record EventoNumerado(long id, PedidoStatusAlteradoEvent evento) {
+    }
+
+    public SseEmitter assinarPedido(Long pedidoId, Long ultimoEventoId) {
+        return assinar(porPedido, pedidoId, ultimoEventoId, evento -> pedidoId.equals(evento.pedidoId()),
+                desde -> pedidoRepository.findById(pedidoId)
+                        .filter(pedido -> pedido.getDataAtualizacao() != null
+                                && !pedido.getDataAtualizacao().isBefore(desde))
+                        .map(List::of)
+                        .orElse(List.of()));
+    }
+
+    public SseEmitter assinarRestaurante(Long restauranteId, Long ultimoEventoId) {
+        return assinar(porRestaurante, restauranteId, ultimoEventoId, evento -> restauranteId.equals(evento.restauranteId()),
+                desde -> {
+                    // Os mais recentes primeiro no limite; reenviados do mais antigo para o mais novo
+                    List<Pedido> alterados = new ArrayList<>(pedidoRepository
+                            .findByRestauranteIdAndDataAtualizacaoGreaterThanEqualOrderByDataAtualizacaoDesc(
+                                    restauranteId, desde, Limit.of(CAPACIDADE_HISTORICO)));
+                    Collections.reverse(alterados);
+                    return alterados;
+                });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarStatus(PedidoStatusAlteradoEvent evento) {
+        // Numerar e enfileirar juntos mantém cada fila em ordem de ID (enfileirar não bloqueia)
+        synchronized (this) {
+            EventoNumerado numerado = new EventoNumerado(novoId(), evento);
+            int posicao = (int) (sequencia++ % CAPACIDADE_HISTORICO);
+            EventoNumerado sobrescrito = historico[posicao];
+            if (sobrescrito != null) {
+                idForaDoHistorico = sobrescrito.id();
+            }
+            historico[posicao] = numerado;
+
+            distribuir(porPedido.get(evento.pedidoId()), numerado);
+            distribuir(porRestaurante.get(evento.restauranteId()), numerado);
+        }
+    }
+
+    /**
+     * Comentário periódico para manter as conexões abertas em proxies e detectar clientes desconectados.
+     */
+    @Scheduled(fixedRate = 15_000)
+    public void heartbeat() {
+        porPedido.values().forEach(assinaturas -> assinaturas.forEach(a -> a.enfileirar(Envio.HEARTBEAT)));
+        porRestaurante.values().forEach(assinaturas -> assinaturas.forEach(a -> a.enfileirar(Envio.HEARTBEAT)));
+    }
+
+    @PreDestroy
+    void encerrar() {
+        envio.shutdownNow();
+        porPedido.values().forEach(assinaturas -> assinaturas.forEach(a -> a.emitter.complete()));
+        porRestaurante.values().forEach(assinaturas -> assinaturas.forEach(a -> a.emitter.complete()));
+    }
+
+    private SseEmitter assinar(Map<Long, Set<Assinatura>> assinantes, Long chave, Long ultimoEventoId,
+                               Predicate<PedidoStatusAlteradoEvent> filtro,
+                               Function<LocalDateTime, List<Pedido>> alteradosDesde) {
+        Assinatura assinatura = new Assinatura(new SseEmitter(TIMEOUT_CONEXAO_MS));
+        Runnable remover = () -> remover(assinantes, chave, assinatura);
+        assinatura.emitter.onCompletion(remover);
+        assinatura.emitter.onTimeout(remover);
+        assinatura.emitter.onError(erro -> remover.run());
+
+        // Registro e leitura do histórico sob o mesmo monitor da publicação: os eventos
+        // ao vivo que chegarem depois são todos posteriores ao que for reenviado
+        List<Envio> reenvio = new ArrayList<>();
+        boolean retomarDoBanco;
+        long marca;
+        synchronized (this) {
+            assinantes.compute(chave, (k, assinaturas) -> {
+                Set<Assinatura> conjunto = assinaturas != null ? assinaturas : ConcurrentHashMap.newKeySet();
+                conjunto.add(assinatura);
+                return conjunto;
+            });
+            retomarDoBanco = ultimoEventoId != null && ultimoEventoId < idForaDoHistorico;
+            if (ultimoEventoId != null && !retomarDoBanco) {
+                long inicio = Math.max(0, sequencia - CAPACIDADE_HISTORICO);
+                for (long s = inicio; s < sequencia; s++) {
+                    EventoNumerado numerado = historico[(int) (s % CAPACIDADE_HISTORICO)];
+                    if (numerado.id() > ultimoEventoId && filtro.test(numerado.evento())) {
+                        reenvio.add(new Envio(numerado, false));
+                    }
+                }
+            }
+            marca = novoId();
+        }
+
+        if (retomarDoBanco) {
+            // Fora do monitor: eventos ao vivo com ID até a marca já estão refletidos nesta leitura
+            assinatura.descartarAte = marca;
+            LocalDateTime desde = instante(ultimoEventoId).minus(MARGEM_RETOMADA);
+            for (Pedido pedido : alteradosDesde.apply(desde)) {
+                reenvio.add(new Envio(new EventoNumerado(marca, PedidoStatusAlteradoEvent.de(pedido)), false));
+            }
+        }
+        assinatura.iniciar(reenvio);
+        return assinatura.emitter;
+    }
+
+    private void remover(Map<Long, Set<Assinatura>> assinantes, Long chave, Assinatura assinatura) {
+        assinatura.encerrada = true;
+        assinantes.computeIfPresent(chave, (k, assinaturas) -> {
+            assinaturas.remove(assinatura);
+            return assinaturas.isEmpty() ? null : assinaturas;
+        });
+    }
+
+    private void distribuir(Set<Assinatura> assinaturas, EventoNumerado numerado) {
+        if (assinaturas != null) {
+            Envio envioAoVivo = new Envio(numerado, true);
+            assinaturas.forEach(assinatura -> assinatura.enfileirar(envioAoVivo));
+        }
+    }
+
+    private long novoId() {
+        ultimoId = Math.max(ultimoId + 1, System.currentTimeMillis() * EVENTOS_POR_MILISSEGUNDO);
+        return ultimoId;
+    }
+
+    private static LocalDateTime instante(long eventoId) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(Math.max(0, eventoId) / EVENTOS_POR_MILISSEGUNDO),
+                ZoneId.systemDefault());
+    }
+
+    /**
+     * evento null = heartbeat. aoVivo: pode ter sido coberto pela retomada e é descartado se o ID
+     * não passar de descartarAte.
+     */
+    private record Envio(EventoNumerado evento, boolean aoVivo) {
+        static final Envio HEARTBEAT = new Envio(null, false);
+    }
+
+    private final class Assinatura {
+
+        final SseEmitter emitter;
+        final ConcurrentLinkedDeque<Envio> pendentes = new ConcurrentLinkedDeque<>();
+        final AtomicInteger tamanho = new AtomicInteger();
+        // Nasce agendada: nada é enviado antes de iniciar() colocar o reenvio na frente da fila
+        final AtomicBoolean agendada = new AtomicBoolean(true);
+        volatile boolean encerrada;
+        volatile boolean estourou;
+        // Escrito antes de iniciar(), lido só pela thread de envio
+        long descartarAte;
+
+        Assinatura(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void iniciar(List<Envio> reenvio) {
+            for (int i = reenvio.size() - 1; i >= 0; i--) {
+                pendentes.addFirst(reenvio.get(i));
+            }
+            tamanho.addAndGet(reenvio.size());
+            agendada.set(false);
+            agendar();
+        }
+
+        void enfileirar(Envio item) {
+            if (encerrada) {
+                return;
+            }
+            if (tamanho.incrementAndGet() > LIMITE_PENDENTES) {
+                // Cliente lento: quem encerra a conexão é a própria thread de envio
+                estourou = true;
+                encerrada = true;
+                agendar();
+                return;
+            }
+            pendentes.addLast(item);
+            agendar();
+        }
+
+        private void agendar() {
+            if (!pendentes.isEmpty() || estourou) {
+                if (agendada.compareAndSet(false, true)) {
+                    try {
+                        envio.execute(this::drenar);
+                    } catch (RejectedExecutionException e) {
+                        agendada.set(false); // hub em encerramento
+                    }
+                }
+            }
+        }
+
+        private void drenar() {
+            do {
+                Envio item;
+                while ((item = pendentes.pollFirst()) != null) {
+                    tamanho.decrementAndGet();
+                    if (estourou) {
+                        continue;
+                    }
+                    if (!encerrada && !enviar(item)) {
+                        encerrada = true;
+                    }
+                }
+                if (estourou) {
+                    emitter.complete();
+                    return;
+                }
+                agendada.set(false);
+            } while (!pendentes.isEmpty() && agendada.compareAndSet(false, true));
+        }
+
+        private boolean enviar(Envio item) {
+            try {
+                if (item.evento() == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    return true;
+                }
+                EventoNumerado numerado = item.evento();
+                if (item.aoVivo() && numerado.id() <= descartarAte) {
+                    return true;
+                }
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(numerado.id()))
+                        .name("status")
+                        .data(numerado.evento(), MediaType.APPLICATION_JSON));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado: onError/onCompletion removem a assinatura
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
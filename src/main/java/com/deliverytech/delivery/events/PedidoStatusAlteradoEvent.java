@@ -0,0 +1,34 @@
+package com.deliverytech.delivery.events;
+
+import com.deliverytech.delivery.entity.Pedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado quando um pedido é criado ou muda de status.
+ * Entregue aos assinantes somente após o commit da transação.
+ */
+public record PedidoStatusAlteradoEvent(
+        Long pedidoId,
+        String numeroPedido,
+        Long restauranteId,
+        Long clienteId,
+        String status,
+        LocalDateTime dataPedido,
+        BigDecimal valorTotal,
+        LocalDateTime ocorridoEm
+) {
+
+    public static PedidoStatusAlteradoEvent de(Pedido pedido) {
+        return new PedidoStatusAlteradoEvent(
+                pedido.getId(),
+                pedido.getNumeroPedido(),
+                pedido.getRestaurante() != null ? pedido.getRestaurante().getId() : null,
+                pedido.getCliente() != null ? pedido.getCliente().getId() : null,
+                pedido.getStatus().name(),
+                pedido.getDataPedido(),
+                pedido.getValorTotal(),
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,15 @@
+package com.deliverytech.delivery.exceptions;
+
+/**
+ * Operação incompatível com o estado atual do recurso (ex: transição de status inválida).
+ * Tratada como 409 pelo GlobalExceptionHandler.
+ */
+public class ConflitoException extends BusinessException {
+    public ConflitoException(String message) {
+        super(message);
+    }
+
+    public ConflitoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,7 +1,9 @@
 package com.deliverytech.delivery.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -30,6 +32,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(ConflitoException.class)
+    public ResponseEntity<ValidationErrorResponse> handleConflito(ConflitoException ex) {
+        ValidationErrorResponse error = new ValidationErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Conflito com o estado atual",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ValidationErrorResponse> handleBusinessException(BusinessException ex) {
         ValidationErrorResponse error = new ValidationErrorResponse(
@@ -41,6 +54,37 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(ServicoIndisponivelException.class)
+    public ResponseEntity<ValidationErrorResponse> handleServicoIndisponivel(ServicoIndisponivelException ex) {
+        ValidationErrorResponse error = new ValidationErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Serviço temporariamente indisponível",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        // Sugere ao cliente tentar novamente em 1 segundo
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    /**
+     * Nenhuma conexão livre no pool dentro do connection-timeout: o banco está saturado,
+     * então a requisição é recusada com 503 em vez de esperar indefinidamente.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ValidationErrorResponse> handleSemConexao(CannotCreateTransactionException ex) {
+        ValidationErrorResponse error = new ValidationErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Serviço temporariamente indisponível",
+                "Banco de dados sobrecarregado, tente novamente",
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorResponse> handleValidationException(
             MethodArgumentNotValidException ex) {
@@ -0,0 +1,15 @@
+package com.deliverytech.delivery.exceptions;
+
+/**
+ * Sinaliza sobrecarga temporária (ex: fila de pedidos cheia).
+ * Tratada como 503 pelo GlobalExceptionHandler.
+ */
+public class ServicoIndisponivelException extends RuntimeException {
+    public ServicoIndisponivelException(String message) {
+        super(message);
+    }
+
+    public ServicoIndisponivelException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
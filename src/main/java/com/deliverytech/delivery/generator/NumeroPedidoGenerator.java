@@ -0,0 +1,10 @@
+package com.deliverytech.delivery.generator;
+
+/**
+ * Gera o número público de um pedido (numero_pedido).
+ * Implementações devem ser thread-safe e nunca repetir um número.
+ */
+public interface NumeroPedidoGenerator {
+
+    String gerar();
+}
@@ -0,0 +1,86 @@
+package com.deliverytech.delivery.generator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Gerador no estilo Snowflake: 41 bits de timestamp (ms desde 2025-01-01 UTC),
+ * 10 bits de nó e 12 bits de sequência, codificados em 13 caracteres base32 (Crockford).
+ *
+ * - Ordenado no tempo: números posteriores são lexicograficamente maiores,
+ *   então as inserções no índice de numero_pedido ficam sempre no fim da árvore.
+ * - Sem locks: o estado (timestamp + sequência) avança por CAS em um único AtomicLong.
+ *   Se a sequência estourar no mesmo milissegundo, ou o relógio voltar, o gerador
+ *   segue a partir do último valor emitido em vez de esperar.
+ * - Várias instâncias da API: cada uma deve ter um delivery.numero-pedido.node-id distinto (0-1023).
+ */
+@Component
+public class SnowflakeNumeroPedidoGenerator implements NumeroPedidoGenerator {
+
+    // 2025-01-01T00:00:00Z
+    static final long EPOCA = 1735689600000L;
+
+    static final int BITS_NO = 10;
+    static final int BITS_SEQUENCIA = 12;
+    static final long MAX_NO = (1L << BITS_NO) - 1;
+
+    private static final char[] ALFABETO = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int TAMANHO = 13;
+
+    private final long no;
+    private final LongSupplier relogio;
+
+    // Último (timestamp << BITS_SEQUENCIA | sequência) emitido
+    private final AtomicLong estado = new AtomicLong();
+
+    @Autowired
+    public SnowflakeNumeroPedidoGenerator(@Value("${delivery.numero-pedido.node-id:0}") long no) {
+        this(no, System::currentTimeMillis);
+    }
+
+    SnowflakeNumeroPedidoGenerator(long no, LongSupplier relogio) {
+        if (no < 0 || no > MAX_NO) {
+            throw new IllegalArgumentException("delivery.numero-pedido.node-id deve estar entre 0 e " + MAX_NO);
+        }
+        this.no = no;
+        this.relogio = relogio;
+    }
+
+    @Override
+    public String gerar() {
+        return codificar(proximoId());
+    }
+
+    long proximoId() {
+        long agora = relogio.getAsLong() - EPOCA;
+        long anterior;
+        long proximo;
+        do {
+            anterior = estado.get();
+            if (agora > (anterior >>> BITS_SEQUENCIA)) {
+                proximo = agora << BITS_SEQUENCIA;
+            } else {
+                // Mesmo ms (ou relógio atrasado): incrementa a sequência; o estouro
+                // transborda para o timestamp
+                proximo = anterior + 1;
+            }
+        } while (!estado.compareAndSet(anterior, proximo));
+
+        long timestamp = proximo >>> BITS_SEQUENCIA;
+        long sequencia = proximo & ((1L << BITS_SEQUENCIA) - 1);
+        return (timestamp << (BITS_NO + BITS_SEQUENCIA)) | (no << BITS_SEQUENCIA) | sequencia;
+    }
+
+    static String codificar(long id) {
+        char[] saida = new char[TAMANHO];
+        for (int i = TAMANHO - 1; i >= 0; i--) {
+            saida[i] = ALFABETO[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(saida);
+    }
+}
@@ -0,0 +1,195 @@
+package com.deliverytech.delivery.jobs;
+
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.repository.ItemPedidoRepository;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Migração única da descrição em texto dos pedidos antigos (pedidos.itens, ex: "2x X-Burger, Batata Frita")
+ * para itens estruturados (itens_pedido).
+ *
+ * - Cada parte separada por vírgula é comparada com os nomes dos produtos do restaurante do pedido,
+ *   sem diferenciar maiúsculas, acentos e espaços. Aceita quantidade no início ("2x X-Burger", "2 X-Burger").
+ * - O pedido só é migrado se todas as partes forem reconhecidas; os demais ficam como estão e são
+ *   contados no log. Rodar de novo (depois de ajustar o cardápio) retoma só os pedidos sem itens.
+ * - O preço unitário é o preço atual do produto: o preço da época não existe nos pedidos antigos.
+ * - Percorre os pedidos por id em lotes, um lote por transação, numa thread virtual própria.
+ *
+ * Ativada com delivery.migracao.itens-pedido.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "delivery.migracao.itens-pedido.enabled", havingValue = "true")
+public class MigracaoItensPedidoJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracaoItensPedidoJob.class);
+
+    private static final Pattern QUANTIDADE = Pattern.compile("^(\\d{1,2})\\s*[xX]?\\s+(.+)$|^(\\d{1,2})[xX](.+)$");
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${delivery.migracao.itens-pedido.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    private record Parte(int quantidade, String nome) {
+    }
+
+    private record Progresso(long ultimoId, int lidos, int migrados, int itens) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        Thread.ofVirtual().name("migracao-itens-pedido").start(this::migrar);
+    }
+
+    void migrar() {
+        try {
+            Map<Long, Map<String, Produto>> cardapios = carregarCardapios();
+            long ultimoId = 0;
+            int lidos = 0;
+            int migrados = 0;
+            int itens = 0;
+            while (true) {
+                long apos = ultimoId;
+                Progresso lote = transactionTemplate.execute(status -> migrarLote(apos, cardapios));
+                if (lote == null || lote.lidos() == 0) {
+                    break;
+                }
+                ultimoId = lote.ultimoId();
+                lidos += lote.lidos();
+                migrados += lote.migrados();
+                itens += lote.itens();
+                log.info("Migração de itens: {} pedidos lidos, {} migrados (até o id {})", lidos, migrados, ultimoId);
+            }
+            log.info("Migração de itens concluída: {} pedidos migrados com {} itens; {} não reconhecidos",
+                    migrados, itens, lidos - migrados);
+        } catch (RuntimeException e) {
+            log.error("Migração de itens interrompida", e);
+        }
+    }
+
+    private Progresso migrarLote(long apos, Map<Long, Map<String, Produto>> cardapios) {
+        List<Object[]> pedidos = pedidoRepository.findSemItensEstruturadosApos(apos, Limit.of(tamanhoLote));
+        long ultimoId = apos;
+        int migrados = 0;
+        List<ItemPedido> novos = new ArrayList<>();
+        for (Object[] linha : pedidos) {
+            Long pedidoId = (Long) linha[0];
+            Long restauranteId = (Long) linha[1];
+            String texto = (String) linha[2];
+            ultimoId = pedidoId;
+
+            List<ItemPedido> itens = interpretar(texto, cardapios.getOrDefault(restauranteId, Map.of()));
+            if (itens == null) {
+                log.debug("Pedido {} não migrado: itens não reconhecidos em '{}'", pedidoId, texto);
+                continue;
+            }
+            // Referência ao pedido, sem carregá-lo
+            Pedido pedido = entityManager.getReference(Pedido.class, pedidoId);
+            itens.forEach(item -> item.setPedido(pedido));
+            novos.addAll(itens);
+            migrados++;
+        }
+        itemPedidoRepository.saveAll(novos);
+        itemPedidoRepository.flush();
+        entityManager.clear();
+        return new Progresso(ultimoId, pedidos.size(), migrados, novos.size());
+    }
+
+    /**
+     * Converte a descrição em itens. Retorna null se alguma parte não corresponder a um produto.
+     */
+    private List<ItemPedido> interpretar(String texto, Map<String, Produto> cardapio) {
+        Map<Long, ItemPedido> porProduto = new HashMap<>();
+        List<ItemPedido> itens = new ArrayList<>();
+        for (String trecho : texto.split("[,;\\n]")) {
+            if (trecho.isBlank()) {
+                continue;
+            }
+            // O nome inteiro tem precedência ("7 Up" é um produto, não 7 × "Up")
+            Parte parte = new Parte(1, trecho.trim());
+            Produto produto = cardapio.get(normalizar(parte.nome()));
+            if (produto == null) {
+                parte = separarQuantidade(parte.nome());
+                produto = cardapio.get(normalizar(parte.nome()));
+            }
+            if (produto == null) {
+                return null;
+            }
+            // Produto repetido na descrição ("X-Burger, X-Burger") vira quantidade
+            ItemPedido existente = porProduto.get(produto.getId());
+            if (existente != null) {
+                existente.setQuantidade(existente.getQuantidade() + parte.quantidade());
+                continue;
+            }
+            ItemPedido item = new ItemPedido(null, null, produto, produto.getNome(), parte.quantidade(), produto.getPreco());
+            porProduto.put(produto.getId(), item);
+            itens.add(item);
+        }
+        return itens.isEmpty() ? null : itens;
+    }
+
+    private static Parte separarQuantidade(String trecho) {
+        Matcher m = QUANTIDADE.matcher(trecho);
+        if (m.matches()) {
+            int quantidade = Integer.parseInt(m.group(1) != null ? m.group(1) : m.group(3));
+            String nome = m.group(2) != null ? m.group(2) : m.group(4);
+            if (quantidade > 0) {
+                return new Parte(quantidade, nome);
+            }
+        }
+        return new Parte(1, trecho);
+    }
+
+    // Nome normalizado -> produto, por restaurante
+    private Map<Long, Map<String, Produto>> carregarCardapios() {
+        Map<Long, Map<String, Produto>> cardapios = new HashMap<>();
+        for (Produto produto : produtoRepository.findAll()) {
+            if (produto.getRestaurante() == null || produto.getNome() == null || produto.getPreco() == null) {
+                continue;
+            }
+            cardapios.computeIfAbsent(produto.getRestaurante().getId(), id -> new HashMap<>())
+                    .putIfAbsent(normalizar(produto.getNome()), produto);
+        }
+        return cardapios;
+    }
+
+    static String normalizar(String nome) {
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(nome, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+}
@@ -0,0 +1,51 @@
+package com.deliverytech.delivery.jobs;
+
+import com.deliverytech.delivery.dto.response.VerificacaoVendasDiariasResponseDTO;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.VendaDiariaRepository;
+import com.deliverytech.delivery.services.VendasDiariasService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Manutenção do agregado vendas_diarias:
+ * - backfill na subida, se o agregado estiver vazio e já existirem pedidos;
+ * - verificação periódica de consistência contra a tabela pedidos (só registra em log;
+ *   a correção é POST /api/relatorios/vendas-diarias/reconstruir).
+ */
+@Component
+public class VendasDiariasJob {
+
+    private static final Logger log = LoggerFactory.getLogger(VendasDiariasJob.class);
+
+    @Autowired
+    private VendasDiariasService vendasDiariasService;
+    @Autowired
+    private VendaDiariaRepository vendaDiariaRepository;
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSeVazio() {
+        if (vendaDiariaRepository.count() == 0 && pedidoRepository.count() > 0) {
+            int linhas = vendasDiariasService.reconstruir();
+            log.info("Agregado vendas_diarias reconstruído a partir dos pedidos: {} linhas", linhas);
+        }
+    }
+
+    @Scheduled(cron = "${delivery.vendas-diarias.verificacao-cron:0 30 3 * * *}")
+    public void verificar() {
+        VerificacaoVendasDiariasResponseDTO resultado = vendasDiariasService.verificar();
+        if (resultado.isConsistente()) {
+            log.info("vendas_diarias consistente ({} grupos verificados)", resultado.getGruposVerificados());
+        } else {
+            log.warn("vendas_diarias divergente em {} de {} grupos: {}", resultado.getDivergencias().size(),
+                    resultado.getGruposVerificados(), resultado.getDivergencias());
+        }
+    }
+}
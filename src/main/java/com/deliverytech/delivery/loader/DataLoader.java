@@ -1,6 +1,7 @@
 package com.deliverytech.delivery.loader;
 
 import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.entity.ItemPedido;
 import com.deliverytech.delivery.entity.Pedido;
 import com.deliverytech.delivery.entity.Produto;
 import com.deliverytech.delivery.entity.Restaurante;
@@ -16,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal; 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Component
@@ -57,8 +59,8 @@ public class DataLoader implements CommandLineRunner {
         clienteRepository.saveAll(List.of(c1, c2, c3));
 
         // Corrigido para usar BigDecimal
-        Restaurante r1 = new Restaurante(null, "Pizzaria Bella", "Italiana", "Av. Paulista, 1000", "(11) 3333-1111", new BigDecimal("5.00"), new BigDecimal("4.5"), true);
-        Restaurante r2 = new Restaurante(null, "Burger House", "Hamburgueria", "Rua Augusta, 500", "(11) 3333-2222", new BigDecimal("3.50"), new BigDecimal("4.2"), true);
+        Restaurante r1 = new Restaurante(null, "Pizzaria Bella", "Italiana", "Av. Paulista, 1000", "(11) 3333-1111", new BigDecimal("5.00"), new BigDecimal("4.5"), true, -23.5646, -46.6527);
+        Restaurante r2 = new Restaurante(null, "Burger House", "Hamburgueria", "Rua Augusta, 500", "(11) 3333-2222", new BigDecimal("3.50"), new BigDecimal("4.2"), true, -23.5526, -46.6520);
         restauranteRepository.saveAll(List.of(r1, r2));
 
         // Corrigido para usar BigDecimal
@@ -70,8 +72,11 @@ public class DataLoader implements CommandLineRunner {
         produtoRepository.saveAll(List.of(p1, p2, p3, p4, p5));
 
         // Corrigido para usar BigDecimal
-        Pedido ped1 = new Pedido(null, "PED1001", LocalDateTime.now().minusDays(1), StatusPedido.ENTREGUE, new BigDecimal("54.80"), "Sem cebola", "Pizza Margherita", c1, r1);
-        Pedido ped2 = new Pedido(null, "PED1002", LocalDateTime.now(), StatusPedido.PENDENTE, new BigDecimal("41.80"), "", "X-Burger, Batata Frita", c2, r2);
+        Pedido ped1 = new Pedido(null, "PED1001", LocalDateTime.now().minusDays(1), StatusPedido.ENTREGUE, new BigDecimal("54.80"), "Sem cebola", "Pizza Margherita", new ArrayList<>(), c1, r1, null);
+        Pedido ped2 = new Pedido(null, "PED1002", LocalDateTime.now(), StatusPedido.PENDENTE, new BigDecimal("41.80"), "", "X-Burger, Batata Frita", new ArrayList<>(), c2, r2, null);
+        ped1.adicionarItem(new ItemPedido(null, null, p1, p1.getNome(), 1, p1.getPreco()));
+        ped2.adicionarItem(new ItemPedido(null, null, p3, p3.getNome(), 1, p3.getPreco()));
+        ped2.adicionarItem(new ItemPedido(null, null, p5, p5.getNome(), 1, p5.getPreco()));
         pedidoRepository.saveAll(List.of(ped1, ped2));
 
         System.out.println("Dados de teste inseridos.");
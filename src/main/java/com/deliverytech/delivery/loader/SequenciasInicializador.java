@@ -0,0 +1,124 @@
+package com.deliverytech.delivery.loader;
+
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.entity.Pedido;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ajusta as sequências pooled (Pedido, ItemPedido) aos IDs que já existem no banco, na subida.
+ *
+ * No MySQL o Hibernate emula a sequência com uma tabela (ex: pedidos_seq.next_val) e, com
+ * ddl-auto=update, a cria começando em 1: num banco com pedidos anteriores o primeiro lote
+ * colidiria com as chaves existentes. Aqui cada tabela de sequência é levada a
+ * MAX(id) + allocationSize (o otimizador pooled entrega next_val - allocationSize + 1 .. next_val).
+ *
+ * - Só aumenta o valor: rodar de novo, ou em várias instâncias ao mesmo tempo, é seguro
+ *   (a linha da sequência fica bloqueada com FOR UPDATE durante o ajuste).
+ * - Roda na inicialização do contexto, depois da atualização do schema e antes do servidor
+ *   web e do DataLoader.
+ * - Bancos com SEQUENCE nativa (ex: H2) recebem o mesmo ajuste com ALTER SEQUENCE ... RESTART WITH.
+ *   O valor atual é lido com NEXT VALUE (o bloco lido é descartado). Ali o ajuste não é atômico:
+ *   instâncias subindo ao mesmo tempo reiniciam a sequência no mesmo valor, mas uma instância que
+ *   já tenha reservado um bloco pode recebê-lo de novo. Suba a primeira instância sozinha.
+ * - Se o dialeto usa SEQUENCE nativa, o que decide é o dialeto, não a existência de uma tabela
+ *   com o nome da sequência (o schema.sql cria as tabelas do MySQL também no H2).
+ */
+@Component
+public class SequenciasInicializador {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenciasInicializador.class);
+
+    private static final List<Class<?>> ENTIDADES = List.of(Pedido.class, ItemPedido.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    // Garante que o schema (ddl-auto) já foi atualizado; também dá o dialeto
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void ajustar() {
+        SequenceSupport sequenciasNativas = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport();
+        for (Class<?> entidade : ENTIDADES) {
+            SequenceGenerator sequencia = sequenciaDoId(entidade);
+            String tabela = entidade.getAnnotation(Table.class).name();
+            if (sequenciasNativas.supportsSequences()) {
+                ajustarNativa(sequenciasNativas, sequencia.sequenceName(), tabela, sequencia.allocationSize());
+            } else if (tabelaExiste(sequencia.sequenceName())) {
+                transactionTemplate.executeWithoutResult(status ->
+                        ajustar(sequencia.sequenceName(), tabela, sequencia.allocationSize()));
+            } else {
+                log.warn("Tabela da sequência {} não encontrada; nada a ajustar", sequencia.sequenceName());
+            }
+        }
+    }
+
+    private void ajustarNativa(SequenceSupport sequenciasNativas, String sequencia, String tabela, int allocationSize) {
+        Long atual = jdbcTemplate.queryForObject(sequenciasNativas.getSequenceNextValString(sequencia), Long.class);
+        Long maiorId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tabela, Long.class);
+        long minimo = maiorId + allocationSize;
+        if (atual >= minimo) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequencia + " RESTART WITH " + minimo);
+        log.info("Sequência {} reiniciada em {} (MAX(id) de {} = {})", sequencia, minimo, tabela, maiorId);
+    }
+
+    private void ajustar(String sequencia, String tabela, int allocationSize) {
+        List<Long> atual = jdbcTemplate.queryForList(
+                "SELECT next_val FROM " + sequencia + " FOR UPDATE", Long.class);
+        Long maiorId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tabela, Long.class);
+        long minimo = maiorId + allocationSize;
+        if (atual.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO " + sequencia + " (next_val) VALUES (?)", minimo);
+        } else if (atual.get(0) < minimo) {
+            jdbcTemplate.update("UPDATE " + sequencia + " SET next_val = ?", minimo);
+        } else {
+            return;
+        }
+        log.info("Sequência {} ajustada para {} (MAX(id) de {} = {})", sequencia, minimo, tabela, maiorId);
+    }
+
+    private boolean tabelaExiste(String nome) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao -> {
+            DatabaseMetaData metadados = conexao.getMetaData();
+            for (String variante : List.of(nome, nome.toUpperCase(Locale.ROOT))) {
+                try (ResultSet tabelas = metadados.getTables(conexao.getCatalog(), null, variante,
+                        new String[]{"TABLE"})) {
+                    if (tabelas.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }));
+    }
+
+    private static SequenceGenerator sequenciaDoId(Class<?> entidade) {
+        try {
+            return entidade.getDeclaredField("id").getAnnotation(SequenceGenerator.class);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(entidade.getSimpleName() + " sem campo id", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.deliverytech.delivery.mapper;
+
+import com.deliverytech.delivery.dto.request.ClienteRequestDTO;
+import com.deliverytech.delivery.dto.response.ClienteResponseDTO;
+import com.deliverytech.delivery.entity.Cliente;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapeamento explícito entre Cliente e seus DTOs (sem reflexão).
+ */
+@Component
+public class ClienteMapper {
+
+    public Cliente toEntity(ClienteRequestDTO dto) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(dto.getNome());
+        cliente.setEmail(dto.getEmail());
+        cliente.setTelefone(dto.getTelefone());
+        cliente.setEndereco(dto.getEndereco());
+        return cliente;
+    }
+
+    public ClienteResponseDTO toResponse(Cliente cliente) {
+        if (cliente == null) {
+            return null;
+        }
+        ClienteResponseDTO dto = new ClienteResponseDTO();
+        dto.setId(cliente.getId());
+        dto.setNome(cliente.getNome());
+        dto.setEmail(cliente.getEmail());
+        dto.setTelefone(cliente.getTelefone());
+        dto.setEndereco(cliente.getEndereco());
+        dto.setAtivo(cliente.getAtivo());
+        return dto;
+    }
+}
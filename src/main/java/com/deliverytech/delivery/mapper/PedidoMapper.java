@@ -0,0 +1,88 @@
+package com.deliverytech.delivery.mapper;
+
+import com.deliverytech.delivery.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery.dto.response.ClienteResponseDTO;
+import com.deliverytech.delivery.dto.response.ItemPedidoResponseDTO;
+import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.entity.Pedido;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mapeamento explícito entre Pedido e seus DTOs (sem reflexão).
+ * Cliente e restaurante aninhados reutilizam os respectivos mappers.
+ * Os itens usam nome e preço gravados no próprio ItemPedido (o produto não é carregado).
+ */
+@Component
+public class PedidoMapper {
+
+    @Autowired
+    private ClienteMapper clienteMapper;
+
+    @Autowired
+    private RestauranteMapper restauranteMapper;
+
+    public PedidoMapper() {
+    }
+
+    public PedidoMapper(ClienteMapper clienteMapper, RestauranteMapper restauranteMapper) {
+        this.clienteMapper = clienteMapper;
+        this.restauranteMapper = restauranteMapper;
+    }
+
+    /**
+     * Cria a entidade a partir do DTO. Cliente, restaurante, número,
+     * data e status são definidos pelo service.
+     */
+    public Pedido toEntity(PedidoRequestDTO dto) {
+        Pedido pedido = new Pedido();
+        pedido.setItens(dto.getItens());
+        pedido.setValorTotal(dto.getValorTotal());
+        pedido.setObservacoes(dto.getObservacoes());
+        return pedido;
+    }
+
+    public PedidoResponseDTO toResponse(Pedido pedido) {
+        if (pedido == null) {
+            return null;
+        }
+        return toResponse(pedido, clienteMapper.toResponse(pedido.getCliente()),
+                restauranteMapper.toResponse(pedido.getRestaurante()));
+    }
+
+    /**
+     * Com cliente e restaurante já montados (ex: vindos do cache): não toca nas associações
+     * do pedido, que podem ser referências não carregadas.
+     */
+    public PedidoResponseDTO toResponse(Pedido pedido, ClienteResponseDTO cliente, RestauranteResponseDTO restaurante) {
+        PedidoResponseDTO dto = new PedidoResponseDTO();
+        dto.setId(pedido.getId());
+        dto.setNumeroPedido(pedido.getNumeroPedido());
+        dto.setDataPedido(pedido.getDataPedido());
+        dto.setStatus(pedido.getStatus() != null ? pedido.getStatus().name() : null);
+        dto.setValorTotal(pedido.getValorTotal());
+        dto.setObservacoes(pedido.getObservacoes());
+        dto.setItens(pedido.getItens());
+        dto.setItensPedido(toResponse(pedido.getItensPedido()));
+        dto.setCliente(cliente);
+        dto.setRestaurante(restaurante);
+        return dto;
+    }
+
+    private List<ItemPedidoResponseDTO> toResponse(List<ItemPedido> itens) {
+        if (itens == null) {
+            return List.of();
+        }
+        List<ItemPedidoResponseDTO> dtos = new ArrayList<>(itens.size());
+        for (ItemPedido item : itens) {
+            dtos.add(new ItemPedidoResponseDTO(item.getProduto() != null ? item.getProduto().getId() : null,
+                    item.getNomeProduto(), item.getQuantidade(), item.getPrecoUnitario(), item.getSubtotal()));
+        }
+        return dtos;
+    }
+}
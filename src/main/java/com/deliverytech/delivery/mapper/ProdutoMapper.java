@@ -0,0 +1,56 @@
+package com.deliverytech.delivery.mapper;
+
+import com.deliverytech.delivery.dto.request.ProdutoRequestDTO;
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery.entity.Produto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapeamento explícito entre Produto e seus DTOs (sem reflexão).
+ */
+@Component
+public class ProdutoMapper {
+
+    @Autowired
+    private RestauranteMapper restauranteMapper;
+
+    public ProdutoMapper() {
+    }
+
+    public ProdutoMapper(RestauranteMapper restauranteMapper) {
+        this.restauranteMapper = restauranteMapper;
+    }
+
+    public Produto toEntity(ProdutoRequestDTO dto) {
+        Produto produto = new Produto();
+        updateEntity(dto, produto);
+        return produto;
+    }
+
+    /**
+     * Copia os campos do DTO para uma entidade existente.
+     * O restaurante é associado pelo service.
+     */
+    public void updateEntity(ProdutoRequestDTO dto, Produto produto) {
+        produto.setNome(dto.getNome());
+        produto.setDescricao(dto.getDescricao());
+        produto.setPreco(dto.getPreco());
+        produto.setCategoria(dto.getCategoria());
+    }
+
+    public ProdutoResponseDTO toResponse(Produto produto) {
+        if (produto == null) {
+            return null;
+        }
+        ProdutoResponseDTO dto = new ProdutoResponseDTO();
+        dto.setId(produto.getId());
+        dto.setNome(produto.getNome());
+        dto.setDescricao(produto.getDescricao());
+        dto.setPreco(produto.getPreco());
+        dto.setCategoria(produto.getCategoria());
+        dto.setDisponivel(produto.getDisponivel());
+        dto.setRestaurante(restauranteMapper.toResponse(produto.getRestaurante()));
+        return dto;
+    }
+}
@@ -0,0 +1,40 @@
+package com.deliverytech.delivery.mapper;
+
+import com.deliverytech.delivery.dto.response.RelatorioResponseDTO;
+import com.deliverytech.delivery.dto.response.VendaProdutoResponseDTO;
+import com.deliverytech.delivery.projection.RelatorioVendas;
+import com.deliverytech.delivery.projection.VendaProduto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapeamento explícito das projeções de vendas para os DTOs de relatório.
+ */
+@Component
+public class RelatorioMapper {
+
+    public RelatorioResponseDTO toResponse(RelatorioVendas projecao) {
+        if (projecao == null) {
+            return null;
+        }
+        RelatorioResponseDTO dto = new RelatorioResponseDTO();
+        dto.setRestauranteId(projecao.getRestauranteId());
+        dto.setNomeRestaurante(projecao.getNomeRestaurante());
+        dto.setTotalVendas(projecao.getTotalVendas());
+        dto.setQuantidadePedidos(projecao.getQuantidadePedidos());
+        return dto;
+    }
+
+    public VendaProdutoResponseDTO toResponse(VendaProduto projecao) {
+        if (projecao == null) {
+            return null;
+        }
+        VendaProdutoResponseDTO dto = new VendaProdutoResponseDTO();
+        dto.setProdutoId(projecao.getProdutoId());
+        dto.setNomeProduto(projecao.getNomeProduto());
+        dto.setRestauranteId(projecao.getRestauranteId());
+        dto.setQuantidadeVendida(projecao.getQuantidadeVendida());
+        dto.setTotalVendas(projecao.getTotalVendas());
+        dto.setQuantidadePedidos(projecao.getQuantidadePedidos());
+        return dto;
+    }
+}
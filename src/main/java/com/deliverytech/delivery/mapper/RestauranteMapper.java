@@ -0,0 +1,54 @@
+package com.deliverytech.delivery.mapper;
+
+import com.deliverytech.delivery.dto.request.RestauranteRequestDTO;
+import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
+import com.deliverytech.delivery.entity.Restaurante;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapeamento explícito entre Restaurante e seus DTOs (sem reflexão).
+ */
+@Component
+public class RestauranteMapper {
+
+    public Restaurante toEntity(RestauranteRequestDTO dto) {
+        Restaurante restaurante = new Restaurante();
+        updateEntity(dto, restaurante);
+        return restaurante;
+    }
+
+    /**
+     * Copia os campos do DTO para uma entidade existente.
+     * Campos fora do DTO (id, avaliacao, ativo) são preservados, assim como as
+     * coordenadas quando não informadas.
+     */
+    public void updateEntity(RestauranteRequestDTO dto, Restaurante restaurante) {
+        restaurante.setNome(dto.getNome());
+        restaurante.setCategoria(dto.getCategoria());
+        restaurante.setEndereco(dto.getEndereco());
+        restaurante.setTelefone(dto.getTelefone());
+        restaurante.setTaxaEntrega(dto.getTaxaEntrega());
+        if (dto.getLatitude() != null && dto.getLongitude() != null) {
+            restaurante.setLatitude(dto.getLatitude());
+            restaurante.setLongitude(dto.getLongitude());
+        }
+    }
+
+    public RestauranteResponseDTO toResponse(Restaurante restaurante) {
+        if (restaurante == null) {
+            return null;
+        }
+        RestauranteResponseDTO dto = new RestauranteResponseDTO();
+        dto.setId(restaurante.getId());
+        dto.setNome(restaurante.getNome());
+        dto.setCategoria(restaurante.getCategoria());
+        dto.setEndereco(restaurante.getEndereco());
+        dto.setTelefone(restaurante.getTelefone());
+        dto.setTaxaEntrega(restaurante.getTaxaEntrega());
+        dto.setAvaliacao(restaurante.getAvaliacao());
+        dto.setAtivo(restaurante.getAtivo());
+        dto.setLatitude(restaurante.getLatitude());
+        dto.setLongitude(restaurante.getLongitude());
+        return dto;
+    }
+}
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 
 // Interface de Projeção
 public interface RelatorioVendas {
+    Long getRestauranteId();
     String getNomeRestaurante();
     BigDecimal getTotalVendas();
     Long getQuantidadePedidos();
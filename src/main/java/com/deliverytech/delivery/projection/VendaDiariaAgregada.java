@@ -0,0 +1,15 @@
+package com.deliverytech.delivery.projection;
+
+import com.deliverytech.delivery.enums.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Interface de Projeção: vendas de um restaurante em um dia, calculadas direto da tabela pedidos
+public interface VendaDiariaAgregada {
+    Long getRestauranteId();
+    LocalDate getDia();
+    StatusPedido getStatus();
+    Long getQuantidade();
+    BigDecimal getValorTotal();
+}
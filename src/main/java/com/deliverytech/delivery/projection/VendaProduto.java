@@ -0,0 +1,13 @@
+package com.deliverytech.delivery.projection;
+
+import java.math.BigDecimal;
+
+// Projeção do relatório de vendas por produto (agregado de itens_pedido)
+public interface VendaProduto {
+    Long getProdutoId();
+    String getNomeProduto();
+    Long getRestauranteId();
+    Long getQuantidadeVendida();
+    BigDecimal getTotalVendas();
+    Long getQuantidadePedidos();
+}
@@ -2,10 +2,17 @@ package com.deliverytech.delivery.repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import com.deliverytech.delivery.entity.Cliente;
+
+import jakarta.persistence.QueryHint;
+
 import java.util.List;
+import java.util.stream.Stream;
 
 
 @Repository
@@ -21,4 +28,25 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
 
     // Buscar clientes por nome (contendo)
     List<Cliente> findByNomeContainingIgnoreCase(String nome);
+
+    // IDs dos clientes ativos, em streaming (carga do IdsAtivosCache)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.id FROM Cliente c WHERE c.ativo = true")
+    Stream<Long> streamIdsAtivos();
+
+    // [id, nome, ativo] de todos os clientes, em streaming (carga do índice de busca)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.id, c.nome, c.ativo FROM Cliente c")
+    Stream<Object[]> streamParaBusca();
+
+    // Emails de todos os clientes, em streaming (carga do filtro de Bloom do cadastro)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.email FROM Cliente c")
+    Stream<String> streamEmails();
 }
@@ -0,0 +1,61 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.projection.VendaProduto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
+
+    /**
+     * Vendas por produto em [inicio, fim), do mais vendido (em unidades) para o menos vendido.
+     * Filtros nulos são ignorados; sem status, os pedidos com status "excluido" ficam de fora.
+     * O valor usa o preço gravado no item, não o preço atual do produto.
+     */
+    String VENDAS_POR_PRODUTO = "SELECT pr.id AS produtoId, pr.nome AS nomeProduto, r.id AS restauranteId, " +
+            "SUM(i.quantidade) AS quantidadeVendida, SUM(i.precoUnitario * i.quantidade) AS totalVendas, " +
+            "COUNT(DISTINCT p.id) AS quantidadePedidos " +
+            "FROM ItemPedido i JOIN i.pedido p JOIN i.produto pr JOIN pr.restaurante r " +
+            "WHERE (:restauranteId IS NULL OR r.id = :restauranteId) " +
+            "AND (:inicio IS NULL OR p.dataPedido >= :inicio) " +
+            "AND (:fim IS NULL OR p.dataPedido < :fim) " +
+            "AND ((:status IS NULL AND p.status <> :excluido) OR p.status = :status) " +
+            "GROUP BY pr.id, pr.nome, r.id " +
+            "ORDER BY SUM(i.quantidade) DESC, pr.id";
+
+    @Query(VENDAS_POR_PRODUTO)
+    List<VendaProduto> vendasPorProduto(@Param("restauranteId") Long restauranteId,
+                                        @Param("inicio") LocalDateTime inicio,
+                                        @Param("fim") LocalDateTime fim,
+                                        @Param("status") StatusPedido status,
+                                        @Param("excluido") StatusPedido excluido,
+                                        Limit limite);
+
+    // Relatório completo em streaming (jobs de relatório)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(VENDAS_POR_PRODUTO)
+    Stream<VendaProduto> streamVendasPorProduto(@Param("restauranteId") Long restauranteId,
+                                                @Param("inicio") LocalDateTime inicio,
+                                                @Param("fim") LocalDateTime fim,
+                                                @Param("status") StatusPedido status,
+                                                @Param("excluido") StatusPedido excluido);
+
+    // [produtoId, unidades vendidas] de todos os produtos (popularidade das sugestões)
+    @Query("SELECT i.produto.id, SUM(i.quantidade) FROM ItemPedido i GROUP BY i.produto.id")
+    List<Object[]> somarQuantidadesPorProduto();
+}
@@ -1,14 +1,24 @@
 package com.deliverytech.delivery.repository;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.deliverytech.delivery.entity.Pedido;
 import com.deliverytech.delivery.enums.StatusPedido;
 
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDateTime; // Import adicionado
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
@@ -39,4 +49,172 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
      * (Conforme Roteiro - Atividade 1.4)
      */
     List<Pedido> findByDataPedidoBetween(LocalDateTime inicio, LocalDateTime fim);
-}
\ No newline at end of file
+
+    // --- Série temporal de vendas (agregada no banco) ---
+    // Coberta por idx_pedidos_restaurante_data_cobertura (restaurante_id, data_pedido, status, valor_total):
+    // o MySQL resolve o range e as somas só com o índice, sem ler as linhas.
+    // Cada linha: [início do bucket, quantidade, soma de valor_total]. Por hora, o bucket é o texto
+    // 'yyyy-MM-dd HH' (sem ':' no SQL, que seria confundido com parâmetro nomeado).
+
+    String FILTRO_SERIE_TEMPORAL = "FROM pedidos p " +
+            "WHERE p.restaurante_id = :restauranteId " +
+            "AND p.data_pedido >= :inicio AND p.data_pedido < :fim " +
+            "AND (:status IS NULL OR p.status = :status) ";
+
+    @Query(value = "SELECT DATE_FORMAT(p.data_pedido, '%Y-%m-%d %H') AS bucket, COUNT(*), COALESCE(SUM(p.valor_total), 0) " +
+            FILTRO_SERIE_TEMPORAL + "GROUP BY bucket ORDER BY bucket", nativeQuery = true)
+    List<Object[]> serieTemporalPorHora(@Param("restauranteId") Long restauranteId,
+                                        @Param("inicio") LocalDateTime inicio,
+                                        @Param("fim") LocalDateTime fim,
+                                        @Param("status") String status);
+
+    @Query(value = "SELECT DATE(p.data_pedido) AS bucket, COUNT(*), COALESCE(SUM(p.valor_total), 0) " +
+            FILTRO_SERIE_TEMPORAL + "GROUP BY bucket ORDER BY bucket", nativeQuery = true)
+    List<Object[]> serieTemporalPorDia(@Param("restauranteId") Long restauranteId,
+                                       @Param("inicio") LocalDateTime inicio,
+                                       @Param("fim") LocalDateTime fim,
+                                       @Param("status") String status);
+
+    @Query(value = "SELECT DATE_SUB(DATE(p.data_pedido), INTERVAL WEEKDAY(p.data_pedido) DAY) AS bucket, COUNT(*), COALESCE(SUM(p.valor_total), 0) " +
+            FILTRO_SERIE_TEMPORAL + "GROUP BY bucket ORDER BY bucket", nativeQuery = true)
+    List<Object[]> serieTemporalPorSemana(@Param("restauranteId") Long restauranteId,
+                                          @Param("inicio") LocalDateTime inicio,
+                                          @Param("fim") LocalDateTime fim,
+                                          @Param("status") String status);
+
+    // --- Transições de status (máquina de estados em StatusPedido) ---
+
+    /**
+     * Muda o status somente se o atual estiver entre as origens permitidas,
+     * num único UPDATE atômico. Retorna 0 se o pedido não existe ou a transição não é válida.
+     */
+    default int atualizarStatusSeEm(Long id, StatusPedido novoStatus, Collection<StatusPedido> origens) {
+        return atualizarStatusSeEm(id, novoStatus, origens, LocalDateTime.now());
+    }
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Pedido p SET p.status = :novoStatus, p.dataAtualizacao = :agora WHERE p.id = :id AND p.status IN :origens")
+    int atualizarStatusSeEm(@Param("id") Long id,
+                            @Param("novoStatus") StatusPedido novoStatus,
+                            @Param("origens") Collection<StatusPedido> origens,
+                            @Param("agora") LocalDateTime agora);
+
+    /**
+     * Pedidos do restaurante criados ou alterados a partir de um instante, do mais novo
+     * para o mais antigo (retomada do stream SSE quando o histórico em memória não cobre).
+     */
+    List<Pedido> findByRestauranteIdAndDataAtualizacaoGreaterThanEqualOrderByDataAtualizacaoDesc(
+            Long restauranteId, LocalDateTime desde, Limit limite);
+
+    @Query("SELECT p.status FROM Pedido p WHERE p.id = :id")
+    Optional<StatusPedido> findStatusById(@Param("id") Long id);
+
+    // Inclui os itens: o pedido fica destacado depois do UPDATE de status e ainda precisa ser mapeado
+    @Query("SELECT DISTINCT p FROM Pedido p LEFT JOIN FETCH p.cliente LEFT JOIN FETCH p.restaurante " +
+            "LEFT JOIN FETCH p.itensPedido WHERE p.id = :id")
+    Optional<Pedido> findComRelacionamentosById(@Param("id") Long id);
+
+    /**
+     * Pedidos antigos que só têm a descrição em texto (migração para itens_pedido), em ordem de id.
+     * Cada linha: [id, restauranteId, itens].
+     */
+    @Query("SELECT p.id, p.restaurante.id, p.itens FROM Pedido p " +
+            "WHERE p.id > :apos AND p.itens IS NOT NULL AND p.itensPedido IS EMPTY ORDER BY p.id")
+    List<Object[]> findSemItensEstruturadosApos(@Param("apos") Long apos, Limit limite);
+
+    /**
+     * Pedidos mais recentes do restaurante num status (ex: pendentes do painel).
+     * Percorre idx_pedidos_restaurante_data_cobertura de trás para frente.
+     */
+    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.cliente LEFT JOIN FETCH p.restaurante " +
+            "WHERE p.restaurante.id = :restauranteId AND p.status = :status " +
+            "ORDER BY p.dataPedido DESC, p.id DESC")
+    List<Pedido> findRecentesPorRestauranteEStatus(@Param("restauranteId") Long restauranteId,
+                                                   @Param("status") StatusPedido status,
+                                                   Limit limite);
+
+    // --- Paginação por chave (keyset) em (data_pedido DESC, id DESC) ---
+
+    /**
+     * Primeira página de pedidos por status.
+     */
+    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.cliente LEFT JOIN FETCH p.restaurante " +
+            "WHERE p.status = :status " +
+            "ORDER BY p.dataPedido DESC, p.id DESC")
+    List<Pedido> findPaginaPorStatus(@Param("status") StatusPedido status, Limit limite);
+
+    /**
+     * Páginas seguintes de pedidos por status, a partir do último pedido retornado.
+     */
+    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.cliente LEFT JOIN FETCH p.restaurante " +
+            "WHERE p.status = :status " +
+            "AND (p.dataPedido < :dataCursor OR (p.dataPedido = :dataCursor AND p.id < :idCursor)) " +
+            "ORDER BY p.dataPedido DESC, p.id DESC")
+    List<Pedido> findPaginaPorStatusApos(@Param("status") StatusPedido status,
+                                         @Param("dataCursor") LocalDateTime dataCursor,
+                                         @Param("idCursor") Long idCursor,
+                                         Limit limite);
+
+    /**
+     * Primeira página de pedidos de um cliente.
+     */
+    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.cliente LEFT JOIN FETCH p.restaurante " +
+            "WHERE p.cliente.id = :clienteId " +
+            "ORDER BY p.dataPedido DESC, p.id DESC")
+    List<Pedido> findPaginaPorCliente(@Param("clienteId") Long clienteId, Limit limite);
+
+    /**
+     * Páginas seguintes de pedidos de um cliente, a partir do último pedido retornado.
+     */
+    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.cliente LEFT JOIN FETCH p.restaurante " +
+            "WHERE p.cliente.id = :clienteId " +
+            "AND (p.dataPedido < :dataCursor OR (p.dataPedido = :dataCursor AND p.id < :idCursor)) " +
+            "ORDER BY p.dataPedido DESC, p.id DESC")
+    List<Pedido> findPaginaPorClienteApos(@Param("clienteId") Long clienteId,
+                                          @Param("dataCursor") LocalDateTime dataCursor,
+                                          @Param("idCursor") Long idCursor,
+                                          Limit limite);
+
+    // --- Streaming (cursor JDBC com fetch size; requer useCursorFetch=true no MySQL) ---
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.cliente LEFT JOIN FETCH p.restaurante " +
+            "WHERE p.status = :status " +
+            "ORDER BY p.dataPedido DESC, p.id DESC")
+    Stream<Pedido> streamPorStatus(@Param("status") StatusPedido status);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.cliente LEFT JOIN FETCH p.restaurante " +
+            "WHERE p.cliente.id = :clienteId " +
+            "ORDER BY p.dataPedido DESC, p.id DESC")
+    Stream<Pedido> streamPorCliente(@Param("clienteId") Long clienteId);
+
+    /**
+     * Colunas usadas pelo column store analítico: [id, restauranteId, clienteId, dataPedido, valorTotal, status].
+     * Só as chaves estrangeiras são lidas (sem join com clientes/restaurantes).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, p.restaurante.id, p.cliente.id, p.dataPedido, p.valorTotal, p.status FROM Pedido p")
+    Stream<Object[]> streamColunasAnaliticas();
+
+    /**
+     * [id, restauranteId, dataPedido, status] dos pedidos em [desde, ate), inclusive cancelados (aquecimento dos rankings).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, p.restaurante.id, p.dataPedido, p.status FROM Pedido p " +
+            "WHERE p.dataPedido >= :desde AND p.dataPedido < :ate AND p.restaurante IS NOT NULL")
+    Stream<Object[]> streamParaRanking(@Param("desde") LocalDateTime desde,
+                                       @Param("ate") LocalDateTime ate);
+}
@@ -1,11 +1,18 @@
 package com.deliverytech.delivery.repository;
 
 import com.deliverytech.delivery.entity.Produto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
@@ -25,6 +32,8 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
      */
     List<Produto> findByRestauranteId(Long restauranteId);
 
+    long countByRestauranteId(Long restauranteId);
+
     /**
      * Buscar produtos disponíveis de um restaurante específico
      */
@@ -38,5 +47,33 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     /**
      * Buscar produtos com preço menor ou igual ao valor.
     */
-    List<Produto> findByPrecoLessThanEqual(BigDecimal preco); 
-}
\ No newline at end of file
+    List<Produto> findByPrecoLessThanEqual(BigDecimal preco);
+
+    /**
+     * Produtos com o restaurante já carregado (resultado do índice de busca).
+     */
+    @Query("SELECT p FROM Produto p LEFT JOIN FETCH p.restaurante WHERE p.id IN :ids")
+    List<Produto> findComRestauranteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * [id, nome, descricao, categoria, disponivel] de todos os produtos, em streaming
+     * (carga do índice de busca e das sugestões).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, p.nome, p.descricao, p.categoria, p.disponivel FROM Produto p")
+    Stream<Object[]> streamParaBusca();
+
+    /**
+     * [id, categoria, preco, disponivel, restauranteId] de todos os produtos, em streaming
+     * (carga do índice do filtro facetado).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, p.categoria, p.preco, p.disponivel, r.id FROM Produto p LEFT JOIN p.restaurante r")
+    Stream<Object[]> streamParaFacetas();
+}
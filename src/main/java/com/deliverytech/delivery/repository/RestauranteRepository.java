@@ -2,14 +2,20 @@ package com.deliverytech.delivery.repository;
 
 import com.deliverytech.delivery.entity.Restaurante;
 import com.deliverytech.delivery.projection.RelatorioVendas;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RestauranteRepository extends JpaRepository<Restaurante, Long> {
@@ -39,8 +45,15 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
      */
     List<Restaurante> findTop5ByOrderByNomeAsc();
 
+    /**
+     * IDs dos restaurantes ativos, em streaming (carga do IdsAtivosCache).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.id FROM Restaurante r WHERE r.ativo = true")
+    Stream<Long> streamIdsAtivos();
+
     // NOVO: Consulta para o Relatório Específico por ID
-    @Query("SELECT r.nome as nomeRestaurante, " +
+    @Query("SELECT r.id as restauranteId, r.nome as nomeRestaurante, " +
             "SUM(p.valorTotal) as totalVendas, " +
             "COUNT(p.id) as quantidadePedidos " + // Corrigido para bater com a projeção
             "FROM Restaurante r " +
@@ -48,4 +61,34 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
             "WHERE r.id = :restauranteId " + // Adicionado filtro WHERE
             "GROUP BY r.id, r.nome")
     Optional<RelatorioVendas> relatorioVendasPorRestauranteId(@Param("restauranteId") Long restauranteId);
-}
\ No newline at end of file
+
+    // [id, nome, categoria] de todos os restaurantes (nomes e categorias dos rankings)
+    @Query("SELECT r.id, r.nome, r.categoria FROM Restaurante r")
+    List<Object[]> findResumos();
+
+    @Query("SELECT r.id, r.nome, r.categoria FROM Restaurante r WHERE r.id IN :ids")
+    List<Object[]> findResumosPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * [id, nome, categoria, ativo] de todos os restaurantes, em streaming
+     * (carga do índice de busca e das sugestões).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.id, r.nome, r.categoria, r.ativo FROM Restaurante r")
+    Stream<Object[]> streamParaBusca();
+
+    /**
+     * [id, latitude, longitude, categoria, taxaEntrega] dos restaurantes ativos com coordenadas,
+     * em streaming (carga do índice geográfico).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.id, r.latitude, r.longitude, r.categoria, r.taxaEntrega FROM Restaurante r " +
+            "WHERE r.ativo = true AND r.latitude IS NOT NULL AND r.longitude IS NOT NULL")
+    Stream<Object[]> streamParaMapa();
+}
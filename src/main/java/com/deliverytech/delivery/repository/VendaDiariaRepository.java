@@ -0,0 +1,128 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.entity.VendaDiaria;
+import com.deliverytech.delivery.entity.VendaDiariaId;
+import com.deliverytech.delivery.projection.RelatorioVendas;
+import com.deliverytech.delivery.projection.VendaDiariaAgregada;
+import com.deliverytech.delivery.enums.StatusPedido;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface VendaDiariaRepository extends JpaRepository<VendaDiaria, VendaDiariaId> {
+
+    /**
+     * Soma (ou subtrai, com valores negativos) numa faixa do agregado, criando a linha se preciso.
+     * Upsert atômico: transações concorrentes na mesma linha não perdem incrementos.
+     * VALUES(coluna) em vez do alias de linha (VALUES ... AS novo) do MySQL 8: o H2 em MODE=MySQL
+     * (testes, benchmarks e ambiente local) só aceita esta forma.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO vendas_diarias (restaurante_id, dia, status, faixa, quantidade, valor_total) " +
+            "VALUES (:restauranteId, :dia, :status, :faixa, :quantidade, :valor) " +
+            "ON DUPLICATE KEY UPDATE quantidade = quantidade + VALUES(quantidade), " +
+            "valor_total = valor_total + VALUES(valor_total)", nativeQuery = true)
+    int acumular(@Param("restauranteId") Long restauranteId,
+                 @Param("dia") LocalDate dia,
+                 @Param("status") String status,
+                 @Param("faixa") int faixa,
+                 @Param("quantidade") long quantidade,
+                 @Param("valor") BigDecimal valor);
+
+    // Relatório de vendas lido do agregado (mesmo formato da consulta antiga sobre pedidos)
+    @Query("SELECT r.id as restauranteId, r.nome as nomeRestaurante, " +
+            "SUM(v.valorTotal) as totalVendas, " +
+            "COALESCE(SUM(v.quantidade), 0) as quantidadePedidos " +
+            "FROM Restaurante r " +
+            "LEFT JOIN VendaDiaria v ON v.id.restauranteId = r.id " +
+            "WHERE r.id = :restauranteId " +
+            "GROUP BY r.id, r.nome")
+    Optional<RelatorioVendas> relatorioPorRestauranteId(@Param("restauranteId") Long restauranteId);
+
+    // Relatório de todos os restaurantes numa única consulta agrupada.
+    // Filtros opcionais (null = sem filtro) ficam no ON para manter restaurantes sem vendas.
+    String RELATORIO_VENDAS = "SELECT r.id as restauranteId, r.nome as nomeRestaurante, " +
+            "SUM(v.valorTotal) as totalVendas, " +
+            "COALESCE(SUM(v.quantidade), 0) as quantidadePedidos " +
+            "FROM Restaurante r " +
+            "LEFT JOIN VendaDiaria v ON v.id.restauranteId = r.id " +
+            "AND (:inicio IS NULL OR v.id.dia >= :inicio) " +
+            "AND (:fim IS NULL OR v.id.dia <= :fim) " +
+            "AND (:status IS NULL OR v.id.status = :status) ";
+
+    /**
+     * Página do relatório por chave (restaurantes com id maior que apos), em ordem de id.
+     */
+    @Query(RELATORIO_VENDAS +
+            "WHERE r.id > :apos " +
+            "GROUP BY r.id, r.nome " +
+            "ORDER BY r.id")
+    List<RelatorioVendas> relatorioVendas(@Param("inicio") LocalDate inicio,
+                                          @Param("fim") LocalDate fim,
+                                          @Param("status") StatusPedido status,
+                                          @Param("apos") Long apos,
+                                          Limit limit);
+
+    // Relatório completo em streaming (exportação CSV)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RELATORIO_VENDAS +
+            "GROUP BY r.id, r.nome " +
+            "ORDER BY r.id")
+    Stream<RelatorioVendas> streamRelatorioVendas(@Param("inicio") LocalDate inicio,
+                                                  @Param("fim") LocalDate fim,
+                                                  @Param("status") StatusPedido status);
+
+    // Restaurantes em ordem de id, para a reconstrução em blocos
+    @Query("SELECT r.id FROM Restaurante r WHERE r.id > :apos ORDER BY r.id")
+    List<Long> findIdsRestaurantesApos(@Param("apos") Long apos, Limit limite);
+
+    // Blocos da reconstrução: restaurante_id em (apos, ate]
+    @Modifying
+    @Query(value = "DELETE FROM vendas_diarias WHERE restaurante_id > :apos AND restaurante_id <= :ate", nativeQuery = true)
+    int apagarRestaurantes(@Param("apos") Long apos, @Param("ate") Long ate);
+
+    /**
+     * Recalcula o agregado dos restaurantes com id em (apos, ate] a partir da tabela pedidos,
+     * tudo na faixa 0.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO vendas_diarias (restaurante_id, dia, status, faixa, quantidade, valor_total) " +
+            "SELECT restaurante_id, CAST(data_pedido AS DATE), status, 0, COUNT(*), COALESCE(SUM(valor_total), 0) " +
+            "FROM pedidos " +
+            "WHERE restaurante_id > :apos AND restaurante_id <= :ate " +
+            "AND data_pedido IS NOT NULL AND status IS NOT NULL " +
+            "GROUP BY restaurante_id, CAST(data_pedido AS DATE), status", nativeQuery = true)
+    int reconstruirRestaurantes(@Param("apos") Long apos, @Param("ate") Long ate);
+
+    // Mesmo cálculo da reconstrução, para o verificador de consistência
+    @Query("SELECT p.restaurante.id as restauranteId, " +
+            "CAST(p.dataPedido AS LocalDate) as dia, " +
+            "p.status as status, " +
+            "COUNT(p.id) as quantidade, " +
+            "COALESCE(SUM(p.valorTotal), 0) as valorTotal " +
+            "FROM Pedido p " +
+            "WHERE p.restaurante IS NOT NULL AND p.dataPedido IS NOT NULL AND p.status IS NOT NULL " +
+            "GROUP BY p.restaurante.id, CAST(p.dataPedido AS LocalDate), p.status")
+    List<VendaDiariaAgregada> calcularAPartirDosPedidos();
+
+    // [restauranteId, pedidos] de todos os restaurantes (popularidade das sugestões)
+    @Query("SELECT v.id.restauranteId, SUM(v.quantidade) FROM VendaDiaria v GROUP BY v.id.restauranteId")
+    List<Object[]> somarQuantidadesPorRestaurante();
+}
@@ -2,6 +2,7 @@ package com.deliverytech.delivery.services;
 
 import com.deliverytech.delivery.dto.request.ClienteRequestDTO;
 import com.deliverytech.delivery.dto.response.ClienteResponseDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
 import java.util.List;
 
 public interface ClienteService {
@@ -16,7 +17,8 @@ public interface ClienteService {
 
     List<ClienteResponseDTO> listarAtivos();
 
-    List<ClienteResponseDTO> buscarPorNome(String nome);
+    // Só clientes ativos, por relevância; cursor e limite como em PaginaBusca
+    PaginaCursorResponseDTO<ClienteResponseDTO> buscarPorNome(String nome, String cursor, Integer limite);
 
     ClienteResponseDTO buscarPorEmail(String email);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery.services;
+
+import com.deliverytech.delivery.dto.response.PainelRestauranteResponseDTO;
+
+public interface PainelRestauranteService {
+
+    // Monta o painel consultando as partes em paralelo; partes lentas ou com erro ficam de fora
+    PainelRestauranteResponseDTO montarPainel(Long restauranteId);
+}
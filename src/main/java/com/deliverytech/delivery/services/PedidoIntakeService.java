@@ -0,0 +1,10 @@
+package com.deliverytech.delivery.services;
+
+import com.deliverytech.delivery.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery.dto.response.PedidoAceitoResponseDTO;
+
+public interface PedidoIntakeService {
+
+    // Valida como criarPedido e coloca o pedido na fila de gravação; lança ServicoIndisponivelException se a fila estiver cheia
+    PedidoAceitoResponseDTO enfileirar(PedidoRequestDTO dto);
+}
@@ -1,20 +1,34 @@
 package com.deliverytech.delivery.services;
 
 import com.deliverytech.delivery.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
+import com.deliverytech.delivery.dto.response.PedidoLoteResponseDTO;
 import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery.enums.StatusPedido;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PedidoService {
 
     PedidoResponseDTO criarPedido(PedidoRequestDTO dto);
 
+    PedidoLoteResponseDTO criarPedidosEmLote(List<PedidoRequestDTO> dtos);
+
     PedidoResponseDTO buscarPorId(Long id);
 
     PedidoResponseDTO buscarPorNumeroPedido(String numeroPedido);
 
-    List<PedidoResponseDTO> listarPorCliente(Long clienteId);
+    PaginaCursorResponseDTO<PedidoResponseDTO> listarPorCliente(Long clienteId, String cursor, Integer limite);
+
+    PaginaCursorResponseDTO<PedidoResponseDTO> listarPorStatus(String status, String cursor, Integer limite);
+
+    // Pedidos pendentes mais recentes do restaurante (painel)
+    List<PedidoResponseDTO> listarPendentesPorRestaurante(Long restauranteId, int limite);
+
+    // Percorre todos os pedidos em streaming, entregando cada um ao consumidor
+    void percorrerPorCliente(Long clienteId, Consumer<PedidoResponseDTO> consumidor);
 
-    List<PedidoResponseDTO> listarPorStatus(String status);
+    void percorrerPorStatus(StatusPedido status, Consumer<PedidoResponseDTO> consumidor);
 
     PedidoResponseDTO atualizarStatus(Long id, String novoStatus);
 
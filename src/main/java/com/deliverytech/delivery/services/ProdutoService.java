@@ -1,6 +1,9 @@
 package com.deliverytech.delivery.services;
 
+import com.deliverytech.delivery.dto.request.FiltroProdutosRequestDTO;
 import com.deliverytech.delivery.dto.request.ProdutoRequestDTO;
+import com.deliverytech.delivery.dto.response.FiltroProdutosResponseDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
 import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
 
 import java.util.List;
@@ -19,5 +22,9 @@ public interface ProdutoService {
 
     ProdutoResponseDTO tornarIndisponivel(Long id);
 
-    List<ProdutoResponseDTO> buscarPorNome(String nome);
+    // Só produtos disponíveis, por relevância; cursor e limite como em PaginaBusca
+    PaginaCursorResponseDTO<ProdutoResponseDTO> buscarPorNome(String nome, String cursor, Integer limite);
+
+    // Filtro por qualquer combinação de categoria, preço, disponibilidade e restaurante, com contagens por faceta
+    FiltroProdutosResponseDTO filtrar(FiltroProdutosRequestDTO filtro);
 }
\ No newline at end of file
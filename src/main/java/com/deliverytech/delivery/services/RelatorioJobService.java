@@ -0,0 +1,20 @@
+package com.deliverytech.delivery.services;
+
+import com.deliverytech.delivery.dto.request.RelatorioJobRequestDTO;
+import com.deliverytech.delivery.dto.response.RelatorioJobResponseDTO;
+
+import java.nio.file.Path;
+
+public interface RelatorioJobService {
+
+    // Agenda o relatório em segundo plano e retorna o job recém-criado (PENDENTE)
+    RelatorioJobResponseDTO agendar(RelatorioJobRequestDTO dto);
+
+    RelatorioJobResponseDTO buscar(String id);
+
+    // Arquivo do resultado de um job concluído
+    ArquivoResultado arquivoResultado(String id);
+
+    record ArquivoResultado(Path caminho, long tamanho, String nome) {
+    }
+}
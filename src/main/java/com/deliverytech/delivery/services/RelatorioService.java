@@ -1,10 +1,50 @@
 package com.deliverytech.delivery.services;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+
+import com.deliverytech.delivery.dto.request.FiltroAnaliticoRequestDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
+import com.deliverytech.delivery.dto.response.RankingResponseDTO;
+import com.deliverytech.delivery.dto.response.RelatorioAnaliticoResponseDTO;
 import com.deliverytech.delivery.dto.response.RelatorioResponseDTO;
+import com.deliverytech.delivery.dto.response.SerieTemporalResponseDTO;
+import com.deliverytech.delivery.dto.response.VendaProdutoResponseDTO;
+import com.deliverytech.delivery.enums.StatusPedido;
 
 public interface RelatorioService {
 
     //Método para o relatório específico
     RelatorioResponseDTO relatorioVendasPorRestauranteId(Long restauranteId);
+
+    // Relatório de todos os restaurantes, paginado por id do restaurante (filtros opcionais)
+    PaginaCursorResponseDTO<RelatorioResponseDTO> relatorioVendas(LocalDate inicio, LocalDate fim, String status,
+                                                                  String cursor, Integer limite);
+
+    // Lança BusinessException se inicio for posterior a fim (para validar antes de uma resposta em streaming)
+    void validarPeriodo(LocalDate inicio, LocalDate fim);
+
+    // Percorre o relatório completo linha a linha (exportação em streaming)
+    void percorrerRelatorioVendas(LocalDate inicio, LocalDate fim, StatusPedido status,
+                                  Consumer<RelatorioResponseDTO> consumidor);
+
+    // Série temporal de vendas do restaurante em [inicio, fim), agregada por hora, dia ou semana
+    SerieTemporalResponseDTO serieTemporal(Long restauranteId, LocalDateTime inicio, LocalDateTime fim,
+                                           String bucket, String status);
+
+    // Relatório ad-hoc (filtro + agrupamento) calculado no column store em memória, sem consultar o banco
+    RelatorioAnaliticoResponseDTO relatorioAnalitico(FiltroAnaliticoRequestDTO filtro);
+
+    // Top-N de restaurantes ou categorias mais pedidos na janela (HORA, DIA ou SEMANA)
+    RankingResponseDTO ranking(String janela, String tipo, Integer limite);
+
+    // Produtos mais vendidos (em unidades) no período, a partir dos itens estruturados dos pedidos
+    List<VendaProdutoResponseDTO> vendasPorProduto(Long restauranteId, LocalDate inicio, LocalDate fim,
+                                                   String status, Integer limite);
+
+    // Relatório de vendas por produto completo, linha a linha (jobs de relatório)
+    void percorrerVendasPorProduto(Long restauranteId, LocalDate inicio, LocalDate fim, StatusPedido status,
+                                   Consumer<VendaProdutoResponseDTO> consumidor);
 }
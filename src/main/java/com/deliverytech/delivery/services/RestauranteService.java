@@ -1,7 +1,11 @@
 package com.deliverytech.delivery.services;
 
 import com.deliverytech.delivery.dto.request.RestauranteRequestDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
+import com.deliverytech.delivery.dto.response.RestauranteProximoResponseDTO;
 import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
+
+import java.math.BigDecimal;
 import java.util.List;
 
 public interface RestauranteService {
@@ -16,7 +20,12 @@ public interface RestauranteService {
 
     RestauranteResponseDTO ativarDesativar(Long id);
 
-    List<RestauranteResponseDTO> buscarPorNome(String nome);
+    // Só restaurantes ativos, por relevância; cursor e limite como em PaginaBusca
+    PaginaCursorResponseDTO<RestauranteResponseDTO> buscarPorNome(String nome, String cursor, Integer limite);
+
+    PaginaCursorResponseDTO<RestauranteResponseDTO> buscarPorCategoria(String categoria, String cursor, Integer limite);
 
-    List<RestauranteResponseDTO> buscarPorCategoria(String categoria);
+    // Restaurantes ativos num raio (km) a partir do ponto, do mais perto para o mais longe (filtros opcionais)
+    List<RestauranteProximoResponseDTO> buscarProximos(Double latitude, Double longitude, Double raioKm,
+                                                       String categoria, BigDecimal taxaMaxima, Integer limite);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.deliverytech.delivery.services;
+
+import com.deliverytech.delivery.dto.response.SugestaoResponseDTO;
+
+import java.util.List;
+
+public interface SugestaoService {
+
+    // Sugestões de produtos, restaurantes e categorias para o prefixo digitado, por popularidade
+    List<SugestaoResponseDTO> sugerir(String prefixo, Integer limite);
+}
@@ -0,0 +1,22 @@
+package com.deliverytech.delivery.services;
+
+import com.deliverytech.delivery.dto.response.VerificacaoVendasDiariasResponseDTO;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.enums.StatusPedido;
+
+import java.util.Collection;
+
+public interface VendasDiariasService {
+
+    // Contabiliza pedidos recém-criados (deve rodar na transação que os insere)
+    void registrarCriacao(Collection<Pedido> pedidos);
+
+    // Move o pedido de origem para destino no agregado (na transação da mudança de status)
+    void registrarTransicao(Pedido pedido, StatusPedido origem, StatusPedido destino);
+
+    // Recalcula todo o agregado a partir da tabela pedidos, em blocos de restaurantes; retorna as linhas geradas
+    int reconstruir();
+
+    // Compara o agregado com a tabela pedidos
+    VerificacaoVendasDiariasResponseDTO verificar();
+}
@@ -1,22 +1,37 @@
 package com.deliverytech.delivery.services.impl;
 
+import com.deliverytech.delivery.busca.IndiceBusca;
+import com.deliverytech.delivery.busca.PaginaBusca;
+import com.deliverytech.delivery.cache.Caches;
+import com.deliverytech.delivery.cache.FiltroEmailsClientes;
+import com.deliverytech.delivery.cache.IdsAtivosCache;
+import com.deliverytech.delivery.datasource.LeituraNoPrimario;
 import com.deliverytech.delivery.dto.request.ClienteRequestDTO;
 import com.deliverytech.delivery.dto.response.ClienteResponseDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
 import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
 import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
 import com.deliverytech.delivery.entity.Cliente;
 import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.enums.TipoItemBusca;
+import com.deliverytech.delivery.events.ItemBuscavelAlteradoEvent;
 import com.deliverytech.delivery.exceptions.BusinessException;
+import com.deliverytech.delivery.mapper.ClienteMapper;
 import com.deliverytech.delivery.repository.ClienteRepository;
 import com.deliverytech.delivery.services.ClienteService;
 
-import org.modelmapper.ModelMapper;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,27 +42,76 @@ public class ClienteServiceImpl implements ClienteService {
     private ClienteRepository clienteRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ClienteMapper clienteMapper;
+
+    @Autowired
+    private IdsAtivosCache idsAtivosCache;
+
+    @Autowired
+    private Caches caches;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private IndiceBusca indiceBusca;
+
+    @Autowired
+    private FiltroEmailsClientes filtroEmailsClientes;
 
     @Override
+    @CacheEvict(cacheNames = Caches.CLIENTES_POR_EMAIL, key = "#dto.email")
     public ClienteResponseDTO cadastrar(ClienteRequestDTO dto) {
-        if(clienteRepository.existsByEmail(dto.getEmail())){
-            throw new BusinessException("Email já cadastrado" + dto.getEmail());
+        // Email novo (o caso comum) dispensa a consulta; a garantia é o índice único
+        if (filtroEmailsClientes.podeExistir(dto.getEmail())) {
+            boolean existe = clienteRepository.existsByEmail(dto.getEmail());
+            filtroEmailsClientes.registrarConfirmacao(existe);
+            if (existe) {
+                throw new BusinessException("Email já cadastrado: " + dto.getEmail());
+            }
         }
-        Cliente cliente = modelMapper.map(dto, Cliente.class);
+        Cliente cliente = clienteMapper.toEntity(dto);
         cliente.setAtivo(true);
         cliente.setDataCadastro(LocalDateTime.now());
-        Cliente saveSalvo = clienteRepository.save(cliente);
+        Cliente saveSalvo = salvarComEmailUnico(cliente);
+        filtroEmailsClientes.registrar(saveSalvo.getEmail());
+        idsAtivosCache.atualizarCliente(saveSalvo.getId(), true);
+        eventPublisher.publishEvent(ItemBuscavelAlteradoEvent.de(saveSalvo));
+
+        return clienteMapper.toResponse(saveSalvo);
+    }
 
-        return modelMapper.map(saveSalvo, ClienteResponseDTO.class);
+    // Flush imediato: a violação do índice único (cadastros concorrentes) vira erro de negócio aqui
+    private Cliente salvarComEmailUnico(Cliente cliente) {
+        try {
+            return clienteRepository.saveAndFlush(cliente);
+        } catch (DataIntegrityViolationException e) {
+            if (violouEmailUnico(e)) {
+                throw new BusinessException("Email já cadastrado: " + cliente.getEmail());
+            }
+            throw e;
+        }
+    }
+
+    private static boolean violouEmailUnico(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null) {
+                return violacao.getConstraintName().toLowerCase(Locale.ROOT).contains(Cliente.UK_EMAIL);
+            }
+        }
+        String mensagem = e.getMostSpecificCause().getMessage();
+        return mensagem != null && mensagem.toLowerCase(Locale.ROOT).contains(Cliente.UK_EMAIL);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = Caches.CLIENTES, key = "#id")
     public ClienteResponseDTO buscarPorId(Long id) {
-        Cliente clienteExistente = clienteRepository.findById(id)
+        // Valor que vai para o cache: lê do primário
+        Cliente clienteExistente = LeituraNoPrimario.executar(() -> clienteRepository.findById(id))
                 .orElseThrow(() -> new BusinessException("Cliente não encontrado com id: " + id));
 
-        return modelMapper.map(clienteExistente, ClienteResponseDTO.class);
+        return clienteMapper.toResponse(clienteExistente);
     }
 
     @Override
@@ -63,13 +127,17 @@ public class ClienteServiceImpl implements ClienteService {
         if (dto.getEmail() == null || dto.getEmail().isEmpty()) {
             throw new BusinessException("Email não pode ser vazio");
         }
+        caches.evict(Caches.CLIENTES_POR_EMAIL, clienteExistente.getEmail());
+        caches.evict(Caches.CLIENTES, id);
         clienteExistente.setNome(dto.getNome());
         clienteExistente.setEmail(dto.getEmail());
         clienteExistente.setTelefone(dto.getTelefone());
 
-        Cliente saveAtualizado = clienteRepository.save(clienteExistente);
+        Cliente saveAtualizado = salvarComEmailUnico(clienteExistente);
+        filtroEmailsClientes.registrar(saveAtualizado.getEmail());
+        eventPublisher.publishEvent(ItemBuscavelAlteradoEvent.de(saveAtualizado));
 
-        return modelMapper.map(saveAtualizado, ClienteResponseDTO.class);
+        return clienteMapper.toResponse(saveAtualizado);
     }
 
     @Override
@@ -81,28 +149,52 @@ public class ClienteServiceImpl implements ClienteService {
         }
         clienteExistente.setAtivo(false);
         clienteRepository.save(clienteExistente);
+        caches.evict(Caches.CLIENTES_POR_EMAIL, clienteExistente.getEmail());
+        caches.evict(Caches.CLIENTES, id);
+        idsAtivosCache.atualizarCliente(id, Boolean.TRUE.equals(clienteExistente.getAtivo()));
+        eventPublisher.publishEvent(ItemBuscavelAlteradoEvent.de(clienteExistente));
         return null;
     }
 
     @Override
     public List<ClienteResponseDTO> listarAtivos() {
         return clienteRepository.findByAtivoTrue().stream()
-                .map(cliente -> modelMapper.map(cliente, ClienteResponseDTO.class))
+                .map(clienteMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ClienteResponseDTO> buscarPorNome(String nome) {
-        return clienteRepository.findByNomeContainingIgnoreCase(nome).stream()
-                .map(cliente -> modelMapper.map(cliente, ClienteResponseDTO.class))
-                .collect(Collectors.toList());
+    public PaginaCursorResponseDTO<ClienteResponseDTO> buscarPorNome(String nome, String cursor, Integer limite) {
+        PaginaBusca pagina = indiceBusca.pagina(cursor, limite);
+        if (!indiceBusca.isPronto()) {
+            // Enquanto o índice carrega: LIKE no banco, com o mesmo corte de inativos e o mesmo cursor
+            List<Cliente> ativos = clienteRepository.findByNomeContainingIgnoreCase(nome).stream()
+                    .filter(cliente -> Boolean.TRUE.equals(cliente.getAtivo()))
+                    .toList();
+            return new PaginaCursorResponseDTO<>(pagina.recortar(ativos).stream()
+                    .map(clienteMapper::toResponse)
+                    .collect(Collectors.toList()), pagina.proximoCursor(ativos.size()));
+        }
+        IndiceBusca.Resultado resultado = indiceBusca.buscar(TipoItemBusca.CLIENTE, nome, pagina);
+        List<Long> ids = resultado.ids();
+        if (ids.isEmpty()) {
+            return new PaginaCursorResponseDTO<>(List.of(), resultado.proximoCursor());
+        }
+        return new PaginaCursorResponseDTO<>(
+                IndiceBusca.ordenar(clienteRepository.findAllById(ids), ids, Cliente::getId).stream()
+                        .map(clienteMapper::toResponse)
+                        .collect(Collectors.toList()),
+                resultado.proximoCursor());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = Caches.CLIENTES_POR_EMAIL, key = "#email")
     public ClienteResponseDTO buscarPorEmail(String email) {
-        Cliente clienteExistente = clienteRepository.findByEmail(email)
+        // Valor que vai para o cache: lê do primário
+        Cliente clienteExistente = LeituraNoPrimario.executar(() -> clienteRepository.findByEmail(email))
                 .orElseThrow(() -> new BusinessException("Cliente não encontrado com email: " + email));
 
-        return modelMapper.map(clienteExistente, ClienteResponseDTO.class);
+        return clienteMapper.toResponse(clienteExistente);
     }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.deliverytech.delivery.services.impl;
+
+import com.deliverytech.delivery.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Monta os itens estruturados dos pedidos (ItemPedido) a partir de itensPedido do DTO.
+ *
+ * Os produtos de todos os pedidos de um lote são carregados numa única consulta;
+ * a validação e a criação dos itens acontecem em memória.
+ */
+@Component
+public class ItensPedidoResolver {
+
+    // Tamanho da coluna pedidos.itens
+    private static final int TAMANHO_MAXIMO_RESUMO = 200;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    public Map<Long, Produto> carregarProdutos(Collection<PedidoRequestDTO> dtos) {
+        Set<Long> produtoIds = new HashSet<>();
+        for (PedidoRequestDTO dto : dtos) {
+            if (dto != null && dto.getItensPedido() != null) {
+                for (ItemPedidoRequestDTO item : dto.getItensPedido()) {
+                    produtoIds.add(item.getProdutoId());
+                }
+            }
+        }
+        if (produtoIds.isEmpty()) {
+            return Map.of();
+        }
+        return produtoRepository.findAllById(produtoIds).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+    }
+
+    /**
+     * Valida os itens do pedido contra os produtos carregados. Retorna null se forem válidos.
+     */
+    public String validar(PedidoRequestDTO dto, Map<Long, Produto> produtos) {
+        List<ItemPedidoRequestDTO> itens = dto.getItensPedido();
+        if (itens == null || itens.isEmpty()) {
+            return null;
+        }
+        BigDecimal soma = BigDecimal.ZERO;
+        for (ItemPedidoRequestDTO item : itens) {
+            Produto produto = produtos.get(item.getProdutoId());
+            if (produto == null) {
+                return "Produto não encontrado: " + item.getProdutoId();
+            }
+            if (produto.getRestaurante() == null || !produto.getRestaurante().getId().equals(dto.getRestauranteId())) {
+                return "O produto " + produto.getId() + " não pertence ao restaurante " + dto.getRestauranteId();
+            }
+            if (!Boolean.TRUE.equals(produto.getDisponivel())) {
+                return "Produto indisponível: " + produto.getNome();
+            }
+            soma = soma.add(produto.getPreco().multiply(BigDecimal.valueOf(item.getQuantidade())));
+        }
+        // O valor total pode incluir a taxa de entrega, mas nunca ser menor que os itens
+        if (dto.getValorTotal() != null && dto.getValorTotal().compareTo(soma) < 0) {
+            return "O valor total (" + dto.getValorTotal() + ") é menor que a soma dos itens (" + soma + ")";
+        }
+        return null;
+    }
+
+    /**
+     * Adiciona ao pedido os itens do DTO (já validados), com nome e preço atuais dos produtos.
+     * Sem descrição em texto, gera uma a partir dos itens (ex: "2x X-Burger, Batata Frita").
+     */
+    public void adicionarItens(Pedido pedido, PedidoRequestDTO dto, Map<Long, Produto> produtos) {
+        List<ItemPedidoRequestDTO> itens = dto.getItensPedido();
+        if (itens == null || itens.isEmpty()) {
+            return;
+        }
+        StringBuilder resumo = new StringBuilder();
+        for (ItemPedidoRequestDTO item : itens) {
+            Produto produto = produtos.get(item.getProdutoId());
+            pedido.adicionarItem(new ItemPedido(null, null, produto, produto.getNome(),
+                    item.getQuantidade(), produto.getPreco()));
+            if (!resumo.isEmpty()) {
+                resumo.append(", ");
+            }
+            if (item.getQuantidade() > 1) {
+                resumo.append(item.getQuantidade()).append("x ");
+            }
+            resumo.append(produto.getNome());
+        }
+        if (pedido.getItens() == null || pedido.getItens().isBlank()) {
+            pedido.setItens(resumo.length() > TAMANHO_MAXIMO_RESUMO
+                    ? resumo.substring(0, TAMANHO_MAXIMO_RESUMO - 3) + "..."
+                    : resumo.toString());
+        }
+    }
+}
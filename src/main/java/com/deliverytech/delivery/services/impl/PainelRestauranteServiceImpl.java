@@ -0,0 +1,128 @@
+package com.deliverytech.delivery.services.impl;
+
+import com.deliverytech.delivery.dto.response.PainelRestauranteResponseDTO;
+import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery.dto.response.RelatorioResponseDTO;
+import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
+import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.services.PainelRestauranteService;
+import com.deliverytech.delivery.services.PedidoService;
+import com.deliverytech.delivery.services.ProdutoService;
+import com.deliverytech.delivery.services.RelatorioService;
+import com.deliverytech.delivery.services.RestauranteService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Painel do restaurante montado com as quatro consultas em paralelo, cada uma numa thread virtual.
+ *
+ * As partes começam juntas e cada uma tem o próprio prazo contado a partir do início, então a
+ * latência do painel é a da parte mais lenta (limitada pelo maior prazo), não a soma delas.
+ * Parte que estoura o prazo ou falha é cancelada e fica nula na resposta (resultado parcial);
+ * só "restaurante não encontrado" derruba o painel inteiro (404).
+ *
+ * O escopo das threads é a própria requisição: ao sair, as que ainda rodam são interrompidas
+ * (StructuredTaskScope ainda é preview no Java 21, por isso o executor por requisição).
+ * Cada parte roda na sua própria transação.
+ */
+@Service
+public class PainelRestauranteServiceImpl implements PainelRestauranteService {
+
+    private static final Logger log = LoggerFactory.getLogger(PainelRestauranteServiceImpl.class);
+
+    @Autowired
+    private RestauranteService restauranteService;
+    @Autowired
+    private ProdutoService produtoService;
+    @Autowired
+    private RelatorioService relatorioService;
+    @Autowired
+    private PedidoService pedidoService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${delivery.painel.timeout-ms.restaurante:500}")
+    private long timeoutRestaurante;
+
+    @Value("${delivery.painel.timeout-ms.produtos:500}")
+    private long timeoutProdutos;
+
+    @Value("${delivery.painel.timeout-ms.vendas:1000}")
+    private long timeoutVendas;
+
+    @Value("${delivery.painel.timeout-ms.pedidos:1000}")
+    private long timeoutPedidos;
+
+    @Value("${delivery.painel.limite-pedidos-pendentes:20}")
+    private int limitePedidosPendentes;
+
+    @Override
+    public PainelRestauranteResponseDTO montarPainel(Long restauranteId) {
+        PainelRestauranteResponseDTO painel = new PainelRestauranteResponseDTO();
+        ExecutorService escopo = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("painel-", 0).factory());
+        try {
+            long inicio = System.nanoTime();
+            Future<RestauranteResponseDTO> restaurante =
+                    escopo.submit(() -> restauranteService.buscarPorId(restauranteId));
+            Future<List<ProdutoResponseDTO>> produtos =
+                    escopo.submit(() -> produtoService.listarDisponiveisPorRestaurante(restauranteId));
+            Future<RelatorioResponseDTO> vendas =
+                    escopo.submit(() -> relatorioService.relatorioVendasPorRestauranteId(restauranteId));
+            Future<List<PedidoResponseDTO>> pedidos =
+                    escopo.submit(() -> pedidoService.listarPendentesPorRestaurante(restauranteId, limitePedidosPendentes));
+
+            painel.setRestaurante(aguardar("restaurante", restaurante, inicio, timeoutRestaurante, painel));
+            painel.setProdutos(aguardar("produtos", produtos, inicio, timeoutProdutos, painel));
+            painel.setVendas(aguardar("vendas", vendas, inicio, timeoutVendas, painel));
+            painel.setPedidosPendentes(aguardar("pedidosPendentes", pedidos, inicio, timeoutPedidos, painel));
+            return painel;
+        } finally {
+            // Interrompe as partes que ainda estão rodando, sem esperar por elas
+            escopo.shutdownNow();
+        }
+    }
+
+    /**
+     * Espera a parte até o prazo dela (contado do início do painel). Em caso de timeout ou erro,
+     * cancela a parte, registra o motivo no painel e retorna null.
+     */
+    private <T> T aguardar(String parte, Future<T> futuro, long inicio, long timeoutMillis,
+                           PainelRestauranteResponseDTO painel) {
+        long restante = inicio + TimeUnit.MILLISECONDS.toNanos(timeoutMillis) - System.nanoTime();
+        try {
+            return futuro.get(Math.max(0L, restante), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            indisponivel(painel, parte, "timeout");
+        } catch (ExecutionException e) {
+            if (parte.equals("restaurante") && e.getCause() instanceof EntityNotFoundException naoEncontrado) {
+                throw naoEncontrado;
+            }
+            log.warn("Painel: falha ao carregar {}", parte, e.getCause());
+            indisponivel(painel, parte, "erro");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futuro.cancel(true);
+            indisponivel(painel, parte, "interrompido");
+        }
+        return null;
+    }
+
+    private void indisponivel(PainelRestauranteResponseDTO painel, String parte, String motivo) {
+        painel.getIndisponiveis().put(parte, motivo);
+        meterRegistry.counter("painel.partes.indisponiveis", "parte", parte, "motivo", motivo).increment();
+    }
+}
@@ -0,0 +1,245 @@
+package com.deliverytech.delivery.services.impl;
+
+import com.deliverytech.delivery.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery.dto.response.PedidoAceitoResponseDTO;
+import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.events.PedidoStatusAlteradoEvent;
+import com.deliverytech.delivery.exceptions.BusinessException;
+import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.exceptions.ServicoIndisponivelException;
+import com.deliverytech.delivery.generator.NumeroPedidoGenerator;
+import com.deliverytech.delivery.mapper.PedidoMapper;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.services.PedidoIntakeService;
+import com.deliverytech.delivery.services.VendasDiariasService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recepção assíncrona de pedidos com group commit.
+ *
+ * A requisição valida o pedido com as mesmas regras de criarPedido (cliente e restaurante
+ * existentes e ativos, produtos do restaurante e disponíveis; 404/400 como no caminho
+ * síncrono), gera o número do pedido e o coloca numa fila limitada. Uma única thread
+ * gravadora esvazia a fila em lotes e grava cada lote numa transação: enquanto um commit
+ * acontece, os próximos pedidos se acumulam e entram juntos no lote seguinte. Fila cheia
+ * resulta em 503.
+ *
+ * Na gravação as regras são conferidas de novo; um pedido que deixou de ser válido entre
+ * o aceite e o commit (ex: restaurante desativado) é descartado e contado em
+ * pedidos.intake.falhas, uma única vez por pedido.
+ *
+ * Ativado com delivery.pedidos.intake.enabled=true.
+ */
+@Service
+@ConditionalOnProperty(name = "delivery.pedidos.intake.enabled", havingValue = "true")
+public class PedidoIntakeServiceImpl implements PedidoIntakeService {
+
+    private static final Logger log = LoggerFactory.getLogger(PedidoIntakeServiceImpl.class);
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+    @Autowired
+    private PedidoMapper pedidoMapper;
+    @Autowired
+    private ReferenciaAtivaResolver referenciaAtivaResolver;
+    @Autowired
+    private ItensPedidoResolver itensPedidoResolver;
+    @Autowired
+    private NumeroPedidoGenerator numeroPedidoGenerator;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private VendasDiariasService vendasDiariasService;
+
+    @Value("${delivery.pedidos.intake.capacidade-fila:10000}")
+    private int capacidadeFila;
+
+    @Value("${delivery.pedidos.intake.tamanho-maximo-lote:200}")
+    private int tamanhoMaximoLote;
+
+    private BlockingQueue<PedidoPendente> fila;
+    private Thread gravadora;
+    private volatile boolean ativo;
+
+    private Counter rejeitados;
+    private Counter falhas;
+    private DistributionSummary tamanhoLote;
+    private Timer latenciaCommit;
+
+    private record PedidoPendente(String numeroPedido, LocalDateTime dataPedido, PedidoRequestDTO dto) {
+    }
+
+    @PostConstruct
+    void iniciar() {
+        fila = new ArrayBlockingQueue<>(capacidadeFila);
+
+        Gauge.builder("pedidos.intake.fila", fila, BlockingQueue::size)
+                .description("Pedidos aguardando gravação")
+                .register(meterRegistry);
+        rejeitados = Counter.builder("pedidos.intake.rejeitados")
+                .description("Pedidos recusados com fila cheia (503)")
+                .register(meterRegistry);
+        falhas = Counter.builder("pedidos.intake.falhas")
+                .description("Pedidos aceitos que não puderam ser gravados")
+                .register(meterRegistry);
+        tamanhoLote = DistributionSummary.builder("pedidos.intake.lote")
+                .description("Pedidos gravados por transação")
+                .register(meterRegistry);
+        latenciaCommit = Timer.builder("pedidos.intake.commit")
+                .description("Duração da gravação de cada lote")
+                .register(meterRegistry);
+
+        ativo = true;
+        gravadora = new Thread(this::executar, "pedidos-intake-gravadora");
+        gravadora.setDaemon(true);
+        gravadora.start();
+    }
+
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        // Para de aceitar e deixa a gravadora esvaziar o que já foi aceito
+        ativo = false;
+        gravadora.join(TimeUnit.SECONDS.toMillis(30));
+        if (!fila.isEmpty()) {
+            log.error("{} pedidos aceitos não foram gravados no encerramento", fila.size());
+        }
+    }
+
+    @Override
+    public PedidoAceitoResponseDTO enfileirar(PedidoRequestDTO dto) {
+        if (!ativo) {
+            throw new ServicoIndisponivelException("Recepção de pedidos em encerramento");
+        }
+        validar(dto);
+        PedidoPendente pendente = new PedidoPendente(numeroPedidoGenerator.gerar(), LocalDateTime.now(), dto);
+        if (!fila.offer(pendente)) {
+            rejeitados.increment();
+            throw new ServicoIndisponivelException("Fila de pedidos cheia, tente novamente");
+        }
+        return new PedidoAceitoResponseDTO(pendente.numeroPedido(), pendente.dataPedido());
+    }
+
+    // Mesmas regras de PedidoServiceImpl.criarPedido; o caminho comum não vai ao banco (IdsAtivosCache)
+    private void validar(PedidoRequestDTO dto) {
+        referenciaAtivaResolver.cliente(dto.getClienteId());
+        referenciaAtivaResolver.restaurante(dto.getRestauranteId());
+        String erroItens = itensPedidoResolver.validar(dto, itensPedidoResolver.carregarProdutos(List.of(dto)));
+        if (erroItens != null) {
+            throw new BusinessException(erroItens);
+        }
+    }
+
+    private void executar() {
+        List<PedidoPendente> lote = new ArrayList<>(tamanhoMaximoLote);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                PedidoPendente primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, tamanhoMaximoLote - 1);
+                gravar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erro inesperado na gravação de pedidos", e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void gravar(List<PedidoPendente> lote) {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        try {
+            // Descartes só contam depois do commit: se o lote falhar, a regravação individual decide
+            Integer descartados = transactionTemplate.execute(status -> persistir(lote));
+            tamanhoLote.record(lote.size());
+            falhas.increment(descartados);
+        } catch (RuntimeException e) {
+            // Um item ruim não pode derrubar o lote inteiro: grava um a um
+            log.warn("Falha ao gravar lote de {} pedidos, gravando individualmente", lote.size(), e);
+            for (PedidoPendente pendente : lote) {
+                try {
+                    falhas.increment(transactionTemplate.execute(status -> persistir(List.of(pendente))));
+                } catch (RuntimeException ex) {
+                    falhas.increment();
+                    log.error("Pedido {} não foi gravado", pendente.numeroPedido(), ex);
+                }
+            }
+        } finally {
+            amostra.stop(latenciaCommit);
+        }
+    }
+
+    /**
+     * Grava os pedidos ainda válidos do lote e retorna quantos foram descartados.
+     */
+    private int persistir(List<PedidoPendente> lote) {
+        Map<Long, Produto> produtos = itensPedidoResolver.carregarProdutos(
+                lote.stream().map(PedidoPendente::dto).toList());
+
+        List<Pedido> pedidos = new ArrayList<>(lote.size());
+        for (PedidoPendente pendente : lote) {
+            PedidoRequestDTO dto = pendente.dto();
+            Cliente cliente;
+            Restaurante restaurante;
+            try {
+                cliente = referenciaAtivaResolver.cliente(dto.getClienteId());
+                restaurante = referenciaAtivaResolver.restaurante(dto.getRestauranteId());
+            } catch (BusinessException | EntityNotFoundException e) {
+                log.error("Pedido {} descartado: {}", pendente.numeroPedido(), e.getMessage());
+                continue;
+            }
+            String erroItens = itensPedidoResolver.validar(dto, produtos);
+            if (erroItens != null) {
+                log.error("Pedido {} descartado: {}", pendente.numeroPedido(), erroItens);
+                continue;
+            }
+            Pedido pedido = pedidoMapper.toEntity(dto);
+            itensPedidoResolver.adicionarItens(pedido, dto, produtos);
+            pedido.setCliente(cliente);
+            pedido.setRestaurante(restaurante);
+            pedido.setNumeroPedido(pendente.numeroPedido());
+            pedido.setDataPedido(pendente.dataPedido());
+            pedido.setStatus(StatusPedido.PENDENTE);
+            pedidos.add(pedido);
+        }
+        pedidoRepository.saveAll(pedidos);
+        vendasDiariasService.registrarCriacao(pedidos);
+        pedidos.forEach(pedido -> eventPublisher.publishEvent(PedidoStatusAlteradoEvent.de(pedido)));
+        return lote.size() - pedidos.size();
+    }
+}
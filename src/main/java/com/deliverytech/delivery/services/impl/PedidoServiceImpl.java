@@ -1,31 +1,59 @@
 package com.deliverytech.delivery.services.impl;
 
 import com.deliverytech.delivery.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
+import com.deliverytech.delivery.dto.response.PedidoLoteItemResponseDTO;
+import com.deliverytech.delivery.dto.response.PedidoLoteResponseDTO;
 import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
 import com.deliverytech.delivery.entity.Cliente;
 import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Produto;
 import com.deliverytech.delivery.entity.Restaurante;
 import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.events.PedidoStatusAlteradoEvent;
 import com.deliverytech.delivery.exceptions.BusinessException;
+import com.deliverytech.delivery.exceptions.ConflitoException;
 import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.generator.NumeroPedidoGenerator;
+import com.deliverytech.delivery.mapper.PedidoMapper;
 import com.deliverytech.delivery.repository.ClienteRepository;
 import com.deliverytech.delivery.repository.PedidoRepository;
 import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.services.ClienteService;
 import com.deliverytech.delivery.services.PedidoService;
-import org.modelmapper.ModelMapper;
+import com.deliverytech.delivery.services.RestauranteService;
+import com.deliverytech.delivery.services.VendasDiariasService;
+import com.deliverytech.delivery.util.PedidoCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class PedidoServiceImpl implements PedidoService {
 
+    private static final int LIMITE_PADRAO = 50;
+    private static final int LIMITE_MAXIMO = 500;
+    // A cada quantos pedidos o contexto de persistência é limpo durante o streaming
+    private static final int TAMANHO_LOTE_STREAM = 500;
+
     @Autowired
     private PedidoRepository pedidoRepository;
     @Autowired
@@ -33,25 +61,139 @@ public class PedidoServiceImpl implements PedidoService {
     @Autowired
     private RestauranteRepository restauranteRepository;
     @Autowired
-    private ModelMapper modelMapper;
+    private PedidoMapper pedidoMapper;
+    @Autowired
+    private ReferenciaAtivaResolver referenciaAtivaResolver;
+    @Autowired
+    private ItensPedidoResolver itensPedidoResolver;
+    @Autowired
+    private NumeroPedidoGenerator numeroPedidoGenerator;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private VendasDiariasService vendasDiariasService;
+    // Cliente e restaurante da resposta de criarPedido, pelos caches por id
+    @Autowired
+    private ClienteService clienteService;
+    @Autowired
+    private RestauranteService restauranteService;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
     public PedidoResponseDTO criarPedido(PedidoRequestDTO dto) {
-        Cliente cliente = clienteRepository.findById(dto.getClienteId())
-                .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado: " + dto.getClienteId()));
-
-        Restaurante restaurante = restauranteRepository.findById(dto.getRestauranteId())
-                .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado: " + dto.getRestauranteId()));
+        // Referências (proxies) validadas em memória, sem SELECT para validar; cliente e
+        // restaurante da resposta vêm dos caches por id (SELECT pela PK só na falta)
+        Cliente cliente = referenciaAtivaResolver.cliente(dto.getClienteId());
+        Restaurante restaurante = referenciaAtivaResolver.restaurante(dto.getRestauranteId());
+        Map<Long, Produto> produtos = itensPedidoResolver.carregarProdutos(List.of(dto));
+        String erroItens = itensPedidoResolver.validar(dto, produtos);
+        if (erroItens != null) {
+            throw new BusinessException(erroItens);
+        }
 
-        Pedido pedido = modelMapper.map(dto, Pedido.class);
+        Pedido pedido = pedidoMapper.toEntity(dto);
+        itensPedidoResolver.adicionarItens(pedido, dto, produtos);
         pedido.setCliente(cliente);
         pedido.setRestaurante(restaurante);
-        pedido.setNumeroPedido(UUID.randomUUID().toString().substring(0, 15).toUpperCase());
+        pedido.setNumeroPedido(gerarNumeroPedido());
         pedido.setDataPedido(LocalDateTime.now());
         pedido.setStatus(StatusPedido.PENDENTE);
 
         Pedido pedidoSalvo = pedidoRepository.save(pedido);
-        return modelMapper.map(pedidoSalvo, PedidoResponseDTO.class);
+        vendasDiariasService.registrarCriacao(List.of(pedidoSalvo));
+        eventPublisher.publishEvent(PedidoStatusAlteradoEvent.de(pedidoSalvo));
+        return pedidoMapper.toResponse(pedidoSalvo, clienteService.buscarPorId(dto.getClienteId()),
+                restauranteService.buscarPorId(dto.getRestauranteId()));
+    }
+
+    @Override
+    public PedidoLoteResponseDTO criarPedidosEmLote(List<PedidoRequestDTO> dtos) {
+        // 1. Valida cada item e coleta os IDs referenciados pelos itens válidos
+        String[] erros = new String[dtos.size()];
+        Set<Long> clienteIds = new HashSet<>();
+        Set<Long> restauranteIds = new HashSet<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            PedidoRequestDTO dto = dtos.get(i);
+            erros[i] = validarItem(dto);
+            if (erros[i] == null) {
+                clienteIds.add(dto.getClienteId());
+                restauranteIds.add(dto.getRestauranteId());
+            }
+        }
+
+        // 2. Resolve clientes, restaurantes e produtos com uma consulta cada
+        List<PedidoRequestDTO> validos = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            if (erros[i] == null) {
+                validos.add(dtos.get(i));
+            }
+        }
+        Map<Long, Produto> produtos = itensPedidoResolver.carregarProdutos(validos);
+        Map<Long, Cliente> clientes = clienteRepository.findAllById(clienteIds).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+        Map<Long, Restaurante> restaurantes = restauranteRepository.findAllById(restauranteIds).stream()
+                .collect(Collectors.toMap(Restaurante::getId, Function.identity()));
+
+        // 3. Monta os pedidos válidos
+        Pedido[] pedidos = new Pedido[dtos.size()];
+        List<Pedido> novos = new ArrayList<>(dtos.size());
+        LocalDateTime agora = LocalDateTime.now();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (erros[i] != null) {
+                continue;
+            }
+            PedidoRequestDTO dto = dtos.get(i);
+            Cliente cliente = clientes.get(dto.getClienteId());
+            Restaurante restaurante = restaurantes.get(dto.getRestauranteId());
+            // Mesmas regras e mensagens do ReferenciaAtivaResolver (criarPedido)
+            if (cliente == null) {
+                erros[i] = "Cliente não encontrado: " + dto.getClienteId();
+                continue;
+            }
+            if (!Boolean.TRUE.equals(cliente.getAtivo())) {
+                erros[i] = "Cliente inativo: " + dto.getClienteId();
+                continue;
+            }
+            if (restaurante == null) {
+                erros[i] = "Restaurante não encontrado: " + dto.getRestauranteId();
+                continue;
+            }
+            if (!Boolean.TRUE.equals(restaurante.getAtivo())) {
+                erros[i] = "Restaurante inativo: " + dto.getRestauranteId();
+                continue;
+            }
+            erros[i] = itensPedidoResolver.validar(dto, produtos);
+            if (erros[i] != null) {
+                continue;
+            }
+            Pedido pedido = pedidoMapper.toEntity(dto);
+            itensPedidoResolver.adicionarItens(pedido, dto, produtos);
+            pedido.setCliente(cliente);
+            pedido.setRestaurante(restaurante);
+            pedido.setNumeroPedido(gerarNumeroPedido());
+            pedido.setDataPedido(agora);
+            pedido.setStatus(StatusPedido.PENDENTE);
+            pedidos[i] = pedido;
+            novos.add(pedido);
+        }
+
+        // 4. Insere tudo de uma vez, pedidos e itens (IDs por sequência pooled + hibernate.jdbc.batch_size)
+        pedidoRepository.saveAll(novos);
+        pedidoRepository.flush();
+        vendasDiariasService.registrarCriacao(novos);
+        novos.forEach(pedido -> eventPublisher.publishEvent(PedidoStatusAlteradoEvent.de(pedido)));
+
+        // 5. Resultado por item, na ordem recebida
+        List<PedidoLoteItemResponseDTO> resultados = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            resultados.add(pedidos[i] != null
+                    ? PedidoLoteItemResponseDTO.sucesso(i, pedidoMapper.toResponse(pedidos[i]))
+                    : PedidoLoteItemResponseDTO.falha(i, erros[i]));
+        }
+        return new PedidoLoteResponseDTO(dtos.size(), novos.size(), dtos.size() - novos.size(), resultados);
     }
 
     @Override
@@ -59,7 +201,7 @@ public class PedidoServiceImpl implements PedidoService {
     public PedidoResponseDTO buscarPorId(Long id) {
         Pedido pedido = pedidoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + id));
-        return modelMapper.map(pedido, PedidoResponseDTO.class);
+        return pedidoMapper.toResponse(pedido);
     }
 
     @Override
@@ -67,67 +209,188 @@ public class PedidoServiceImpl implements PedidoService {
     public PedidoResponseDTO buscarPorNumeroPedido(String numeroPedido) {
         Pedido pedido = pedidoRepository.findByNumeroPedido(numeroPedido)
                 .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + numeroPedido));
-        return modelMapper.map(pedido, PedidoResponseDTO.class);
+        return pedidoMapper.toResponse(pedido);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PedidoResponseDTO> listarPorCliente(Long clienteId) {
-        return pedidoRepository.findByClienteId(clienteId).stream()
-                .map(pedido -> modelMapper.map(pedido, PedidoResponseDTO.class))
-                .collect(Collectors.toList());
+    public PaginaCursorResponseDTO<PedidoResponseDTO> listarPorCliente(Long clienteId, String cursor, Integer limite) {
+        int tamanho = validarLimite(limite);
+        // Busca um item a mais para saber se existe próxima página
+        Limit limiteConsulta = Limit.of(tamanho + 1);
+        List<Pedido> pedidos;
+        if (cursor == null || cursor.isBlank()) {
+            pedidos = pedidoRepository.findPaginaPorCliente(clienteId, limiteConsulta);
+        } else {
+            PedidoCursor pedidoCursor = PedidoCursor.decode(cursor);
+            pedidos = pedidoRepository.findPaginaPorClienteApos(clienteId,
+                    pedidoCursor.dataPedido(), pedidoCursor.id(), limiteConsulta);
+        }
+        return montarPagina(pedidos, tamanho);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PedidoResponseDTO> listarPorStatus(String status) {
+    public PaginaCursorResponseDTO<PedidoResponseDTO> listarPorStatus(String status, String cursor, Integer limite) {
         StatusPedido statusEnum = parseStatus(status);
-        return pedidoRepository.findByStatus(statusEnum).stream()
-                .map(pedido -> modelMapper.map(pedido, PedidoResponseDTO.class))
-                .collect(Collectors.toList());
+        int tamanho = validarLimite(limite);
+        Limit limiteConsulta = Limit.of(tamanho + 1);
+        List<Pedido> pedidos;
+        if (cursor == null || cursor.isBlank()) {
+            pedidos = pedidoRepository.findPaginaPorStatus(statusEnum, limiteConsulta);
+        } else {
+            PedidoCursor pedidoCursor = PedidoCursor.decode(cursor);
+            pedidos = pedidoRepository.findPaginaPorStatusApos(statusEnum,
+                    pedidoCursor.dataPedido(), pedidoCursor.id(), limiteConsulta);
+        }
+        return montarPagina(pedidos, tamanho);
     }
 
     @Override
-    public PedidoResponseDTO atualizarStatus(Long id, String novoStatus) {
-        Pedido pedido = pedidoRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + id));
+    @Transactional(readOnly = true)
+    public List<PedidoResponseDTO> listarPendentesPorRestaurante(Long restauranteId, int limite) {
+        return pedidoRepository.findRecentesPorRestauranteEStatus(restauranteId, StatusPedido.PENDENTE, Limit.of(limite))
+                .stream()
+                .map(pedidoMapper::toResponse)
+                .collect(Collectors.toList());
+    }
 
-        StatusPedido novoStatusEnum = parseStatus(novoStatus);
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerPorCliente(Long clienteId, Consumer<PedidoResponseDTO> consumidor) {
+        try (Stream<Pedido> pedidos = pedidoRepository.streamPorCliente(clienteId)) {
+            percorrer(pedidos, consumidor);
+        }
+    }
 
-        if (pedido.getStatus() == StatusPedido.CANCELADO || pedido.getStatus() == StatusPedido.ENTREGUE) {
-             throw new BusinessException("Não é possível alterar o status de um pedido que já foi " + pedido.getStatus().getDescricao().toLowerCase());
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerPorStatus(StatusPedido status, Consumer<PedidoResponseDTO> consumidor) {
+        try (Stream<Pedido> pedidos = pedidoRepository.streamPorStatus(status)) {
+            percorrer(pedidos, consumidor);
         }
+    }
 
-        pedido.setStatus(novoStatusEnum);
-        Pedido pedidoSalvo = pedidoRepository.save(pedido);
-        return modelMapper.map(pedidoSalvo, PedidoResponseDTO.class);
+    @Override
+    public PedidoResponseDTO atualizarStatus(Long id, String novoStatus) {
+        StatusPedido novoStatusEnum = parseStatus(novoStatus);
+        return transicionar(id, novoStatusEnum);
     }
 
     @Override
     public PedidoResponseDTO cancelarPedido(Long id) {
-        Pedido pedido = pedidoRepository.findById(id)
+        return transicionar(id, StatusPedido.CANCELADO);
+    }
+
+    /**
+     * Aplica a transição como compare-and-set: lê o status atual, valida a transição
+     * e executa um UPDATE condicional (WHERE status = atual). 0 linhas afetadas significa
+     * que outra transição chegou antes. Saber a origem exata permite mover o pedido
+     * no agregado vendas_diarias na mesma transação.
+     */
+    private PedidoResponseDTO transicionar(Long id, StatusPedido destino) {
+        Pedido pedido = pedidoRepository.findComRelacionamentosById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + id));
-        
-        if (pedido.getStatus() == StatusPedido.ENTREGUE) {
-            throw new BusinessException("Não é possível cancelar um pedido já entregue.");
+        StatusPedido origem = pedido.getStatus();
+        if (!origem.podeTransicionarPara(destino)) {
+            throw new ConflitoException(mensagemTransicaoInvalida(origem, destino));
         }
-        if (pedido.getStatus() == StatusPedido.CANCELADO) {
-            throw new BusinessException("Este pedido já está cancelado.");
+
+        int atualizados = pedidoRepository.atualizarStatusSeEm(id, destino, List.of(origem));
+        if (atualizados == 0) {
+            StatusPedido atual = pedidoRepository.findStatusById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + id));
+            throw new ConflitoException(mensagemTransicaoInvalida(atual, destino));
         }
 
-        pedido.setStatus(StatusPedido.CANCELADO);
-        Pedido pedidoSalvo = pedidoRepository.save(pedido);
-        return modelMapper.map(pedidoSalvo, PedidoResponseDTO.class);
+        // O UPDATE limpou o contexto de persistência: o pedido lido acima está destacado
+        pedido.setStatus(destino);
+        vendasDiariasService.registrarTransicao(pedido, origem, destino);
+        eventPublisher.publishEvent(PedidoStatusAlteradoEvent.de(pedido));
+        return pedidoMapper.toResponse(pedido);
+    }
+
+    private String mensagemTransicaoInvalida(StatusPedido atual, StatusPedido destino) {
+        if (destino == StatusPedido.CANCELADO && atual == StatusPedido.ENTREGUE) {
+            return "Não é possível cancelar um pedido já entregue.";
+        }
+        if (destino == StatusPedido.CANCELADO && atual == StatusPedido.CANCELADO) {
+            return "Este pedido já está cancelado.";
+        }
+        if (atual.isFinal()) {
+            return "Não é possível alterar o status de um pedido que já foi " + atual.getDescricao().toLowerCase();
+        }
+        return "Transição de status inválida: " + atual.getDescricao() + " -> " + destino.getDescricao();
+    }
+
+    private String gerarNumeroPedido() {
+        return numeroPedidoGenerator.gerar();
+    }
+
+    /**
+     * Valida um item do lote com as mesmas regras do @Valid do endpoint unitário.
+     * Retorna null se o item for válido.
+     */
+    private String validarItem(PedidoRequestDTO dto) {
+        if (dto == null) {
+            return "Pedido não pode ser nulo";
+        }
+        Set<ConstraintViolation<PedidoRequestDTO>> violacoes = validator.validate(dto);
+        if (violacoes.isEmpty()) {
+            return null;
+        }
+        return violacoes.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
 
     private StatusPedido parseStatus(String status) {
-        if (status == null || status.trim().isEmpty()) {
-            throw new BusinessException("Status não pode ser nulo ou vazio");
+        return StatusPedido.fromString(status);
+    }
+
+    private int validarLimite(Integer limite) {
+        if (limite == null) {
+            return LIMITE_PADRAO;
         }
-        try {
-            return StatusPedido.valueOf(status.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new BusinessException("Status inválido: " + status);
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new BusinessException("O limite deve estar entre 1 e " + LIMITE_MAXIMO);
         }
+        return limite;
+    }
+
+    private PaginaCursorResponseDTO<PedidoResponseDTO> montarPagina(List<Pedido> pedidos, int tamanho) {
+        String nextCursor = null;
+        if (pedidos.size() > tamanho) {
+            pedidos = pedidos.subList(0, tamanho);
+            Pedido ultimo = pedidos.get(tamanho - 1);
+            nextCursor = new PedidoCursor(ultimo.getDataPedido(), ultimo.getId()).encode();
+        }
+        List<PedidoResponseDTO> conteudo = pedidos.stream()
+                .map(pedidoMapper::toResponse)
+                .collect(Collectors.toList());
+        return new PaginaCursorResponseDTO<>(conteudo, nextCursor);
+    }
+
+    /**
+     * Mapeia os pedidos do stream em blocos e limpa o contexto de persistência
+     * a cada bloco, mantendo o uso de memória constante. Mapear o bloco inteiro de uma vez
+     * faz os itens dos pedidos do bloco serem carregados numa única consulta (@BatchSize).
+     */
+    private void percorrer(Stream<Pedido> pedidos, Consumer<PedidoResponseDTO> consumidor) {
+        List<Pedido> bloco = new ArrayList<>(TAMANHO_LOTE_STREAM);
+        pedidos.forEach(pedido -> {
+            bloco.add(pedido);
+            if (bloco.size() == TAMANHO_LOTE_STREAM) {
+                entregar(bloco, consumidor);
+            }
+        });
+        entregar(bloco, consumidor);
+    }
+
+    private void entregar(List<Pedido> bloco, Consumer<PedidoResponseDTO> consumidor) {
+        bloco.forEach(pedido -> consumidor.accept(pedidoMapper.toResponse(pedido)));
+        bloco.clear();
+        entityManager.clear();
     }
 }
\ No newline at end of file
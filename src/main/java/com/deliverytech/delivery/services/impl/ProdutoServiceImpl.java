@@ -1,45 +1,82 @@
 package com.deliverytech.delivery.services.impl;
 
+import com.deliverytech.delivery.busca.FiltroProdutos;
+import com.deliverytech.delivery.busca.IndiceBusca;
+import com.deliverytech.delivery.busca.IndiceFacetasProdutos;
+import com.deliverytech.delivery.busca.PaginaBusca;
+import com.deliverytech.delivery.cache.Caches;
+import com.deliverytech.delivery.datasource.LeituraNoPrimario;
+import com.deliverytech.delivery.dto.request.FiltroProdutosRequestDTO;
 import com.deliverytech.delivery.dto.request.ProdutoRequestDTO;
+import com.deliverytech.delivery.dto.response.FacetaDTO;
+import com.deliverytech.delivery.dto.response.FiltroProdutosResponseDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
 import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
 import com.deliverytech.delivery.entity.Produto;
 import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.enums.TipoItemBusca;
+import com.deliverytech.delivery.events.CardapioAlteradoEvent;
+import com.deliverytech.delivery.events.ItemBuscavelAlteradoEvent;
+import com.deliverytech.delivery.exceptions.BusinessException;
 import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.exceptions.ServicoIndisponivelException;
+import com.deliverytech.delivery.mapper.ProdutoMapper;
 import com.deliverytech.delivery.repository.ProdutoRepository;
-import com.deliverytech.delivery.repository.RestauranteRepository;
 import com.deliverytech.delivery.services.ProdutoService;
-import org.modelmapper.ModelMapper;
+import com.deliverytech.delivery.util.TextoNormalizado;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ProdutoServiceImpl implements ProdutoService {
 
+    private static final int LIMITE_PADRAO_FILTRO = 20;
+
     @Autowired
     private ProdutoRepository produtoRepository;
 
     @Autowired
-    private RestauranteRepository restauranteRepository;
+    private ProdutoMapper produtoMapper;
+
+    @Autowired
+    private ReferenciaAtivaResolver referenciaAtivaResolver;
+
+    @Autowired
+    private Caches caches;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private IndiceBusca indiceBusca;
+
+    @Autowired
+    private IndiceFacetasProdutos indiceFacetasProdutos;
 
     @Override
+    @CacheEvict(cacheNames = Caches.CARDAPIOS, key = "#dto.restauranteId")
     public ProdutoResponseDTO cadastrar(ProdutoRequestDTO dto) {
-        Restaurante restaurante = restauranteRepository.findById(dto.getRestauranteId())
-                .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado: " + dto.getRestauranteId()));
+        Restaurante restaurante = referenciaAtivaResolver.restaurante(dto.getRestauranteId());
 
-        Produto produto = modelMapper.map(dto, Produto.class);
+        Produto produto = produtoMapper.toEntity(dto);
         produto.setRestaurante(restaurante);
         produto.setDisponivel(true);
 
         Produto produtoSalvo = produtoRepository.save(produto);
-        return modelMapper.map(produtoSalvo, ProdutoResponseDTO.class);
+        eventPublisher.publishEvent(new CardapioAlteradoEvent(dto.getRestauranteId()));
+        eventPublisher.publishEvent(ItemBuscavelAlteradoEvent.de(produtoSalvo));
+        indiceFacetasProdutos.atualizar(produtoSalvo);
+        return produtoMapper.toResponse(produtoSalvo);
     }
 
     @Override
@@ -47,39 +84,48 @@ public class ProdutoServiceImpl implements ProdutoService {
     public ProdutoResponseDTO buscarPorId(Long id) {
         Produto produto = produtoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: " + id));
-        return modelMapper.map(produto, ProdutoResponseDTO.class);
+        return produtoMapper.toResponse(produto);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ProdutoResponseDTO> listarDisponiveis() {
         return produtoRepository.findByDisponivelTrue().stream()
-                .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+                .map(produtoMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = Caches.CARDAPIOS, key = "#restauranteId")
     public List<ProdutoResponseDTO> listarDisponiveisPorRestaurante(Long restauranteId) {
-        return produtoRepository.findByRestauranteIdAndDisponivelTrue(restauranteId).stream()
-                .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+        // Valor que vai para o cache: lê do primário
+        return LeituraNoPrimario.executar(() -> produtoRepository.findByRestauranteIdAndDisponivelTrue(restauranteId)).stream()
+                .map(produtoMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @CacheEvict(cacheNames = Caches.CARDAPIOS, key = "#dto.restauranteId")
     public ProdutoResponseDTO atualizar(Long id, ProdutoRequestDTO dto) {
         Produto produto = produtoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: " + id));
 
-        Restaurante restaurante = restauranteRepository.findById(dto.getRestauranteId())
-                .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado: " + dto.getRestauranteId()));
+        // O produto pode ter mudado de restaurante: o cardápio antigo também fica inválido
+        caches.evict(Caches.CARDAPIOS, produto.getRestaurante().getId());
+        eventPublisher.publishEvent(new CardapioAlteradoEvent(produto.getRestaurante().getId()));
+
+        Restaurante restaurante = referenciaAtivaResolver.restaurante(dto.getRestauranteId());
 
         // Mapeia o DTO para a entidade existente
-        modelMapper.map(dto, produto);
+        produtoMapper.updateEntity(dto, produto);
         produto.setRestaurante(restaurante); // Garante a associação correta
 
         Produto produtoSalvo = produtoRepository.save(produto);
-        return modelMapper.map(produtoSalvo, ProdutoResponseDTO.class);
+        eventPublisher.publishEvent(new CardapioAlteradoEvent(dto.getRestauranteId()));
+        eventPublisher.publishEvent(ItemBuscavelAlteradoEvent.de(produtoSalvo));
+        indiceFacetasProdutos.atualizar(produtoSalvo);
+        return produtoMapper.toResponse(produtoSalvo);
     }
 
     @Override
@@ -90,15 +136,107 @@ public class ProdutoServiceImpl implements ProdutoService {
             produto.setDisponivel(true);
         }
         produto.setDisponivel(false);
+        caches.evict(Caches.CARDAPIOS, produto.getRestaurante().getId());
+        eventPublisher.publishEvent(new CardapioAlteradoEvent(produto.getRestaurante().getId()));
         Produto produtoSalvo = produtoRepository.save(produto);
-        return modelMapper.map(produtoSalvo, ProdutoResponseDTO.class);
+        eventPublisher.publishEvent(ItemBuscavelAlteradoEvent.de(produtoSalvo));
+        indiceFacetasProdutos.atualizar(produtoSalvo);
+        return produtoMapper.toResponse(produtoSalvo);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursorResponseDTO<ProdutoResponseDTO> buscarPorNome(String nome, String cursor, Integer limite) {
+        PaginaBusca pagina = indiceBusca.pagina(cursor, limite);
+        if (!indiceBusca.isPronto()) {
+            // Enquanto o índice carrega: LIKE no banco, com o mesmo corte de indisponíveis e o mesmo cursor
+            List<Produto> encontrados = produtoRepository.findByNomeContainingIgnoreCase(nome).stream()
+                    .filter(produto -> Boolean.TRUE.equals(produto.getDisponivel()))
+                    .toList();
+            return new PaginaCursorResponseDTO<>(pagina.recortar(encontrados).stream()
+                    .map(produtoMapper::toResponse)
+                    .collect(Collectors.toList()), pagina.proximoCursor(encontrados.size()));
+        }
+        // Nome, categoria e descrição, por relevância; as entidades vêm do banco por chave primária
+        IndiceBusca.Resultado resultado = indiceBusca.buscar(TipoItemBusca.PRODUTO, nome, pagina);
+        List<Long> ids = resultado.ids();
+        if (ids.isEmpty()) {
+            return new PaginaCursorResponseDTO<>(List.of(), resultado.proximoCursor());
+        }
+        return new PaginaCursorResponseDTO<>(
+                IndiceBusca.ordenar(produtoRepository.findComRestauranteByIdIn(ids), ids, Produto::getId).stream()
+                        .map(produtoMapper::toResponse)
+                        .collect(Collectors.toList()),
+                resultado.proximoCursor());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProdutoResponseDTO> buscarPorNome(String nome) {
-        return produtoRepository.findByNomeContainingIgnoreCase(nome).stream()
-                .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+    public FiltroProdutosResponseDTO filtrar(FiltroProdutosRequestDTO dto) {
+        if (!indiceFacetasProdutos.isCarregado()) {
+            throw new ServicoIndisponivelException("Índice de produtos ainda carregando, tente novamente em instantes");
+        }
+        if (dto.getPrecoMinimo() != null && dto.getPrecoMaximo() != null
+                && dto.getPrecoMinimo().compareTo(dto.getPrecoMaximo()) > 0) {
+            throw new BusinessException("O preço mínimo deve ser menor ou igual ao preço máximo");
+        }
+
+        Set<String> categorias = null;
+        if (dto.getCategoria() != null && !dto.getCategoria().isEmpty()) {
+            categorias = new HashSet<>();
+            for (String categoria : dto.getCategoria()) {
+                categorias.add(TextoNormalizado.normalizar(categoria));
+            }
+        }
+        int limite = dto.getLimite() != null ? dto.getLimite() : LIMITE_PADRAO_FILTRO;
+        FiltroProdutos filtro = new FiltroProdutos(
+                categorias,
+                dto.getPrecoMinimo() != null ? IndiceFacetasProdutos.centavos(dto.getPrecoMinimo()) : null,
+                dto.getPrecoMaximo() != null ? IndiceFacetasProdutos.centavos(dto.getPrecoMaximo()) : null,
+                dto.getDisponivel(),
+                dto.getRestauranteId() != null && !dto.getRestauranteId().isEmpty() ? Set.copyOf(dto.getRestauranteId()) : null,
+                decodificarCursor(dto.getCursor()),
+                limite);
+
+        IndiceFacetasProdutos.Consulta consulta = indiceFacetasProdutos.consultar(filtro);
+
+        // Busca um a mais para saber se existe próxima página
+        List<Long> ids = consulta.ids();
+        String nextCursor = null;
+        if (ids.size() > limite) {
+            ids = ids.subList(0, limite);
+            nextCursor = String.valueOf(ids.get(limite - 1));
+        }
+        List<ProdutoResponseDTO> produtos = ids.isEmpty() ? List.of()
+                : IndiceBusca.ordenar(produtoRepository.findComRestauranteByIdIn(ids), ids, Produto::getId).stream()
+                        .map(produtoMapper::toResponse)
+                        .collect(Collectors.toList());
+
+        return new FiltroProdutosResponseDTO(consulta.total(), produtos, nextCursor,
+                facetas(consulta.categorias()), facetas(consulta.faixasPreco()),
+                facetas(consulta.disponibilidade()), facetas(consulta.restaurantes()));
+    }
+
+    private static List<FacetaDTO> facetas(List<IndiceFacetasProdutos.Faceta> facetas) {
+        return facetas.stream()
+                .map(faceta -> new FacetaDTO(faceta.valor(), faceta.quantidade()))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    // O cursor é o id do último produto da página anterior; ids de produto cabem em um int (bits do índice)
+    private static long decodificarCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        long aposId;
+        try {
+            aposId = Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Cursor inválido: " + cursor);
+        }
+        if (aposId < 0 || aposId > Integer.MAX_VALUE) {
+            throw new BusinessException("Cursor inválido: " + cursor);
+        }
+        return aposId;
+    }
+}
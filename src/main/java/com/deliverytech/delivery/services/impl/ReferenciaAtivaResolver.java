@@ -0,0 +1,55 @@
+package com.deliverytech.delivery.services.impl;
+
+import com.deliverytech.delivery.cache.IdsAtivosCache;
+import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.exceptions.BusinessException;
+import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.repository.ClienteRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolve clientes e restaurantes usados como chave estrangeira.
+ *
+ * Caminho comum: o ID está no IdsAtivosCache e devolvemos uma referência
+ * (getReferenceById), sem nenhum SELECT. Caso contrário, confirmamos no banco
+ * para distinguir "não encontrado" de "inativo".
+ */
+@Component
+public class ReferenciaAtivaResolver {
+
+    @Autowired
+    private IdsAtivosCache idsAtivosCache;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    public Cliente cliente(Long id) {
+        if (idsAtivosCache.clienteAtivo(id)) {
+            return clienteRepository.getReferenceById(id);
+        }
+        Cliente cliente = clienteRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado: " + id));
+        if (!Boolean.TRUE.equals(cliente.getAtivo())) {
+            throw new BusinessException("Cliente inativo: " + id);
+        }
+        idsAtivosCache.atualizarCliente(id, true);
+        return cliente;
+    }
+
+    public Restaurante restaurante(Long id) {
+        if (idsAtivosCache.restauranteAtivo(id)) {
+            return restauranteRepository.getReferenceById(id);
+        }
+        Restaurante restaurante = restauranteRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado: " + id));
+        if (!Boolean.TRUE.equals(restaurante.getAtivo())) {
+            throw new BusinessException("Restaurante inativo: " + id);
+        }
+        idsAtivosCache.atualizarRestaurante(id, true);
+        return restaurante;
+    }
+}
@@ -0,0 +1,356 @@
+package com.deliverytech.delivery.services.impl;
+
+import com.deliverytech.delivery.dto.request.RelatorioJobRequestDTO;
+import com.deliverytech.delivery.dto.response.RelatorioJobResponseDTO;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.enums.StatusRelatorioJob;
+import com.deliverytech.delivery.enums.TipoRelatorioJob;
+import com.deliverytech.delivery.exceptions.BusinessException;
+import com.deliverytech.delivery.exceptions.ConflitoException;
+import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.exceptions.ServicoIndisponivelException;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.services.RelatorioJobService;
+import com.deliverytech.delivery.services.RelatorioService;
+import com.deliverytech.delivery.util.CsvRelatorios;
+import com.deliverytech.delivery.util.CsvStreamWriter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Relatórios grandes gerados em segundo plano.
+ *
+ * - Os jobs rodam num pool próprio e limitado (delivery.relatorios.jobs.threads), com fila também
+ *   limitada; fila cheia resulta em 503. Cada thread usa no máximo uma conexão (a do streaming),
+ *   então o número de threads é o orçamento de conexões dos relatórios: as requisições comuns nunca
+ *   disputam o pool com mais do que isso.
+ * - O resultado é gravado em CSV com gzip num arquivo local (primeiro com sufixo .parcial, renomeado
+ *   ao concluir) e baixado direto do disco.
+ * - Os jobs ficam em memória; jobs finalizados e seus arquivos são removidos após a retenção.
+ *   Arquivos que sobraram de uma execução anterior são apagados na subida.
+ */
+@Service
+public class RelatorioJobServiceImpl implements RelatorioJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatorioJobServiceImpl.class);
+
+    private static final String EXTENSAO = ".csv.gz";
+
+    @Autowired
+    private RelatorioService relatorioService;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private CsvStreamWriter csvStreamWriter;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${delivery.relatorios.jobs.threads:2}")
+    private int threads;
+
+    @Value("${delivery.relatorios.jobs.capacidade-fila:20}")
+    private int capacidadeFila;
+
+    @Value("${delivery.relatorios.jobs.retencao-ms:3600000}")
+    private long retencaoMillis;
+
+    @Value("${delivery.relatorios.jobs.carencia-download-ms:300000}")
+    private long carenciaDownloadMillis;
+
+    @Value("${delivery.relatorios.jobs.diretorio:${java.io.tmpdir}/delivery-relatorios}")
+    private String diretorioConfigurado;
+
+    private Path diretorio;
+    private ThreadPoolExecutor executor;
+    private Timer duracao;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Estado de um job. Os campos mudam na thread do job e são lidos pelas requisições de consulta.
+     */
+    private static final class Job {
+        final String id;
+        final TipoRelatorioJob tipo;
+        final LocalDate inicio;
+        final LocalDate fim;
+        final StatusPedido status;
+        final Long restauranteId;
+        final LocalDateTime criadoEm = LocalDateTime.now();
+        final AtomicLong linhas = new AtomicLong();
+        volatile StatusRelatorioJob situacao = StatusRelatorioJob.PENDENTE;
+        volatile Long totalEstimado;
+        volatile LocalDateTime iniciadoEm;
+        volatile LocalDateTime concluidoEm;
+        volatile Long tamanho;
+        volatile String erro;
+        // Guardados pelo monitor do job: um download não começa depois de o job expirar
+        LocalDateTime ultimoDownloadEm;
+        boolean expirado;
+
+        Job(String id, TipoRelatorioJob tipo, LocalDate inicio, LocalDate fim, StatusPedido status, Long restauranteId) {
+            this.id = id;
+            this.tipo = tipo;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.status = status;
+            this.restauranteId = restauranteId;
+        }
+    }
+
+    @PostConstruct
+    void iniciar() throws IOException {
+        diretorio = Paths.get(diretorioConfigurado);
+        Files.createDirectories(diretorio);
+        apagarArquivosOrfaos();
+
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila), tarefa -> {
+                    Thread thread = new Thread(tarefa, "relatorio-job-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("relatorios.jobs.fila", executor, e -> e.getQueue().size())
+                .description("Jobs de relatório aguardando execução")
+                .register(meterRegistry);
+        Gauge.builder("relatorios.jobs.executando", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Jobs de relatório em execução")
+                .register(meterRegistry);
+        duracao = Timer.builder("relatorios.jobs.duracao")
+                .description("Duração da geração dos relatórios em segundo plano")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public RelatorioJobResponseDTO agendar(RelatorioJobRequestDTO dto) {
+        TipoRelatorioJob tipo = TipoRelatorioJob.fromString(dto.getTipo());
+        relatorioService.validarPeriodo(dto.getInicio(), dto.getFim());
+        if (tipo == TipoRelatorioJob.VENDAS && dto.getRestauranteId() != null) {
+            throw new BusinessException("O filtro por restaurante só se aplica a VENDAS_POR_PRODUTO");
+        }
+        StatusPedido status = dto.getStatus() == null || dto.getStatus().isBlank()
+                ? null : StatusPedido.fromString(dto.getStatus());
+
+        Job job = new Job(UUID.randomUUID().toString(), tipo, dto.getInicio(), dto.getFim(), status, dto.getRestauranteId());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> executar(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new ServicoIndisponivelException("Fila de relatórios cheia, tente novamente mais tarde");
+        }
+        return toResponse(job);
+    }
+
+    @Override
+    public RelatorioJobResponseDTO buscar(String id) {
+        return toResponse(buscarJob(id));
+    }
+
+    @Override
+    public ArquivoResultado arquivoResultado(String id) {
+        Job job = buscarJob(id);
+        if (job.situacao != StatusRelatorioJob.CONCLUIDO) {
+            throw new ConflitoException("O relatório ainda não está disponível (status " + job.situacao + ")");
+        }
+        synchronized (job) {
+            if (job.expirado) {
+                throw new EntityNotFoundException("Job de relatório não encontrado (ou expirado): " + id);
+            }
+            job.ultimoDownloadEm = LocalDateTime.now();
+        }
+        Path arquivo = arquivo(job);
+        if (!Files.exists(arquivo)) {
+            throw new EntityNotFoundException("Resultado do relatório não encontrado: " + id);
+        }
+        return new ArquivoResultado(arquivo, job.tamanho, "relatorio-" + job.tipo.name().toLowerCase().replace('_', '-')
+                + "-" + job.id + EXTENSAO);
+    }
+
+    /**
+     * Remove os jobs finalizados há mais tempo que a retenção, com seus arquivos.
+     * Jobs baixados há menos que a carência ficam para a próxima limpeza: o download pode ainda não
+     * ter aberto o arquivo (com sendfile o Tomcat o abre depois que o controller retorna). Depois de
+     * aberto, apagar o arquivo não interrompe a leitura em sistemas POSIX.
+     */
+    @Scheduled(fixedDelayString = "${delivery.relatorios.jobs.limpeza-ms:60000}")
+    public void limpar() {
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime limite = agora.minus(Duration.ofMillis(retencaoMillis));
+        LocalDateTime limiteDownload = agora.minus(Duration.ofMillis(carenciaDownloadMillis));
+        jobs.values().removeIf(job -> {
+            if (job.concluidoEm == null || job.concluidoEm.isAfter(limite)) {
+                return false;
+            }
+            synchronized (job) {
+                if (job.ultimoDownloadEm != null && job.ultimoDownloadEm.isAfter(limiteDownload)) {
+                    return false;
+                }
+                job.expirado = true;
+            }
+            apagar(arquivo(job));
+            return true;
+        });
+    }
+
+    private void executar(Job job) {
+        job.iniciadoEm = LocalDateTime.now();
+        job.situacao = StatusRelatorioJob.EXECUTANDO;
+        Path parcial = diretorio.resolve(job.id + EXTENSAO + ".parcial");
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        try {
+            job.totalEstimado = estimarTotal(job);
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(parcial)), 64 * 1024)) {
+                escrever(job, out);
+            }
+            Path arquivo = arquivo(job);
+            Files.move(parcial, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.tamanho = Files.size(arquivo);
+            job.concluidoEm = LocalDateTime.now();
+            job.situacao = StatusRelatorioJob.CONCLUIDO;
+            log.info("Relatório {} ({}) concluído: {} linhas, {} bytes", job.id, job.tipo, job.linhas.get(), job.tamanho);
+        } catch (IOException | RuntimeException e) {
+            apagar(parcial);
+            // Detalhes só no log: a mensagem da exceção pode expor SQL, caminhos ou dados internos
+            job.erro = "Falha ao gerar o relatório; detalhes no log do servidor";
+            job.concluidoEm = LocalDateTime.now();
+            job.situacao = StatusRelatorioJob.FALHOU;
+            log.error("Relatório {} ({}) falhou", job.id, job.tipo, e);
+        } finally {
+            amostra.stop(duracao);
+        }
+    }
+
+    private void escrever(Job job, OutputStream out) throws IOException {
+        switch (job.tipo) {
+            case VENDAS -> csvStreamWriter.writeRows(out, CsvRelatorios.CABECALHO_VENDAS, linha ->
+                    relatorioService.percorrerRelatorioVendas(job.inicio, job.fim, job.status,
+                            contando(job, r -> linha.accept(CsvRelatorios.linhaVendas(r)))));
+            case VENDAS_POR_PRODUTO -> csvStreamWriter.writeRows(out, CsvRelatorios.CABECALHO_VENDAS_POR_PRODUTO, linha ->
+                    relatorioService.percorrerVendasPorProduto(job.restauranteId, job.inicio, job.fim, job.status,
+                            contando(job, v -> linha.accept(CsvRelatorios.linhaVendasPorProduto(v)))));
+        }
+    }
+
+    private static <T> Consumer<T> contando(Job job, Consumer<T> consumidor) {
+        return valor -> {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Relatório interrompido");
+            }
+            consumidor.accept(valor);
+            job.linhas.incrementAndGet();
+        };
+    }
+
+    // Limite superior do número de linhas: uma por restaurante ou por produto
+    private Long estimarTotal(Job job) {
+        return switch (job.tipo) {
+            case VENDAS -> restauranteRepository.count();
+            case VENDAS_POR_PRODUTO -> job.restauranteId != null
+                    ? produtoRepository.countByRestauranteId(job.restauranteId)
+                    : produtoRepository.count();
+        };
+    }
+
+    private Job buscarJob(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new EntityNotFoundException("Job de relatório não encontrado (ou expirado): " + id);
+        }
+        return job;
+    }
+
+    private Path arquivo(Job job) {
+        return diretorio.resolve(job.id + EXTENSAO);
+    }
+
+    private void apagarArquivosOrfaos() throws IOException {
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio)) {
+            for (Path arquivo : arquivos) {
+                String nome = arquivo.getFileName().toString();
+                if (nome.endsWith(EXTENSAO) || nome.endsWith(EXTENSAO + ".parcial")) {
+                    apagar(arquivo);
+                }
+            }
+        }
+    }
+
+    private static void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar {}", arquivo, e);
+        }
+    }
+
+    private RelatorioJobResponseDTO toResponse(Job job) {
+        RelatorioJobResponseDTO dto = new RelatorioJobResponseDTO();
+        dto.setId(job.id);
+        dto.setTipo(job.tipo.name());
+        StatusRelatorioJob situacao = job.situacao;
+        dto.setStatus(situacao.name());
+        long linhas = job.linhas.get();
+        dto.setLinhasProcessadas(linhas);
+        Long total = job.totalEstimado;
+        dto.setTotalEstimado(total);
+        if (situacao == StatusRelatorioJob.CONCLUIDO) {
+            dto.setPercentual(100);
+        } else if (total != null && total > 0) {
+            dto.setPercentual((int) Math.min(99, linhas * 100 / total));
+        }
+        dto.setCriadoEm(job.criadoEm);
+        dto.setIniciadoEm(job.iniciadoEm);
+        LocalDateTime concluidoEm = job.concluidoEm;
+        dto.setConcluidoEm(concluidoEm);
+        if (concluidoEm != null) {
+            dto.setExpiraEm(concluidoEm.plus(Duration.ofMillis(retencaoMillis)));
+        }
+        dto.setErro(job.erro);
+        if (situacao == StatusRelatorioJob.CONCLUIDO) {
+            dto.setTamanhoBytes(job.tamanho);
+            dto.setUrlResultado("/api/relatorios/jobs/" + job.id + "/resultado");
+        }
+        return dto;
+    }
+}
@@ -1,37 +1,341 @@
 package com.deliverytech.delivery.services.impl;
 
+import com.deliverytech.delivery.analytics.AgregadoGrupo;
+import com.deliverytech.delivery.analytics.DimensaoPedido;
+import com.deliverytech.delivery.analytics.FiltroPedidos;
+import com.deliverytech.delivery.analytics.JanelaRanking;
+import com.deliverytech.delivery.analytics.PedidoColumnStore;
+import com.deliverytech.delivery.analytics.RankingPedidos;
+import com.deliverytech.delivery.analytics.TipoRanking;
+import com.deliverytech.delivery.cache.RelatorioCache;
+import com.deliverytech.delivery.dto.request.FiltroAnaliticoRequestDTO;
+import com.deliverytech.delivery.dto.response.GrupoAnaliticoDTO;
+import com.deliverytech.delivery.dto.response.ItemRankingDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
+import com.deliverytech.delivery.dto.response.RankingResponseDTO;
+import com.deliverytech.delivery.dto.response.RelatorioAnaliticoResponseDTO;
+import com.deliverytech.delivery.dto.response.PontoSerieTemporalDTO;
 import com.deliverytech.delivery.dto.response.RelatorioResponseDTO;
+import com.deliverytech.delivery.dto.response.SerieTemporalResponseDTO;
+import com.deliverytech.delivery.dto.response.VendaProdutoResponseDTO;
+import com.deliverytech.delivery.enums.BucketTempo;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.exceptions.BusinessException;
 import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.exceptions.ServicoIndisponivelException;
+import com.deliverytech.delivery.mapper.RelatorioMapper;
 import com.deliverytech.delivery.projection.RelatorioVendas;
-import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.projection.VendaProduto;
+import com.deliverytech.delivery.repository.ItemPedidoRepository;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.VendaDiariaRepository;
 import com.deliverytech.delivery.services.RelatorioService;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true) // Relatórios são geralmente 'read-only'
 public class RelatorioServiceImpl implements RelatorioService {
 
+    private static final int LIMITE_PADRAO = 100;
+    private static final int LIMITE_MAXIMO = 1000;
+    private static final int MAXIMO_BUCKETS = 10_000;
+    private static final DateTimeFormatter FORMATO_HORA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH");
+
+    @Autowired
+    private VendaDiariaRepository vendaDiariaRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+
     @Autowired
-    private RestauranteRepository restauranteRepository;
+    private RankingPedidos rankingPedidos;
 
+    // Presente só com delivery.analytics.enabled=true
     @Autowired
-    private ModelMapper modelMapper;
+    private ObjectProvider<PedidoColumnStore> pedidoColumnStore;
+
+    @Autowired
+    private RelatorioMapper relatorioMapper;
+
+    // Relatórios agregados no banco passam pelo cache (cálculo único por chave + stale-while-revalidate).
+    // Esses métodos não abrem transação: o cálculo roda na transação do próprio cache, e quem
+    // só aguarda um cálculo em andamento não segura conexão.
+    @Autowired
+    private RelatorioCache relatorioCache;
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public RelatorioResponseDTO relatorioVendasPorRestauranteId(Long restauranteId) {
-        
-        // 1. Chama a nova query do repositório
-        RelatorioVendas projecao = restauranteRepository.relatorioVendasPorRestauranteId(restauranteId)
-            .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado com ID: " + restauranteId));
-        
-        // 2. Mapeia a projeção única para o DTO
-        return modelMapper.map(projecao, RelatorioResponseDTO.class);
-    }
-}
\ No newline at end of file
+        return relatorioCache.obter("vendas-por-restaurante", () -> {
+            // 1. Lê do agregado vendas_diarias (custo proporcional aos dias, não aos pedidos)
+            RelatorioVendas projecao = vendaDiariaRepository.relatorioPorRestauranteId(restauranteId)
+                .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado com ID: " + restauranteId));
+
+            // 2. Mapeia a projeção única para o DTO
+            return relatorioMapper.toResponse(projecao);
+        }, restauranteId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PaginaCursorResponseDTO<RelatorioResponseDTO> relatorioVendas(LocalDate inicio, LocalDate fim, String status,
+                                                                         String cursor, Integer limite) {
+        validarPeriodo(inicio, fim);
+        StatusPedido statusEnum = status == null || status.isBlank() ? null : StatusPedido.fromString(status);
+        int tamanho = validarLimite(limite);
+        long apos = decodificarCursor(cursor);
+        return relatorioCache.obter("vendas", () -> paginaRelatorioVendas(inicio, fim, statusEnum, apos, tamanho),
+                inicio, fim, statusEnum, apos, tamanho);
+    }
+
+    private PaginaCursorResponseDTO<RelatorioResponseDTO> paginaRelatorioVendas(LocalDate inicio, LocalDate fim,
+                                                                               StatusPedido statusEnum, long apos,
+                                                                               int tamanho) {
+        // Busca um a mais para saber se existe próxima página
+        List<RelatorioResponseDTO> linhas = vendaDiariaRepository
+                .relatorioVendas(inicio, fim, statusEnum, apos, Limit.of(tamanho + 1))
+                .stream()
+                .map(relatorioMapper::toResponse)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (linhas.size() > tamanho) {
+            linhas = linhas.subList(0, tamanho);
+            nextCursor = String.valueOf(linhas.get(tamanho - 1).getRestauranteId());
+        }
+        return new PaginaCursorResponseDTO<>(linhas, nextCursor);
+    }
+
+    @Override
+    public void percorrerRelatorioVendas(LocalDate inicio, LocalDate fim, StatusPedido status,
+                                         Consumer<RelatorioResponseDTO> consumidor) {
+        validarPeriodo(inicio, fim);
+        try (Stream<RelatorioVendas> linhas = vendaDiariaRepository.streamRelatorioVendas(inicio, fim, status)) {
+            linhas.map(relatorioMapper::toResponse).forEach(consumidor);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<VendaProdutoResponseDTO> vendasPorProduto(Long restauranteId, LocalDate inicio, LocalDate fim,
+                                                          String status, Integer limite) {
+        validarPeriodo(inicio, fim);
+        StatusPedido statusEnum = status == null || status.isBlank() ? null : StatusPedido.fromString(status);
+        int tamanho = validarLimite(limite);
+        // Dias inclusivos, como em /vendas
+        return relatorioCache.obter("vendas-por-produto", () -> itemPedidoRepository.vendasPorProduto(restauranteId,
+                        inicio != null ? inicio.atStartOfDay() : null,
+                        fim != null ? fim.plusDays(1).atStartOfDay() : null,
+                        statusEnum, StatusPedido.CANCELADO, Limit.of(tamanho))
+                .stream()
+                .map(relatorioMapper::toResponse)
+                .collect(Collectors.toList()),
+                restauranteId, inicio, fim, statusEnum, tamanho);
+    }
+
+    @Override
+    public void percorrerVendasPorProduto(Long restauranteId, LocalDate inicio, LocalDate fim, StatusPedido status,
+                                          Consumer<VendaProdutoResponseDTO> consumidor) {
+        validarPeriodo(inicio, fim);
+        try (Stream<VendaProduto> linhas = itemPedidoRepository.streamVendasPorProduto(restauranteId,
+                inicio != null ? inicio.atStartOfDay() : null,
+                fim != null ? fim.plusDays(1).atStartOfDay() : null,
+                status, StatusPedido.CANCELADO)) {
+            linhas.map(relatorioMapper::toResponse).forEach(consumidor);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void validarPeriodo(LocalDate inicio, LocalDate fim) {
+        if (inicio != null && fim != null && inicio.isAfter(fim)) {
+            throw new BusinessException("A data inicial deve ser anterior ou igual à data final");
+        }
+    }
+
+    private int validarLimite(Integer limite) {
+        if (limite == null) {
+            return LIMITE_PADRAO;
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new BusinessException("O limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        return limite;
+    }
+
+    // O cursor é o id do último restaurante da página anterior
+    private long decodificarCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Cursor inválido: " + cursor);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SerieTemporalResponseDTO serieTemporal(Long restauranteId, LocalDateTime inicio, LocalDateTime fim,
+                                                  String bucket, String status) {
+        if (restauranteId == null || inicio == null || fim == null) {
+            throw new BusinessException("restauranteId, inicio e fim são obrigatórios");
+        }
+        if (!inicio.isBefore(fim)) {
+            throw new BusinessException("O início deve ser anterior ao fim");
+        }
+        BucketTempo bucketTempo = BucketTempo.fromString(bucket);
+        String statusFiltro = status == null || status.isBlank() ? null : StatusPedido.fromString(status).name();
+
+        // Todos os buckets do período (os vazios ficam zerados), limitados para não gerar respostas gigantes
+        List<LocalDateTime> buckets = new ArrayList<>();
+        for (LocalDateTime b = bucketTempo.inicioDo(inicio); b.isBefore(fim); b = bucketTempo.proximo(b)) {
+            if (buckets.size() == MAXIMO_BUCKETS) {
+                throw new BusinessException("Período longo demais para o bucket " + bucketTempo + " (máximo de "
+                        + MAXIMO_BUCKETS + " pontos)");
+            }
+            buckets.add(b);
+        }
+
+        List<Object[]> linhas = relatorioCache.obter("serie-temporal", () -> switch (bucketTempo) {
+            case HOUR -> pedidoRepository.serieTemporalPorHora(restauranteId, inicio, fim, statusFiltro);
+            case DAY -> pedidoRepository.serieTemporalPorDia(restauranteId, inicio, fim, statusFiltro);
+            case WEEK -> pedidoRepository.serieTemporalPorSemana(restauranteId, inicio, fim, statusFiltro);
+        }, restauranteId, inicio, fim, bucketTempo, statusFiltro);
+        Map<LocalDateTime, Object[]> porBucket = new HashMap<>();
+        for (Object[] linha : linhas) {
+            porBucket.put(inicioBucket(linha[0]), linha);
+        }
+
+        List<PontoSerieTemporalDTO> pontos = new ArrayList<>(buckets.size());
+        for (LocalDateTime b : buckets) {
+            Object[] linha = porBucket.get(b);
+            pontos.add(linha == null
+                    ? new PontoSerieTemporalDTO(b, 0L, BigDecimal.ZERO)
+                    : new PontoSerieTemporalDTO(b, ((Number) linha[1]).longValue(), decimal(linha[2])));
+        }
+        return new SerieTemporalResponseDTO(restauranteId, bucketTempo.name(), inicio, fim, pontos);
+    }
+
+    // O tipo do bucket depende da expressão SQL e do driver (texto, DATE ou TIMESTAMP)
+    private static LocalDateTime inicioBucket(Object valor) {
+        if (valor instanceof LocalDateTime dataHora) {
+            return dataHora;
+        }
+        if (valor instanceof LocalDate data) {
+            return data.atStartOfDay();
+        }
+        if (valor instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (valor instanceof java.sql.Date data) {
+            return data.toLocalDate().atStartOfDay();
+        }
+        return LocalDateTime.parse(valor.toString(), FORMATO_HORA);
+    }
+
+    private static BigDecimal decimal(Object valor) {
+        return valor instanceof BigDecimal decimal ? decimal : new BigDecimal(valor.toString());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // não abre conexão: tudo em memória
+    public RelatorioAnaliticoResponseDTO relatorioAnalitico(FiltroAnaliticoRequestDTO dto) {
+        PedidoColumnStore columnStore = pedidoColumnStore.getIfAvailable();
+        if (columnStore == null) {
+            throw new ServicoIndisponivelException("Relatórios analíticos desabilitados (delivery.analytics.enabled)");
+        }
+        DimensaoPedido dimensao = DimensaoPedido.fromString(dto.getAgruparPor());
+
+        Set<StatusPedido> status = null;
+        if (dto.getStatus() != null && !dto.getStatus().isEmpty()) {
+            status = EnumSet.noneOf(StatusPedido.class);
+            for (String s : dto.getStatus()) {
+                status.add(StatusPedido.fromString(s));
+            }
+        }
+        FiltroPedidos filtro = new FiltroPedidos(
+                status,
+                dto.getRestauranteId(),
+                dto.getClienteId(),
+                dto.getHoraInicio(),
+                dto.getHoraFim(),
+                centavos(dto.getValorMinimo()),
+                centavos(dto.getValorMaximo()),
+                dto.getInicio() != null ? dto.getInicio().toInstant(ZoneOffset.UTC).toEpochMilli() : null,
+                dto.getFim() != null ? dto.getFim().toInstant(ZoneOffset.UTC).toEpochMilli() : null);
+
+        PedidoColumnStore.ResultadoConsulta resultado = columnStore.consultar(filtro, dimensao);
+
+        List<GrupoAnaliticoDTO> grupos = new ArrayList<>(resultado.grupos().size());
+        long filtrados = 0;
+        for (Map.Entry<Long, AgregadoGrupo> grupo : new TreeMap<>(resultado.grupos()).entrySet()) {
+            AgregadoGrupo agregado = grupo.getValue();
+            filtrados += agregado.getQuantidade();
+            grupos.add(new GrupoAnaliticoDTO(
+                    dimensao.rotulo(grupo.getKey()),
+                    agregado.getQuantidade(),
+                    BigDecimal.valueOf(agregado.getSomaCentavos(), 2),
+                    BigDecimal.valueOf(agregado.getSomaCentavos(), 2)
+                            .divide(BigDecimal.valueOf(agregado.getQuantidade()), 2, RoundingMode.HALF_UP),
+                    BigDecimal.valueOf(agregado.getMinimoCentavos(), 2),
+                    BigDecimal.valueOf(agregado.getMaximoCentavos(), 2)));
+        }
+        return new RelatorioAnaliticoResponseDTO(dimensao.name(), resultado.linhasVarridas(), filtrados, grupos);
+    }
+
+    private static Long centavos(BigDecimal valor) {
+        return valor != null ? valor.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue() : null;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // snapshot em memória
+    public RankingResponseDTO ranking(String janela, String tipo, Integer limite) {
+        JanelaRanking janelaRanking = JanelaRanking.fromString(janela);
+        TipoRanking tipoRanking = TipoRanking.fromString(tipo);
+        int tamanhoMaximo = rankingPedidos.getTamanhoRanking();
+        int quantidade = limite != null ? limite : tamanhoMaximo;
+        if (quantidade < 1 || quantidade > tamanhoMaximo) {
+            throw new BusinessException("O limite deve estar entre 1 e " + tamanhoMaximo);
+        }
+
+        RankingPedidos.Ranking ranking = rankingPedidos.ranking(janelaRanking);
+        List<RankingPedidos.ItemRanking> itens = tipoRanking == TipoRanking.RESTAURANTES
+                ? ranking.restaurantes()
+                : ranking.categorias();
+
+        List<ItemRankingDTO> resposta = new ArrayList<>(Math.min(quantidade, itens.size()));
+        for (int i = 0; i < itens.size() && i < quantidade; i++) {
+            RankingPedidos.ItemRanking item = itens.get(i);
+            resposta.add(new ItemRankingDTO(i + 1, item.id(), item.nome(), item.quantidade()));
+        }
+        return new RankingResponseDTO(janelaRanking.name(), tipoRanking.name(), ranking.atualizadoEm(), resposta);
+    }
+}
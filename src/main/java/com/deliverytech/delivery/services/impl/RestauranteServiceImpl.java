@@ -1,17 +1,38 @@
 package com.deliverytech.delivery.services.impl;
 
+import com.deliverytech.delivery.busca.GradeGeografica;
+import com.deliverytech.delivery.busca.IndiceBusca;
+import com.deliverytech.delivery.busca.IndiceGeograficoRestaurantes;
+import com.deliverytech.delivery.busca.PaginaBusca;
+import com.deliverytech.delivery.cache.Caches;
+import com.deliverytech.delivery.cache.IdsAtivosCache;
+import com.deliverytech.delivery.datasource.LeituraNoPrimario;
 import com.deliverytech.delivery.dto.request.RestauranteRequestDTO;
+import com.deliverytech.delivery.dto.response.PaginaCursorResponseDTO;
+import com.deliverytech.delivery.dto.response.RestauranteProximoResponseDTO;
 import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
 import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.enums.TipoItemBusca;
+import com.deliverytech.delivery.events.CardapioAlteradoEvent;
+import com.deliverytech.delivery.events.ItemBuscavelAlteradoEvent;
+import com.deliverytech.delivery.exceptions.BusinessException;
 import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.exceptions.ServicoIndisponivelException;
+import com.deliverytech.delivery.mapper.RestauranteMapper;
 import com.deliverytech.delivery.repository.RestauranteRepository;
 import com.deliverytech.delivery.services.RestauranteService;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.math.BigDecimal;
@@ -20,59 +41,99 @@ import java.math.BigDecimal;
 @Transactional
 public class RestauranteServiceImpl implements RestauranteService {
 
+    private static final double RAIO_PADRAO_KM = 5.0;
+    private static final int LIMITE_PADRAO_PROXIMOS = 20;
+    private static final int LIMITE_MAXIMO_PROXIMOS = 100;
+
     @Autowired
     private RestauranteRepository restauranteRepository;
 
     @Autowired
-    private ModelMapper modelMapper; 
+    private RestauranteMapper restauranteMapper;
+
+    @Autowired
+    private IdsAtivosCache idsAtivosCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private IndiceBusca indiceBusca;
+
+    @Autowired
+    private IndiceGeograficoRestaurantes indiceGeografico;
+
+    @Value("${delivery.restaurantes.proximos.raio-maximo-km:50}")
+    private double raioMaximoKm;
 
     @Override
+    @CacheEvict(cacheNames = Caches.RESTAURANTES_ATIVOS, allEntries = true)
     public RestauranteResponseDTO cadastrar(RestauranteRequestDTO dto) {
         // Mapeia DTO para Entidade
-        Restaurante restaurante = modelMapper.map(dto, Restaurante.class);
+        Restaurante restaurante = restauranteMapper.toEntity(dto);
 
         // Define regras de negócio
         restaurante.setAtivo(true);
         restaurante.setAvaliacao(new BigDecimal("0.0"));
 
         Restaurante restauranteSalvo = restauranteRepository.save(restaurante);
+        idsAtivosCache.atualizarRestaurante(restauranteSalvo.getId(), true);
+        eventPublisher.publishEvent(ItemBuscavelAlteradoEvent.de(restauranteSalvo));
+        indiceGeografico.atualizar(restauranteSalvo);
 
         // Mapeia Entidade para DTO de Resposta
-        return modelMapper.map(restauranteSalvo, RestauranteResponseDTO.class);
+        return restauranteMapper.toResponse(restauranteSalvo);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = Caches.RESTAURANTES, key = "#id")
     public RestauranteResponseDTO buscarPorId(Long id) {
-        Restaurante restaurante = restauranteRepository.findById(id)
+        // Preenche um cache compartilhado: lê do primário, não de uma réplica possivelmente atrasada
+        Restaurante restaurante = LeituraNoPrimario.executar(() -> restauranteRepository.findById(id))
         .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado com id: " + id));
 
-        return modelMapper.map(restaurante, RestauranteResponseDTO.class);        
+        return restauranteMapper.toResponse(restaurante);        
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = Caches.RESTAURANTES_ATIVOS)
     public List<RestauranteResponseDTO> listarAtivos() {
-        return restauranteRepository.findByAtivoTrue().stream()
-                .map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class))
+        // Valor que vai para o cache: lê do primário
+        return LeituraNoPrimario.executar(restauranteRepository::findByAtivoTrue).stream()
+                .map(restauranteMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = Caches.RESTAURANTES, key = "#id"),
+            @CacheEvict(cacheNames = Caches.RESTAURANTES_ATIVOS, allEntries = true),
+            @CacheEvict(cacheNames = Caches.CARDAPIOS, key = "#id") // produtos embutem o restaurante
+    })
     public RestauranteResponseDTO atualizar(Long id, RestauranteRequestDTO dto) {
         Restaurante restaurante = restauranteRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado: " + id));
 
         // Atualiza os campos da entidade com base no DTO
-        modelMapper.map(dto, restaurante);
+        restauranteMapper.updateEntity(dto, restaurante);
         
         // Garante que campos não presentes no DTO (como avaliacao) sejam preservados
 
         Restaurante restauranteSalvo = restauranteRepository.save(restaurante);
-        return modelMapper.map(restauranteSalvo, RestauranteResponseDTO.class);
+        eventPublisher.publishEvent(new CardapioAlteradoEvent(id)); // produtos embutem o restaurante
+        eventPublisher.publishEvent(ItemBuscavelAlteradoEvent.de(restauranteSalvo));
+        indiceGeografico.atualizar(restauranteSalvo);
+        return restauranteMapper.toResponse(restauranteSalvo);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = Caches.RESTAURANTES, key = "#id"),
+            @CacheEvict(cacheNames = Caches.RESTAURANTES_ATIVOS, allEntries = true),
+            @CacheEvict(cacheNames = Caches.CARDAPIOS, key = "#id")
+    })
     public RestauranteResponseDTO ativarDesativar(Long id) {
         Restaurante restaurante = restauranteRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado: " + id));
@@ -83,22 +144,94 @@ public class RestauranteServiceImpl implements RestauranteService {
         restaurante.setAtivo(false);
         
         Restaurante restauranteSalvo = restauranteRepository.save(restaurante);
-        return modelMapper.map(restauranteSalvo, RestauranteResponseDTO.class);
+        idsAtivosCache.atualizarRestaurante(id, Boolean.TRUE.equals(restauranteSalvo.getAtivo()));
+        eventPublisher.publishEvent(new CardapioAlteradoEvent(id));
+        eventPublisher.publishEvent(ItemBuscavelAlteradoEvent.de(restauranteSalvo));
+        indiceGeografico.atualizar(restauranteSalvo);
+        return restauranteMapper.toResponse(restauranteSalvo);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<RestauranteResponseDTO> buscarPorNome(String nome) {
-        return restauranteRepository.findByNomeContainingIgnoreCase(nome).stream()
-                .map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class))
-                .collect(Collectors.toList());
+    public PaginaCursorResponseDTO<RestauranteResponseDTO> buscarPorNome(String nome, String cursor, Integer limite) {
+        PaginaBusca pagina = indiceBusca.pagina(cursor, limite);
+        if (!indiceBusca.isPronto()) {
+            return paginarAtivos(restauranteRepository.findByNomeContainingIgnoreCase(nome), pagina);
+        }
+        return carregarPorRelevancia(indiceBusca.buscar(TipoItemBusca.RESTAURANTE, nome, pagina));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursorResponseDTO<RestauranteResponseDTO> buscarPorCategoria(String categoria, String cursor,
+                                                                             Integer limite) {
+        PaginaBusca pagina = indiceBusca.pagina(cursor, limite);
+        if (!indiceBusca.isPronto()) {
+            return paginarAtivos(restauranteRepository.findByCategoriaContainingIgnoreCase(categoria), pagina);
+        }
+        return carregarPorRelevancia(indiceBusca.buscarPorCategoria(TipoItemBusca.RESTAURANTE, categoria, pagina));
+    }
+
+    // IDs vindos do índice de busca, já em ordem de relevância
+    private PaginaCursorResponseDTO<RestauranteResponseDTO> carregarPorRelevancia(IndiceBusca.Resultado resultado) {
+        List<Long> ids = resultado.ids();
+        if (ids.isEmpty()) {
+            return new PaginaCursorResponseDTO<>(List.of(), resultado.proximoCursor());
+        }
+        return new PaginaCursorResponseDTO<>(
+                IndiceBusca.ordenar(restauranteRepository.findAllById(ids), ids, Restaurante::getId).stream()
+                        .map(restauranteMapper::toResponse)
+                        .collect(Collectors.toList()),
+                resultado.proximoCursor());
+    }
+
+    // Enquanto o índice carrega: resultado do LIKE no banco, com o mesmo corte de inativos e o mesmo cursor
+    private PaginaCursorResponseDTO<RestauranteResponseDTO> paginarAtivos(List<Restaurante> restaurantes,
+                                                                          PaginaBusca pagina) {
+        List<Restaurante> ativos = restaurantes.stream()
+                .filter(restaurante -> Boolean.TRUE.equals(restaurante.getAtivo()))
+                .toList();
+        return new PaginaCursorResponseDTO<>(pagina.recortar(ativos).stream()
+                .map(restauranteMapper::toResponse)
+                .collect(Collectors.toList()), pagina.proximoCursor(ativos.size()));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<RestauranteResponseDTO> buscarPorCategoria(String categoria) {
-        return restauranteRepository.findByCategoriaContainingIgnoreCase(categoria).stream()
-                .map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class))
+    public List<RestauranteProximoResponseDTO> buscarProximos(Double latitude, Double longitude, Double raioKm,
+                                                              String categoria, BigDecimal taxaMaxima, Integer limite) {
+        if (latitude == null || latitude < -90 || latitude > 90) {
+            throw new BusinessException("A latitude deve estar entre -90 e 90");
+        }
+        if (longitude == null || longitude < -180 || longitude > 180) {
+            throw new BusinessException("A longitude deve estar entre -180 e 180");
+        }
+        double raio = raioKm != null ? raioKm : RAIO_PADRAO_KM;
+        if (!(raio > 0 && raio <= raioMaximoKm)) {
+            throw new BusinessException("O raio deve ser maior que 0 e no máximo " + raioMaximoKm + " km");
+        }
+        int quantidade = limite != null ? limite : LIMITE_PADRAO_PROXIMOS;
+        if (quantidade < 1 || quantidade > LIMITE_MAXIMO_PROXIMOS) {
+            throw new BusinessException("O limite deve estar entre 1 e " + LIMITE_MAXIMO_PROXIMOS);
+        }
+        if (!indiceGeografico.isCarregado()) {
+            throw new ServicoIndisponivelException("Índice geográfico ainda carregando, tente novamente em instantes");
+        }
+
+        List<GradeGeografica.Resultado> resultados =
+                indiceGeografico.proximos(latitude, longitude, raio, categoria, taxaMaxima, quantidade);
+        if (resultados.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Restaurante> restaurantes = restauranteRepository
+                .findAllById(resultados.stream().map(GradeGeografica.Resultado::id).toList()).stream()
+                .collect(Collectors.toMap(Restaurante::getId, Function.identity()));
+        // Ordem do índice (distância); um restaurante removido entre o índice e o banco é ignorado
+        return resultados.stream()
+                .filter(resultado -> restaurantes.containsKey(resultado.id()))
+                .map(resultado -> new RestauranteProximoResponseDTO(
+                        restauranteMapper.toResponse(restaurantes.get(resultado.id())),
+                        Math.round(resultado.distanciaKm() * 100) / 100.0))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.deliverytech.delivery.services.impl;
+
+import com.deliverytech.delivery.busca.IndiceSugestoes;
+import com.deliverytech.delivery.dto.response.SugestaoResponseDTO;
+import com.deliverytech.delivery.exceptions.BusinessException;
+import com.deliverytech.delivery.services.SugestaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class SugestaoServiceImpl implements SugestaoService {
+
+    @Autowired
+    private IndiceSugestoes indiceSugestoes;
+
+    @Override
+    public List<SugestaoResponseDTO> sugerir(String prefixo, Integer limite) {
+        int maximo = indiceSugestoes.getTopK();
+        int quantidade = limite != null ? limite : maximo;
+        if (quantidade < 1 || quantidade > maximo) {
+            throw new BusinessException("O limite deve estar entre 1 e " + maximo);
+        }
+        return indiceSugestoes.sugerir(prefixo, quantidade).stream()
+                .map(sugestao -> new SugestaoResponseDTO(sugestao.tipo(), sugestao.id(), sugestao.texto()))
+                .toList();
+    }
+}
@@ -0,0 +1,182 @@
+package com.deliverytech.delivery.services.impl;
+
+import com.deliverytech.delivery.dto.response.DivergenciaVendaDiariaDTO;
+import com.deliverytech.delivery.dto.response.VerificacaoVendasDiariasResponseDTO;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.VendaDiaria;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.projection.VendaDiariaAgregada;
+import com.deliverytech.delivery.repository.VendaDiariaRepository;
+import com.deliverytech.delivery.services.VendasDiariasService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mantém o agregado vendas_diarias.
+ *
+ * - Cada grupo (restaurante × dia × status) é dividido em FAIXAS linhas; cada chamada
+ *   acumula numa faixa sorteada e os relatórios somam as faixas. Assim a linha PENDENTE
+ *   do dia de um restaurante movimentado não serializa todas as transações de pedidos.
+ * - Dentro de uma chamada os upserts seguem a ordem das chaves (restaurante, dia, status),
+ *   a mesma em todas as transações, o que evita deadlock entre lotes concorrentes.
+ * - A reconstrução roda em blocos de restaurantes, cada um na sua transação: só os
+ *   pedidos do bloco em andamento esperam.
+ */
+@Service
+@Transactional
+public class VendasDiariasServiceImpl implements VendasDiariasService {
+
+    static final int FAIXAS = 8;
+    static final int RESTAURANTES_POR_BLOCO = 100;
+
+    // Ordem fixa de aquisição dos locks
+    private static final Comparator<Grupo> ORDEM_DOS_LOCKS = Comparator
+            .comparing(Grupo::restauranteId)
+            .thenComparing(Grupo::dia)
+            .thenComparing(grupo -> grupo.status().name());
+
+    @Autowired
+    private VendaDiariaRepository vendaDiariaRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private record Grupo(Long restauranteId, LocalDate dia, StatusPedido status) {
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCriacao(Collection<Pedido> pedidos) {
+        // Agrupa antes: um lote de pedidos do mesmo restaurante/dia vira um único upsert
+        Map<Grupo, long[]> quantidades = new TreeMap<>(ORDEM_DOS_LOCKS);
+        Map<Grupo, BigDecimal> valores = new HashMap<>();
+        for (Pedido pedido : pedidos) {
+            Grupo grupo = grupo(pedido, pedido.getStatus());
+            if (grupo == null) {
+                continue;
+            }
+            quantidades.computeIfAbsent(grupo, k -> new long[1])[0]++;
+            valores.merge(grupo, valor(pedido), BigDecimal::add);
+        }
+        int faixa = sortearFaixa();
+        quantidades.forEach((grupo, quantidade) ->
+                acumular(grupo, faixa, quantidade[0], valores.get(grupo)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarTransicao(Pedido pedido, StatusPedido origem, StatusPedido destino) {
+        Grupo deOrigem = grupo(pedido, origem);
+        Grupo deDestino = grupo(pedido, destino);
+        if (deOrigem == null || deDestino == null) {
+            return;
+        }
+        BigDecimal valor = valor(pedido);
+        Map<Grupo, Long> deltas = new TreeMap<>(ORDEM_DOS_LOCKS);
+        deltas.put(deOrigem, -1L);
+        deltas.put(deDestino, 1L);
+        int faixa = sortearFaixa();
+        deltas.forEach((grupo, delta) ->
+                acumular(grupo, faixa, delta, delta > 0 ? valor : valor.negate()));
+    }
+
+    /**
+     * Apaga e recalcula o agregado em blocos de RESTAURANTES_POR_BLOCO restaurantes, um por
+     * transação. No InnoDB o INSERT ... SELECT de cada bloco bloqueia só os pedidos daqueles
+     * restaurantes, que esperam o fim do bloco; os demais seguem sendo gravados.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int reconstruir() {
+        int linhas = 0;
+        long apos = 0L;
+        while (true) {
+            List<Long> ids = vendaDiariaRepository.findIdsRestaurantesApos(apos, Limit.of(RESTAURANTES_POR_BLOCO));
+            // O último bloco vai até o fim, incluindo linhas de restaurantes que não existem mais
+            long ate = ids.size() < RESTAURANTES_POR_BLOCO ? Long.MAX_VALUE : ids.get(ids.size() - 1);
+            long inicio = apos;
+            Integer geradas = transactionTemplate.execute(status -> {
+                vendaDiariaRepository.apagarRestaurantes(inicio, ate);
+                return vendaDiariaRepository.reconstruirRestaurantes(inicio, ate);
+            });
+            linhas += geradas != null ? geradas : 0;
+            if (ate == Long.MAX_VALUE) {
+                return linhas;
+            }
+            apos = ate;
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VerificacaoVendasDiariasResponseDTO verificar() {
+        Map<Grupo, VendaDiariaAgregada> esperado = new HashMap<>();
+        for (VendaDiariaAgregada linha : vendaDiariaRepository.calcularAPartirDosPedidos()) {
+            esperado.put(new Grupo(linha.getRestauranteId(), linha.getDia(), linha.getStatus()), linha);
+        }
+        // Soma das faixas de cada grupo
+        Map<Grupo, long[]> quantidadesAgregadas = new HashMap<>();
+        Map<Grupo, BigDecimal> valoresAgregados = new HashMap<>();
+        for (VendaDiaria venda : vendaDiariaRepository.findAll()) {
+            Grupo grupo = new Grupo(venda.getId().getRestauranteId(), venda.getId().getDia(), venda.getId().getStatus());
+            quantidadesAgregadas.computeIfAbsent(grupo, k -> new long[1])[0] +=
+                    venda.getQuantidade() != null ? venda.getQuantidade() : 0L;
+            valoresAgregados.merge(grupo, venda.getValorTotal() != null ? venda.getValorTotal() : BigDecimal.ZERO,
+                    BigDecimal::add);
+        }
+
+        Set<Grupo> chaves = new HashSet<>(esperado.keySet());
+        chaves.addAll(quantidadesAgregadas.keySet());
+
+        List<DivergenciaVendaDiariaDTO> divergencias = new ArrayList<>();
+        for (Grupo chave : chaves) {
+            VendaDiariaAgregada calculada = esperado.get(chave);
+            long quantidadeEsperada = calculada != null ? calculada.getQuantidade() : 0L;
+            long quantidadeAgregada = quantidadesAgregadas.containsKey(chave) ? quantidadesAgregadas.get(chave)[0] : 0L;
+            BigDecimal valorEsperado = calculada != null ? calculada.getValorTotal() : BigDecimal.ZERO;
+            BigDecimal valorAgregado = valoresAgregados.getOrDefault(chave, BigDecimal.ZERO);
+
+            // Linhas zeradas no agregado (todos os pedidos mudaram de status) equivalem a ausência
+            if (quantidadeEsperada != quantidadeAgregada || valorEsperado.compareTo(valorAgregado) != 0) {
+                divergencias.add(new DivergenciaVendaDiariaDTO(chave.restauranteId(), chave.dia(),
+                        chave.status().name(), quantidadeEsperada, quantidadeAgregada, valorEsperado, valorAgregado));
+            }
+        }
+        return new VerificacaoVendasDiariasResponseDTO(divergencias.isEmpty(), chaves.size(), divergencias);
+    }
+
+    private void acumular(Grupo grupo, int faixa, long quantidade, BigDecimal valor) {
+        vendaDiariaRepository.acumular(grupo.restauranteId(), grupo.dia(), grupo.status().name(), faixa, quantidade, valor);
+    }
+
+    private static int sortearFaixa() {
+        return ThreadLocalRandom.current().nextInt(FAIXAS);
+    }
+
+    private static Grupo grupo(Pedido pedido, StatusPedido status) {
+        if (pedido.getRestaurante() == null || pedido.getDataPedido() == null || status == null) {
+            return null;
+        }
+        return new Grupo(pedido.getRestaurante().getId(), pedido.getDataPedido().toLocalDate(), status);
+    }
+
+    private static BigDecimal valor(Pedido pedido) {
+        return pedido.getValorTotal() != null ? pedido.getValorTotal() : BigDecimal.ZERO;
+    }
+}
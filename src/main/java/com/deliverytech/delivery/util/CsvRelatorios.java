@@ -0,0 +1,29 @@
+package com.deliverytech.delivery.util;
+
+import com.deliverytech.delivery.dto.response.RelatorioResponseDTO;
+import com.deliverytech.delivery.dto.response.VendaProdutoResponseDTO;
+
+/**
+ * Colunas dos relatórios em CSV, as mesmas na exportação em streaming e nos jobs em segundo plano.
+ * Os cabeçalhos não devem ser alterados por quem os usa.
+ */
+public final class CsvRelatorios {
+
+    public static final String[] CABECALHO_VENDAS =
+            {"restaurante_id", "nome_restaurante", "total_vendas", "quantidade_pedidos"};
+    public static final String[] CABECALHO_VENDAS_POR_PRODUTO =
+            {"produto_id", "nome_produto", "restaurante_id", "quantidade_vendida", "total_vendas", "quantidade_pedidos"};
+
+    private CsvRelatorios() {
+    }
+
+    public static Object[] linhaVendas(RelatorioResponseDTO relatorio) {
+        return new Object[]{relatorio.getRestauranteId(), relatorio.getNomeRestaurante(),
+                relatorio.getTotalVendas(), relatorio.getQuantidadePedidos()};
+    }
+
+    public static Object[] linhaVendasPorProduto(VendaProdutoResponseDTO venda) {
+        return new Object[]{venda.getProdutoId(), venda.getNomeProduto(), venda.getRestauranteId(),
+                venda.getQuantidadeVendida(), venda.getTotalVendas(), venda.getQuantidadePedidos()};
+    }
+}
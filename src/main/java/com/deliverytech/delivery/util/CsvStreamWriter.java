@@ -0,0 +1,56 @@
+package com.deliverytech.delivery.util;
+
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Escreve um CSV (RFC 4180, UTF-8) linha a linha, sem materializar as linhas em memória.
+ */
+@Component
+public class CsvStreamWriter {
+
+    /**
+     * @param produtor recebe um consumidor e o chama com os valores de cada linha
+     */
+    public void writeRows(OutputStream out, String[] cabecalho, Consumer<Consumer<Object[]>> produtor) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        escreverLinha(escritor, cabecalho);
+        produtor.accept(valores -> {
+            try {
+                escreverLinha(escritor, valores);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        escritor.flush();
+    }
+
+    private static void escreverLinha(Writer escritor, Object[] valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            escritor.write(campo(valores[i]));
+        }
+        escritor.write("\r\n");
+    }
+
+    private static String campo(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
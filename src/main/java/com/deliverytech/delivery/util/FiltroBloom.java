@@ -0,0 +1,107 @@
+package com.deliverytech.delivery.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para strings: responde "com certeza ausente" ou "talvez presente".
+ *
+ * - Dimensionado pela capacidade esperada e pela taxa de falsos positivos desejada
+ *   (m = -n·ln p / ln²2 bits, k = m/n·ln 2 funções de hash).
+ * - Hash de 64 bits do UTF-8 da string; as k posições vêm de hashing duplo (h1 + i·h2).
+ * - Thread-safe sem locks: os bits ficam num AtomicLongArray e só são ligados, nunca desligados.
+ *   Não há remoção; para descartar elementos, monte um filtro novo.
+ */
+public final class FiltroBloom {
+
+    private final AtomicLongArray palavras;
+    private final long bits;
+    private final int funcoesHash;
+
+    public FiltroBloom(long capacidadeEsperada, double taxaFalsosPositivos) {
+        if (capacidadeEsperada <= 0) {
+            throw new IllegalArgumentException("Capacidade inválida: " + capacidadeEsperada);
+        }
+        if (!(taxaFalsosPositivos > 0 && taxaFalsosPositivos < 1)) {
+            throw new IllegalArgumentException("Taxa de falsos positivos inválida: " + taxaFalsosPositivos);
+        }
+        long bitsNecessarios = (long) Math.ceil(
+                -capacidadeEsperada * Math.log(taxaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+        int quantidadePalavras = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bitsNecessarios + 63) / 64));
+        this.palavras = new AtomicLongArray(quantidadePalavras);
+        this.bits = (long) quantidadePalavras * 64;
+        this.funcoesHash = Math.max(1, (int) Math.round((double) bits / capacidadeEsperada * Math.log(2)));
+    }
+
+    public void adicionar(String valor) {
+        long h1 = hash(valor);
+        long h2 = misturar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funcoesHash; i++) {
+            long posicao = ((h1 + i * h2) & Long.MAX_VALUE) % bits;
+            int indice = (int) (posicao >>> 6);
+            long mascara = 1L << posicao;
+            long atual = palavras.get(indice);
+            while ((atual & mascara) == 0) {
+                long anterior = palavras.compareAndExchange(indice, atual, atual | mascara);
+                if (anterior == atual) {
+                    break;
+                }
+                atual = anterior;
+            }
+        }
+    }
+
+    /**
+     * false = nunca foi adicionado; true = provavelmente foi (confirmar na fonte).
+     */
+    public boolean podeConter(String valor) {
+        long h1 = hash(valor);
+        long h2 = misturar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funcoesHash; i++) {
+            long posicao = ((h1 + i * h2) & Long.MAX_VALUE) % bits;
+            if ((palavras.get((int) (posicao >>> 6)) & (1L << posicao)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Taxa de falsos positivos estimada pela ocupação atual: (bits ligados / bits)^k.
+     * Percorre o filtro inteiro; feita para métricas, não para o caminho quente.
+     */
+    public double taxaFalsosPositivosEstimada() {
+        long ligados = 0;
+        for (int i = 0; i < palavras.length(); i++) {
+            ligados += Long.bitCount(palavras.get(i));
+        }
+        return Math.pow((double) ligados / bits, funcoesHash);
+    }
+
+    public long bits() {
+        return bits;
+    }
+
+    public int funcoesHash() {
+        return funcoesHash;
+    }
+
+    // FNV-1a sobre os bytes UTF-8, finalizado com o mix do MurmurHash3 para espalhar os bits
+    private static long hash(String valor) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return misturar(h);
+    }
+
+    private static long misturar(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE1A85EC9L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,38 @@
+package com.deliverytech.delivery.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Escreve um array JSON elemento a elemento, sem materializar a lista em memória.
+ */
+@Component
+public class JsonStreamWriter {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * @param produtor recebe um consumidor e o chama para cada elemento a ser escrito
+     */
+    public <T> void writeArray(OutputStream out, Consumer<Consumer<T>> produtor) throws IOException {
+        try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(out)) {
+            gerador.writeStartArray();
+            produtor.accept(elemento -> {
+                try {
+                    gerador.writeObject(elemento);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            gerador.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.deliverytech.delivery.util;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de long primitivos com endereçamento aberto (sondagem linear),
+ * sem boxing: ~8 bytes por elemento com fator de carga de 0.5 a 0.75.
+ *
+ * Aceita apenas valores positivos (0 marca posição vazia), o que cobre IDs do banco.
+ * Não é thread-safe: o chamador deve sincronizar.
+ */
+public class LongHashSet {
+
+    private static final int CAPACIDADE_MINIMA = 16;
+    private static final long VAZIO = 0L;
+
+    private long[] tabela;
+    private int tamanho;
+
+    public LongHashSet() {
+        this(CAPACIDADE_MINIMA);
+    }
+
+    public LongHashSet(int capacidadeEsperada) {
+        tabela = new long[capacidadePara(capacidadeEsperada)];
+    }
+
+    public boolean add(long valor) {
+        validar(valor);
+        int indice = procurar(tabela, valor);
+        if (tabela[indice] == valor) {
+            return false;
+        }
+        tabela[indice] = valor;
+        if (++tamanho > tabela.length * 3 / 4) {
+            redimensionar(tabela.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(long valor) {
+        return valor > 0 && tabela[procurar(tabela, valor)] == valor;
+    }
+
+    public boolean remove(long valor) {
+        if (valor <= 0) {
+            return false;
+        }
+        int mascara = tabela.length - 1;
+        int indice = procurar(tabela, valor);
+        if (tabela[indice] != valor) {
+            return false;
+        }
+        // Remoção com deslocamento para trás: mantém as cadeias de sondagem sem marcadores
+        int vazio = indice;
+        int atual = (indice + 1) & mascara;
+        while (tabela[atual] != VAZIO) {
+            int ideal = posicaoIdeal(tabela[atual], mascara);
+            // Move o elemento se a posição vazia está entre a posição ideal e a atual (circularmente)
+            if (((atual - ideal) & mascara) >= ((atual - vazio) & mascara)) {
+                tabela[vazio] = tabela[atual];
+                vazio = atual;
+            }
+            atual = (atual + 1) & mascara;
+        }
+        tabela[vazio] = VAZIO;
+        tamanho--;
+        return true;
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    public boolean isEmpty() {
+        return tamanho == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(tabela, VAZIO);
+        tamanho = 0;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        long[] antiga = tabela;
+        long[] nova = new long[novaCapacidade];
+        for (long valor : antiga) {
+            if (valor != VAZIO) {
+                nova[procurar(nova, valor)] = valor;
+            }
+        }
+        tabela = nova;
+    }
+
+    // Posição do valor, ou da primeira posição vazia da sua cadeia de sondagem
+    private static int procurar(long[] tabela, long valor) {
+        int mascara = tabela.length - 1;
+        int indice = posicaoIdeal(valor, mascara);
+        while (tabela[indice] != VAZIO && tabela[indice] != valor) {
+            indice = (indice + 1) & mascara;
+        }
+        return indice;
+    }
+
+    private static int posicaoIdeal(long valor, int mascara) {
+        // Hash de Fibonacci: espalha IDs sequenciais pela tabela
+        return (int) ((valor * 0x9E3779B97F4A7C15L) >>> 32) & mascara;
+    }
+
+    private static int capacidadePara(int esperado) {
+        int capacidade = Integer.highestOneBit(Math.max(CAPACIDADE_MINIMA, esperado * 2) - 1) << 1;
+        return Math.max(CAPACIDADE_MINIMA, capacidade);
+    }
+
+    private static void validar(long valor) {
+        if (valor <= 0) {
+            throw new IllegalArgumentException("LongHashSet aceita apenas valores positivos: " + valor);
+        }
+    }
+}
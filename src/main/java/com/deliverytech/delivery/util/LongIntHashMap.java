@@ -0,0 +1,89 @@
+package com.deliverytech.delivery.util;
+
+/**
+ * Mapa long -> int com endereçamento aberto (sondagem linear), sem boxing.
+ * Mesmo esquema do {@link LongHashSet}: chaves apenas positivas (0 marca posição vazia).
+ * Sem remoção, que o uso atual (ID do pedido -> linha do column store) não precisa.
+ *
+ * Não é thread-safe: o chamador deve sincronizar.
+ */
+public class LongIntHashMap {
+
+    private static final int CAPACIDADE_MINIMA = 16;
+    private static final long VAZIO = 0L;
+
+    private long[] chaves;
+    private int[] valores;
+    private int tamanho;
+
+    public LongIntHashMap() {
+        this(CAPACIDADE_MINIMA);
+    }
+
+    public LongIntHashMap(int capacidadeEsperada) {
+        int capacidade = capacidadePara(capacidadeEsperada);
+        chaves = new long[capacidade];
+        valores = new int[capacidade];
+    }
+
+    /**
+     * Associa o valor à chave, substituindo o anterior.
+     */
+    public void put(long chave, int valor) {
+        if (chave <= 0) {
+            throw new IllegalArgumentException("LongIntHashMap aceita apenas chaves positivas: " + chave);
+        }
+        int indice = procurar(chaves, chave);
+        if (chaves[indice] != chave) {
+            chaves[indice] = chave;
+            tamanho++;
+        }
+        valores[indice] = valor;
+        if (tamanho > chaves.length * 3 / 4) {
+            redimensionar(chaves.length * 2);
+        }
+    }
+
+    /**
+     * Valor associado à chave, ou valorPadrao se ausente.
+     */
+    public int get(long chave, int valorPadrao) {
+        if (chave <= 0) {
+            return valorPadrao;
+        }
+        int indice = procurar(chaves, chave);
+        return chaves[indice] == chave ? valores[indice] : valorPadrao;
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        long[] chavesAntigas = chaves;
+        int[] valoresAntigos = valores;
+        chaves = new long[novaCapacidade];
+        valores = new int[novaCapacidade];
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            if (chavesAntigas[i] != VAZIO) {
+                int indice = procurar(chaves, chavesAntigas[i]);
+                chaves[indice] = chavesAntigas[i];
+                valores[indice] = valoresAntigos[i];
+            }
+        }
+    }
+
+    private static int procurar(long[] chaves, long chave) {
+        int mascara = chaves.length - 1;
+        int indice = (int) ((chave * 0x9E3779B97F4A7C15L) >>> 32) & mascara;
+        while (chaves[indice] != VAZIO && chaves[indice] != chave) {
+            indice = (indice + 1) & mascara;
+        }
+        return indice;
+    }
+
+    private static int capacidadePara(int esperado) {
+        int capacidade = Integer.highestOneBit(Math.max(CAPACIDADE_MINIMA, esperado * 2) - 1) << 1;
+        return Math.max(CAPACIDADE_MINIMA, capacidade);
+    }
+}
@@ -0,0 +1,33 @@
+package com.deliverytech.delivery.util;
+
+import com.deliverytech.delivery.exceptions.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Cursor opaco da paginação por chave (keyset) de pedidos.
+ * Aponta para o último pedido retornado, na ordenação (data_pedido DESC, id DESC).
+ */
+public record PedidoCursor(LocalDateTime dataPedido, Long id) {
+
+    private static final char SEPARADOR = '_';
+
+    public String encode() {
+        String valor = dataPedido.toString() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PedidoCursor decode(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            return new PedidoCursor(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Cursor inválido: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.deliverytech.delivery.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Forma canônica de textos usados como chave nos índices em memória (autocomplete, facetas,
+ * grade geográfica): "Pizzas Doces " e "pizzas-doces" são a mesma categoria em todos eles.
+ */
+public final class TextoNormalizado {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private TextoNormalizado() {
+    }
+
+    /**
+     * Minúsculas, sem acentos, com qualquer sequência de pontuação/espaços virando um espaço.
+     * null vira "".
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
@@ -5,7 +5,8 @@ CREATE TABLE clientes (
     telefone VARCHAR(20),
     endereco VARCHAR(200),
     data_cadastro TIMESTAMP,
-    ativo BOOLEAN
+    ativo BOOLEAN,
+    CONSTRAINT uk_clientes_email UNIQUE (email)
 );
 
 CREATE TABLE restaurantes (
@@ -16,7 +17,9 @@ CREATE TABLE restaurantes (
     telefone VARCHAR(20),
     taxa_entrega DECIMAL(10,2),
     avaliacao DECIMAL(2,1),
-    ativo BOOLEAN
+    ativo BOOLEAN,
+    latitude DOUBLE,
+    longitude DOUBLE
 );
 
 CREATE TABLE produtos (
@@ -41,6 +44,67 @@ CREATE TABLE pedidos (
     cliente_id INT,
     restaurante_id INT,
     itens VARCHAR(200),
+    data_atualizacao TIMESTAMP,
     FOREIGN KEY (cliente_id) REFERENCES clientes(id),
     FOREIGN KEY (restaurante_id) REFERENCES restaurantes(id)
-);
\ No newline at end of file
+);
+
+-- Número do pedido é único (gerado por NumeroPedidoGenerator)
+CREATE UNIQUE INDEX uk_pedidos_numero_pedido ON pedidos (numero_pedido);
+
+-- Índices da paginação por chave (keyset) em (data_pedido, id)
+CREATE INDEX idx_pedidos_status_data ON pedidos (status, data_pedido, id);
+CREATE INDEX idx_pedidos_cliente_data ON pedidos (cliente_id, data_pedido, id);
+-- Retomada dos streams SSE por restaurante após reinício
+CREATE INDEX idx_pedidos_restaurante_atualizacao ON pedidos (restaurante_id, data_atualizacao);
+
+-- Sequência dos pedidos. O MySQL não tem SEQUENCE, então o Hibernate usa uma tabela
+-- com otimizador pooled (allocationSize = 50): next_val = MAX(id) + 50 faz o primeiro bloco
+-- começar em MAX(id) + 1. Com ddl-auto=update quem garante isso na subida é o
+-- SequenciasInicializador; as linhas abaixo valem para quem criar o schema por este arquivo.
+CREATE TABLE pedidos_seq (next_val BIGINT);
+INSERT INTO pedidos_seq SELECT COALESCE(MAX(id), 0) + 50 FROM pedidos;
+-- Agregado de vendas por restaurante × dia × status, mantido na transação dos pedidos
+-- (VendasDiariasService). Cada grupo é dividido em faixas (somadas na leitura) para que
+-- pedidos simultâneos não disputem a mesma linha. Reconstrução: POST /api/relatorios/vendas-diarias/reconstruir
+-- Bancos criados antes da coluna faixa: ALTER TABLE vendas_diarias DROP PRIMARY KEY,
+-- ADD PRIMARY KEY (restaurante_id, dia, status, faixa)
+CREATE TABLE vendas_diarias (
+    restaurante_id INT NOT NULL,
+    dia DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    faixa INT NOT NULL,
+    quantidade BIGINT NOT NULL,
+    valor_total DECIMAL(14,2) NOT NULL,
+    PRIMARY KEY (restaurante_id, dia, status, faixa),
+    FOREIGN KEY (restaurante_id) REFERENCES restaurantes(id)
+);
+INSERT INTO vendas_diarias (restaurante_id, dia, status, faixa, quantidade, valor_total)
+SELECT restaurante_id, CAST(data_pedido AS DATE), status, 0, COUNT(*), COALESCE(SUM(valor_total), 0)
+FROM pedidos
+WHERE restaurante_id IS NOT NULL AND data_pedido IS NOT NULL AND status IS NOT NULL
+GROUP BY restaurante_id, CAST(data_pedido AS DATE), status;
+
+-- Índice de cobertura da série temporal (/api/relatorios/serie-temporal): filtro por
+-- restaurante + intervalo de data_pedido, com status e valor_total lidos do próprio índice
+CREATE INDEX idx_pedidos_restaurante_data_cobertura ON pedidos (restaurante_id, data_pedido, status, valor_total);
+
+-- Itens estruturados dos pedidos. Nome e preço são copiados do produto no momento do pedido.
+-- Pedidos antigos (só com a descrição em pedidos.itens) são migrados por MigracaoItensPedidoJob
+-- (delivery.migracao.itens-pedido.enabled=true).
+CREATE TABLE itens_pedido (
+    id BIGINT PRIMARY KEY,
+    pedido_id INT NOT NULL,
+    produto_id INT NOT NULL,
+    nome_produto VARCHAR(100),
+    quantidade INT NOT NULL,
+    preco_unitario DECIMAL(10,2) NOT NULL,
+    FOREIGN KEY (pedido_id) REFERENCES pedidos(id),
+    FOREIGN KEY (produto_id) REFERENCES produtos(id)
+);
+CREATE INDEX idx_itens_pedido_pedido ON itens_pedido (pedido_id);
+CREATE INDEX idx_itens_pedido_produto ON itens_pedido (produto_id);
+
+-- Sequência dos itens (pooled, allocationSize = 50), como pedidos_seq
+CREATE TABLE itens_pedido_seq (next_val BIGINT);
+INSERT INTO itens_pedido_seq SELECT COALESCE(MAX(id), 0) + 50 FROM itens_pedido;
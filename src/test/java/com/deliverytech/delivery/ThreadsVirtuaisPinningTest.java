@@ -0,0 +1,139 @@
+package com.deliverytech.delivery;
+
+import com.deliverytech.delivery.analytics.PedidoColumnStore;
+import com.deliverytech.delivery.busca.IndiceFacetasProdutos;
+import com.deliverytech.delivery.cache.FiltroEmailsClientes;
+import com.deliverytech.delivery.cache.IdsAtivosCache;
+import com.deliverytech.delivery.repository.ClienteRepository;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Guarda contra synchronized em volta de JDBC: as cargas periódicas rodam numa thread virtual
+ * com um repositório que bloqueia como o driver, e o JFR (jdk.VirtualThreadPinned) registra
+ * toda espera que prenda a thread portadora. Um monitor segurado durante a leitura faz o teste falhar.
+ */
+class ThreadsVirtuaisPinningTest {
+
+    // Espera do "driver" em cada leitura
+    private static final long LATENCIA_MS = 20;
+
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(chamada -> {
+            chamada.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void guardaDetectaMonitorSeguradoDuranteUmaEspera() throws Exception {
+        Object monitor = new Object();
+
+        List<RecordedEvent> fixacoes = fixacoesDurante(() -> {
+            synchronized (monitor) {
+                esperarDriver();
+            }
+        });
+
+        assertFalse(fixacoes.isEmpty());
+    }
+
+    @Test
+    void idsAtivosNaoPrendemAThreadPortadora() throws Exception {
+        ClienteRepository clienteRepository = mock(ClienteRepository.class);
+        RestauranteRepository restauranteRepository = mock(RestauranteRepository.class);
+        when(clienteRepository.streamIdsAtivos()).thenAnswer(lento(() -> Stream.of(1L)));
+        when(restauranteRepository.streamIdsAtivos()).thenAnswer(lento(() -> Stream.of(2L)));
+        IdsAtivosCache cache = new IdsAtivosCache();
+        ReflectionTestUtils.setField(cache, "clienteRepository", clienteRepository);
+        ReflectionTestUtils.setField(cache, "restauranteRepository", restauranteRepository);
+        ReflectionTestUtils.setField(cache, "transactionTemplate", transactionTemplate);
+
+        assertEquals(List.of(), fixacoesDurante(cache::recarregar));
+    }
+
+    @Test
+    void columnStoreNaoPrendeAThreadPortadora() throws Exception {
+        PedidoRepository pedidoRepository = mock(PedidoRepository.class);
+        when(pedidoRepository.streamColunasAnaliticas()).thenAnswer(lento(Stream::<Object[]>empty));
+        PedidoColumnStore store = new PedidoColumnStore();
+        ReflectionTestUtils.setField(store, "pedidoRepository", pedidoRepository);
+        ReflectionTestUtils.setField(store, "transactionTemplate", transactionTemplate);
+
+        assertEquals(List.of(), fixacoesDurante(store::recarregar));
+    }
+
+    @Test
+    void indiceFacetasNaoPrendeAThreadPortadora() throws Exception {
+        ProdutoRepository produtoRepository = mock(ProdutoRepository.class);
+        when(produtoRepository.streamParaFacetas()).thenAnswer(lento(Stream::<Object[]>empty));
+        IndiceFacetasProdutos indice = new IndiceFacetasProdutos(new BigDecimal[]{new BigDecimal("20")}, 50);
+        ReflectionTestUtils.setField(indice, "produtoRepository", produtoRepository);
+        ReflectionTestUtils.setField(indice, "transactionTemplate", transactionTemplate);
+
+        assertEquals(List.of(), fixacoesDurante(indice::recarregar));
+    }
+
+    @Test
+    void filtroEmailsNaoPrendeAThreadPortadora() throws Exception {
+        ClienteRepository clienteRepository = mock(ClienteRepository.class);
+        when(clienteRepository.streamEmails()).thenAnswer(lento(() -> Stream.of("ana@exemplo.com")));
+        FiltroEmailsClientes filtro = new FiltroEmailsClientes(clienteRepository, transactionTemplate,
+                new SimpleMeterRegistry(), 0.01, 1_000);
+
+        assertEquals(List.of(), fixacoesDurante(filtro::recarregar));
+    }
+
+    private static <T> Answer<T> lento(Supplier<T> resultado) {
+        return chamada -> {
+            esperarDriver();
+            return resultado.get();
+        };
+    }
+
+    private static void esperarDriver() {
+        try {
+            Thread.sleep(LATENCIA_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<RecordedEvent> fixacoesDurante(Runnable carga) throws InterruptedException {
+        List<RecordedEvent> fixacoes = new CopyOnWriteArrayList<>();
+        try (RecordingStream jfr = new RecordingStream()) {
+            jfr.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            jfr.onEvent("jdk.VirtualThreadPinned", fixacoes::add);
+            jfr.startAsync();
+            Thread.ofVirtual().start(carga).join();
+            // Entrega os eventos pendentes antes de devolver
+            jfr.stop();
+        }
+        return fixacoes;
+    }
+}
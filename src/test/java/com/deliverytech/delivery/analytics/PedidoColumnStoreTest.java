@@ -0,0 +1,151 @@
+package com.deliverytech.delivery.analytics;
+
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.events.PedidoStatusAlteradoEvent;
+import com.deliverytech.delivery.exceptions.ServicoIndisponivelException;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Column store sem banco: carga e recarga com eventos concorrentes, e varreduras paralelas
+ * enquanto linhas são sobrescritas (nenhuma linha pode aparecer pela metade).
+ */
+@ExtendWith(MockitoExtension.class)
+class PedidoColumnStoreTest {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2026, 10, 17, 12, 0);
+    private static final FiltroPedidos SEM_FILTRO =
+            new FiltroPedidos(null, null, null, null, null, null, null, null, null);
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @InjectMocks
+    private PedidoColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(chamada -> {
+            chamada.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void consultaAntesDaCargaResponde503() {
+        assertThrows(ServicoIndisponivelException.class, () -> store.consultar(SEM_FILTRO, DimensaoPedido.TOTAL));
+    }
+
+    @Test
+    void eventoRecebidoDuranteARecargaPrevaleceSobreALinhaLida() {
+        when(pedidoRepository.streamColunasAnaliticas()).thenAnswer(chamada -> {
+            // Chegam enquanto a carga lê o banco: um pedido já lido muda de status e outro é criado
+            store.aoAlterarStatus(evento(1L, 10L, "10.00", StatusPedido.ENTREGUE));
+            store.aoAlterarStatus(evento(3L, 10L, "10.00", StatusPedido.ENTREGUE));
+            return Stream.of(
+                    linha(1L, 10L, "10.00", StatusPedido.PENDENTE),
+                    linha(2L, 10L, "10.00", StatusPedido.CONFIRMADO));
+        });
+
+        store.carregar();
+
+        Map<Long, AgregadoGrupo> porStatus = store.consultar(SEM_FILTRO, DimensaoPedido.STATUS).grupos();
+        assertEquals(3, store.tamanho());
+        assertEquals(2, porStatus.get((long) StatusPedido.ENTREGUE.ordinal()).getQuantidade());
+        assertEquals(1, porStatus.get((long) StatusPedido.CONFIRMADO.ordinal()).getQuantidade());
+        assertNull(porStatus.get((long) StatusPedido.PENDENTE.ordinal()));
+    }
+
+    @Test
+    void recargaTrocaATabelaPeloConteudoDoBanco() {
+        when(pedidoRepository.streamColunasAnaliticas())
+                .thenAnswer(chamada -> Stream.<Object[]>of(linha(1L, 10L, "10.00", StatusPedido.PENDENTE)))
+                .thenAnswer(chamada -> Stream.of(
+                        linha(1L, 10L, "10.00", StatusPedido.ENTREGUE),
+                        linha(2L, 20L, "30.00", StatusPedido.PENDENTE)));
+
+        store.carregar();
+        assertEquals(1, store.tamanho());
+
+        // Pedido 2 gravado por outra instância: só a recarga o traz
+        store.recarregar();
+
+        PedidoColumnStore.ResultadoConsulta total = store.consultar(SEM_FILTRO, DimensaoPedido.TOTAL);
+        assertEquals(2, total.linhasVarridas());
+        assertEquals(4000, total.grupos().get(0L).getSomaCentavos());
+    }
+
+    @Test
+    void varreduraConcorrenteNaoEnxergaLinhaPelaMetade() throws Exception {
+        when(pedidoRepository.streamColunasAnaliticas()).thenAnswer(chamada -> Stream.empty());
+        store.carregar();
+
+        // Mais linhas que LIMIAR_VARREDURA, para a varredura se dividir entre threads
+        int pedidos = 200_000;
+        for (long id = 1; id <= pedidos; id++) {
+            store.aoAlterarStatus(estado(id, id % 2 == 0));
+        }
+
+        // Cada linha alterna entre dois estados completos: restaurante 1 com R$ 10,00 ou restaurante 2 com R$ 20,00
+        AtomicBoolean parar = new AtomicBoolean();
+        Thread escritor = Thread.ofPlatform().start(() -> {
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            while (!parar.get()) {
+                store.aoAlterarStatus(estado(aleatorio.nextLong(1, pedidos + 1), aleatorio.nextBoolean()));
+            }
+        });
+        try {
+            for (int i = 0; i < 50; i++) {
+                Map<Long, AgregadoGrupo> grupos = store.consultar(SEM_FILTRO, DimensaoPedido.RESTAURANTE).grupos();
+                AgregadoGrupo restaurante1 = grupos.get(1L);
+                AgregadoGrupo restaurante2 = grupos.get(2L);
+                assertEquals(2, grupos.size());
+                assertEquals(pedidos, restaurante1.getQuantidade() + restaurante2.getQuantidade());
+                assertEquals(1000, restaurante1.getMinimoCentavos());
+                assertEquals(1000, restaurante1.getMaximoCentavos());
+                assertEquals(2000, restaurante2.getMinimoCentavos());
+                assertEquals(2000, restaurante2.getMaximoCentavos());
+            }
+        } finally {
+            parar.set(true);
+            escritor.join();
+        }
+    }
+
+    private static PedidoStatusAlteradoEvent estado(long id, boolean primeiro) {
+        return primeiro
+                ? evento(id, 1L, "10.00", StatusPedido.PENDENTE)
+                : evento(id, 2L, "20.00", StatusPedido.CONFIRMADO);
+    }
+
+    private static PedidoStatusAlteradoEvent evento(Long id, Long restauranteId, String valor, StatusPedido status) {
+        return new PedidoStatusAlteradoEvent(id, "P" + id, restauranteId, 99L, status.name(), DATA,
+                new BigDecimal(valor), DATA);
+    }
+
+    private static Object[] linha(Long id, Long restauranteId, String valor, StatusPedido status) {
+        return new Object[]{id, restauranteId, 99L, DATA, new BigDecimal(valor), status};
+    }
+}
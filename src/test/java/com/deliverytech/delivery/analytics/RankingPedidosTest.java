@@ -0,0 +1,137 @@
+package com.deliverytech.delivery.analytics;
+
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.events.PedidoStatusAlteradoEvent;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Rankings sem banco: eventos retidos durante o aquecimento (sem contar duas vezes o que a consulta
+ * já leu), cancelamentos e remoção dos totais zerados.
+ */
+@ExtendWith(MockitoExtension.class)
+class RankingPedidosTest {
+
+    private static final long CANTINA = 10L;
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+    @Mock
+    private RestauranteRepository restauranteRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @InjectMocks
+    private RankingPedidos ranking;
+
+    private LocalDateTime dataPedido;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ranking, "tamanhoRanking", 10);
+        dataPedido = LocalDateTime.now().minusMinutes(5);
+        lenient().doAnswer(chamada -> {
+            chamada.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(restauranteRepository.findResumos())
+                .thenReturn(List.<Object[]>of(new Object[]{CANTINA, "Cantina", "Italiana"}));
+    }
+
+    @Test
+    void eventoRetidoJaLidoPeloAquecimentoNaoContaDuasVezes() {
+        when(pedidoRepository.streamParaRanking(any(), any())).thenAnswer(chamada -> {
+            // Commitados enquanto a consulta lê: 1 e 2 já estão no resultado, 3 não
+            ranking.aoAlterarStatus(evento(1L, StatusPedido.PENDENTE));
+            ranking.aoAlterarStatus(evento(2L, StatusPedido.CANCELADO));
+            ranking.aoAlterarStatus(evento(3L, StatusPedido.PENDENTE));
+            return Stream.of(
+                    linha(1L, StatusPedido.PENDENTE),
+                    linha(2L, StatusPedido.CANCELADO),
+                    linha(4L, StatusPedido.ENTREGUE));
+        });
+
+        ranking.aquecer();
+
+        assertEquals(3, quantidadeCantina(JanelaRanking.HORA)); // pedidos 1, 3 e 4
+        assertEquals(3, quantidadeCantina(JanelaRanking.SEMANA));
+    }
+
+    @Test
+    void eventoAnteriorAoAquecimentoFicaRetidoAteOFim() {
+        when(pedidoRepository.streamParaRanking(any(), any())).thenAnswer(chamada -> Stream.empty());
+
+        ranking.aoAlterarStatus(evento(1L, StatusPedido.PENDENTE));
+        ranking.atualizarRankings();
+        assertEquals(List.of(), ranking.ranking(JanelaRanking.HORA).restaurantes());
+
+        ranking.aquecer();
+
+        assertEquals(1, quantidadeCantina(JanelaRanking.HORA));
+    }
+
+    @Test
+    void cancelamentoDepoisDoAquecimentoDescontaDaContagem() {
+        when(pedidoRepository.streamParaRanking(any(), any()))
+                .thenAnswer(chamada -> Stream.of(linha(1L, StatusPedido.PENDENTE), linha(2L, StatusPedido.PENDENTE)));
+        ranking.aquecer();
+
+        ranking.aoAlterarStatus(evento(2L, StatusPedido.CANCELADO));
+        ranking.atualizarRankings();
+
+        assertEquals(1, quantidadeCantina(JanelaRanking.DIA));
+    }
+
+    @Test
+    void restauranteComContagemZeradaSaiDosTotais() {
+        when(pedidoRepository.streamParaRanking(any(), any())).thenAnswer(chamada -> Stream.empty());
+        ranking.aquecer();
+
+        // Restaurante fora do cache de resumos: enquanto estiver nos totais, seria buscado no banco
+        long desconhecido = 77L;
+        ranking.aoAlterarStatus(evento(1L, desconhecido, StatusPedido.PENDENTE));
+        ranking.aoAlterarStatus(evento(1L, desconhecido, StatusPedido.CANCELADO));
+        ranking.atualizarRankings();
+
+        verify(restauranteRepository, never()).findResumosPorIds(any());
+        assertEquals(List.of(), ranking.ranking(JanelaRanking.SEMANA).restaurantes());
+    }
+
+    private long quantidadeCantina(JanelaRanking janela) {
+        List<RankingPedidos.ItemRanking> itens = ranking.ranking(janela).restaurantes();
+        assertEquals(1, itens.size());
+        assertEquals(CANTINA, itens.get(0).id());
+        return itens.get(0).quantidade();
+    }
+
+    private PedidoStatusAlteradoEvent evento(Long pedidoId, StatusPedido status) {
+        return evento(pedidoId, CANTINA, status);
+    }
+
+    private PedidoStatusAlteradoEvent evento(Long pedidoId, Long restauranteId, StatusPedido status) {
+        return new PedidoStatusAlteradoEvent(pedidoId, "P" + pedidoId, restauranteId, 99L, status.name(),
+                dataPedido, new BigDecimal("10.00"), LocalDateTime.now());
+    }
+
+    private Object[] linha(Long pedidoId, StatusPedido status) {
+        return new Object[]{pedidoId, CANTINA, dataPedido, status};
+    }
+}
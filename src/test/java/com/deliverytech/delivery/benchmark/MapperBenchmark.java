@@ -0,0 +1,87 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.mapper.ClienteMapper;
+import com.deliverytech.delivery.mapper.PedidoMapper;
+import com.deliverytech.delivery.mapper.RestauranteMapper;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o ModelMapper (configuração antiga: LOOSE + acesso a campos privados)
+ * com os mappers explícitos no caminho de listagem de pedidos.
+ *
+ * Execução: rodar o método main a partir da IDE (classpath de teste).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "100"})
+    private int tamanhoLista;
+
+    private List<Pedido> pedidos;
+    private ModelMapper modelMapper;
+    private PedidoMapper pedidoMapper;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.LOOSE)
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+
+        pedidoMapper = new PedidoMapper(new ClienteMapper(), new RestauranteMapper());
+
+        Cliente cliente = new Cliente(1L, "João Silva", "joao@email.com", "(11) 99999-1111",
+                "Rua A, 123", LocalDateTime.now(), true);
+        Restaurante restaurante = new Restaurante(1L, "Pizzaria Bella", "Italiana", "Av. Paulista, 1000",
+                "(11) 3333-1111", new BigDecimal("5.00"), new BigDecimal("4.5"), true, -23.5646, -46.6527);
+
+        pedidos = new ArrayList<>(tamanhoLista);
+        for (int i = 0; i < tamanhoLista; i++) {
+            pedidos.add(new Pedido((long) i, "PED" + i, LocalDateTime.now(), StatusPedido.PENDENTE,
+                    new BigDecimal("54.80"), "Sem cebola", "Pizza Margherita", new ArrayList<>(), cliente, restaurante, null));
+        }
+    }
+
+    @Benchmark
+    public void modelMapper(Blackhole bh) {
+        for (Pedido pedido : pedidos) {
+            bh.consume(modelMapper.map(pedido, PedidoResponseDTO.class));
+        }
+    }
+
+    @Benchmark
+    public void mapperExplicito(Blackhole bh) {
+        for (Pedido pedido : pedidos) {
+            bh.consume(pedidoMapper.toResponse(pedido));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
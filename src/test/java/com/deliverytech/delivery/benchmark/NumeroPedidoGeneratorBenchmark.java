@@ -0,0 +1,38 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.generator.SnowflakeNumeroPedidoGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Números de pedido por segundo com 8 threads disputando o mesmo gerador
+ * (a medição que antes ficava no teste de unicidade).
+ *
+ * Execução: rodar o método main a partir da IDE (classpath de teste).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class NumeroPedidoGeneratorBenchmark {
+
+    private final SnowflakeNumeroPedidoGenerator gerador = new SnowflakeNumeroPedidoGenerator(7);
+
+    @Benchmark
+    public String gerar() {
+        return gerador.gerar();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NumeroPedidoGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.DeliveryApiApplication;
+import com.deliverytech.delivery.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery.services.PedidoService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara pedidos/segundo entre o caminho unitário (criarPedido, um por vez)
+ * e o caminho em lote (criarPedidosEmLote), sobre H2 em memória.
+ * O score já é por pedido (@OperationsPerInvocation).
+ *
+ * Execução: rodar o método main a partir da IDE (classpath de teste).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PedidoIngestaoBenchmark {
+
+    private static final int PEDIDOS_POR_OPERACAO = 200;
+
+    private ConfigurableApplicationContext context;
+    private PedidoService pedidoService;
+    private List<PedidoRequestDTO> lote;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(DeliveryApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driverClassName=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.devtools.restart.enabled=false")
+                .run();
+        pedidoService = context.getBean(PedidoService.class);
+
+        // Clientes 1..3 e restaurantes 1..2 são criados pelo DataLoader
+        lote = new ArrayList<>(PEDIDOS_POR_OPERACAO);
+        for (int i = 0; i < PEDIDOS_POR_OPERACAO; i++) {
+            PedidoRequestDTO dto = new PedidoRequestDTO();
+            dto.setClienteId((long) (i % 3) + 1);
+            dto.setRestauranteId((long) (i % 2) + 1);
+            dto.setItens("Pizza Margherita");
+            dto.setValorTotal(new BigDecimal("54.80"));
+            lote.add(dto);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PEDIDOS_POR_OPERACAO)
+    public void pedidoUnitario(Blackhole bh) {
+        for (PedidoRequestDTO dto : lote) {
+            bh.consume(pedidoService.criarPedido(dto));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PEDIDOS_POR_OPERACAO)
+    public void pedidoEmLote(Blackhole bh) {
+        bh.consume(pedidoService.criarPedidosEmLote(lote));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PedidoIngestaoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
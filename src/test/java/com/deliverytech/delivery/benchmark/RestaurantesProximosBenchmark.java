@@ -0,0 +1,117 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.busca.GradeGeografica;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca por proximidade (/api/restaurantes/proximos) com 100k restaurantes:
+ * grade geográfica em memória contra o caminho antigo, em que o app baixava
+ * todos os restaurantes ativos e calculava a distância de cada um.
+ *
+ * Restaurantes distribuídos uniformemente num quadrado de ~70 km em volta de São Paulo;
+ * os pontos de busca variam a cada chamada dentro do mesmo quadrado.
+ * -Dbenchmark.restaurantes altera o volume; @Param tamanhoCelula compara granularidades da grade.
+ *
+ * Execução: rodar o método main a partir da IDE (classpath de teste).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestaurantesProximosBenchmark {
+
+    private static final double LATITUDE_BASE = -23.85;
+    private static final double LONGITUDE_BASE = -46.95;
+    private static final double LADO_GRAUS = 0.65;
+    private static final String[] CATEGORIAS = {"italiana", "japonesa", "hamburgueria", "brasileira", "arabe",
+            "pizzaria", "vegana", "chinesa", "mexicana", "doces"};
+    private static final int LIMITE = 20;
+
+    @Param({"0.01", "0.05"})
+    private double tamanhoCelula;
+
+    private GradeGeografica grade;
+    private double[] latitudes;
+    private double[] longitudes;
+    private String[] categorias;
+    private long[] taxas;
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() {
+        int total = Integer.getInteger("benchmark.restaurantes", 100_000);
+        SplittableRandom dados = new SplittableRandom(42);
+        grade = new GradeGeografica(tamanhoCelula);
+        latitudes = new double[total];
+        longitudes = new double[total];
+        categorias = new String[total];
+        taxas = new long[total];
+        for (int i = 0; i < total; i++) {
+            latitudes[i] = LATITUDE_BASE + dados.nextDouble() * LADO_GRAUS;
+            longitudes[i] = LONGITUDE_BASE + dados.nextDouble() * LADO_GRAUS;
+            categorias[i] = CATEGORIAS[dados.nextInt(CATEGORIAS.length)];
+            taxas[i] = dados.nextInt(1_500);
+            grade.colocar(i + 1, latitudes[i], longitudes[i], categorias[i], taxas[i]);
+        }
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public void gradeRaio2Km(Blackhole bh) {
+        bh.consume(grade.proximos(latitude(), longitude(), 2.0, null, null, LIMITE));
+    }
+
+    @Benchmark
+    public void gradeRaio5Km(Blackhole bh) {
+        bh.consume(grade.proximos(latitude(), longitude(), 5.0, null, null, LIMITE));
+    }
+
+    @Benchmark
+    public void gradeRaio10KmCategoriaETaxa(Blackhole bh) {
+        bh.consume(grade.proximos(latitude(), longitude(), 10.0, "japonesa", 800L, LIMITE));
+    }
+
+    /**
+     * Caminho antigo: distância de todos os restaurantes, filtro pelo raio e ordenação.
+     */
+    @Benchmark
+    public void baselineVarreduraRaio5Km(Blackhole bh) {
+        double latitude = latitude();
+        double longitude = longitude();
+        List<GradeGeografica.Resultado> dentro = new ArrayList<>();
+        for (int i = 0; i < latitudes.length; i++) {
+            double distancia = GradeGeografica.distanciaKm(latitude, longitude, latitudes[i], longitudes[i]);
+            if (distancia <= 5.0) {
+                dentro.add(new GradeGeografica.Resultado(i + 1, distancia));
+            }
+        }
+        dentro.sort(Comparator.comparingDouble(GradeGeografica.Resultado::distanciaKm));
+        bh.consume(dentro.subList(0, Math.min(LIMITE, dentro.size())));
+    }
+
+    private double latitude() {
+        return LATITUDE_BASE + random.nextDouble() * LADO_GRAUS;
+    }
+
+    private double longitude() {
+        return LONGITUDE_BASE + random.nextDouble() * LADO_GRAUS;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RestaurantesProximosBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
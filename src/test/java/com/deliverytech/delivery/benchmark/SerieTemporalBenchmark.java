@@ -0,0 +1,158 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.DeliveryApiApplication;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.services.RelatorioService;
+import com.deliverytech.delivery.services.VendasDiariasService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência da série temporal (/api/relatorios/serie-temporal) sobre uma tabela pedidos
+ * com 10M de linhas, comparada ao caminho antigo: carregar as entidades com
+ * findByDataPedidoBetween e agregar em memória.
+ *
+ * Usa MySQL (as funções de data e o índice de cobertura são do MySQL). A URL vem de
+ * -Dspring.datasource.url (padrão: a do application.properties); use um banco descartável.
+ * Os pedidos sintéticos são inseridos uma única vez (IDs a partir de 1.000.000.000),
+ * distribuídos em 2 anos entre os restaurantes 1 e 2 do DataLoader.
+ * -Dbenchmark.pedidos altera o volume.
+ *
+ * Para conferir o plano: EXPLAIN da consulta deve mostrar "Using index"
+ * em idx_pedidos_restaurante_data_cobertura.
+ *
+ * Execução: rodar o método main a partir da IDE (classpath de teste).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class SerieTemporalBenchmark {
+
+    private static final long ID_INICIAL = 1_000_000_000L;
+    private static final int TAMANHO_LOTE_INSERCAO = 10_000;
+    private static final LocalDateTime FIM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime INICIO_DADOS = FIM.minusYears(2);
+    private static final String[] STATUS = {"ENTREGUE", "ENTREGUE", "ENTREGUE", "CANCELADO", "PENDENTE"};
+
+    private ConfigurableApplicationContext context;
+    private RelatorioService relatorioService;
+    private PedidoRepository pedidoRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(DeliveryApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.jpa.show-sql=false",
+                        "spring.devtools.restart.enabled=false")
+                .run();
+        relatorioService = context.getBean(RelatorioService.class);
+        pedidoRepository = context.getBean(PedidoRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        popular(context.getBean(JdbcTemplate.class), Long.getLong("benchmark.pedidos", 10_000_000L));
+    }
+
+    private void popular(JdbcTemplate jdbc, long total) {
+        Long existentes = jdbc.queryForObject("SELECT COUNT(*) FROM pedidos WHERE id >= ?", Long.class, ID_INICIAL);
+        if (existentes != null && existentes >= total) {
+            return;
+        }
+        long segundosNoPeriodo = Duration.between(INICIO_DADOS, FIM).getSeconds();
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE_INSERCAO);
+        for (long i = existentes == null ? 0 : existentes; i < total; i++) {
+            long restaurante = (i % 2) + 1;
+            lote.add(new Object[]{
+                    ID_INICIAL + i,
+                    "BENCH" + i,
+                    Timestamp.valueOf(INICIO_DADOS.plusSeconds(random.nextLong(segundosNoPeriodo))),
+                    STATUS[random.nextInt(STATUS.length)],
+                    BigDecimal.valueOf(1_000 + random.nextInt(20_000), 2),
+                    (i % 3) + 1,
+                    restaurante,
+                    "Item sintético"});
+            if (lote.size() == TAMANHO_LOTE_INSERCAO) {
+                inserir(jdbc, lote);
+            }
+        }
+        inserir(jdbc, lote);
+        // Mantém o agregado vendas_diarias coerente com os pedidos sintéticos
+        context.getBean(VendasDiariasService.class).reconstruir();
+        jdbc.execute("ANALYZE TABLE pedidos");
+    }
+
+    private static void inserir(JdbcTemplate jdbc, List<Object[]> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate("INSERT INTO pedidos (id, numero_pedido, data_pedido, status, valor_total, cliente_id, restaurante_id, itens) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", lote);
+        lote.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void serieHoraUltimos30Dias(Blackhole bh) {
+        bh.consume(relatorioService.serieTemporal(1L, FIM.minusDays(30), FIM, "HOUR", null));
+    }
+
+    @Benchmark
+    public void serieDiaUltimoAno(Blackhole bh) {
+        bh.consume(relatorioService.serieTemporal(1L, FIM.minusYears(1), FIM, "DAY", null));
+    }
+
+    @Benchmark
+    public void serieSemanaDoisAnosEntregues(Blackhole bh) {
+        bh.consume(relatorioService.serieTemporal(1L, INICIO_DADOS, FIM, "WEEK", "ENTREGUE"));
+    }
+
+    /**
+     * Caminho antigo, só 7 dias: entidades carregadas e agregadas por dia em memória.
+     */
+    @Benchmark
+    public void baselineEntidadesUltimos7Dias(Blackhole bh) {
+        bh.consume(transactionTemplate.execute(status -> {
+            Map<LocalDateTime, BigDecimal> porDia = new TreeMap<>();
+            for (Pedido pedido : pedidoRepository.findByDataPedidoBetween(FIM.minusDays(7), FIM)) {
+                if (pedido.getRestaurante() != null && pedido.getRestaurante().getId() == 1L) {
+                    porDia.merge(pedido.getDataPedido().toLocalDate().atStartOfDay(), pedido.getValorTotal(), BigDecimal::add);
+                }
+            }
+            return porDia;
+        }));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SerieTemporalBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
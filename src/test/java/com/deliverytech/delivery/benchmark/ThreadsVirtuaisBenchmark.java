@@ -0,0 +1,158 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.DeliveryApiApplication;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/clientes/{id} sob alta concorrência, com o Tomcat em threads de plataforma
+ * (pool padrão de 200) e em threads virtuais (spring.threads.virtual.enabled).
+ *
+ * - A aplicação sobe de verdade (porta aleatória, H2 em memória); 1000 threads do JMH
+ *   fazem requisições HTTP bloqueantes, cada uma esperando a resposta da anterior.
+ * - O H2 responde em microssegundos; para representar a ida e volta até o MySQL, cada conexão
+ *   obtida do pool fica -Dbenchmark.latencia-ms (padrão 5) parada antes de ser usada.
+ * - @Param conexoes: com 20 conexões o pool limita os dois modos; com 400 o limite passa a ser
+ *   o número de threads do Tomcat no modo plataforma.
+ * - Throughput em requisições/ms; o modo SampleTime mostra a latência por percentil (p0.99).
+ *   Respostas 200 e as demais aparecem no resultado como os contadores secundários
+ *   "sucessos" e "falhas" (@AuxCounters), por iteração.
+ * - O fork roda com -Djdk.tracePinnedThreads=short: uma thread virtual presa à portadora
+ *   (ex: synchronized em volta de JDBC) aparece na saída com a pilha; ThreadsVirtuaisPinningTest
+ *   cobre as cargas periódicas no build.
+ *
+ * Execução: rodar o método main a partir da IDE (classpath de teste).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(1000)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+public class ThreadsVirtuaisBenchmark {
+
+    @Param({"false", "true"})
+    private boolean threadsVirtuais;
+
+    @Param({"20", "400"})
+    private int conexoes;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient cliente;
+    private String urlBase;
+
+    @Setup
+    public void setup() {
+        long latenciaMs = Long.getLong("benchmark.latencia-ms", 5);
+        context = new SpringApplicationBuilder(DeliveryApiApplication.class)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new LatenciaBanco(latenciaMs)))
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + threadsVirtuais,
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driverClassName=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.hikari.maximum-pool-size=" + conexoes,
+                        "spring.datasource.hikari.minimum-idle=" + conexoes,
+                        "spring.datasource.hikari.connection-timeout=30000",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.devtools.restart.enabled=false",
+                        "logging.level.org.springframework.web=WARN")
+                .run();
+        int porta = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        urlBase = "http://localhost:" + porta + "/api/clientes/";
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        cliente.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int buscarCliente(Respostas respostas) throws IOException, InterruptedException {
+        // Clientes 1..3 são criados pelo DataLoader
+        long id = ThreadLocalRandom.current().nextInt(3) + 1;
+        HttpResponse<Void> resposta = cliente.send(
+                HttpRequest.newBuilder(URI.create(urlBase + id)).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (resposta.statusCode() == 200) {
+            respostas.sucessos++;
+        } else {
+            respostas.falhas++;
+        }
+        return resposta.statusCode();
+    }
+
+    /**
+     * Respostas de cada thread do JMH por resultado; o JMH soma as threads e reporta junto da medição.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Respostas {
+
+        public long sucessos;
+        public long falhas;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            sucessos = 0;
+            falhas = 0;
+        }
+    }
+
+    /**
+     * Envolve o DataSource: cada conexão entregue à aplicação espera latenciaMs ocupando a conexão,
+     * como a ida e volta de uma consulta ao MySQL pela rede.
+     */
+    private record LatenciaBanco(long latenciaMs) implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    Connection conexao = super.getConnection();
+                    try {
+                        Thread.sleep(latenciaMs);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return conexao;
+                }
+            };
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ThreadsVirtuaisBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
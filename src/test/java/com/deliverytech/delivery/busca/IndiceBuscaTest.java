@@ -0,0 +1,150 @@
+package com.deliverytech.delivery.busca;
+
+import com.deliverytech.delivery.enums.TipoItemBusca;
+import com.deliverytech.delivery.events.ItemBuscavelAlteradoEvent;
+import com.deliverytech.delivery.exceptions.BusinessException;
+import com.deliverytech.delivery.repository.ClienteRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Índice de busca sem banco: itens inativos fora do resultado (na carga e por evento),
+ * paginação por cursor até o fim e validação de cursor e limite.
+ */
+@ExtendWith(MockitoExtension.class)
+class IndiceBuscaTest {
+
+    private static final int PROFUNDIDADE = 10;
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+    @Mock
+    private RestauranteRepository restauranteRepository;
+    @Mock
+    private ClienteRepository clienteRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IndiceBusca indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceBusca(transactionManager, PROFUNDIDADE);
+        ReflectionTestUtils.setField(indice, "produtoRepository", produtoRepository);
+        ReflectionTestUtils.setField(indice, "restauranteRepository", restauranteRepository);
+        ReflectionTestUtils.setField(indice, "clienteRepository", clienteRepository);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        indice.fechar();
+    }
+
+    @Test
+    void cargaDeixaDeForaOsInativos() {
+        when(produtoRepository.streamParaBusca()).thenReturn(Stream.of(
+                new Object[]{1L, "Pizza Margherita", null, "Pizzas", true},
+                new Object[]{2L, "Pizza Calabresa", null, "Pizzas", false}));
+        when(restauranteRepository.streamParaBusca()).thenReturn(Stream.<Object[]>of(
+                new Object[]{3L, "Pizzaria Bella", "Pizzas", false}));
+        when(clienteRepository.streamParaBusca()).thenReturn(Stream.empty());
+
+        indice.carregar();
+
+        assertTrue(indice.isPronto());
+        assertEquals(List.of(1L), buscar(TipoItemBusca.PRODUTO, "pizza").ids());
+        assertEquals(List.of(), buscar(TipoItemBusca.RESTAURANTE, "pizza").ids());
+    }
+
+    @Test
+    void inativarRemoveDaBuscaEReativarDevolve() {
+        indice.aoAlterarItem(produto(1L, "Pizza Margherita", true));
+        assertEquals(List.of(1L), buscar(TipoItemBusca.PRODUTO, "pizza").ids());
+
+        indice.aoAlterarItem(produto(1L, "Pizza Margherita", false));
+        assertEquals(List.of(), buscar(TipoItemBusca.PRODUTO, "pizza").ids());
+
+        indice.aoAlterarItem(produto(1L, "Pizza Margherita", true));
+        assertEquals(List.of(1L), buscar(TipoItemBusca.PRODUTO, "pizza").ids());
+    }
+
+    @Test
+    void buscaIgnoraAcentosEAceitaPrefixo() {
+        indice.aoAlterarItem(produto(1L, "Pão de Queijo", true));
+        indice.aoAlterarItem(new ItemBuscavelAlteradoEvent(TipoItemBusca.RESTAURANTE, 1L, "Padaria do Pão",
+                null, "Padaria", true));
+
+        assertEquals(List.of(1L), buscar(TipoItemBusca.PRODUTO, "PAO").ids());
+        assertEquals(List.of(1L), buscar(TipoItemBusca.PRODUTO, "quei").ids());
+        assertEquals(List.of(1L), buscar(TipoItemBusca.RESTAURANTE, "pao").ids());
+        // Cada tipo tem sua busca: o restaurante não aparece entre os produtos
+        assertEquals(List.of(), buscar(TipoItemBusca.PRODUTO, "padaria").ids());
+    }
+
+    @Test
+    void cursorPercorreTodosOsResultadosSemRepetir() {
+        for (long id = 1; id <= 5; id++) {
+            indice.aoAlterarItem(produto(id, "Pizza " + id, true));
+        }
+
+        List<Long> vistos = new ArrayList<>();
+        List<Integer> tamanhos = new ArrayList<>();
+        String cursor = null;
+        do {
+            IndiceBusca.Resultado pagina = indice.buscar(TipoItemBusca.PRODUTO, "pizza", indice.pagina(cursor, 2));
+            vistos.addAll(pagina.ids());
+            tamanhos.add(pagina.ids().size());
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(2, 2, 1), tamanhos);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), vistos.stream().sorted().toList());
+    }
+
+    @Test
+    void ultimaPaginaExataNaoTemProximoCursor() {
+        indice.aoAlterarItem(produto(1L, "Pizza 1", true));
+        indice.aoAlterarItem(produto(2L, "Pizza 2", true));
+
+        IndiceBusca.Resultado pagina = indice.buscar(TipoItemBusca.PRODUTO, "pizza", indice.pagina(null, 2));
+
+        assertEquals(2, pagina.ids().size());
+        assertNull(pagina.proximoCursor());
+    }
+
+    @Test
+    void cursorOuLimiteInvalidoLancaErroDeNegocio() {
+        assertThrows(BusinessException.class, () -> indice.pagina("abc", null));
+        assertThrows(BusinessException.class, () -> indice.pagina("-1", null));
+        assertThrows(BusinessException.class, () -> indice.pagina(null, 0));
+        assertThrows(BusinessException.class, () -> indice.pagina(null, PaginaBusca.LIMITE_MAXIMO + 1));
+        // Além da profundidade paginada: 400 pedindo para refinar, não uma lista cortada em silêncio
+        assertThrows(BusinessException.class, () -> indice.pagina(String.valueOf(PROFUNDIDADE), null));
+        assertEquals(new PaginaBusca(PROFUNDIDADE - 1, PaginaBusca.LIMITE_PADRAO),
+                indice.pagina(String.valueOf(PROFUNDIDADE - 1), null));
+    }
+
+    private IndiceBusca.Resultado buscar(TipoItemBusca tipo, String texto) {
+        return indice.buscar(tipo, texto, indice.pagina(null, null));
+    }
+
+    private static ItemBuscavelAlteradoEvent produto(Long id, String nome, boolean disponivel) {
+        return new ItemBuscavelAlteradoEvent(TipoItemBusca.PRODUTO, id, nome, null, "Lanches", disponivel);
+    }
+}
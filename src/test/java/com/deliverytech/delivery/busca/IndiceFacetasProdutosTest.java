@@ -0,0 +1,143 @@
+package com.deliverytech.delivery.busca;
+
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Índice facetado sem banco: paginação por cursor (id do último da página), reconstrução
+ * periódica com as atualizações feitas durante ela e limites do cursor.
+ */
+@ExtendWith(MockitoExtension.class)
+class IndiceFacetasProdutosTest {
+
+    private static final long CANTINA = 10L;
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private IndiceFacetasProdutos indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceFacetasProdutos(new BigDecimal[]{new BigDecimal("20"), new BigDecimal("40")}, 50);
+        ReflectionTestUtils.setField(indice, "produtoRepository", produtoRepository);
+        ReflectionTestUtils.setField(indice, "transactionTemplate", transactionTemplate);
+        lenient().doAnswer(chamada -> {
+            chamada.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void cursorPercorreOFiltroEmOrdemDeId() {
+        when(produtoRepository.streamParaFacetas()).thenReturn(Stream.of(
+                linha(1L, "Pizzas", "30.00", true),
+                linha(2L, "Massas", "25.00", true),
+                linha(3L, "Pizzas", "35.00", true),
+                linha(4L, "Pizzas", "50.00", true),
+                linha(5L, "Pizzas", "22.00", false),
+                linha(7L, "Pizzas", "38.00", true),
+                linha(9L, "Pizzas", "21.00", true)));
+        indice.recarregar();
+        assertTrue(indice.isCarregado());
+
+        // Pizzas disponíveis: 1, 3, 4, 7, 9; duas por página
+        List<List<Long>> paginas = new ArrayList<>();
+        long aposId = 0;
+        while (true) {
+            IndiceFacetasProdutos.Consulta consulta = indice.consultar(
+                    new FiltroProdutos(Set.of("pizzas"), null, null, true, null, aposId, 2));
+            assertEquals(5, consulta.total());
+            List<Long> ids = consulta.ids();
+            if (ids.size() <= 2) {
+                paginas.add(ids);
+                break;
+            }
+            paginas.add(ids.subList(0, 2));
+            aposId = ids.get(1);
+        }
+
+        assertEquals(List.of(List.of(1L, 3L), List.of(4L, 7L), List.of(9L)), paginas);
+    }
+
+    @Test
+    void cursorNoUltimoIdPossivelDevolvePaginaVazia() {
+        when(produtoRepository.streamParaFacetas()).thenReturn(Stream.<Object[]>of(linha(1L, "Pizzas", "30.00", true)));
+        indice.recarregar();
+
+        assertEquals(List.of(), indice.consultar(
+                new FiltroProdutos(null, null, null, null, null, Integer.MAX_VALUE, 10)).ids());
+    }
+
+    @Test
+    void cursorForaDoIntervaloDeIdsERejeitado() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FiltroProdutos(null, null, null, null, null, -1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FiltroProdutos(null, null, null, null, null, Integer.MAX_VALUE + 1L, 10));
+    }
+
+    @Test
+    void reconstrucaoTiraApagadosEMantemAtualizacaoFeitaDuranteACarga() {
+        when(produtoRepository.streamParaFacetas())
+                .thenReturn(Stream.of(linha(1L, "Pizzas", "30.00", true), linha(2L, "Massas", "25.00", true)))
+                // Segunda carga: o produto 2 foi apagado e, enquanto as linhas eram lidas,
+                // o produto 1 ficou indisponível (a linha lida ainda o mostra disponível)
+                .thenAnswer(chamada -> {
+                    indice.atualizar(produto(1L, "Pizzas", "30.00", false));
+                    return Stream.<Object[]>of(linha(1L, "Pizzas", "30.00", true));
+                });
+
+        indice.recarregar();
+        assertEquals(2, todos().total());
+
+        indice.recarregar();
+        IndiceFacetasProdutos.Consulta depois = todos();
+        assertEquals(List.of(1L), depois.ids());
+        assertEquals(List.of(new IndiceFacetasProdutos.Faceta("true", 0), new IndiceFacetasProdutos.Faceta("false", 1)),
+                depois.disponibilidade());
+        assertEquals(List.of(new IndiceFacetasProdutos.Faceta("Pizzas", 1)), depois.categorias());
+    }
+
+    private IndiceFacetasProdutos.Consulta todos() {
+        return indice.consultar(new FiltroProdutos(null, null, null, null, null, 0, 10));
+    }
+
+    private static Object[] linha(Long id, String categoria, String preco, boolean disponivel) {
+        return new Object[]{id, categoria, new BigDecimal(preco), disponivel, CANTINA};
+    }
+
+    private static Produto produto(Long id, String categoria, String preco, boolean disponivel) {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(CANTINA);
+        Produto produto = new Produto();
+        produto.setId(id);
+        produto.setCategoria(categoria);
+        produto.setPreco(new BigDecimal(preco));
+        produto.setDisponivel(disponivel);
+        produto.setRestaurante(restaurante);
+        return produto;
+    }
+}
@@ -0,0 +1,73 @@
+package com.deliverytech.delivery.busca;
+
+import com.deliverytech.delivery.busca.TrieSugestoes.Sugestao;
+import com.deliverytech.delivery.enums.TipoSugestao;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Trie de autocomplete: prefixo de qualquer palavra, sem acentos, ordem por popularidade,
+ * corte em topK e prefixos maiores que a profundidade da trie.
+ */
+class TrieSugestoesTest {
+
+    @Test
+    void achaPeloInicioDeQualquerPalavraSemAcentos() {
+        TrieSugestoes trie = TrieSugestoes.montar(List.of(
+                produto(1L, "Pizza Margherita", 10),
+                produto(2L, "Açaí na Tigela", 5)), 10);
+
+        assertEquals(List.of(1L), ids(trie.sugerir("piz", 10)));
+        assertEquals(List.of(1L), ids(trie.sugerir("MARG", 10)));
+        assertEquals(List.of(2L), ids(trie.sugerir("acai", 10)));
+        assertEquals(List.of(2L), ids(trie.sugerir("tigéla", 10)));
+        // Meio de palavra não conta
+        assertEquals(List.of(), trie.sugerir("argh", 10));
+    }
+
+    @Test
+    void maisPopularesPrimeiroAteOLimiteEOTopK() {
+        TrieSugestoes trie = TrieSugestoes.montar(List.of(
+                produto(1L, "Pastel de Carne", 3),
+                produto(2L, "Pastel de Queijo", 30),
+                produto(3L, "Pao de Queijo", 20),
+                produto(4L, "Pudim", 1)), 3);
+
+        assertEquals(List.of(2L, 3L, 1L), ids(trie.sugerir("p", 10)));
+        assertEquals(List.of(2L, 3L), ids(trie.sugerir("p", 2)));
+        assertEquals(List.of(2L, 3L), ids(trie.sugerir("queijo", 10)));
+    }
+
+    @Test
+    void prefixoMaiorQueAProfundidadeEConferidoNoTexto() {
+        // Os dois textos só diferem depois dos primeiros PROFUNDIDADE_MAXIMA caracteres
+        TrieSugestoes trie = TrieSugestoes.montar(List.of(
+                produto(1L, "Sanduiche de frango grelhado com queijo", 1),
+                produto(2L, "Sanduiche de frango grelhado com bacon", 2)), 10);
+        assertTrue("sanduiche de frango grelhado com ".length() > TrieSugestoes.PROFUNDIDADE_MAXIMA);
+
+        assertEquals(List.of(2L, 1L), ids(trie.sugerir("sanduiche de frango", 10)));
+        assertEquals(List.of(1L), ids(trie.sugerir("sanduiche de frango grelhado com q", 10)));
+    }
+
+    @Test
+    void prefixoVazioOuTrieVaziaNaoSugereNada() {
+        TrieSugestoes trie = TrieSugestoes.montar(List.of(produto(1L, "Pizza", 1)), 10);
+
+        assertEquals(List.of(), trie.sugerir("  ", 10));
+        assertEquals(List.of(), trie.sugerir(null, 10));
+        assertEquals(List.of(), TrieSugestoes.vazia().sugerir("pizza", 10));
+        assertEquals(0, TrieSugestoes.vazia().tamanho());
+    }
+
+    private static Sugestao produto(Long id, String texto, long peso) {
+        return new Sugestao(TipoSugestao.PRODUTO, id, texto, peso);
+    }
+
+    private static List<Long> ids(List<Sugestao> sugestoes) {
+        return sugestoes.stream().map(Sugestao::id).toList();
+    }
+}
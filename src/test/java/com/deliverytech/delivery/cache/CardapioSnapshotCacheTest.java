@@ -0,0 +1,104 @@
+package com.deliverytech.delivery.cache;
+
+import com.deliverytech.delivery.cache.CardapioSnapshotCache.CardapioSnapshot;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.events.CardapioAlteradoEvent;
+import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.mapper.ProdutoMapper;
+import com.deliverytech.delivery.mapper.RestauranteMapper;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Snapshots de cardápio contra o H2: reaproveitamento, invalidação por CardapioAlteradoEvent
+ * e 404 para restaurante inexistente (sem guardar nada no cache).
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({CardapioSnapshotCache.class, ProdutoMapper.class, RestauranteMapper.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class CardapioSnapshotCacheTest {
+
+    @Autowired
+    private CardapioSnapshotCache cache;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        Restaurante novoRestaurante = new Restaurante();
+        novoRestaurante.setNome("Cantina");
+        novoRestaurante.setCategoria("Italiana");
+        novoRestaurante.setAtivo(true);
+        restaurante = restauranteRepository.save(novoRestaurante);
+
+        Produto novoProduto = new Produto();
+        novoProduto.setNome("Lasanha");
+        novoProduto.setPreco(new BigDecimal("42.00"));
+        novoProduto.setDisponivel(true);
+        novoProduto.setRestaurante(restaurante);
+        produto = produtoRepository.save(novoProduto);
+    }
+
+    @Test
+    void snapshotEReaproveitadoAteAInvalidacao() {
+        CardapioSnapshot primeiro = cache.obter(restaurante.getId());
+        assertTrue(json(primeiro).contains("Lasanha"));
+        assertSame(primeiro, cache.obter(restaurante.getId()));
+
+        produto.setNome("Nhoque");
+        produtoRepository.save(produto);
+        assertSame(primeiro, cache.obter(restaurante.getId()));
+
+        // Sem transação ativa o listener roda na hora (fallbackExecution)
+        eventPublisher.publishEvent(new CardapioAlteradoEvent(restaurante.getId()));
+
+        CardapioSnapshot atualizado = cache.obter(restaurante.getId());
+        assertTrue(json(atualizado).contains("Nhoque"));
+        assertNotEquals(primeiro.etag(), atualizado.etag());
+    }
+
+    @Test
+    void restauranteSemProdutosDisponiveisTemCardapioVazio() {
+        produto.setDisponivel(false);
+        produtoRepository.save(produto);
+
+        assertEquals("[]", json(cache.obter(restaurante.getId())));
+    }
+
+    @Test
+    void restauranteInexistenteLancaNaoEncontradoSemCachear() {
+        long inexistente = restaurante.getId() + 1000;
+        assertThrows(EntityNotFoundException.class, () -> cache.obter(inexistente));
+        assertThrows(EntityNotFoundException.class, () -> cache.obter(inexistente));
+    }
+
+    private static String json(CardapioSnapshot snapshot) {
+        return new String(snapshot.json(), StandardCharsets.UTF_8);
+    }
+}
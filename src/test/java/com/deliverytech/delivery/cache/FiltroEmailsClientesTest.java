@@ -0,0 +1,126 @@
+package com.deliverytech.delivery.cache;
+
+import com.deliverytech.delivery.repository.ClienteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Filtro de emails sem banco: nenhum email registrado se perde numa remontagem, seja o
+ * registro feito durante a leitura das linhas, seja confirmado só depois dela.
+ */
+@ExtendWith(MockitoExtension.class)
+class FiltroEmailsClientesTest {
+
+    @Mock
+    private ClienteRepository clienteRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private FiltroEmailsClientes filtro;
+
+    @BeforeEach
+    void setUp() {
+        filtro = new FiltroEmailsClientes(clienteRepository, transactionTemplate, registry, 0.01, 1_000);
+        lenient().doAnswer(chamada -> {
+            chamada.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void antesDaCargaTodoEmailPrecisaDoBanco() {
+        assertTrue(filtro.podeExistir("novo@exemplo.com"));
+    }
+
+    @Test
+    void emailCarregadoPodeExistirENovoDispensaOBanco() {
+        when(clienteRepository.streamEmails()).thenReturn(Stream.of("Ana@Exemplo.com"));
+        filtro.recarregar();
+
+        assertTrue(filtro.podeExistir(" ana@exemplo.COM "));
+        assertFalse(filtro.podeExistir("bruno@exemplo.com"));
+        assertEquals(1.0, registry.get("clientes.email.filtro.consultas").tag("resultado", "ausente")
+                .functionCounter().count());
+    }
+
+    @Test
+    void emailRegistradoEntraNoFiltroNaHora() {
+        when(clienteRepository.streamEmails()).thenReturn(Stream.empty());
+        filtro.recarregar();
+
+        filtro.registrar("Carla@Exemplo.com");
+
+        assertTrue(filtro.podeExistir("carla@exemplo.com"));
+    }
+
+    @Test
+    void registroDuranteARemontagemNaoSePerde() {
+        when(clienteRepository.streamEmails()).thenAnswer(chamada -> {
+            // Cadastro confirmado enquanto a remontagem lia a tabela, depois de a linha ser lida
+            filtro.registrar("durante@exemplo.com");
+            return Stream.of("ana@exemplo.com");
+        });
+
+        filtro.recarregar();
+
+        assertTrue(filtro.podeExistir("durante@exemplo.com"));
+    }
+
+    @Test
+    void registroConfirmadoDepoisDeUmaRemontagemQueNaoOLeuEReaplicado() {
+        when(clienteRepository.streamEmails()).thenReturn(Stream.empty());
+        filtro.recarregar();
+
+        // Cadastro em andamento: registrado antes do commit e agendado para depois dele
+        TransactionSynchronizationManager.initSynchronization();
+        filtro.registrar("pendente@exemplo.com");
+
+        // A remontagem roda antes do commit e não enxerga a linha nova
+        when(clienteRepository.streamEmails()).thenReturn(Stream.empty());
+        filtro.recarregar();
+        assertFalse(filtro.podeExistir("pendente@exemplo.com"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertTrue(filtro.podeExistir("pendente@exemplo.com"));
+    }
+
+    @Test
+    void falsoPositivoEntraNaTaxaObservada() {
+        when(clienteRepository.streamEmails()).thenReturn(Stream.empty());
+        filtro.recarregar();
+
+        filtro.registrarConfirmacao(false);
+        filtro.registrarConfirmacao(true);
+
+        assertEquals(1.0, registry.get("clientes.email.filtro.consultas").tag("resultado", "falso-positivo")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("clientes.email.filtro.consultas").tag("resultado", "confirmado")
+                .counter().count());
+        assertEquals(1.0, registry.get("clientes.email.filtro.falsos-positivos.taxa").gauge().value());
+    }
+}
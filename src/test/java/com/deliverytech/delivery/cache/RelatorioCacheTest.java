@@ -0,0 +1,190 @@
+package com.deliverytech.delivery.cache;
+
+import com.deliverytech.delivery.datasource.LeituraNoPrimario;
+import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.exceptions.ServicoIndisponivelException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Cálculo único por chave, espera limitada de quem aguarda outra thread e limite de
+ * recálculos em segundo plano. O gerenciador de transação é um mock (os cálculos não usam banco).
+ */
+class RelatorioCacheTest {
+
+    private static final long SEM_TTL = 0;
+    private static final long TTL_LONGO = 60_000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RelatorioCache cache;
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.encerrar();
+        }
+    }
+
+    @Test
+    void chamadasConcorrentesDaMesmaChaveCalculamUmaVez() throws Exception {
+        cache = criar(TTL_LONGO, 4, 10_000);
+        CountDownLatch calculando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger calculos = new AtomicInteger();
+        Supplier<String> calculo = () -> {
+            calculos.incrementAndGet();
+            calculando.countDown();
+            aguardar(liberar);
+            return "relatorio";
+        };
+
+        CompletableFuture<String> primeiro = CompletableFuture.supplyAsync(() -> cache.obter("vendas", calculo, 1L));
+        assertTrue(calculando.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> segundo = CompletableFuture.supplyAsync(() -> cache.obter("vendas", calculo, 1L));
+        liberar.countDown();
+
+        assertEquals("relatorio", primeiro.get(5, TimeUnit.SECONDS));
+        assertEquals("relatorio", segundo.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calculos.get());
+    }
+
+    @Test
+    void quemAguardaOutraThreadDesistePorTempoCom503() throws Exception {
+        cache = criar(TTL_LONGO, 4, 50);
+        CountDownLatch calculando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        CompletableFuture<String> lento = CompletableFuture.supplyAsync(() -> cache.obter("vendas", () -> {
+            calculando.countDown();
+            aguardar(liberar);
+            return "relatorio";
+        }));
+        assertTrue(calculando.await(5, TimeUnit.SECONDS));
+        try {
+            assertThrows(ServicoIndisponivelException.class, () -> cache.obter("vendas", () -> "outro"));
+        } finally {
+            liberar.countDown();
+        }
+
+        // O cálculo original não é afetado e fica em cache
+        assertEquals("relatorio", lento.get(5, TimeUnit.SECONDS));
+        assertEquals("relatorio", cache.obter("vendas", () -> "outro"));
+        assertEquals(1.0, registry.get("relatorios.cache.esperas.esgotadas").counter().count());
+    }
+
+    @Test
+    void falhaNaoFicaEmCache() {
+        cache = criar(TTL_LONGO, 4, 10_000);
+
+        assertThrows(EntityNotFoundException.class, () -> cache.obter("vendas", () -> {
+            throw new EntityNotFoundException("Restaurante não encontrado: 1");
+        }, 1L));
+
+        assertEquals("relatorio", cache.obter("vendas", () -> "relatorio", 1L));
+    }
+
+    @Test
+    void valorObsoletoEServidoEnquantoORecalculoRoda() throws Exception {
+        cache = criar(SEM_TTL, 4, 10_000);
+        AtomicInteger versao = new AtomicInteger();
+        Supplier<Integer> calculo = versao::incrementAndGet;
+
+        assertEquals(1, cache.obter("vendas", calculo));
+        // Obsoleto: devolve o anterior na hora e recalcula em segundo plano
+        assertEquals(1, cache.obter("vendas", calculo));
+
+        aguardarAte(() -> cache.obter("vendas", calculo) >= 2);
+    }
+
+    @Test
+    void calculosNaoSaoForcadosAoPrimario() throws Exception {
+        cache = criar(SEM_TTL, 4, 10_000);
+        AtomicInteger calculos = new AtomicInteger();
+        AtomicInteger noPrimario = new AtomicInteger();
+        Supplier<Integer> calculo = () -> {
+            if (LeituraNoPrimario.ativa()) {
+                noPrimario.incrementAndGet();
+            }
+            return calculos.incrementAndGet();
+        };
+
+        // Primeiro cálculo na thread do chamador, os seguintes em segundo plano
+        cache.obter("vendas", calculo);
+        aguardarAte(() -> cache.obter("vendas", calculo) >= 2);
+
+        assertEquals(0, noPrimario.get());
+    }
+
+    @Test
+    void recalculosEmSegundoPlanoRespeitamOLimite() throws Exception {
+        cache = criar(SEM_TTL, 1, 10_000);
+        CountDownLatch recalculandoA = new CountDownLatch(1);
+        CountDownLatch liberarA = new CountDownLatch(1);
+        AtomicInteger calculosA = new AtomicInteger();
+        AtomicInteger calculosB = new AtomicInteger();
+        Supplier<String> calculoA = () -> {
+            if (calculosA.incrementAndGet() > 1) {
+                recalculandoA.countDown();
+                aguardar(liberarA);
+            }
+            return "a";
+        };
+        Supplier<String> calculoB = () -> {
+            calculosB.incrementAndGet();
+            return "b";
+        };
+        cache.obter("a", calculoA);
+        cache.obter("b", calculoB);
+
+        cache.obter("a", calculoA);
+        assertTrue(recalculandoA.await(5, TimeUnit.SECONDS));
+        try {
+            // A única vaga está com o recálculo de "a": "b" segue obsoleto, sem novo cálculo
+            assertEquals("b", cache.obter("b", calculoB));
+            assertEquals(1, calculosB.get());
+            assertEquals(1.0, registry.get("relatorios.cache.atualizacoes.adiadas").counter().count());
+        } finally {
+            liberarA.countDown();
+        }
+
+        // Com a vaga livre, o próximo acesso obsoleto recalcula
+        aguardarAte(() -> {
+            cache.obter("b", calculoB);
+            return calculosB.get() > 1;
+        });
+    }
+
+    private RelatorioCache criar(long ttlMillis, int atualizacoesSimultaneas, long esperaMaxMillis) {
+        return new RelatorioCache(mock(PlatformTransactionManager.class), registry,
+                ttlMillis, 60_000, 100, atualizacoesSimultaneas, esperaMaxMillis);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void aguardarAte(Supplier<Boolean> condicao) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condicao.get()) {
+            assertTrue(System.nanoTime() < limite, "Condição não atingida em 5 s");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.deliverytech.delivery.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Roteamento leitura/escrita com dois bancos H2 em memória, cada um com uma tabela
+ * que identifica o banco: a consulta diz para onde a transação foi.
+ * Monta a mesma cadeia do ReplicasLeituraConfig, sem subir o contexto.
+ */
+class RoteadorReplicasTest {
+
+    private ReplicaDesligavel replica;
+    private JanelaEscritaRecente janela;
+    private RoteadorReplicas roteador;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate escrita;
+    private TransactionTemplate leitura;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primario = banco("primario");
+        replica = new ReplicaDesligavel(banco("replica"));
+        janela = new JanelaEscritaRecente(60_000);
+        roteador = new RoteadorReplicas(primario, Map.of("replica-1", replica), janela, 0, new SimpleMeterRegistry());
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(new PrimarioMonitorado(primario, janela));
+        dataSource.setReadOnlyDataSource(roteador);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        escrita = new TransactionTemplate(transactionManager);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        janela.encerrarRequisicao();
+    }
+
+    @Test
+    void somenteLeituraVaiParaReplicaEORestoParaOPrimario() {
+        assertEquals("replica", origem(leitura));
+        assertEquals("primario", origem(escrita));
+        assertEquals("primario", jdbc.queryForObject("SELECT nome FROM origem", String.class));
+    }
+
+    @Test
+    void replicaForaDoArCaiParaOPrimarioAteAVerificacao() {
+        replica.noAr = false;
+        assertEquals("primario", origem(leitura));
+        assertEquals(0, roteador.replicasSaudaveis());
+
+        replica.noAr = true;
+        assertEquals("primario", origem(leitura)); // continua marcada como indisponível
+        roteador.verificarReplicas();
+        assertEquals(1, roteador.replicasSaudaveis());
+        assertEquals("replica", origem(leitura));
+    }
+
+    @Test
+    void escritaConfirmadaAbreAJanelaDoPrimario() {
+        escrita.executeWithoutResult(status -> jdbc.update("UPDATE origem SET nome = ?", "primario"));
+        assertEquals("primario", origem(leitura));
+
+        janela.encerrarRequisicao();
+        assertEquals("replica", origem(leitura));
+    }
+
+    @Test
+    void escritaDesfeitaOuTransacaoSemEscritaNaoAbremAJanela() {
+        escrita.executeWithoutResult(status -> {
+            jdbc.update("UPDATE origem SET nome = ?", "primario");
+            status.setRollbackOnly();
+        });
+        assertEquals("replica", origem(leitura));
+
+        assertEquals("primario", origem(escrita));
+        assertEquals("replica", origem(leitura));
+    }
+
+    @Test
+    void cookieDeEscritaRecenteValeSoDentroDaJanela() {
+        janela.iniciarRequisicao(Long.toString(System.currentTimeMillis() + 10_000));
+        assertEquals("primario", origem(leitura));
+
+        janela.iniciarRequisicao(Long.toString(System.currentTimeMillis() - 1));
+        assertEquals("replica", origem(leitura));
+
+        janela.iniciarRequisicao("invalido");
+        assertEquals("replica", origem(leitura));
+    }
+
+    @Test
+    void preenchimentoDeCacheDepoisDaInvalidacaoLeDoPrimarioEmQualquerThread() throws Exception {
+        ConcurrentMap<String, String> cache = new ConcurrentHashMap<>();
+        cache.put("origem", origem(leitura));
+        assertEquals("replica", cache.get("origem"));
+
+        // Escrita que a réplica ainda não recebeu, seguida da invalidação
+        escrita.executeWithoutResult(status -> jdbc.update("UPDATE origem SET nome = ?", "atualizado"));
+        cache.remove("origem");
+
+        // Outra requisição (sem a janela) encontra o cache vazio e o preenche; a leitura
+        // abre a transação antes de pedir o primário, como num método @Transactional(readOnly = true)
+        try (ExecutorService outraThread = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture.runAsync(() -> {
+                assertEquals("replica", origem(leitura));
+                cache.computeIfAbsent("origem", chave -> leitura.execute(status -> LeituraNoPrimario.executar(
+                        () -> jdbc.queryForObject("SELECT nome FROM origem", String.class))));
+                assertFalse(LeituraNoPrimario.ativa());
+            }, outraThread).get();
+        }
+
+        assertEquals("atualizado", cache.get("origem"));
+    }
+
+    private String origem(TransactionTemplate transacao) {
+        return transacao.execute(status -> jdbc.queryForObject("SELECT nome FROM origem", String.class));
+    }
+
+    private static DataSource banco(String nome) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + nome + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE origem (nome VARCHAR(20))");
+        jdbc.update("INSERT INTO origem (nome) VALUES (?)", nome);
+        return dataSource;
+    }
+
+    private static final class ReplicaDesligavel extends DelegatingDataSource {
+
+        volatile boolean noAr = true;
+
+        ReplicaDesligavel(DataSource alvo) {
+            super(alvo);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!noAr) {
+                throw new SQLException("Réplica fora do ar");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.deliverytech.delivery.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatusPedidoTest {
+
+    @Test
+    void fluxoNormalAvancaUmPassoPorVez() {
+        assertTrue(StatusPedido.PENDENTE.podeTransicionarPara(StatusPedido.CONFIRMADO));
+        assertTrue(StatusPedido.CONFIRMADO.podeTransicionarPara(StatusPedido.PREPARANDO));
+        assertTrue(StatusPedido.PREPARANDO.podeTransicionarPara(StatusPedido.SAIU_PARA_ENTREGA));
+        assertTrue(StatusPedido.SAIU_PARA_ENTREGA.podeTransicionarPara(StatusPedido.ENTREGUE));
+
+        assertFalse(StatusPedido.PENDENTE.podeTransicionarPara(StatusPedido.ENTREGUE));
+        assertFalse(StatusPedido.PREPARANDO.podeTransicionarPara(StatusPedido.PENDENTE));
+    }
+
+    @Test
+    void qualquerStatusNaoFinalPodeSerCancelado() {
+        for (StatusPedido status : StatusPedido.values()) {
+            assertEquals(!status.isFinal(), status.podeTransicionarPara(StatusPedido.CANCELADO), status.name());
+        }
+    }
+
+    @Test
+    void statusFinaisNaoTransicionam() {
+        for (StatusPedido destino : StatusPedido.values()) {
+            assertFalse(StatusPedido.ENTREGUE.podeTransicionarPara(destino));
+            assertFalse(StatusPedido.CANCELADO.podeTransicionarPara(destino));
+        }
+    }
+
+    @Test
+    void nenhumaTransicaoLevaDeVoltaAPendente() {
+        assertTrue(StatusPedido.origensPara(StatusPedido.PENDENTE).isEmpty());
+    }
+}
@@ -0,0 +1,102 @@
+package com.deliverytech.delivery.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeNumeroPedidoGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int POR_THREAD = 250_000;
+
+    @Test
+    void gerarEmVariasThreadsNaoRepeteEMantemOrdem() throws Exception {
+        SnowflakeNumeroPedidoGenerator gerador = new SnowflakeNumeroPedidoGenerator(7);
+        Set<String> todos = ConcurrentHashMap.newKeySet(THREADS * POR_THREAD);
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    String anterior = "";
+                    for (int i = 0; i < POR_THREAD; i++) {
+                        String numero = gerador.gerar();
+                        // Dentro de uma thread os números são estritamente crescentes
+                        assertTrue(numero.compareTo(anterior) > 0, numero + " <= " + anterior);
+                        assertTrue(todos.add(numero), "Número repetido: " + numero);
+                        anterior = numero;
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(THREADS * POR_THREAD, todos.size());
+    }
+
+    @Test
+    void nosDiferentesNoMesmoInstanteNaoColidem() {
+        SnowflakeNumeroPedidoGenerator no1 = new SnowflakeNumeroPedidoGenerator(1, () -> 1_800_000_000_000L);
+        SnowflakeNumeroPedidoGenerator no2 = new SnowflakeNumeroPedidoGenerator(2, () -> 1_800_000_000_000L);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertNotEquals(no1.gerar(), no2.gerar());
+        }
+    }
+
+    @Test
+    void relogioVoltandoNaoGeraNumeroMenor() {
+        long[] agora = {1_800_000_000_000L};
+        SnowflakeNumeroPedidoGenerator gerador = new SnowflakeNumeroPedidoGenerator(0, () -> agora[0]);
+
+        String antes = gerador.gerar();
+        agora[0] -= 5_000;
+        String depois = gerador.gerar();
+
+        assertTrue(depois.compareTo(antes) > 0);
+    }
+
+    @Test
+    void estouroDaSequenciaAvancaOTimestamp() {
+        SnowflakeNumeroPedidoGenerator gerador = new SnowflakeNumeroPedidoGenerator(0, () -> 1_800_000_000_000L);
+        Set<String> numeros = new HashSet<>();
+
+        // Mais números do que cabem na sequência de 12 bits de um único ms
+        for (int i = 0; i < 3 * 4096; i++) {
+            assertTrue(numeros.add(gerador.gerar()));
+        }
+    }
+
+    @Test
+    void numeroTemTamanhoFixoEmBase32() {
+        String numero = new SnowflakeNumeroPedidoGenerator(1023).gerar();
+
+        assertEquals(13, numero.length());
+        assertTrue(numero.matches("[0-9A-HJKMNP-TV-Z]+"), numero);
+    }
+
+    @Test
+    void noForaDoIntervaloEhRejeitado() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeNumeroPedidoGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeNumeroPedidoGenerator(-1));
+    }
+}
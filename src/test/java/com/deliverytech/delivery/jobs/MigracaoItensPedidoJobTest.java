@@ -0,0 +1,120 @@
+package com.deliverytech.delivery.jobs;
+
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.loader.SequenciasInicializador;
+import com.deliverytech.delivery.repository.ItemPedidoRepository;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Migração do texto legado (pedidos.itens) para itens_pedido contra o H2, em lotes pequenos
+ * para atravessar mais de uma transação. O SequenciasInicializador leva as sequências acima
+ * das linhas do data.sql.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "delivery.migracao.itens-pedido.enabled=true",
+        "delivery.migracao.itens-pedido.tamanho-lote=2"
+})
+@Import({MigracaoItensPedidoJob.class, SequenciasInicializador.class})
+class MigracaoItensPedidoJobTest {
+
+    @Autowired
+    private MigracaoItensPedidoJob job;
+    @Autowired
+    private PedidoRepository pedidoRepository;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @Test
+    void migraOsPedidosReconhecidosESoUmaVez() {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome("Lanchonete");
+        restaurante.setCategoria("Lanches");
+        restaurante.setAtivo(true);
+        restaurante = restauranteRepository.save(restaurante);
+        produto(restaurante, "X-Burger", "25.00");
+        produto(restaurante, "Batata Frita", "10.00");
+        produto(restaurante, "7 Up", "6.00");
+
+        Long quantidadeNoInicio = pedido(restaurante, "2x X-Burger, Batata Frita");
+        Long nomeComNumero = pedido(restaurante, "7 Up, x-burger");
+        Long naoReconhecido = pedido(restaurante, "X-Burger, Pizza");
+        Long repetidoComAcentoEEspacos = pedido(restaurante, "Batata  frita; Bátata Frita");
+
+        job.migrar();
+
+        Map<Long, Map<String, Integer>> porPedido = itensPorPedido();
+        assertEquals(Map.of("X-Burger", 2, "Batata Frita", 1), porPedido.get(quantidadeNoInicio));
+        assertEquals(Map.of("7 Up", 1, "X-Burger", 1), porPedido.get(nomeComNumero));
+        assertNull(porPedido.get(naoReconhecido));
+        assertEquals(Map.of("Batata Frita", 2), porPedido.get(repetidoComAcentoEEspacos));
+        // Só os pedidos criados aqui: os do data.sql também são migrados, com os preços dos seus restaurantes
+        Set<Long> criados = Set.of(quantidadeNoInicio, nomeComNumero, naoReconhecido, repetidoComAcentoEEspacos);
+        assertTrue(itemPedidoRepository.findAll().stream()
+                .filter(item -> criados.contains(item.getPedido().getId()))
+                .filter(item -> item.getNomeProduto().equals("X-Burger"))
+                .allMatch(item -> item.getPrecoUnitario().compareTo(new BigDecimal("25.00")) == 0));
+
+        // Segunda execução só olha pedidos ainda sem itens: nada muda
+        long itens = itemPedidoRepository.count();
+        job.migrar();
+        assertEquals(itens, itemPedidoRepository.count());
+    }
+
+    @Test
+    void normalizacaoIgnoraCaixaAcentosEEspacos() {
+        assertEquals("pao de queijo", MigracaoItensPedidoJob.normalizar("  Pão   de QUEIJO "));
+    }
+
+    private Map<Long, Map<String, Integer>> itensPorPedido() {
+        Map<Long, Map<String, Integer>> porPedido = new HashMap<>();
+        for (ItemPedido item : itemPedidoRepository.findAll()) {
+            porPedido.computeIfAbsent(item.getPedido().getId(), id -> new HashMap<>())
+                    .merge(item.getNomeProduto(), item.getQuantidade(), Integer::sum);
+        }
+        return porPedido;
+    }
+
+    private void produto(Restaurante restaurante, String nome, String preco) {
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setPreco(new BigDecimal(preco));
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+        produtoRepository.save(produto);
+    }
+
+    private Long pedido(Restaurante restaurante, String itens) {
+        Pedido pedido = new Pedido(null, "MIG-" + itens.hashCode(), LocalDateTime.now(), StatusPedido.ENTREGUE,
+                new BigDecimal("50.00"), null, itens, new ArrayList<>(), null, restaurante, null);
+        return pedidoRepository.save(pedido).getId();
+    }
+}
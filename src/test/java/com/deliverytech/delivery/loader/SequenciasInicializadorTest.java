@@ -0,0 +1,58 @@
+package com.deliverytech.delivery.loader;
+
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * H2 (SEQUENCE nativa) com os pedidos do data.sql, inseridos sem passar pela sequência:
+ * depois do ajuste o primeiro id gerado fica acima deles.
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import(SequenciasInicializador.class)
+class SequenciasInicializadorTest {
+
+    @Autowired
+    private SequenciasInicializador inicializador;
+    @Autowired
+    private PedidoRepository pedidoRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void primeiroIdGeradoFicaAcimaDosPedidosExistentes() {
+        Long maiorId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM pedidos", Long.class);
+        assertNotNull(maiorId, "o data.sql deveria ter inserido pedidos");
+
+        assertTrue(novoPedido("SEQ1") > maiorId);
+    }
+
+    @Test
+    void rodarDeNovoNaoVoltaASequencia() {
+        Long gerado = novoPedido("SEQ2");
+
+        inicializador.ajustar();
+
+        // Valores já entregues pela sequência não voltam (o bloco em uso termina acima de gerado)
+        assertTrue(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR pedidos_seq", Long.class) > gerado);
+    }
+
+    private Long novoPedido(String numero) {
+        Pedido pedido = new Pedido(null, numero, LocalDateTime.now(), StatusPedido.PENDENTE,
+                new BigDecimal("10.00"), null, "Item", new ArrayList<>(), null, null, null);
+        return pedidoRepository.saveAndFlush(pedido).getId();
+    }
+}
@@ -0,0 +1,166 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.loader.SequenciasInicializador;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Várias threads disputam transições nos mesmos pedidos via UPDATE condicional.
+ * Como a máquina de estados não tem ciclos, cada status só pode ser alcançado uma vez
+ * por pedido, e as transições bem-sucedidas precisam formar um caminho válido.
+ * O SequenciasInicializador leva a sequência dos pedidos acima das linhas do data.sql.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import(SequenciasInicializador.class)
+class PedidoRepositoryConcorrenciaTest {
+
+    private static final int PEDIDOS = 50;
+    private static final int THREADS = 8;
+    private static final int RODADAS = 5;
+
+    private static final List<StatusPedido> FLUXO = List.of(
+            StatusPedido.CONFIRMADO, StatusPedido.PREPARANDO, StatusPedido.SAIU_PARA_ENTREGA, StatusPedido.ENTREGUE);
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void mesmaTransicaoDisputadaTemExatamenteUmVencedor() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<Long> ids = criarPedidos(tx, "UNICO");
+        Set<StatusPedido> origens = StatusPedido.origensPara(StatusPedido.CONFIRMADO);
+
+        for (Long id : ids) {
+            AtomicInteger vencedores = new AtomicInteger();
+            CountDownLatch largada = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<?>> tarefas = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    tarefas.add(executor.submit(() -> {
+                        largada.await();
+                        Integer linhas = tx.execute(status ->
+                                pedidoRepository.atualizarStatusSeEm(id, StatusPedido.CONFIRMADO, origens));
+                        vencedores.addAndGet(linhas);
+                        return null;
+                    }));
+                }
+                largada.countDown();
+                for (Future<?> tarefa : tarefas) {
+                    tarefa.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(1, vencedores.get(), "Pedido " + id);
+            assertEquals(StatusPedido.CONFIRMADO, pedidoRepository.findStatusById(id).orElseThrow());
+        }
+    }
+
+    @Test
+    void transicoesConcorrentesNuncaViolamAMaquinaDeEstados() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<Long> ids = criarPedidos(tx, "CONC");
+
+        // Transições que tiveram efeito, por pedido
+        Map<Long, List<StatusPedido>> sucessos = new ConcurrentHashMap<>();
+        ids.forEach(id -> sucessos.put(id, Collections.synchronizedList(new ArrayList<>())));
+
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    List<StatusPedido> destinos = new ArrayList<>(Arrays.asList(StatusPedido.values()));
+                    for (int rodada = 0; rodada < RODADAS; rodada++) {
+                        for (Long id : ids) {
+                            Collections.shuffle(destinos);
+                            for (StatusPedido destino : destinos) {
+                                Set<StatusPedido> origens = StatusPedido.origensPara(destino);
+                                if (origens.isEmpty()) {
+                                    continue;
+                                }
+                                Integer linhas = tx.execute(status ->
+                                        pedidoRepository.atualizarStatusSeEm(id, destino, origens));
+                                if (linhas == 1) {
+                                    sucessos.get(id).add(destino);
+                                }
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Long id : ids) {
+            List<StatusPedido> caminho = sucessos.get(id);
+            StatusPedido statusFinal = pedidoRepository.findStatusById(id).orElseThrow();
+
+            // Cada status no máximo uma vez
+            assertEquals(caminho.size(), Set.copyOf(caminho).size(), "Status repetido em " + caminho);
+            assertFalse(caminho.contains(StatusPedido.ENTREGUE) && caminho.contains(StatusPedido.CANCELADO),
+                    "Entregue e cancelado: " + caminho);
+
+            // As transições do fluxo normal formam um prefixo de CONFIRMADO -> ... -> ENTREGUE
+            List<StatusPedido> avancos = caminho.stream().filter(s -> s != StatusPedido.CANCELADO).sorted().toList();
+            assertEquals(FLUXO.subList(0, avancos.size()), avancos, "Caminho inválido: " + caminho);
+
+            // O status gravado é o fim do caminho
+            StatusPedido esperado = caminho.contains(StatusPedido.CANCELADO) ? StatusPedido.CANCELADO
+                    : avancos.isEmpty() ? StatusPedido.PENDENTE : avancos.get(avancos.size() - 1);
+            assertEquals(esperado, statusFinal);
+            assertTrue(statusFinal.isFinal(), "Pedido " + id + " terminou em " + statusFinal);
+        }
+    }
+
+    private List<Long> criarPedidos(TransactionTemplate tx, String prefixo) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PEDIDOS; i++) {
+            Pedido pedido = new Pedido(null, prefixo + i, LocalDateTime.now(), StatusPedido.PENDENTE,
+                    new BigDecimal("10.00"), null, "Item", new ArrayList<>(), null, null, null);
+            ids.add(tx.execute(status -> pedidoRepository.save(pedido)).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,65 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.entity.VendaDiaria;
+import com.deliverytech.delivery.entity.VendaDiariaId;
+import com.deliverytech.delivery.enums.StatusPedido;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upsert do agregado contra o H2 em MODE=MySQL, o mesmo banco dos benchmarks e do ambiente local:
+ * a primeira chamada cria a linha e as seguintes somam nela, inclusive valores negativos.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:vendas-diarias;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class VendaDiariaRepositoryTest {
+
+    private static final LocalDate DIA = LocalDate.of(2026, 10, 17);
+
+    @Autowired
+    private VendaDiariaRepository vendaDiariaRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Test
+    void acumularCriaALinhaESomaNasSeguintes() {
+        Long restauranteId = restaurante();
+
+        vendaDiariaRepository.acumular(restauranteId, DIA, "PENDENTE", 3, 1, new BigDecimal("30.00"));
+        vendaDiariaRepository.acumular(restauranteId, DIA, "PENDENTE", 3, 2, new BigDecimal("45.50"));
+        vendaDiariaRepository.acumular(restauranteId, DIA, "PENDENTE", 3, -1, new BigDecimal("-30.00"));
+        // Outra faixa do mesmo grupo é outra linha
+        vendaDiariaRepository.acumular(restauranteId, DIA, "PENDENTE", 4, 1, new BigDecimal("10.00"));
+
+        VendaDiaria faixa3 = vendaDiariaRepository.findById(new VendaDiariaId(restauranteId, DIA, StatusPedido.PENDENTE, 3))
+                .orElseThrow();
+        assertEquals(2L, faixa3.getQuantidade());
+        assertEquals(0, new BigDecimal("45.50").compareTo(faixa3.getValorTotal()));
+        assertEquals(2, vendaDiariaRepository.count());
+    }
+
+    private Long restaurante() {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome("Cantina");
+        restaurante.setAtivo(true);
+        return restauranteRepository.save(restaurante).getId();
+    }
+}
@@ -0,0 +1,136 @@
+package com.deliverytech.delivery.services;
+
+import com.deliverytech.delivery.busca.IndiceBusca;
+import com.deliverytech.delivery.busca.IndiceFacetasProdutos;
+import com.deliverytech.delivery.cache.Caches;
+import com.deliverytech.delivery.cache.IdsAtivosCache;
+import com.deliverytech.delivery.config.CacheConfig;
+import com.deliverytech.delivery.dto.request.ProdutoRequestDTO;
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.mapper.ProdutoMapper;
+import com.deliverytech.delivery.mapper.RestauranteMapper;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.services.impl.ProdutoServiceImpl;
+import com.deliverytech.delivery.services.impl.ReferenciaAtivaResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cardápio em cache (Caches.CARDAPIOS) com os beans reais de cache e transação:
+ * a leitura repetida vem do cache e cada escrita do service o invalida após o commit.
+ * Alterações feitas direto no repositório servem para provar que a resposta veio do cache.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({CacheConfig.class, Caches.class, ProdutoServiceImpl.class, ProdutoMapper.class, RestauranteMapper.class,
+        ReferenciaAtivaResolver.class, IdsAtivosCache.class})
+class ProdutoServiceCacheTest {
+
+    @Autowired
+    private ProdutoService produtoService;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @MockitoBean
+    private IndiceBusca indiceBusca;
+    @MockitoBean
+    private IndiceFacetasProdutos indiceFacetasProdutos;
+
+    private Restaurante restaurante;
+    private Restaurante outroRestaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        restaurante = restauranteRepository.save(restaurante("Cantina"));
+        outroRestaurante = restauranteRepository.save(restaurante("Sushi Bar"));
+        Produto novo = new Produto();
+        novo.setNome("Lasanha");
+        novo.setPreco(new BigDecimal("42.00"));
+        novo.setCategoria("Massas");
+        novo.setDisponivel(true);
+        novo.setRestaurante(restaurante);
+        produto = produtoRepository.save(novo);
+    }
+
+    @Test
+    void leituraRepetidaVemDoCache() {
+        assertEquals(List.of("Lasanha"), nomes(restaurante.getId()));
+
+        produto.setNome("Lasanha alterada fora do service");
+        produtoRepository.save(produto);
+
+        assertEquals(List.of("Lasanha"), nomes(restaurante.getId()));
+    }
+
+    @Test
+    void tornarIndisponivelInvalidaOCardapio() {
+        assertEquals(List.of("Lasanha"), nomes(restaurante.getId()));
+
+        produtoService.tornarIndisponivel(produto.getId());
+
+        assertEquals(List.of(), nomes(restaurante.getId()));
+    }
+
+    @Test
+    void cadastrarInvalidaOCardapioDoRestaurante() {
+        assertEquals(List.of("Lasanha"), nomes(restaurante.getId()));
+
+        produtoService.cadastrar(dto("Nhoque", restaurante.getId()));
+
+        assertEquals(List.of("Lasanha", "Nhoque"), nomes(restaurante.getId()).stream().sorted().toList());
+    }
+
+    @Test
+    void trocarDeRestauranteInvalidaOsDoisCardapios() {
+        assertEquals(List.of("Lasanha"), nomes(restaurante.getId()));
+        assertEquals(List.of(), nomes(outroRestaurante.getId()));
+
+        produtoService.atualizar(produto.getId(), dto("Lasanha", outroRestaurante.getId()));
+
+        assertEquals(List.of(), nomes(restaurante.getId()));
+        assertEquals(List.of("Lasanha"), nomes(outroRestaurante.getId()));
+    }
+
+    private List<String> nomes(Long restauranteId) {
+        return produtoService.listarDisponiveisPorRestaurante(restauranteId).stream()
+                .map(ProdutoResponseDTO::getNome)
+                .toList();
+    }
+
+    private static ProdutoRequestDTO dto(String nome, Long restauranteId) {
+        ProdutoRequestDTO dto = new ProdutoRequestDTO();
+        dto.setNome(nome);
+        dto.setPreco(new BigDecimal("39.90"));
+        dto.setCategoria("Massas");
+        dto.setRestauranteId(restauranteId);
+        return dto;
+    }
+
+    private static Restaurante restaurante(String nome) {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome(nome);
+        restaurante.setCategoria("Italiana");
+        restaurante.setTaxaEntrega(new BigDecimal("5.00"));
+        restaurante.setAtivo(true);
+        return restaurante;
+    }
+}
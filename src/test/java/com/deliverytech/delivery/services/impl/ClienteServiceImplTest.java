@@ -0,0 +1,99 @@
+package com.deliverytech.delivery.services.impl;
+
+import com.deliverytech.delivery.busca.IndiceBusca;
+import com.deliverytech.delivery.cache.Caches;
+import com.deliverytech.delivery.cache.FiltroEmailsClientes;
+import com.deliverytech.delivery.cache.IdsAtivosCache;
+import com.deliverytech.delivery.dto.request.ClienteRequestDTO;
+import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.exceptions.BusinessException;
+import com.deliverytech.delivery.mapper.ClienteMapper;
+import com.deliverytech.delivery.repository.ClienteRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Cadastro de cliente com o filtro de emails: email com certeza novo não consulta o banco,
+ * "talvez presente" confirma no banco, e todo cadastro registra o email no filtro.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClienteServiceImplTest {
+
+    private static final String EMAIL = "ana@exemplo.com";
+
+    @Mock
+    private ClienteRepository clienteRepository;
+    @Spy
+    private ClienteMapper clienteMapper = new ClienteMapper();
+    @Mock
+    private IdsAtivosCache idsAtivosCache;
+    @Mock
+    private Caches caches;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private IndiceBusca indiceBusca;
+    @Mock
+    private FiltroEmailsClientes filtroEmailsClientes;
+    @InjectMocks
+    private ClienteServiceImpl service;
+
+    @Test
+    void emailComCertezaNovoDispensaAConsultaERegistraNoFiltro() {
+        when(filtroEmailsClientes.podeExistir(EMAIL)).thenReturn(false);
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenAnswer(chamada -> salvo(chamada.getArgument(0)));
+
+        assertEquals(EMAIL, service.cadastrar(dto()).getEmail());
+
+        verify(clienteRepository, never()).existsByEmail(anyString());
+        verify(filtroEmailsClientes, never()).registrarConfirmacao(anyBoolean());
+        verify(filtroEmailsClientes).registrar(EMAIL);
+    }
+
+    @Test
+    void falsoPositivoConsultaOBancoECadastra() {
+        when(filtroEmailsClientes.podeExistir(EMAIL)).thenReturn(true);
+        when(clienteRepository.existsByEmail(EMAIL)).thenReturn(false);
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenAnswer(chamada -> salvo(chamada.getArgument(0)));
+
+        service.cadastrar(dto());
+
+        verify(filtroEmailsClientes).registrarConfirmacao(false);
+        verify(filtroEmailsClientes).registrar(EMAIL);
+    }
+
+    @Test
+    void emailExistenteConfirmadoNoBancoNaoCadastra() {
+        when(filtroEmailsClientes.podeExistir(EMAIL)).thenReturn(true);
+        when(clienteRepository.existsByEmail(EMAIL)).thenReturn(true);
+
+        assertThrows(BusinessException.class, () -> service.cadastrar(dto()));
+
+        verify(filtroEmailsClientes).registrarConfirmacao(true);
+        verify(clienteRepository, never()).saveAndFlush(any());
+        verify(filtroEmailsClientes, never()).registrar(anyString());
+    }
+
+    private static Cliente salvo(Cliente cliente) {
+        cliente.setId(1L);
+        return cliente;
+    }
+
+    private static ClienteRequestDTO dto() {
+        ClienteRequestDTO dto = new ClienteRequestDTO();
+        dto.setNome("Ana");
+        dto.setEmail(EMAIL);
+        dto.setTelefone("(11) 91234-5678");
+        return dto;
+    }
+}
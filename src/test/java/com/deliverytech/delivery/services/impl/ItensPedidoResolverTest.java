@@ -0,0 +1,134 @@
+package com.deliverytech.delivery.services.impl;
+
+import com.deliverytech.delivery.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Itens estruturados do pedido: uma consulta de produtos por lote, validação em memória
+ * e descrição em texto gerada a partir dos itens.
+ */
+@ExtendWith(MockitoExtension.class)
+class ItensPedidoResolverTest {
+
+    private static final long CANTINA = 1L;
+    private static final long OUTRO_RESTAURANTE = 2L;
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+    @InjectMocks
+    private ItensPedidoResolver resolver;
+
+    private final Produto burger = produto(10L, "X-Burger", "25.00", CANTINA, true);
+    private final Produto batata = produto(11L, "Batata Frita", "10.00", CANTINA, true);
+    private final Produto sushi = produto(20L, "Sushi", "40.00", OUTRO_RESTAURANTE, true);
+    private final Produto esgotado = produto(12L, "Lasanha", "42.00", CANTINA, false);
+    private final Map<Long, Produto> produtos = Map.of(10L, burger, 11L, batata, 20L, sushi, 12L, esgotado);
+
+    @Test
+    void produtosDeTodoOLoteVemNumaUnicaConsulta() {
+        when(produtoRepository.findAllById(Set.of(10L, 11L, 20L))).thenReturn(List.of(burger, batata, sushi));
+
+        Map<Long, Produto> carregados = resolver.carregarProdutos(List.of(
+                dto("60.00", item(10L, 2), item(11L, 1)),
+                dto("40.00", item(20L, 1), item(10L, 1))));
+
+        assertEquals(Set.of(10L, 11L, 20L), carregados.keySet());
+        verify(produtoRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void pedidoSemItensEstruturadosNaoConsultaProdutos() {
+        assertEquals(Map.of(), resolver.carregarProdutos(List.of(dto("10.00"))));
+        verifyNoInteractions(produtoRepository);
+    }
+
+    @Test
+    void itensValidosNaoTemErro() {
+        assertNull(resolver.validar(dto("60.00", item(10L, 2), item(11L, 1)), produtos));
+    }
+
+    @Test
+    void validacaoApontaOPrimeiroProblema() {
+        assertEquals("Produto não encontrado: 99",
+                resolver.validar(dto("60.00", item(99L, 1)), produtos));
+        assertEquals("O produto 20 não pertence ao restaurante 1",
+                resolver.validar(dto("60.00", item(20L, 1)), produtos));
+        assertEquals("Produto indisponível: Lasanha",
+                resolver.validar(dto("60.00", item(12L, 1)), produtos));
+        assertEquals("O valor total (59.99) é menor que a soma dos itens (60.00)",
+                resolver.validar(dto("59.99", item(10L, 2), item(11L, 1)), produtos));
+    }
+
+    @Test
+    void itensCopiamNomeEPrecoEGeramADescricao() {
+        Pedido pedido = new Pedido();
+
+        resolver.adicionarItens(pedido, dto("60.00", item(10L, 2), item(11L, 1)), produtos);
+
+        assertEquals("2x X-Burger, Batata Frita", pedido.getItens());
+        List<ItemPedido> itens = pedido.getItensPedido();
+        assertEquals(2, itens.size());
+        assertSame(pedido, itens.get(0).getPedido());
+        assertEquals("X-Burger", itens.get(0).getNomeProduto());
+        assertEquals(2, itens.get(0).getQuantidade());
+        assertEquals(new BigDecimal("25.00"), itens.get(0).getPrecoUnitario());
+        assertEquals(new BigDecimal("50.00"), itens.get(0).getSubtotal());
+    }
+
+    @Test
+    void descricaoInformadaPeloClienteEMantida() {
+        Pedido pedido = new Pedido();
+        pedido.setItens("Burger sem cebola");
+
+        resolver.adicionarItens(pedido, dto("25.00", item(10L, 1)), produtos);
+
+        assertEquals("Burger sem cebola", pedido.getItens());
+        assertEquals(1, pedido.getItensPedido().size());
+    }
+
+    private static PedidoRequestDTO dto(String valorTotal, ItemPedidoRequestDTO... itens) {
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setClienteId(1L);
+        dto.setRestauranteId(CANTINA);
+        dto.setValorTotal(new BigDecimal(valorTotal));
+        dto.setItensPedido(itens.length > 0 ? List.of(itens) : null);
+        return dto;
+    }
+
+    private static ItemPedidoRequestDTO item(Long produtoId, int quantidade) {
+        ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+        item.setProdutoId(produtoId);
+        item.setQuantidade(quantidade);
+        return item;
+    }
+
+    private static Produto produto(Long id, String nome, String preco, Long restauranteId, boolean disponivel) {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(restauranteId);
+        Produto produto = new Produto();
+        produto.setId(id);
+        produto.setNome(nome);
+        produto.setPreco(new BigDecimal(preco));
+        produto.setDisponivel(disponivel);
+        produto.setRestaurante(restaurante);
+        return produto;
+    }
+}
@@ -0,0 +1,108 @@
+package com.deliverytech.delivery.services.impl;
+
+import com.deliverytech.delivery.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery.dto.response.ClienteResponseDTO;
+import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
+import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.generator.NumeroPedidoGenerator;
+import com.deliverytech.delivery.mapper.ClienteMapper;
+import com.deliverytech.delivery.mapper.PedidoMapper;
+import com.deliverytech.delivery.mapper.RestauranteMapper;
+import com.deliverytech.delivery.repository.ClienteRepository;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.services.ClienteService;
+import com.deliverytech.delivery.services.RestauranteService;
+import com.deliverytech.delivery.services.VendasDiariasService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Criação de pedido sem ida ao banco para cliente e restaurante: as referências validadas
+ * em memória não são carregadas, e a resposta usa os DTOs dos caches por id.
+ */
+@ExtendWith(MockitoExtension.class)
+class PedidoServiceImplTest {
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+    @Mock
+    private ClienteRepository clienteRepository;
+    @Mock
+    private RestauranteRepository restauranteRepository;
+    @Spy
+    private PedidoMapper pedidoMapper = new PedidoMapper(new ClienteMapper(), new RestauranteMapper());
+    @Mock
+    private ReferenciaAtivaResolver referenciaAtivaResolver;
+    @Mock
+    private ItensPedidoResolver itensPedidoResolver;
+    @Mock
+    private NumeroPedidoGenerator numeroPedidoGenerator;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private VendasDiariasService vendasDiariasService;
+    @Mock
+    private ClienteService clienteService;
+    @Mock
+    private RestauranteService restauranteService;
+    @InjectMocks
+    private PedidoServiceImpl service;
+
+    @Test
+    void respostaUsaOsCachesSemCarregarAsReferencias() {
+        // Referências não carregadas: qualquer leitura além do id dispararia um SELECT
+        Cliente cliente = mock(Cliente.class);
+        Restaurante restaurante = mock(Restaurante.class);
+        when(referenciaAtivaResolver.cliente(1L)).thenReturn(cliente);
+        when(referenciaAtivaResolver.restaurante(2L)).thenReturn(restaurante);
+        when(itensPedidoResolver.carregarProdutos(any())).thenReturn(Map.of());
+        when(numeroPedidoGenerator.gerar()).thenReturn("PED1");
+        when(pedidoRepository.save(any(Pedido.class))).thenAnswer(chamada -> {
+            Pedido pedido = chamada.getArgument(0);
+            pedido.setId(10L);
+            return pedido;
+        });
+        ClienteResponseDTO clienteEmCache = new ClienteResponseDTO();
+        clienteEmCache.setId(1L);
+        clienteEmCache.setNome("Ana");
+        RestauranteResponseDTO restauranteEmCache = new RestauranteResponseDTO();
+        restauranteEmCache.setId(2L);
+        restauranteEmCache.setNome("Cantina");
+        when(clienteService.buscarPorId(1L)).thenReturn(clienteEmCache);
+        when(restauranteService.buscarPorId(2L)).thenReturn(restauranteEmCache);
+
+        PedidoResponseDTO resposta = service.criarPedido(dto());
+
+        assertEquals(10L, resposta.getId());
+        assertSame(clienteEmCache, resposta.getCliente());
+        assertSame(restauranteEmCache, resposta.getRestaurante());
+        verify(cliente, never()).getNome();
+        verify(restaurante, never()).getNome();
+        verifyNoInteractions(clienteRepository, restauranteRepository);
+    }
+
+    private static PedidoRequestDTO dto() {
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setClienteId(1L);
+        dto.setRestauranteId(2L);
+        dto.setItens("Pizza");
+        dto.setValorTotal(new BigDecimal("30.00"));
+        return dto;
+    }
+}
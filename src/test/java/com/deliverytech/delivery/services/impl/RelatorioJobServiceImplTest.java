@@ -0,0 +1,155 @@
+package com.deliverytech.delivery.services.impl;
+
+import com.deliverytech.delivery.dto.request.RelatorioJobRequestDTO;
+import com.deliverytech.delivery.dto.response.RelatorioJobResponseDTO;
+import com.deliverytech.delivery.dto.response.RelatorioResponseDTO;
+import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.services.RelatorioJobService;
+import com.deliverytech.delivery.services.RelatorioService;
+import com.deliverytech.delivery.util.CsvRelatorios;
+import com.deliverytech.delivery.util.CsvStreamWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Jobs de relatório com o RelatorioService simulado e arquivos num diretório temporário:
+ * CSV gerado, mensagem de erro genérica e limpeza que respeita downloads recentes.
+ */
+class RelatorioJobServiceImplTest {
+
+    @TempDir
+    Path diretorio;
+
+    private final RelatorioService relatorioService = mock(RelatorioService.class);
+    private final RelatorioJobServiceImpl service = new RelatorioJobServiceImpl();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(service, "relatorioService", relatorioService);
+        ReflectionTestUtils.setField(service, "restauranteRepository", mock(RestauranteRepository.class));
+        ReflectionTestUtils.setField(service, "produtoRepository", mock(ProdutoRepository.class));
+        ReflectionTestUtils.setField(service, "csvStreamWriter", new CsvStreamWriter());
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "threads", 1);
+        ReflectionTestUtils.setField(service, "capacidadeFila", 10);
+        ReflectionTestUtils.setField(service, "retencaoMillis", 0L);
+        ReflectionTestUtils.setField(service, "carenciaDownloadMillis", 60_000L);
+        ReflectionTestUtils.setField(service, "diretorioConfigurado", diretorio.toString());
+        service.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.encerrar();
+    }
+
+    @Test
+    void jobConcluidoGravaOCsvComAsColunasCompartilhadas() throws Exception {
+        doAnswer(chamada -> {
+            RelatorioResponseDTO linha = new RelatorioResponseDTO();
+            linha.setRestauranteId(1L);
+            linha.setNomeRestaurante("Cantina, Centro");
+            linha.setTotalVendas(new BigDecimal("150.70"));
+            linha.setQuantidadePedidos(5L);
+            chamada.<Consumer<RelatorioResponseDTO>>getArgument(3).accept(linha);
+            return null;
+        }).when(relatorioService).percorrerRelatorioVendas(any(), any(), any(), any());
+
+        RelatorioJobResponseDTO job = aguardarFim(service.agendar(requisicao()).getId());
+
+        assertEquals("CONCLUIDO", job.getStatus());
+        assertEquals(1, job.getLinhasProcessadas());
+        assertEquals(List.of(String.join(",", CsvRelatorios.CABECALHO_VENDAS), "1,\"Cantina, Centro\",150.70,5"),
+                linhas(service.arquivoResultado(job.getId())));
+    }
+
+    @Test
+    void falhaNaoExpoeAMensagemDaExcecao() throws Exception {
+        doThrow(new IllegalStateException("Access denied for user 'relatorios'@'10.0.0.5'"))
+                .when(relatorioService).percorrerRelatorioVendas(any(), any(), any(), any());
+
+        RelatorioJobResponseDTO job = aguardarFim(service.agendar(requisicao()).getId());
+
+        assertEquals("FALHOU", job.getStatus());
+        assertNotNull(job.getErro());
+        assertFalse(job.getErro().contains("Access denied"));
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            assertEquals(0, arquivos.count(), "o arquivo parcial deveria ter sido apagado");
+        }
+    }
+
+    @Test
+    void limpezaPoupaJobBaixadoDentroDaCarencia() throws Exception {
+        String id = aguardarFim(service.agendar(requisicao()).getId()).getId();
+        RelatorioJobService.ArquivoResultado arquivo = service.arquivoResultado(id);
+
+        service.limpar();
+
+        assertTrue(Files.exists(arquivo.caminho()));
+        assertEquals("CONCLUIDO", service.buscar(id).getStatus());
+
+        // Passada a carência, a retenção (zero, neste teste) vale
+        ReflectionTestUtils.setField(service, "carenciaDownloadMillis", 0L);
+        service.limpar();
+
+        assertFalse(Files.exists(arquivo.caminho()));
+        assertThrows(EntityNotFoundException.class, () -> service.buscar(id));
+    }
+
+    @Test
+    void jobExpiradoNaoEntregaMaisOArquivo() throws Exception {
+        String id = aguardarFim(service.agendar(requisicao()).getId()).getId();
+
+        service.limpar();
+
+        assertThrows(EntityNotFoundException.class, () -> service.arquivoResultado(id));
+    }
+
+    private RelatorioJobResponseDTO aguardarFim(String id) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (true) {
+            RelatorioJobResponseDTO job = service.buscar(id);
+            if (job.getStatus().equals("CONCLUIDO") || job.getStatus().equals("FALHOU")) {
+                return job;
+            }
+            assertTrue(System.nanoTime() < limite, "Job não terminou em 5 s");
+            Thread.sleep(10);
+        }
+    }
+
+    private static RelatorioJobRequestDTO requisicao() {
+        RelatorioJobRequestDTO dto = new RelatorioJobRequestDTO();
+        dto.setTipo("VENDAS");
+        return dto;
+    }
+
+    private static List<String> linhas(RelatorioJobService.ArquivoResultado arquivo) throws IOException {
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(arquivo.caminho())), StandardCharsets.UTF_8))) {
+            return leitor.lines().toList();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.deliverytech.delivery.services.impl;
+
+import com.deliverytech.delivery.dto.response.DivergenciaVendaDiariaDTO;
+import com.deliverytech.delivery.dto.response.VerificacaoVendasDiariasResponseDTO;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.entity.VendaDiaria;
+import com.deliverytech.delivery.entity.VendaDiariaId;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.projection.VendaDiariaAgregada;
+import com.deliverytech.delivery.repository.VendaDiariaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Upserts do agregado vendas_diarias: ordem fixa das chaves (sem deadlock entre lotes),
+ * uma faixa por chamada, reconstrução em blocos de restaurantes e verificação somando as faixas.
+ */
+@ExtendWith(MockitoExtension.class)
+class VendasDiariasServiceImplTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2026, 10, 17);
+
+    @Mock
+    private VendaDiariaRepository vendaDiariaRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @InjectMocks
+    private VendasDiariasServiceImpl service;
+
+    @Test
+    void criacaoAgrupaEAcumulaNaOrdemDasChaves() {
+        service.registrarCriacao(List.of(
+                pedido(2L, HOJE, StatusPedido.PENDENTE, "10.00"),
+                pedido(1L, HOJE.plusDays(1), StatusPedido.PENDENTE, "5.00"),
+                pedido(2L, HOJE, StatusPedido.PENDENTE, "7.50"),
+                pedido(1L, HOJE, StatusPedido.PENDENTE, "3.00")));
+
+        ArgumentCaptor<Integer> faixas = ArgumentCaptor.forClass(Integer.class);
+        InOrder ordem = inOrder(vendaDiariaRepository);
+        ordem.verify(vendaDiariaRepository).acumular(eq(1L), eq(HOJE), eq("PENDENTE"), faixas.capture(),
+                eq(1L), eq(new BigDecimal("3.00")));
+        ordem.verify(vendaDiariaRepository).acumular(eq(1L), eq(HOJE.plusDays(1)), eq("PENDENTE"), faixas.capture(),
+                eq(1L), eq(new BigDecimal("5.00")));
+        ordem.verify(vendaDiariaRepository).acumular(eq(2L), eq(HOJE), eq("PENDENTE"), faixas.capture(),
+                eq(2L), eq(new BigDecimal("17.50")));
+        verifyNoMoreInteractions(vendaDiariaRepository);
+
+        assertEquals(1, Set.copyOf(faixas.getAllValues()).size());
+        int faixa = faixas.getValue();
+        assertTrue(faixa >= 0 && faixa < VendasDiariasServiceImpl.FAIXAS);
+    }
+
+    @Test
+    void transicaoMoveOPedidoNaOrdemDasChavesENaMesmaFaixa() {
+        // PENDENTE → CONFIRMADO: "CONFIRMADO" vem antes na ordem, então é acumulado primeiro
+        service.registrarTransicao(pedido(1L, HOJE, StatusPedido.PENDENTE, "20.00"),
+                StatusPedido.PENDENTE, StatusPedido.CONFIRMADO);
+
+        ArgumentCaptor<Integer> faixas = ArgumentCaptor.forClass(Integer.class);
+        InOrder ordem = inOrder(vendaDiariaRepository);
+        ordem.verify(vendaDiariaRepository).acumular(eq(1L), eq(HOJE), eq("CONFIRMADO"), faixas.capture(),
+                eq(1L), eq(new BigDecimal("20.00")));
+        ordem.verify(vendaDiariaRepository).acumular(eq(1L), eq(HOJE), eq("PENDENTE"), faixas.capture(),
+                eq(-1L), eq(new BigDecimal("-20.00")));
+        assertEquals(faixas.getAllValues().get(0), faixas.getAllValues().get(1));
+    }
+
+    @Test
+    void pedidoSemRestauranteOuDataNaoEntraNoAgregado() {
+        Pedido semRestaurante = pedido(1L, HOJE, StatusPedido.PENDENTE, "1.00");
+        semRestaurante.setRestaurante(null);
+        Pedido semData = pedido(1L, HOJE, StatusPedido.PENDENTE, "1.00");
+        semData.setDataPedido(null);
+
+        service.registrarCriacao(List.of(semRestaurante, semData));
+
+        verify(vendaDiariaRepository, never()).acumular(anyLong(), any(), any(), anyInt(), anyLong(), any());
+    }
+
+    @Test
+    void reconstrucaoEmBlocosCobreTodosOsRestaurantes() {
+        int bloco = VendasDiariasServiceImpl.RESTAURANTES_POR_BLOCO;
+        when(transactionTemplate.execute(any())).thenAnswer(chamada ->
+                chamada.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(vendaDiariaRepository.findIdsRestaurantesApos(eq(0L), any(Limit.class)))
+                .thenReturn(ids(1, bloco));
+        when(vendaDiariaRepository.findIdsRestaurantesApos(eq((long) bloco), any(Limit.class)))
+                .thenReturn(ids(bloco + 1, 30));
+        when(vendaDiariaRepository.reconstruirRestaurantes(anyLong(), anyLong())).thenReturn(40, 7);
+
+        assertEquals(47, service.reconstruir());
+
+        InOrder ordem = inOrder(vendaDiariaRepository);
+        ordem.verify(vendaDiariaRepository).apagarRestaurantes(0L, (long) bloco);
+        ordem.verify(vendaDiariaRepository).reconstruirRestaurantes(0L, (long) bloco);
+        // Último bloco aberto: pega também linhas de restaurantes que não existem mais
+        ordem.verify(vendaDiariaRepository).apagarRestaurantes((long) bloco, Long.MAX_VALUE);
+        ordem.verify(vendaDiariaRepository).reconstruirRestaurantes((long) bloco, Long.MAX_VALUE);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void verificacaoSomaAsFaixasDeCadaGrupo() {
+        VendaDiariaAgregada calculada = agregada(1L, HOJE, StatusPedido.ENTREGUE, 3L, "30.00");
+        when(vendaDiariaRepository.calcularAPartirDosPedidos()).thenReturn(List.of(calculada));
+        when(vendaDiariaRepository.findAll()).thenReturn(List.of(
+                venda(1L, HOJE, StatusPedido.ENTREGUE, 0, 5L, "50.00"),
+                venda(1L, HOJE, StatusPedido.ENTREGUE, 3, -2L, "-20.00")));
+
+        VerificacaoVendasDiariasResponseDTO resultado = service.verificar();
+
+        assertTrue(resultado.isConsistente());
+        assertEquals(1, resultado.getGruposVerificados());
+    }
+
+    @Test
+    void verificacaoApontaGrupoDivergente() {
+        VendaDiariaAgregada calculada = agregada(1L, HOJE, StatusPedido.ENTREGUE, 3L, "30.00");
+        when(vendaDiariaRepository.calcularAPartirDosPedidos()).thenReturn(List.of(calculada));
+        when(vendaDiariaRepository.findAll()).thenReturn(List.of(
+                venda(1L, HOJE, StatusPedido.ENTREGUE, 0, 2L, "20.00"),
+                venda(2L, HOJE, StatusPedido.PENDENTE, 1, 1L, "9.00")));
+
+        VerificacaoVendasDiariasResponseDTO resultado = service.verificar();
+
+        assertFalse(resultado.isConsistente());
+        assertEquals(2, resultado.getGruposVerificados());
+        assertEquals(Set.of(1L, 2L), resultado.getDivergencias().stream()
+                .map(DivergenciaVendaDiariaDTO::getRestauranteId)
+                .collect(Collectors.toSet()));
+    }
+
+    private static List<Long> ids(long primeiro, int quantidade) {
+        return LongStream.range(primeiro, primeiro + quantidade).boxed().toList();
+    }
+
+    private static Pedido pedido(Long restauranteId, LocalDate dia, StatusPedido status, String valor) {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(restauranteId);
+        Pedido pedido = new Pedido();
+        pedido.setRestaurante(restaurante);
+        pedido.setDataPedido(LocalDateTime.of(dia, LocalTime.NOON));
+        pedido.setStatus(status);
+        pedido.setValorTotal(new BigDecimal(valor));
+        return pedido;
+    }
+
+    private static VendaDiaria venda(Long restauranteId, LocalDate dia, StatusPedido status, int faixa,
+                                     Long quantidade, String valor) {
+        return new VendaDiaria(new VendaDiariaId(restauranteId, dia, status, faixa), quantidade, new BigDecimal(valor));
+    }
+
+    private static VendaDiariaAgregada agregada(Long restauranteId, LocalDate dia, StatusPedido status,
+                                                Long quantidade, String valor) {
+        return new VendaDiariaAgregada() {
+            @Override
+            public Long getRestauranteId() {
+                return restauranteId;
+            }
+
+            @Override
+            public LocalDate getDia() {
+                return dia;
+            }
+
+            @Override
+            public StatusPedido getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getQuantidade() {
+                return quantidade;
+            }
+
+            @Override
+            public BigDecimal getValorTotal() {
+                return new BigDecimal(valor);
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.deliverytech.delivery.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A mesma categoria escrita de formas diferentes vira a mesma chave nos índices.
+ */
+class TextoNormalizadoTest {
+
+    @Test
+    void tiraAcentosEJuntaSeparadores() {
+        assertEquals("pao de queijo", TextoNormalizado.normalizar("  Pão-de_Queijo!! "));
+        assertEquals(TextoNormalizado.normalizar("Pizzas Doces "), TextoNormalizado.normalizar("pizzas-doces"));
+    }
+
+    @Test
+    void nuloEVazioViramTextoVazio() {
+        assertEquals("", TextoNormalizado.normalizar(null));
+        assertEquals("", TextoNormalizado.normalizar(" - "));
+    }
+}